@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The leader's commit index calculation, run after every successful
+ * AppendEntries response. Each operation records a new match index for one
+ * follower, as a response would, and then recomputes the majority index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommitIndexBenchmark {
+
+    @Param({"3", "5", "7"})
+    private int clusterSize;
+
+    private final Map<String, Long> matchIndex = new ConcurrentHashMap<>();
+    private String[] followers;
+    private long leaderIndex;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        leaderIndex = 1_000_000;
+        followers = new String[clusterSize - 1];
+        for (int i = 0; i < followers.length; i++) {
+            followers[i] = "node-" + (i + 2);
+            matchIndex.put(followers[i], leaderIndex - i);
+        }
+    }
+
+    @Benchmark
+    public long updateCommitIndex() {
+        int follower = Math.floorMod(next++, followers.length);
+        leaderIndex++;
+        matchIndex.put(followers[follower], leaderIndex - follower);
+        return RaftNode.majorityMatchIndex(leaderIndex, matchIndex.values());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the command carried by every acquire log entry.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LockCommandBenchmark {
+
+    private LockCommand command;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() {
+        command = LockCommand.acquire("bench-lock-0", "bench-client-0", "us-east-1", 42, 30000);
+        serialized = command.serialize();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return command.serialize();
+    }
+
+    @Benchmark
+    public LockCommand deserialize() {
+        return LockCommand.deserialize(serialized);
+    }
+
+    @Benchmark
+    public LockCommand roundTrip() {
+        return LockCommand.deserialize(command.serialize());
+    }
+}
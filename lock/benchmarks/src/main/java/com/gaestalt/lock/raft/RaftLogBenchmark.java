@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appending to the Raft log, and reading the tail a leader sends a follower
+ * that is {@code lag} entries behind.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RaftLogBenchmark {
+
+    // The append benchmark clears the log whenever it reaches this size, so memory stays bounded
+    private static final int MAX_APPENDED = 1 << 20;
+
+    @Param({"100000"})
+    private int logSize;
+
+    @Param({"1", "100", "10000"})
+    private int lag;
+
+    private byte[] data;
+    private RaftLog appendLog;
+    private long nextIndex;
+    private RaftLog readLog;
+
+    @Setup
+    public void setUp() {
+        data = LockCommand.acquire("bench-lock-0", "bench-client-0", "us-east-1", 1, 30000).serialize();
+
+        appendLog = new RaftLog();
+        nextIndex = 1;
+
+        readLog = new RaftLog();
+        for (long index = 1; index <= logSize; index++) {
+            readLog.append(new LogEntry(index, 1, LogEntryType.ACQUIRE_LOCK, data));
+        }
+    }
+
+    @Benchmark
+    public long append() {
+        if (nextIndex > MAX_APPENDED) {
+            appendLog.clear();
+            nextIndex = 1;
+        }
+        return appendLog.append(new LogEntry(nextIndex++, 1, LogEntryType.ACQUIRE_LOCK, data));
+    }
+
+    @Benchmark
+    public List<LogEntry> getFrom() {
+        return readLog.getFrom(logSize - lag + 1);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fencing token generation. With one lock every thread increments the same
+ * sequence; with many the cost is mostly the map lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FencingTokenGeneratorBenchmark {
+
+    @Param({"1", "4096"})
+    private int locks;
+
+    private FencingTokenGenerator tokenGenerator;
+    private String[] lockIds;
+
+    @Setup
+    public void setUp() {
+        tokenGenerator = new FencingTokenGenerator();
+        lockIds = new String[locks];
+        for (int i = 0; i < locks; i++) {
+            lockIds[i] = "bench-lock-" + i;
+            tokenGenerator.nextToken(lockIds[i]);
+        }
+    }
+
+    /**
+     * Position of one benchmark thread in the lock IDs.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(1 << 16);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextToken(Cursor cursor) {
+        return tokenGenerator.nextToken(lockIds[Math.floorMod(cursor.next++, locks)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextTokenContended(Cursor cursor) {
+        return tokenGenerator.nextToken(lockIds[Math.floorMod(cursor.next++, locks)]);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquire-and-release cycles against LockStore. With few locks the threads
+ * mostly find them held, so the contended benchmark measures the refusal path
+ * as much as the acquire path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LockStoreBenchmark {
+
+    @Param({"16", "4096"})
+    private int locks;
+
+    private LockStore lockStore;
+    private String[] lockIds;
+
+    @Setup
+    public void setUp() {
+        lockStore = new LockStore(new FencingTokenGenerator());
+        lockIds = new String[locks];
+        for (int i = 0; i < locks; i++) {
+            lockIds[i] = "bench-lock-" + i;
+        }
+    }
+
+    /**
+     * One client per benchmark thread, starting at a random lock.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        final String clientId = "bench-client-" + UUID.randomUUID();
+        int next = ThreadLocalRandom.current().nextInt(1 << 16);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public LockResult<Lock> acquireRelease(Client client) {
+        return acquireAndRelease(client);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public LockResult<Lock> acquireReleaseContended(Client client) {
+        return acquireAndRelease(client);
+    }
+
+    private LockResult<Lock> acquireAndRelease(Client client) {
+        var lockId = lockIds[Math.floorMod(client.next++, locks)];
+        var result = lockStore.tryAcquire(lockId, client.clientId, "bench-region", 30000);
+        if (result.isSuccess()) {
+            lockStore.release(lockId, client.clientId, result.getValue().fencingToken());
+        }
+        return result;
+    }
+}
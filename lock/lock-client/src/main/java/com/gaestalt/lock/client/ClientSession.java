@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.AcquireLockResponse;
+import com.gaestalt.lock.grpc.generated.CloseSessionResponse;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A session opened through {@link LockClient#openSession} and kept alive in the
+ * background until it is closed.
+ *
+ * Locks acquired with {@link #acquire} are held under the session: one keepalive
+ * renews all of them, and they are released together when the session is closed
+ * or expires. If keepalives fail for good the session is marked lost, every lock
+ * under it must be treated as lost, and {@link #whenLost()} completes.
+ */
+public class ClientSession implements AutoCloseable {
+
+    @Getter
+    private final String sessionId;
+    @Getter
+    private final String clientId;
+    @Getter
+    private final long ttlMs;
+
+    private final LockClient client;
+    private final CompletableFuture<Void> lost = new CompletableFuture<>();
+
+    private volatile long expiresAt;
+    private volatile boolean closed = false;
+    private volatile ScheduledFuture<?> keepAlive;
+
+    ClientSession(LockClient client, String sessionId, String clientId, long ttlMs, long expiresAt) {
+        this.client = client;
+        this.sessionId = sessionId;
+        this.clientId = clientId;
+        this.ttlMs = ttlMs;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the expiry last confirmed by the server (epoch milliseconds).
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Returns true while the session has been neither closed nor lost and its
+     * last confirmed expiry has not passed.
+     */
+    public boolean isAlive() {
+        return !closed && !lost.isDone() && System.currentTimeMillis() < expiresAt;
+    }
+
+    /**
+     * Completes when background keepalives give up on the session.
+     */
+    public CompletableFuture<Void> whenLost() {
+        return lost;
+    }
+
+    /**
+     * Acquires a lock under this session. The lock expires with the session.
+     */
+    public CompletableFuture<AcquireLockResponse> acquire(String lockId) {
+        return client.acquire(lockId, this);
+    }
+
+    /**
+     * Stops keepalives and closes the session, releasing every lock held under it.
+     */
+    public CompletableFuture<CloseSessionResponse> closeSession() {
+        closed = true;
+        cancelKeepAlive();
+        return client.closeHeld(this);
+    }
+
+    @Override
+    public void close() {
+        closeSession();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void keptAlive(long newExpiresAt) {
+        expiresAt = newExpiresAt;
+    }
+
+    void markLost() {
+        cancelKeepAlive();
+        lost.complete(null);
+    }
+
+    void setKeepAlive(ScheduledFuture<?> keepAlive) {
+        this.keepAlive = keepAlive;
+        if (closed) {
+            keepAlive.cancel(false);
+        }
+    }
+
+    private void cancelKeepAlive() {
+        var current = keepAlive;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.ReleaseLockResponse;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A lock acquired through {@link LockClient#hold} and renewed in the background
+ * until it is released.
+ *
+ * Renewal can fail for good - the lock expired, or the server no longer
+ * recognises the fencing token - in which case the lock is marked lost and
+ * {@link #whenLost()} completes. Work guarded by the lock should check
+ * {@link #isHeld()} and pass {@link #getFencingToken()} to downstream resources.
+ */
+public class HeldLock implements AutoCloseable {
+
+    @Getter
+    private final String lockId;
+    @Getter
+    private final String clientId;
+    @Getter
+    private final long fencingToken;
+    @Getter
+    private final long timeoutMs;
+
+    private final LockClient client;
+    private final CompletableFuture<Void> lost = new CompletableFuture<>();
+
+    private volatile long expiresAt;
+    private volatile boolean released = false;
+    private volatile ScheduledFuture<?> renewal;
+
+    HeldLock(LockClient client, String lockId, String clientId, long fencingToken,
+             long timeoutMs, long expiresAt) {
+        this.client = client;
+        this.lockId = lockId;
+        this.clientId = clientId;
+        this.fencingToken = fencingToken;
+        this.timeoutMs = timeoutMs;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the expiry last confirmed by the server (epoch milliseconds).
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Returns true while the lock has been neither released nor lost and its last
+     * confirmed expiry has not passed.
+     */
+    public boolean isHeld() {
+        return !released && !lost.isDone() && System.currentTimeMillis() < expiresAt;
+    }
+
+    /**
+     * Completes when background renewal gives up on the lock.
+     */
+    public CompletableFuture<Void> whenLost() {
+        return lost;
+    }
+
+    /**
+     * Stops renewal and releases the lock.
+     */
+    public CompletableFuture<ReleaseLockResponse> release() {
+        released = true;
+        cancelRenewal();
+        return client.releaseHeld(this);
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void renewed(long newExpiresAt) {
+        expiresAt = newExpiresAt;
+    }
+
+    void markLost() {
+        cancelRenewal();
+        lost.complete(null);
+    }
+
+    void setRenewal(ScheduledFuture<?> renewal) {
+        this.renewal = renewal;
+        if (released) {
+            renewal.cancel(false);
+        }
+    }
+
+    private void cancelRenewal() {
+        var current = renewal;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+}
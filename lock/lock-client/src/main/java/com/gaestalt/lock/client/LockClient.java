@@ -0,0 +1,607 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.*;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Client for the lock manager's LockService.
+ *
+ * <ul>
+ *   <li>Tracks the regional Raft leader from the {@code x-leader-address} trailer
+ *       every response carries, and from NOT_LEADER answers, so requests go
+ *       straight to the leader instead of being forwarded.</li>
+ *   <li>Keeps one channel per node and issues every call asynchronously, so any
+ *       number of requests can be in flight on the same connection.</li>
+ *   <li>Retries NOT_LEADER answers and unavailable nodes with jittered exponential
+ *       backoff. Other outcomes are returned as they are. A retried acquisition
+ *       first checks whether the unanswered attempt took the lock.</li>
+ *   <li>Hedges CheckLock reads: if the first node has not answered within
+ *       hedgeDelayMs the read is also sent to another node and the first answer wins.</li>
+ *   <li>Renews locks taken with {@link #hold} in the background until released.</li>
+ *   <li>Keeps sessions opened with {@link #openSession} alive in the background
+ *       until closed; one keepalive renews every lock held under the session.</li>
+ *   <li>Validates fencing tokens through a {@link TokenValidator} that answers from
+ *       state the server pushes, batching whatever it cannot answer.</li>
+ * </ul>
+ */
+@Slf4j
+public class LockClient implements AutoCloseable {
+
+    static final Metadata.Key<String> LEADER_ADDRESS_KEY =
+            Metadata.Key.of("x-leader-address", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final LockClientConfig config;
+    private final List<String> endpoints;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    private final Map<String, LockServiceGrpc.LockServiceFutureStub> stubs = new ConcurrentHashMap<>();
+    private final AtomicReference<String> leader;
+    private final Set<HeldLock> heldLocks = ConcurrentHashMap.newKeySet();
+    private final Set<ClientSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    private final LockClientMetrics metrics;
+    private volatile TokenValidator tokenValidator;
+
+    public LockClient(LockClientConfig config) {
+        if (config.getEndpoints() == null || config.getEndpoints().isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.config = config;
+        this.endpoints = List.copyOf(config.getEndpoints());
+        this.leader = new AtomicReference<>(endpoints.get(0));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("lock-client-scheduler").factory()
+        );
+        this.metrics = new LockClientMetrics(config.getMeterRegistry(), heldLocks);
+    }
+
+    /**
+     * Returns the endpoint requests are currently sent to.
+     */
+    public String getLeader() {
+        return leader.get();
+    }
+
+    public CompletableFuture<AcquireLockResponse> acquire(String lockId, String clientId, long timeoutMs) {
+        return acquire(AcquireLockRequest.newBuilder()
+                .setLockId(lockId)
+                .setClientId(clientId)
+                .setTimeoutMs(timeoutMs)
+                .build());
+    }
+
+    /**
+     * Acquires a lock. An acquisition is not idempotent: one whose answer was
+     * lost to an unavailable node or a leader change may still have committed,
+     * and sending it again would find the lock held by this very client. So every
+     * retry first checks the lock, and reports the acquisition as made if the
+     * client already holds it.
+     */
+    public CompletableFuture<AcquireLockResponse> acquire(AcquireLockRequest request) {
+        var sent = new AtomicBoolean();
+        return callLeader("acquire", stub -> sent.getAndSet(true)
+                        ? checkThenAcquire(stub, request)
+                        : stub.acquireLock(request),
+                AcquireLockResponse::getStatus);
+    }
+
+    private ListenableFuture<AcquireLockResponse> checkThenAcquire(LockServiceGrpc.LockServiceFutureStub stub,
+                                                                   AcquireLockRequest request) {
+        var check = stub.checkLock(CheckLockRequest.newBuilder().setLockId(request.getLockId()).build());
+        return Futures.transformAsync(check, response -> {
+            if (response.getIsLocked() && response.getHolderId().equals(request.getClientId())) {
+                log.debug("Lock {} already held by {} after an unanswered attempt",
+                        request.getLockId(), request.getClientId());
+                return Futures.immediateFuture(AcquireLockResponse.newBuilder()
+                        .setSuccess(true)
+                        .setFencingToken(response.getFencingToken())
+                        .setExpiresAt(response.getExpiresAt())
+                        .setStatus(LockStatus.LOCK_STATUS_OK)
+                        .build());
+            }
+            return stub.acquireLock(request);
+        }, MoreExecutors.directExecutor());
+    }
+
+    public CompletableFuture<ReleaseLockResponse> release(String lockId, String clientId, long fencingToken) {
+        var request = ReleaseLockRequest.newBuilder()
+                .setLockId(lockId)
+                .setClientId(clientId)
+                .setFencingToken(fencingToken)
+                .build();
+        return callLeader("release", stub -> stub.releaseLock(request), ReleaseLockResponse::getStatus);
+    }
+
+    public CompletableFuture<ExtendLockResponse> extend(String lockId, String clientId,
+                                                        long fencingToken, long timeoutMs) {
+        var request = ExtendLockRequest.newBuilder()
+                .setLockId(lockId)
+                .setClientId(clientId)
+                .setFencingToken(fencingToken)
+                .setTimeoutMs(timeoutMs)
+                .build();
+        return callLeader("extend", stub -> stub.extendLock(request), ExtendLockResponse::getStatus);
+    }
+
+    /**
+     * Acquires a lock under a session. The lock expires with the session, so it
+     * needs no renewal of its own.
+     */
+    public CompletableFuture<AcquireLockResponse> acquire(String lockId, ClientSession session) {
+        return acquire(AcquireLockRequest.newBuilder()
+                .setLockId(lockId)
+                .setClientId(session.getClientId())
+                .setSessionId(session.getSessionId())
+                .build());
+    }
+
+    /**
+     * Releases every lock a client holds, e.g. after that client's process died.
+     */
+    public CompletableFuture<ReleaseAllByHolderResponse> releaseAllByHolder(String holderId) {
+        var request = ReleaseAllByHolderRequest.newBuilder().setHolderId(holderId).build();
+        return callLeader("release_all", stub -> stub.releaseAllByHolder(request),
+                ReleaseAllByHolderResponse::getStatus);
+    }
+
+    public CompletableFuture<KeepAliveSessionResponse> keepAlive(String sessionId, String clientId) {
+        var request = KeepAliveSessionRequest.newBuilder()
+                .setSessionId(sessionId)
+                .setClientId(clientId)
+                .build();
+        return callLeader("keepalive", stub -> stub.keepAliveSession(request), KeepAliveSessionResponse::getStatus);
+    }
+
+    public CompletableFuture<CloseSessionResponse> closeSession(String sessionId, String clientId) {
+        var request = CloseSessionRequest.newBuilder()
+                .setSessionId(sessionId)
+                .setClientId(clientId)
+                .build();
+        return callLeader("close_session", stub -> stub.closeSession(request), CloseSessionResponse::getStatus);
+    }
+
+    /**
+     * Checks a batch of fencing tokens against their locks' current holders.
+     * Any node can answer from its local state.
+     */
+    public CompletableFuture<ValidateTokensResponse> validateTokens(ValidateTokensRequest request) {
+        return callLeader("validate_tokens", stub -> stub.validateTokens(request), ValidateTokensResponse::getStatus);
+    }
+
+    /**
+     * Returns this client's token validator, created on first use and closed with the client.
+     */
+    public TokenValidator tokenValidator() {
+        if (tokenValidator == null) {
+            synchronized (this) {
+                if (tokenValidator == null) {
+                    tokenValidator = new TokenValidator(this, config, scheduler, metrics);
+                }
+            }
+        }
+        return tokenValidator;
+    }
+
+    /**
+     * Opens a WatchTokens stream to the current leader. The stream has no deadline.
+     */
+    StreamObserver<WatchTokensRequest> watchTokens(StreamObserver<WatchTokensResponse> responseObserver) {
+        var endpoint = leader.get();
+        var channel = channels.computeIfAbsent(endpoint, config.getChannelFactory());
+        return LockServiceGrpc.newStub(channel).watchTokens(responseObserver);
+    }
+
+    /**
+     * Checks a lock, hedging the read to a second node if the first is slow.
+     * Any node can answer CheckLock from its local state.
+     */
+    public CompletableFuture<CheckLockResponse> check(String lockId) {
+        var request = CheckLockRequest.newBuilder().setLockId(lockId).build();
+        var sample = metrics.start();
+        var result = new CompletableFuture<CheckLockResponse>();
+        var attempts = new CopyOnWriteArrayList<CompletableFuture<CheckLockResponse>>();
+        var pending = new AtomicInteger();
+        var hedged = new AtomicBoolean(false);
+        var primary = leader.get();
+
+        var hedge = new Runnable() {
+            @Override
+            public void run() {
+                var other = otherEndpoint(primary);
+                if (result.isDone() || other == null || !hedged.compareAndSet(false, true)) {
+                    return;
+                }
+                metrics.recordHedge();
+                send(other);
+            }
+
+            void send(String endpoint) {
+                pending.incrementAndGet();
+                var attempt = toCompletable(stub(endpoint).checkLock(request));
+                attempts.add(attempt);
+                attempt.whenComplete((response, error) -> {
+                    if (error == null) {
+                        result.complete(response);
+                        return;
+                    }
+                    int left = pending.decrementAndGet();
+                    if (!hedged.get() && config.getHedgeDelayMs() > 0 && otherEndpoint(primary) != null) {
+                        run(); // The first node failed outright, hedge right away
+                    } else if (left == 0) {
+                        result.completeExceptionally(error);
+                    }
+                });
+            }
+        };
+
+        hedge.send(primary);
+        if (config.getHedgeDelayMs() > 0) {
+            scheduler.schedule(hedge, config.getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+        }
+
+        return result.whenComplete((response, error) -> {
+            // The slower attempt is no longer needed
+            attempts.forEach(attempt -> attempt.cancel(true));
+            metrics.recordRequest(sample, "check", outcome(response, error, CheckLockResponse::getStatus));
+        });
+    }
+
+    /**
+     * Acquires a lock and keeps renewing it in the background until it is
+     * released. Completes exceptionally with {@link LockClientException} if the
+     * lock could not be acquired.
+     */
+    public CompletableFuture<HeldLock> hold(String lockId, String clientId, long timeoutMs) {
+        return acquire(lockId, clientId, timeoutMs).thenApply(response -> {
+            if (!response.getSuccess()) {
+                throw new LockClientException(response.getStatus(), response.getErrorMessage());
+            }
+
+            var held = new HeldLock(this, lockId, clientId, response.getFencingToken(),
+                    timeoutMs, response.getExpiresAt());
+            heldLocks.add(held);
+            scheduleRenewal(held, renewDelay(timeoutMs));
+            return held;
+        });
+    }
+
+    CompletableFuture<ReleaseLockResponse> releaseHeld(HeldLock held) {
+        heldLocks.remove(held);
+        return release(held.getLockId(), held.getClientId(), held.getFencingToken());
+    }
+
+    /**
+     * Opens a session and keeps it alive in the background until it is closed.
+     * Completes exceptionally with {@link LockClientException} if the session
+     * could not be opened.
+     */
+    public CompletableFuture<ClientSession> openSession(String clientId, long ttlMs) {
+        var request = OpenSessionRequest.newBuilder()
+                .setClientId(clientId)
+                .setTtlMs(ttlMs)
+                .build();
+        return callLeader("open_session", stub -> stub.openSession(request), OpenSessionResponse::getStatus)
+                .thenApply(response -> {
+                    if (!response.getSuccess()) {
+                        throw new LockClientException(response.getStatus(), response.getErrorMessage());
+                    }
+
+                    var session = new ClientSession(this, response.getSessionId(), clientId,
+                            response.getTtlMs(), response.getExpiresAt());
+                    sessions.add(session);
+                    scheduleKeepAlive(session, renewDelay(session.getTtlMs()));
+                    return session;
+                });
+    }
+
+    CompletableFuture<CloseSessionResponse> closeHeld(ClientSession session) {
+        sessions.remove(session);
+        return closeSession(session.getSessionId(), session.getClientId());
+    }
+
+    private void scheduleKeepAlive(ClientSession session, long delayMs) {
+        if (session.isClosed()) {
+            return;
+        }
+        session.setKeepAlive(scheduler.schedule(() -> keepAlive(session), delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void keepAlive(ClientSession session) {
+        if (session.isClosed()) {
+            return;
+        }
+
+        keepAlive(session.getSessionId(), session.getClientId()).whenComplete((response, error) -> {
+            if (session.isClosed()) {
+                return;
+            }
+
+            if (error == null && response.getSuccess()) {
+                metrics.recordRenewal("ok");
+                session.keptAlive(response.getExpiresAt());
+                scheduleKeepAlive(session, renewDelay(session.getTtlMs()));
+                return;
+            }
+
+            long remaining = session.getExpiresAt() - System.currentTimeMillis();
+            boolean definitive = error == null && response.getStatus() != LockStatus.LOCK_STATUS_TIMEOUT
+                    && response.getStatus() != LockStatus.LOCK_STATUS_NOT_LEADER
+                    && response.getStatus() != LockStatus.LOCK_STATUS_RESOURCE_EXHAUSTED;
+
+            if (definitive || remaining <= 0) {
+                log.warn("Lost session {}: {}", session.getSessionId(),
+                        error != null ? error.getMessage() : response.getStatus());
+                metrics.recordRenewal("lost");
+                sessions.remove(session);
+                session.markLost();
+                return;
+            }
+
+            // Transient failure - try again well before the session expires
+            metrics.recordRenewal("failed");
+            scheduleKeepAlive(session, Math.max(remaining / 3, 1));
+        });
+    }
+
+    private long renewDelay(long timeoutMs) {
+        return Math.max((long) (timeoutMs * config.getRenewAtFraction()), 1);
+    }
+
+    private void scheduleRenewal(HeldLock held, long delayMs) {
+        if (held.isReleased()) {
+            return;
+        }
+        held.setRenewal(scheduler.schedule(() -> renew(held), delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void renew(HeldLock held) {
+        if (held.isReleased()) {
+            return;
+        }
+
+        extend(held.getLockId(), held.getClientId(), held.getFencingToken(), held.getTimeoutMs())
+                .whenComplete((response, error) -> {
+                    if (held.isReleased()) {
+                        return;
+                    }
+
+                    if (error == null && response.getSuccess()) {
+                        metrics.recordRenewal("ok");
+                        held.renewed(response.getExpiresAt());
+                        scheduleRenewal(held, renewDelay(held.getTimeoutMs()));
+                        return;
+                    }
+
+                    long remaining = held.getExpiresAt() - System.currentTimeMillis();
+                    boolean definitive = error == null && response.getStatus() != LockStatus.LOCK_STATUS_TIMEOUT
+                            && response.getStatus() != LockStatus.LOCK_STATUS_NOT_LEADER
+                            && response.getStatus() != LockStatus.LOCK_STATUS_RESOURCE_EXHAUSTED;
+
+                    if (definitive || remaining <= 0) {
+                        log.warn("Lost lock {}: {}", held.getLockId(),
+                                error != null ? error.getMessage() : response.getStatus());
+                        metrics.recordRenewal("lost");
+                        heldLocks.remove(held);
+                        held.markLost();
+                        return;
+                    }
+
+                    // Transient failure - try again well before the lock expires
+                    metrics.recordRenewal("failed");
+                    scheduleRenewal(held, Math.max(remaining / 3, 1));
+                });
+    }
+
+    /**
+     * Sends a request to the current leader, following leader changes and
+     * retrying NOT_LEADER answers and unavailable nodes.
+     */
+    private <T> CompletableFuture<T> callLeader(
+            String operation,
+            Function<LockServiceGrpc.LockServiceFutureStub, ListenableFuture<T>> call,
+            Function<T, LockStatus> status) {
+
+        var sample = metrics.start();
+        var result = new CompletableFuture<T>();
+        attempt(operation, call, status, 1, result);
+        return result.whenComplete((response, error) ->
+                metrics.recordRequest(sample, operation, outcome(response, error, status)));
+    }
+
+    private <T> void attempt(String operation,
+                             Function<LockServiceGrpc.LockServiceFutureStub, ListenableFuture<T>> call,
+                             Function<T, LockStatus> status,
+                             int attempt,
+                             CompletableFuture<T> result) {
+        var endpoint = leader.get();
+
+        toCompletable(call.apply(stub(endpoint))).whenComplete((response, error) -> {
+            boolean retryable;
+            boolean wrongNode;
+            if (error == null) {
+                var responseStatus = status.apply(response);
+                wrongNode = responseStatus == LockStatus.LOCK_STATUS_NOT_LEADER;
+                retryable = wrongNode || responseStatus == LockStatus.LOCK_STATUS_RESOURCE_EXHAUSTED;
+            } else {
+                wrongNode = Status.fromThrowable(error).getCode() == Status.Code.UNAVAILABLE;
+                retryable = wrongNode;
+            }
+
+            if (!retryable || attempt >= config.getMaxAttempts()) {
+                if (error == null) {
+                    result.complete(response);
+                } else {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+
+            // A leader hint in the trailers has already moved us; otherwise try the next node.
+            // An overloaded leader is still the leader, so only back off
+            if (wrongNode && leader.get().equals(endpoint)) {
+                switchLeader(endpoint, otherEndpoint(endpoint));
+            }
+
+            metrics.recordRetry(operation);
+            scheduler.schedule(() -> attempt(operation, call, status, attempt + 1, result),
+                    backoff(attempt), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Full jitter: a uniformly random delay up to an exponentially growing ceiling.
+     */
+    private long backoff(int attempt) {
+        long ceiling = Math.min(config.getMaxBackoffMs(),
+                config.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void switchLeader(String from, String to) {
+        if (to != null && !to.equals(from) && leader.compareAndSet(from, to)) {
+            log.debug("Switched lock manager leader from {} to {}", from, to);
+            metrics.recordLeaderChange();
+        }
+    }
+
+    /**
+     * Returns the configured endpoint after the given one, or null if there is none.
+     */
+    private String otherEndpoint(String endpoint) {
+        if (endpoints.size() < 2 && endpoints.contains(endpoint)) {
+            return null;
+        }
+        int index = endpoints.indexOf(endpoint);
+        return endpoints.get((index + 1) % endpoints.size());
+    }
+
+    private LockServiceGrpc.LockServiceFutureStub stub(String endpoint) {
+        return stubs.computeIfAbsent(endpoint, key -> {
+            var channel = channels.computeIfAbsent(key, config.getChannelFactory());
+            log.info("Created lock manager channel to {}", key);
+            return LockServiceGrpc.newFutureStub(ClientInterceptors.intercept(channel, new LeaderHintInterceptor(key)));
+        }).withDeadlineAfter(config.getRequestTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> String outcome(T response, Throwable error, Function<T, LockStatus> status) {
+        if (error != null) {
+            return Status.fromThrowable(error).getCode().name();
+        }
+        return status.apply(response).name();
+    }
+
+    private static <T> CompletableFuture<T> toCompletable(ListenableFuture<T> listenable) {
+        var future = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenable.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        Futures.addCallback(listenable, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T value) {
+                future.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return future;
+    }
+
+    @Override
+    public void close() {
+        if (tokenValidator != null) {
+            tokenValidator.close();
+        }
+        heldLocks.forEach(HeldLock::release);
+        sessions.forEach(ClientSession::closeSession);
+        scheduler.shutdown();
+        for (var channel : channels.values()) {
+            try {
+                channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                channel.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        channels.clear();
+        stubs.clear();
+    }
+
+    /**
+     * Follows the leader hint the server puts in the trailers of every call.
+     */
+    private class LeaderHintInterceptor implements ClientInterceptor {
+
+        private final String endpoint;
+
+        LeaderHintInterceptor(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                   CallOptions callOptions, Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            var hint = trailers.get(LEADER_ADDRESS_KEY);
+                            if (hint != null) {
+                                switchLeader(endpoint, hint);
+                            }
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                }
+            };
+        }
+    }
+}
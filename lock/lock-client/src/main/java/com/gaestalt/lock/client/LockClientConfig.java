@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Configuration for {@link LockClient}.
+ */
+@Getter
+@Builder
+public class LockClientConfig {
+
+    /**
+     * Lock manager nodes of one region, as host:port. Requests go to the known
+     * leader first; the other endpoints are used to find a new leader and to
+     * hedge CheckLock reads.
+     */
+    @Singular
+    private final List<String> endpoints;
+
+    /** Deadline for each individual RPC attempt. */
+    @Builder.Default
+    private final long requestTimeoutMs = 10000;
+
+    /** Attempts per operation, including the first. */
+    @Builder.Default
+    private final int maxAttempts = 5;
+
+    /** Retry backoff: full jitter over an exponentially growing ceiling. */
+    @Builder.Default
+    private final long initialBackoffMs = 25;
+    @Builder.Default
+    private final long maxBackoffMs = 2000;
+
+    /** Delay before a CheckLock read is hedged to a second node; zero disables hedging. */
+    @Builder.Default
+    private final long hedgeDelayMs = 20;
+
+    /** Held locks are renewed after this fraction of their timeout has elapsed. */
+    @Builder.Default
+    private final double renewAtFraction = 0.5;
+
+    /**
+     * Token validation: locks whose state is cached from WatchTokens pushes (the
+     * least recently used are dropped and unwatched beyond this), and how close to
+     * its expiry a cached lock stops being trusted, to allow for clock skew.
+     */
+    @Builder.Default
+    private final int tokenCacheMaxEntries = 10000;
+    @Builder.Default
+    private final long tokenExpiryMarginMs = 100;
+
+    /** Cache misses are batched into one ValidateTokens call of at most this many checks. */
+    @Builder.Default
+    private final long tokenBatchLingerMs = 2;
+    @Builder.Default
+    private final int tokenBatchMaxSize = 500;
+
+    @Builder.Default
+    private final MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /** Creates the channel for an endpoint; channels are created once and reused. */
+    @Builder.Default
+    private final Function<String, ManagedChannel> channelFactory = endpoint ->
+            ManagedChannelBuilder.forTarget(endpoint)
+                    .usePlaintext() // Use TLS in production
+                    .keepAliveTime(30, TimeUnit.SECONDS)
+                    .build();
+}
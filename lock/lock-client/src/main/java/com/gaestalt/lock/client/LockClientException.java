@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.LockStatus;
+import lombok.Getter;
+
+/**
+ * Raised when a lock operation completes with a non-OK lock status where the
+ * client API has no response to return it in.
+ */
+@Getter
+public class LockClientException extends RuntimeException {
+
+    private final LockStatus status;
+
+    public LockClientException(LockStatus status, String message) {
+        super(message.isEmpty() ? status.name() : message);
+        this.status = status;
+    }
+}
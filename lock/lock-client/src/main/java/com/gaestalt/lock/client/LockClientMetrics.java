@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+
+/**
+ * Micrometer meters recorded by {@link LockClient}.
+ *
+ * <ul>
+ *   <li>{@code lockmgr.client.requests} - timer per operation and outcome (lock status or gRPC code)</li>
+ *   <li>{@code lockmgr.client.retries} - retried attempts per operation</li>
+ *   <li>{@code lockmgr.client.hedges} - CheckLock reads hedged to a second node</li>
+ *   <li>{@code lockmgr.client.leader.changes} - times the client switched leader</li>
+ *   <li>{@code lockmgr.client.renewals} - background renewals per outcome</li>
+ *   <li>{@code lockmgr.client.held.locks} - locks currently renewed in the background</li>
+ *   <li>{@code lockmgr.client.token.validations} - fencing tokens validated, by outcome
+ *       (hit answered from the watch cache, miss sent to the server)</li>
+ * </ul>
+ */
+class LockClientMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter hedges;
+    private final Counter leaderChanges;
+
+    LockClientMetrics(MeterRegistry registry, Collection<?> heldLocks) {
+        this.registry = registry;
+        this.hedges = registry.counter("lockmgr.client.hedges");
+        this.leaderChanges = registry.counter("lockmgr.client.leader.changes");
+        Gauge.builder("lockmgr.client.held.locks", heldLocks, Collection::size)
+                .register(registry);
+    }
+
+    Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    void recordRequest(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("lockmgr.client.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    void recordRetry(String operation) {
+        registry.counter("lockmgr.client.retries", "operation", operation).increment();
+    }
+
+    void recordHedge() {
+        hedges.increment();
+    }
+
+    void recordLeaderChange() {
+        leaderChanges.increment();
+    }
+
+    void recordRenewal(String outcome) {
+        registry.counter("lockmgr.client.renewals", "outcome", outcome).increment();
+    }
+
+    void recordTokenValidation(String outcome) {
+        registry.counter("lockmgr.client.token.validations", "outcome", outcome).increment();
+    }
+}
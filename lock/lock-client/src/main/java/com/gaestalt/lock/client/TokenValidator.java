@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.LockStatus;
+import com.gaestalt.lock.grpc.generated.TokenCheck;
+import com.gaestalt.lock.grpc.generated.TokenState;
+import com.gaestalt.lock.grpc.generated.ValidateTokensRequest;
+import com.gaestalt.lock.grpc.generated.WatchTokensRequest;
+import com.gaestalt.lock.grpc.generated.WatchTokensResponse;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates fencing tokens for a resource guarded by the lock manager, e.g. a
+ * storage service checking that a writer still holds its lock.
+ *
+ * Every lock validated is watched over one WatchTokens stream, and the state the
+ * server pushes is cached. A token that matches a cached, unexpired lock is valid
+ * without a round trip, and one older than the cached token is stale. Anything
+ * else - a lock not yet pushed, a token newer than the cache, a lock close to
+ * expiry - is checked with the server in a batched ValidateTokens call.
+ *
+ * Like a follower answering ValidateTokens, the cache trails the leader by the
+ * time a push takes to arrive.
+ *
+ * The cache holds the most recently validated tokenCacheMaxEntries locks; older
+ * ones are unwatched. If the stream breaks the cache is dropped, since pushes may
+ * have been missed, and the next miss opens a new stream.
+ */
+@Slf4j
+public class TokenValidator implements AutoCloseable {
+
+    private final LockClient client;
+    private final LockClientConfig config;
+    private final ScheduledExecutorService scheduler;
+    private final LockClientMetrics metrics;
+
+    // Watched locks, with their last pushed state (null until the first push). Guarded by this
+    private final Map<String, CachedToken> cache;
+    private StreamObserver<WatchTokensRequest> stream;
+    private Watch watch;
+    private List<PendingCheck> batch = new ArrayList<>();
+    private ScheduledFuture<?> flush;
+    private boolean closed;
+
+    TokenValidator(LockClient client, LockClientConfig config,
+                   ScheduledExecutorService scheduler, LockClientMetrics metrics) {
+        this.client = client;
+        this.config = config;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                if (size() <= config.getTokenCacheMaxEntries()) {
+                    return false;
+                }
+                send(WatchTokensRequest.newBuilder().addUnwatch(eldest.getKey()).build());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Completes with whether the token is the one the lock's current holder was
+     * granted. Completes exceptionally if the server could not be asked.
+     */
+    public CompletableFuture<Boolean> validate(String lockId, long fencingToken) {
+        var check = new PendingCheck(lockId, fencingToken, new CompletableFuture<>());
+        boolean flushNow;
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Token validator is closed");
+            }
+
+            var cached = cache.get(lockId);
+            if (cached != null) {
+                if (fencingToken < cached.fencingToken()
+                        || (!cached.locked() && fencingToken == cached.fencingToken())) {
+                    metrics.recordTokenValidation("hit");
+                    return CompletableFuture.completedFuture(false);
+                }
+                if (cached.locked() && fencingToken == cached.fencingToken()
+                        && System.currentTimeMillis() + config.getTokenExpiryMarginMs() < cached.expiresAt()) {
+                    metrics.recordTokenValidation("hit");
+                    return CompletableFuture.completedFuture(true);
+                }
+            } else if (!cache.containsKey(lockId)) {
+                cache.put(lockId, null);
+                send(WatchTokensRequest.newBuilder().addWatch(lockId).build());
+            }
+
+            metrics.recordTokenValidation("miss");
+            batch.add(check);
+            flushNow = batch.size() >= config.getTokenBatchMaxSize();
+            if (!flushNow && flush == null) {
+                flush = scheduler.schedule(this::flush, config.getTokenBatchLingerMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (flushNow) {
+            flush();
+        }
+        return check.result();
+    }
+
+    /**
+     * Returns the number of locks watched, whether or not their state has arrived.
+     */
+    public synchronized int getWatchedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Closes the watch stream. Checks already queued are still sent.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (stream != null) {
+                stream.onCompleted();
+                stream = null;
+                watch = null;
+            }
+            cache.clear();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<PendingCheck> checks;
+        synchronized (this) {
+            if (flush != null) {
+                flush.cancel(false);
+                flush = null;
+            }
+            checks = batch;
+            batch = new ArrayList<>();
+        }
+        if (checks.isEmpty()) {
+            return;
+        }
+
+        var request = ValidateTokensRequest.newBuilder();
+        checks.forEach(check -> request.addChecks(TokenCheck.newBuilder()
+                .setLockId(check.lockId())
+                .setFencingToken(check.fencingToken())));
+
+        client.validateTokens(request.build()).whenComplete((response, error) -> {
+            var failure = error;
+            if (failure == null && (response.getStatus() != LockStatus.LOCK_STATUS_OK
+                    || response.getResultsCount() != checks.size())) {
+                failure = new LockClientException(response.getStatus(), response.getErrorMessage());
+            }
+            for (int i = 0; i < checks.size(); i++) {
+                if (failure != null) {
+                    checks.get(i).result().completeExceptionally(failure);
+                } else {
+                    checks.get(i).result().complete(response.getResults(i).getValid());
+                }
+            }
+        });
+    }
+
+    /**
+     * Sends a watch or unwatch request, opening the stream first if needed.
+     * Called with the monitor held, which also keeps calls on the stream serial.
+     */
+    private void send(WatchTokensRequest request) {
+        if (stream == null) {
+            watch = new Watch();
+            stream = client.watchTokens(watch);
+        }
+        stream.onNext(request);
+    }
+
+    private synchronized void pushed(Watch from, List<TokenState> states) {
+        if (from != watch) {
+            return; // A stream already given up on
+        }
+        for (var state : states) {
+            var previous = cache.get(state.getLockId());
+            if (previous == null && !cache.containsKey(state.getLockId())) {
+                continue; // Unwatched since
+            }
+            // An unlocked push carries no token; the last one seen is still stale
+            long token = state.getIsLocked() ? state.getFencingToken()
+                    : previous != null ? previous.fencingToken() : 0;
+            cache.replace(state.getLockId(), new CachedToken(state.getIsLocked(), token, state.getExpiresAt()));
+        }
+    }
+
+    private synchronized void broken(Watch from, Throwable error) {
+        if (from != watch) {
+            return;
+        }
+        log.debug("Token watch stream closed{}", error != null ? ": " + error.getMessage() : "");
+        stream = null;
+        watch = null;
+        // Pushes may have been missed, so nothing cached can be trusted
+        cache.clear();
+    }
+
+    /**
+     * Receives the pushes of one stream.
+     */
+    private class Watch implements StreamObserver<WatchTokensResponse> {
+
+        @Override
+        public void onNext(WatchTokensResponse response) {
+            pushed(this, response.getTokensList());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            broken(this, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            broken(this, null);
+        }
+    }
+
+    private record CachedToken(boolean locked, long fencingToken, long expiresAt) {}
+
+    private record PendingCheck(String lockId, long fencingToken, CompletableFuture<Boolean> result) {}
+}
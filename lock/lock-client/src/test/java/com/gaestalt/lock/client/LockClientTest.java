@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.client;
+
+import com.gaestalt.lock.grpc.generated.*;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LockClient against in-process lock services.
+ */
+class LockClientTest {
+
+    private final List<Server> servers = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LockClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        servers.forEach(Server::shutdownNow);
+    }
+
+    @Test
+    @DisplayName("Should retry NOT_LEADER on the next node and remember it")
+    void shouldRetryNotLeaderOnNextNode() throws Exception {
+        start("follower", new FakeLockService(false), null);
+        start("leader", new FakeLockService(true), null);
+        client = client("follower", "leader");
+
+        var response = client.acquire("lock-1", "client-1", 30000).get(5, TimeUnit.SECONDS);
+
+        assertTrue(response.getSuccess());
+        assertEquals("leader", client.getLeader());
+        assertEquals(1.0, registry.counter("lockmgr.client.retries", "operation", "acquire").count());
+    }
+
+    @Test
+    @DisplayName("Should not acquire again when an unanswered attempt already took the lock")
+    void shouldResolveUnansweredAcquireWithCheck() throws Exception {
+        var leader = new FakeLockService(true);
+        leader.loseAcquireReply = true;
+        start("leader", leader, null);
+        client = client("leader");
+
+        var response = client.acquire("lock-1", "client-1", 30000).get(5, TimeUnit.SECONDS);
+
+        assertTrue(response.getSuccess());
+        assertEquals(42, response.getFencingToken());
+        assertEquals(1, leader.acquisitions.get());
+    }
+
+    @Test
+    @DisplayName("Should follow the leader hint in response trailers")
+    void shouldFollowLeaderHint() throws Exception {
+        start("follower", new FakeLockService(true), "leader");
+        start("leader", new FakeLockService(true), null);
+        client = client("follower", "leader");
+
+        client.acquire("lock-1", "client-1", 30000).get(5, TimeUnit.SECONDS);
+
+        assertEquals("leader", client.getLeader());
+    }
+
+    @Test
+    @DisplayName("Should hedge slow CheckLock reads to another node")
+    void shouldHedgeSlowCheckLock() throws Exception {
+        var slow = new FakeLockService(true);
+        slow.checkDelayMs = 2000;
+        start("slow", slow, null);
+        start("fast", new FakeLockService(true), null);
+        client = client("slow", "fast");
+
+        long start = System.currentTimeMillis();
+        var response = client.check("lock-1").get(5, TimeUnit.SECONDS);
+
+        assertEquals(LockStatus.LOCK_STATUS_OK, response.getStatus());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(1.0, registry.counter("lockmgr.client.hedges").count());
+    }
+
+    @Test
+    @DisplayName("Should renew held locks until released")
+    void shouldRenewHeldLocks() throws Exception {
+        var leader = new FakeLockService(true);
+        start("leader", leader, null);
+        client = client("leader");
+
+        var held = client.hold("lock-1", "client-1", 100).get(5, TimeUnit.SECONDS);
+        Thread.sleep(350);
+
+        assertTrue(held.isHeld());
+        assertTrue(leader.extensions.get() >= 2);
+
+        held.release().get(5, TimeUnit.SECONDS);
+        int renewals = leader.extensions.get();
+        Thread.sleep(200);
+
+        assertFalse(held.isHeld());
+        assertEquals(renewals, leader.extensions.get());
+        assertEquals(1, leader.releases.get());
+    }
+
+    @Test
+    @DisplayName("Should mark held lock lost when renewal is rejected")
+    void shouldMarkLockLostWhenRenewalRejected() throws Exception {
+        var leader = new FakeLockService(true);
+        leader.extendStatus = LockStatus.LOCK_STATUS_INVALID_TOKEN;
+        start("leader", leader, null);
+        client = client("leader");
+
+        var held = client.hold("lock-1", "client-1", 100).get(5, TimeUnit.SECONDS);
+
+        held.whenLost().get(5, TimeUnit.SECONDS);
+        assertFalse(held.isHeld());
+    }
+
+    @Test
+    @DisplayName("Should batch token checks the cache cannot answer")
+    void shouldBatchUncachedTokenChecks() throws Exception {
+        var leader = new FakeLockService(true);
+        leader.pushTokens = false;
+        start("leader", leader, null);
+        client = client("leader");
+        var validator = client.tokenValidator();
+
+        var current = validator.validate("lock-1", 42);
+        var stale = validator.validate("lock-1", 41);
+        var other = validator.validate("lock-2", 42);
+
+        assertTrue(current.get(5, TimeUnit.SECONDS));
+        assertFalse(stale.get(5, TimeUnit.SECONDS));
+        assertTrue(other.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3), leader.validationBatches);
+        assertEquals(2, validator.getWatchedCount());
+    }
+
+    @Test
+    @DisplayName("Should answer pushed tokens locally until the lock changes")
+    void shouldAnswerPushedTokensLocally() throws Exception {
+        var leader = new FakeLockService(true);
+        start("leader", leader, null);
+        client = client("leader");
+        var validator = client.tokenValidator();
+
+        assertTrue(validator.validate("lock-1", 42).get(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertTrue(validator.validate("lock-1", 42).getNow(false));
+        assertFalse(validator.validate("lock-1", 41).getNow(true));
+        assertEquals(1, leader.validationBatches.size());
+        assertEquals(2.0, registry.counter("lockmgr.client.token.validations", "outcome", "hit").count());
+
+        leader.push(TokenState.newBuilder().setLockId("lock-1").build());
+        Thread.sleep(100);
+
+        assertFalse(validator.validate("lock-1", 42).getNow(true));
+        assertEquals(1, leader.validationBatches.size());
+    }
+
+    private LockClient client(String... endpoints) {
+        return new LockClient(LockClientConfig.builder()
+                .endpoints(List.of(endpoints))
+                .initialBackoffMs(1)
+                .hedgeDelayMs(50)
+                .tokenBatchLingerMs(50)
+                .meterRegistry(registry)
+                .channelFactory(name -> InProcessChannelBuilder.forName(name).directExecutor().build())
+                .build());
+    }
+
+    private void start(String name, FakeLockService service, String leaderHint) throws IOException {
+        var builder = InProcessServerBuilder.forName(name);
+        if (leaderHint != null) {
+            builder.addService(ServerInterceptors.intercept(service, new HintInterceptor(leaderHint)));
+        } else {
+            builder.addService(service);
+        }
+        servers.add(builder.build().start());
+    }
+
+    private static class FakeLockService extends LockServiceGrpc.LockServiceImplBase {
+        private final boolean leader;
+        private final AtomicInteger acquisitions = new AtomicInteger();
+        private final AtomicInteger extensions = new AtomicInteger();
+        private final AtomicInteger releases = new AtomicInteger();
+        private volatile long checkDelayMs = 0;
+        private volatile boolean loseAcquireReply;
+        private volatile String holder;
+        private volatile LockStatus extendStatus = LockStatus.LOCK_STATUS_OK;
+        private final List<Integer> validationBatches = new CopyOnWriteArrayList<>();
+        private volatile boolean pushTokens = true;
+        private volatile StreamObserver<WatchTokensResponse> watcher;
+
+        FakeLockService(boolean leader) {
+            this.leader = leader;
+        }
+
+        @Override
+        public void acquireLock(AcquireLockRequest request, StreamObserver<AcquireLockResponse> observer) {
+            if (leader) {
+                acquisitions.incrementAndGet();
+                holder = request.getClientId();
+            }
+            if (loseAcquireReply) {
+                // Taken, but the answer never reaches the client
+                loseAcquireReply = false;
+                observer.onError(Status.UNAVAILABLE.asRuntimeException());
+                return;
+            }
+            observer.onNext(AcquireLockResponse.newBuilder()
+                    .setSuccess(leader)
+                    .setFencingToken(leader ? 42 : 0)
+                    .setExpiresAt(System.currentTimeMillis() + request.getTimeoutMs())
+                    .setStatus(leader ? LockStatus.LOCK_STATUS_OK : LockStatus.LOCK_STATUS_NOT_LEADER)
+                    .build());
+            observer.onCompleted();
+        }
+
+        @Override
+        public void releaseLock(ReleaseLockRequest request, StreamObserver<ReleaseLockResponse> observer) {
+            releases.incrementAndGet();
+            observer.onNext(ReleaseLockResponse.newBuilder()
+                    .setSuccess(true)
+                    .setStatus(LockStatus.LOCK_STATUS_OK)
+                    .build());
+            observer.onCompleted();
+        }
+
+        @Override
+        public void extendLock(ExtendLockRequest request, StreamObserver<ExtendLockResponse> observer) {
+            extensions.incrementAndGet();
+            observer.onNext(ExtendLockResponse.newBuilder()
+                    .setSuccess(extendStatus == LockStatus.LOCK_STATUS_OK)
+                    .setExpiresAt(System.currentTimeMillis() + request.getTimeoutMs())
+                    .setStatus(extendStatus)
+                    .build());
+            observer.onCompleted();
+        }
+
+        @Override
+        public void checkLock(CheckLockRequest request, StreamObserver<CheckLockResponse> observer) {
+            if (checkDelayMs > 0) {
+                try {
+                    Thread.sleep(checkDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            var held = holder;
+            observer.onNext(CheckLockResponse.newBuilder()
+                    .setIsLocked(held != null)
+                    .setHolderId(held != null ? held : "")
+                    .setFencingToken(held != null ? 42 : 0)
+                    .setStatus(LockStatus.LOCK_STATUS_OK)
+                    .build());
+            observer.onCompleted();
+        }
+
+        @Override
+        public void validateTokens(ValidateTokensRequest request, StreamObserver<ValidateTokensResponse> observer) {
+            validationBatches.add(request.getChecksCount());
+            var response = ValidateTokensResponse.newBuilder().setStatus(LockStatus.LOCK_STATUS_OK);
+            for (var check : request.getChecksList()) {
+                response.addResults(TokenValidity.newBuilder()
+                        .setLockId(check.getLockId())
+                        .setValid(check.getFencingToken() == 42)
+                        .setCurrentFencingToken(42));
+            }
+            observer.onNext(response.build());
+            observer.onCompleted();
+        }
+
+        @Override
+        public StreamObserver<WatchTokensRequest> watchTokens(StreamObserver<WatchTokensResponse> observer) {
+            watcher = observer;
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(WatchTokensRequest request) {
+                    if (pushTokens) {
+                        request.getWatchList().forEach(lockId -> push(TokenState.newBuilder()
+                                .setLockId(lockId)
+                                .setIsLocked(true)
+                                .setFencingToken(42)
+                                .setExpiresAt(System.currentTimeMillis() + 30000)
+                                .build()));
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    observer.onCompleted();
+                }
+            };
+        }
+
+        synchronized void push(TokenState state) {
+            watcher.onNext(WatchTokensResponse.newBuilder().addTokens(state).build());
+        }
+    }
+
+    private record HintInterceptor(String leaderAddress) implements ServerInterceptor {
+        @Override
+        public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                     ServerCallHandler<ReqT, RespT> next) {
+            return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+                @Override
+                public void close(Status status, Metadata trailers) {
+                    trailers.put(LockClient.LEADER_ADDRESS_KEY, leaderAddress);
+                    super.close(status, trailers);
+                }
+            }, headers);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the gRPC channels this node opens to other nodes and regions.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "lockmgr.channels")
+@Getter
+@Setter
+public class ChannelConfig {
+
+    /**
+     * Use the native epoll transport where the platform has it, otherwise NIO.
+     * Every channel shares one event loop group; 0 threads uses Netty's default.
+     */
+    private boolean nativeTransportEnabled = true;
+    private int eventLoopThreads = 0;
+
+    /**
+     * Initial HTTP/2 flow-control window per stream. Netty still tunes the window
+     * from the measured bandwidth-delay product; links to other regions start
+     * larger because theirs is higher.
+     */
+    private int flowControlWindowBytes = 1024 * 1024;
+    private int wanFlowControlWindowBytes = 4 * 1024 * 1024;
+
+    /**
+     * Keepalive pings on idle connections, and how long to wait for the reply
+     * before the connection is treated as dead.
+     */
+    private long keepAliveTimeMs = 30000;
+    private long keepAliveTimeoutMs = 10000;
+
+    /**
+     * Compressor for calls to other regions; blank sends them uncompressed. Calls
+     * within the region are never compressed.
+     */
+    private String wanCompression = "gzip";
+}
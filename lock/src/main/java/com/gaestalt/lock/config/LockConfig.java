@@ -26,6 +26,58 @@ public class LockConfig {
     private long maxTimeoutMs = 300000;
     private long minTimeoutMs = 1000;
 
+    /**
+     * When enabled, only one acquisition per lock runs its quorum round at a time;
+     * competing acquires fail fast, or wait with waitForInFlightAcquire.
+     */
+    private boolean inFlightTableEnabled = true;
+    private boolean waitForInFlightAcquire = false;
+
+    /**
+     * Tick and bucket count of the shared timer wheel. Timers fire up to one tick
+     * late; a timeout longer than one rotation waits extra rounds in its bucket.
+     */
+    private long timerTickMs = 10;
+    private int timerWheelSize = 512;
+
+    /**
+     * Session TTL bounds. A keepalive moves the session's expiry, and that of every
+     * lock held under it, one TTL ahead. The leader looks for expired sessions every
+     * sessionExpiryCheckMs and releases their locks.
+     */
+    private long defaultSessionTtlMs = 10000;
+    private long minSessionTtlMs = 1000;
+    private long maxSessionTtlMs = 60000;
+    private long sessionExpiryCheckMs = 500;
+
+    /**
+     * Lock expiry: every lockExpiryCheckMs the leader looks for expired locks and
+     * proposes their removal in batches of up to lockExpiryBatchSize, one Raft entry
+     * each. Followers remove them when the entry applies and do not sweep.
+     */
+    private long lockExpiryCheckMs = 1000;
+    private int lockExpiryBatchSize = 512;
+
+    /**
+     * Hot-lock tracking: how many of the most contended locks are kept per kind of
+     * contention, and how often their counts are halved so the ranking follows
+     * current traffic (0 never decays).
+     */
+    private int hotLocksTopK = 20;
+    private long hotLocksDecayMs = 60000;
+
+    /**
+     * Largest page ListLocks returns; smaller requests are honoured.
+     */
+    private int maxListPageSize = 1000;
+
+    /**
+     * Fencing-token validation: the most tokens one ValidateTokens call may check,
+     * and the most locks one WatchTokens stream may watch at once.
+     */
+    private int maxTokenChecksPerRequest = 1000;
+    private int maxWatchedTokensPerStream = 10000;
+
     /**
      * Validates and normalizes a timeout value.
      */
@@ -35,4 +87,24 @@ public class LockConfig {
         }
         return Math.min(Math.max(requestedTimeoutMs, minTimeoutMs), maxTimeoutMs);
     }
+
+    /**
+     * Validates and normalizes a ListLocks page size.
+     */
+    public int normalizePageSize(int requestedPageSize) {
+        if (requestedPageSize <= 0) {
+            return maxListPageSize;
+        }
+        return Math.min(requestedPageSize, maxListPageSize);
+    }
+
+    /**
+     * Validates and normalizes a session TTL.
+     */
+    public long normalizeSessionTtl(long requestedTtlMs) {
+        if (requestedTtlMs <= 0) {
+            return defaultSessionTtlMs;
+        }
+        return Math.min(Math.max(requestedTtlMs, minSessionTtlMs), maxSessionTtlMs);
+    }
 }
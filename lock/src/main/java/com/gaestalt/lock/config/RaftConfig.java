@@ -31,6 +31,48 @@ public class RaftConfig {
     private String nodeId;
     private long electionTimeoutMs = 150;
     private long heartbeatIntervalMs = 50;
+
+    /**
+     * Adaptive timing. The leader heartbeats at heartbeatRttMultiplier times the p99
+     * AppendEntries round trip to its slowest peer, and stretches the interval up to
+     * idleHeartbeatIntervalMs while the cluster is idle. Followers time out at
+     * electionGapMultiplier times the p99 gap between heartbeats. The fixed values
+     * above are the floors; disabled, they are used unchanged.
+     */
+    private boolean adaptiveTimingEnabled = true;
+    private double heartbeatRttMultiplier = 4.0;
+    private long maxHeartbeatIntervalMs = 250;
+    private long idleHeartbeatIntervalMs = 500;
+    private double electionGapMultiplier = 3.0;
+    private long maxElectionTimeoutMs = 3000;
+
+    /**
+     * Deadline for requests forwarded to the leader, and the maximum number of
+     * forwards in flight before further requests are refused with a leader hint.
+     */
+    private long forwardTimeoutMs = 10000;
+    private int maxConcurrentForwards = 256;
+
+    /**
+     * Admission control on the leader: proposals waiting to be applied, in total
+     * and per client, before new ones are refused with RESOURCE_EXHAUSTED, and how
+     * long a proposal may wait before it fails with TIMEOUT.
+     */
+    private int maxPendingProposals = 4096;
+    private int maxPendingProposalsPerClient = 64;
+    private long proposalTimeoutMs = 10000;
+
+    /**
+     * Local snapshots of the applied state, written every snapshotIntervalMs and on
+     * shutdown, and loaded on startup so only the log tail needs applying. Catch-up
+     * ranges of at least parallelReplayThreshold entries are applied across
+     * replayThreads (0 uses one per processor), partitioned by lock.
+     */
+    private boolean snapshotEnabled = true;
+    private String snapshotDir = "data/raft";
+    private long snapshotIntervalMs = 30000;
+    private int parallelReplayThreshold = 1024;
+    private int replayThreads = 0;
     private List<ClusterNode> clusterNodes = new ArrayList<>();
 
     /**
@@ -32,6 +32,53 @@ public class RegionConfig {
     private int quorumTimeoutMs = 5000;
     private int regionPort = 9091;
 
+    /**
+     * Whether locks acquired repeatedly from this region are homed here automatically.
+     * Region-local scope requests take a home lease regardless of this setting.
+     */
+    private boolean leaseEnabled = false;
+    private long leaseDurationMs = 10000;
+
+    /**
+     * Number of local acquisitions of a lock within one lease duration before
+     * this region asks to become the lock's home.
+     */
+    private int leaseAcquireThreshold = 3;
+
+    /**
+     * Region health probing. A region that fails this many calls in a row is
+     * marked suspect and skipped in vote fan-out while a majority is still reachable.
+     */
+    private long healthProbeIntervalMs = 1000;
+    private long healthProbeTimeoutMs = 500;
+    private int suspectAfterFailures = 3;
+
+    /**
+     * Lock event replication. Acquisitions and releases are sent to each peer
+     * region over one ordered stream, in batches of up to replicationBatchSize
+     * gathered for replicationLingerMs. At most replicationMaxPending events are
+     * kept per peer while it is unreachable; older events are left to anti-entropy.
+     */
+    private boolean replicationStreamEnabled = true;
+    private int replicationBatchSize = 256;
+    private long replicationLingerMs = 5;
+    private int replicationMaxPending = 100000;
+
+    /**
+     * Interval between anti-entropy passes that reconcile remotely held locks
+     * with each peer region. Zero disables reconciliation.
+     */
+    private long antiEntropyIntervalMs = 30000;
+
+    /**
+     * Hierarchical mode. The region leaders form a Raft group of their own, and
+     * global-scope acquires, releases and extends commit through its log instead
+     * of the vote and notification protocol. Its timers are sized for WAN round trips.
+     */
+    private boolean globalRaftEnabled = false;
+    private long globalElectionTimeoutMs = 1000;
+    private long globalHeartbeatIntervalMs = 200;
+
     /**
      * Comma-separated list of region peers in format: regionId:host:port,regionId:host:port
      * Example: us-west:us-west-node-1:9090,eu-west:eu-west-node-1:9090
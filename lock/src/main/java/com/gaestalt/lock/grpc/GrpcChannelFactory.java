@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.config.ChannelConfig;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.SocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Channels to other nodes and regions, shared by Raft replication, leader
+ * forwarding and cross-region calls.
+ *
+ * There is one connection per address, whichever roles reach it: a peer that is
+ * both a Raft follower and the leader requests are forwarded to is reached over
+ * the same connection. All connections run on one event loop group, using the
+ * native epoll transport where available, with the flow-control window and
+ * keepalive from ChannelConfig. Calls over WAN links are compressed.
+ *
+ * The factory owns its channels; callers never shut them down.
+ */
+@Slf4j
+@Component
+public class GrpcChannelFactory {
+
+    /**
+     * Kind of link a channel crosses.
+     */
+    public enum Link {
+        /** Another node in this region. */
+        LOCAL,
+        /** A node in another region. */
+        WAN
+    }
+
+    private final ChannelConfig config;
+    private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+    private final ClientInterceptor wanCompression;
+
+    private EventLoopGroup eventLoopGroup;
+    private Class<? extends SocketChannel> channelType;
+    private volatile boolean stopped;
+
+    public GrpcChannelFactory(ChannelConfig config) {
+        this.config = config;
+        this.wanCompression = config.getWanCompression() == null || config.getWanCompression().isBlank()
+                ? null : new CompressionInterceptor(config.getWanCompression());
+    }
+
+    /**
+     * Returns the channel to the address, opening the connection on first use.
+     * The connection's flow-control window is set by the link it is first opened
+     * for; compression applies per call, so it follows the link asked for here.
+     */
+    public Channel channel(String host, int port, Link link) {
+        var address = host + ":" + port;
+        ManagedChannel channel = channels.computeIfAbsent(address, key -> open(host, port, link));
+        if (stopped) {
+            // Opened as the factory shut down, perhaps after shutdown() collected the channels
+            channels.remove(address, channel);
+            channel.shutdownNow();
+            throw new IllegalStateException("Channel factory is shut down");
+        }
+        if (link == Link.WAN && wanCompression != null) {
+            return ClientInterceptors.intercept(channel, wanCompression);
+        }
+        return channel;
+    }
+
+    /**
+     * Open connections, one per address.
+     */
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Closes every channel. The channel map is cleared outside this factory's
+     * monitor: channels are opened under both a map bin lock and the monitor, so
+     * taking the bin locks while holding the monitor could deadlock.
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            stopped = true;
+        }
+        List<ManagedChannel> open = List.copyOf(channels.values());
+        channels.clear();
+        open.forEach(ManagedChannel::shutdown);
+        try {
+            for (var channel : open) {
+                if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+                    channel.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            open.forEach(ManagedChannel::shutdownNow);
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (eventLoopGroup != null) {
+                eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private synchronized ManagedChannel open(String host, int port, Link link) {
+        if (stopped) {
+            throw new IllegalStateException("Channel factory is shut down");
+        }
+        if (eventLoopGroup == null) {
+            startEventLoop();
+        }
+
+        int window = link == Link.WAN ? config.getWanFlowControlWindowBytes() : config.getFlowControlWindowBytes();
+        log.info("Opening {} channel to {}:{}", link, host, port);
+        return NettyChannelBuilder.forAddress(host, port)
+                .eventLoopGroup(eventLoopGroup)
+                .channelType(channelType)
+                .usePlaintext() // Use TLS in production
+                .initialFlowControlWindow(window)
+                .keepAliveTime(config.getKeepAliveTimeMs(), TimeUnit.MILLISECONDS)
+                .keepAliveTimeout(config.getKeepAliveTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private void startEventLoop() {
+        var threads = new DefaultThreadFactory("grpc-client", true);
+        if (config.isNativeTransportEnabled() && Epoll.isAvailable()) {
+            eventLoopGroup = new EpollEventLoopGroup(config.getEventLoopThreads(), threads);
+            channelType = EpollSocketChannel.class;
+        } else {
+            if (config.isNativeTransportEnabled()) {
+                log.info("Native epoll transport unavailable, using NIO: {}", Epoll.unavailabilityCause().getMessage());
+            }
+            eventLoopGroup = new NioEventLoopGroup(config.getEventLoopThreads(), threads);
+            channelType = NioSocketChannel.class;
+        }
+    }
+
+    /**
+     * Compresses every call made through the channel.
+     */
+    private record CompressionInterceptor(String compressor) implements ClientInterceptor {
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                   CallOptions callOptions, Channel next) {
+            return next.newCall(method, callOptions.withCompression(compressor));
+        }
+    }
+}
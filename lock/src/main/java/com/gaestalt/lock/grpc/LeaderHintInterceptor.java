@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.grpc.generated.LockServiceGrpc;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.service.LeaderForwarder;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+/**
+ * Adds leader hints to the trailers of every LockService call so clients can
+ * connect straight to the leader next time, and records whether the call was
+ * forwarded by another node so it is never forwarded a second time.
+ */
+@GrpcGlobalServerInterceptor
+@RequiredArgsConstructor
+public class LeaderHintInterceptor implements ServerInterceptor {
+
+    public static final Metadata.Key<String> LEADER_ID_KEY =
+            Metadata.Key.of("x-leader-id", Metadata.ASCII_STRING_MARSHALLER);
+    public static final Metadata.Key<String> LEADER_ADDRESS_KEY =
+            Metadata.Key.of("x-leader-address", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final Context.Key<String> FORWARDED_FROM = Context.key("forwarded-from");
+
+    private final RaftNode raftNode;
+    private final LeaderForwarder leaderForwarder;
+
+    /**
+     * Returns true if the current call was forwarded here by another node.
+     */
+    public static boolean isForwarded() {
+        return FORWARDED_FROM.get() != null;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (!LockServiceGrpc.SERVICE_NAME.equals(call.getMethodDescriptor().getServiceName())) {
+            return next.startCall(call, headers);
+        }
+
+        var hinting = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                raftNode.getLeaderId().ifPresent(leaderId -> {
+                    trailers.put(LEADER_ID_KEY, leaderId);
+                    leaderForwarder.getLeaderAddress(leaderId)
+                            .ifPresent(address -> trailers.put(LEADER_ADDRESS_KEY, address));
+                });
+                super.close(status, trailers);
+            }
+        };
+
+        var forwardedFrom = headers.get(LeaderForwarder.FORWARDED_FROM_KEY);
+        var context = Context.current().withValue(FORWARDED_FROM, forwardedFrom);
+        return Contexts.interceptCall(context, hinting, headers, next);
+    }
+}
@@ -9,20 +9,35 @@
 package com.gaestalt.lock.grpc;
 
 import com.gaestalt.lock.grpc.generated.*;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.model.LockScope;
 import com.gaestalt.lock.model.LockStatus;
 import com.gaestalt.lock.raft.RaftNode;
 import com.gaestalt.lock.service.LeaderForwarder;
 import com.gaestalt.lock.service.LockService;
-import io.grpc.Context;
-import io.grpc.Metadata;
+import com.gaestalt.lock.service.SessionService;
 import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
  * gRPC service implementation for client-facing lock operations.
  * Automatically forwards requests to the Raft leader if this node is a follower.
+ * Forwarding is asynchronous, and a request that was already forwarded once is
+ * answered with NOT_LEADER rather than forwarded again.
+ * Each call is traced as a server span that ends when the response is sent;
+ * WatchTokens streams are long-lived and not traced.
  */
 @Slf4j
 @GrpcService
@@ -30,39 +45,30 @@ import net.devh.boot.grpc.server.service.GrpcService;
 public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
 
     private final LockService lockService;
+    private final SessionService sessionService;
     private final RaftNode raftNode;
     private final LeaderForwarder leaderForwarder;
-
-    // Metadata key to detect forwarded requests and prevent loops
-    private static final Metadata.Key<String> FORWARDED_KEY =
-            Metadata.Key.of("x-forwarded-from", Metadata.ASCII_STRING_MARSHALLER);
+    private final Tracer tracer;
+    private final ContentionTracker contentionTracker;
+    private final TokenWatchers tokenWatchers;
 
     @Override
     public void acquireLock(AcquireLockRequest request,
                             StreamObserver<AcquireLockResponse> responseObserver) {
-        log.debug("gRPC AcquireLock: lockId={}, clientId={}, timeout={}",
-                request.getLockId(), request.getClientId(), request.getTimeoutMs());
+        var span = startGrpcSpan("AcquireLock", request.getLockId());
+        try (var scope = span.makeCurrent()) {
+            handleAcquireLock(request, traced(span, responseObserver, AcquireLockResponse::getStatus));
+        }
+    }
+
+    private void handleAcquireLock(AcquireLockRequest request,
+                                   StreamObserver<AcquireLockResponse> responseObserver) {
+        log.debug("gRPC AcquireLock: lockId={}, clientId={}, timeout={}, session={}",
+                request.getLockId(), request.getClientId(), request.getTimeoutMs(), request.getSessionId());
 
         // If not leader, forward to leader
         if (!raftNode.isLeader()) {
-            var forwardedResponse = leaderForwarder.forwardAcquireLock(request);
-            if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
-                log.debug("Forwarded acquire lock request, got response: {}",
-                        forwardedResponse.get().getStatus());
-                responseObserver.onNext(forwardedResponse.get());
-                responseObserver.onCompleted();
-                return;
-            }
-
-            // Forwarding failed, return not leader error
-            log.warn("Failed to forward acquire lock request to leader");
-            responseObserver.onNext(AcquireLockResponse.newBuilder()
-                    .setSuccess(false)
-                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
-                    .setErrorMessage("Not the leader and forwarding failed. Leader: " +
-                            raftNode.getLeaderId().orElse("unknown"))
-                    .build());
-            responseObserver.onCompleted();
+            forwardAcquireLock(request, responseObserver);
             return;
         }
 
@@ -70,7 +76,9 @@ public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
         lockService.acquireLock(
                 request.getLockId(),
                 request.getClientId(),
-                request.getTimeoutMs()
+                request.getTimeoutMs(),
+                mapScope(request.getScope()),
+                request.getSessionId().isEmpty() ? null : request.getSessionId()
         ).whenComplete((result, error) -> {
             if (error != null) {
                 log.error("Error acquiring lock: {}", error.getMessage());
@@ -108,29 +116,20 @@ public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
     @Override
     public void releaseLock(ReleaseLockRequest request,
                             StreamObserver<ReleaseLockResponse> responseObserver) {
+        var span = startGrpcSpan("ReleaseLock", request.getLockId());
+        try (var scope = span.makeCurrent()) {
+            handleReleaseLock(request, traced(span, responseObserver, ReleaseLockResponse::getStatus));
+        }
+    }
+
+    private void handleReleaseLock(ReleaseLockRequest request,
+                                   StreamObserver<ReleaseLockResponse> responseObserver) {
         log.debug("gRPC ReleaseLock: lockId={}, clientId={}, token={}",
                 request.getLockId(), request.getClientId(), request.getFencingToken());
 
         // If not leader, forward to leader
         if (!raftNode.isLeader()) {
-            var forwardedResponse = leaderForwarder.forwardReleaseLock(request);
-            if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
-                log.debug("Forwarded release lock request, got response: {}",
-                        forwardedResponse.get().getStatus());
-                responseObserver.onNext(forwardedResponse.get());
-                responseObserver.onCompleted();
-                return;
-            }
-
-            // Forwarding failed, return not leader error
-            log.warn("Failed to forward release lock request to leader");
-            responseObserver.onNext(ReleaseLockResponse.newBuilder()
-                    .setSuccess(false)
-                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
-                    .setErrorMessage("Not the leader and forwarding failed. Leader: " +
-                            raftNode.getLeaderId().orElse("unknown"))
-                    .build());
-            responseObserver.onCompleted();
+            forwardReleaseLock(request, responseObserver);
             return;
         }
 
@@ -170,9 +169,75 @@ public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
         });
     }
 
+    @Override
+    public void extendLock(ExtendLockRequest request,
+                           StreamObserver<ExtendLockResponse> responseObserver) {
+        var span = startGrpcSpan("ExtendLock", request.getLockId());
+        try (var scope = span.makeCurrent()) {
+            handleExtendLock(request, traced(span, responseObserver, ExtendLockResponse::getStatus));
+        }
+    }
+
+    private void handleExtendLock(ExtendLockRequest request,
+                                  StreamObserver<ExtendLockResponse> responseObserver) {
+        log.debug("gRPC ExtendLock: lockId={}, clientId={}, token={}, timeout={}",
+                request.getLockId(), request.getClientId(), request.getFencingToken(), request.getTimeoutMs());
+
+        // If not leader, forward to leader
+        if (!raftNode.isLeader()) {
+            forwardExtendLock(request, responseObserver);
+            return;
+        }
+
+        // This node is the leader, process the request
+        lockService.extendLock(
+                request.getLockId(),
+                request.getClientId(),
+                request.getFencingToken(),
+                request.getTimeoutMs()
+        ).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Error extending lock: {}", error.getMessage());
+                responseObserver.onNext(ExtendLockResponse.newBuilder()
+                        .setSuccess(false)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR)
+                        .setErrorMessage(error.getMessage())
+                        .build());
+                responseObserver.onCompleted();
+                return;
+            }
+
+            var responseBuilder = ExtendLockResponse.newBuilder();
+
+            if (result.isSuccess()) {
+                responseBuilder
+                        .setSuccess(true)
+                        .setExpiresAt(result.getValue().expiresAt().toEpochMilli())
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+            } else {
+                var lockError = result.getError();
+                responseBuilder
+                        .setSuccess(false)
+                        .setErrorMessage(lockError.message())
+                        .setStatus(mapStatus(lockError.status()));
+            }
+
+            responseObserver.onNext(responseBuilder.build());
+            responseObserver.onCompleted();
+        });
+    }
+
     @Override
     public void checkLock(CheckLockRequest request,
                           StreamObserver<CheckLockResponse> responseObserver) {
+        var span = startGrpcSpan("CheckLock", request.getLockId());
+        try (var scope = span.makeCurrent()) {
+            handleCheckLock(request, traced(span, responseObserver, CheckLockResponse::getStatus));
+        }
+    }
+
+    private void handleCheckLock(CheckLockRequest request,
+                                 StreamObserver<CheckLockResponse> responseObserver) {
         log.debug("gRPC CheckLock: lockId={}", request.getLockId());
 
         // CheckLock can be served by any node (read from local state)
@@ -198,6 +263,458 @@ public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void openSession(OpenSessionRequest request,
+                            StreamObserver<OpenSessionResponse> responseObserver) {
+        var span = startGrpcSpan("OpenSession", "lock.client_id", request.getClientId());
+        try (var scope = span.makeCurrent()) {
+            handleOpenSession(request, traced(span, responseObserver, OpenSessionResponse::getStatus));
+        }
+    }
+
+    private void handleOpenSession(OpenSessionRequest request,
+                                   StreamObserver<OpenSessionResponse> responseObserver) {
+        log.debug("gRPC OpenSession: clientId={}, ttl={}", request.getClientId(), request.getTtlMs());
+
+        // If not leader, forward to leader
+        if (!raftNode.isLeader()) {
+            forwardToLeader(() -> leaderForwarder.forwardOpenSession(request),
+                    "open session", responseObserver, OpenSessionResponse.newBuilder()
+                            .setSuccess(false)
+                            .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                            .setErrorMessage(notLeaderMessage())
+                            .build());
+            return;
+        }
+
+        sessionService.openSession(request.getClientId(), request.getTtlMs()).whenComplete((result, error) -> {
+            var responseBuilder = OpenSessionResponse.newBuilder();
+
+            if (error != null) {
+                log.error("Error opening session: {}", error.getMessage());
+                responseBuilder
+                        .setSuccess(false)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR)
+                        .setErrorMessage(error.getMessage());
+            } else if (result.isSuccess()) {
+                var session = result.getValue();
+                responseBuilder
+                        .setSuccess(true)
+                        .setSessionId(session.sessionId())
+                        .setTtlMs(session.ttlMs())
+                        .setExpiresAt(session.expiresAt().toEpochMilli())
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+            } else {
+                var lockError = result.getError();
+                responseBuilder
+                        .setSuccess(false)
+                        .setErrorMessage(lockError.message())
+                        .setStatus(mapStatus(lockError.status()));
+            }
+
+            responseObserver.onNext(responseBuilder.build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    @Override
+    public void keepAliveSession(KeepAliveSessionRequest request,
+                                 StreamObserver<KeepAliveSessionResponse> responseObserver) {
+        var span = startGrpcSpan("KeepAliveSession", "lock.session_id", request.getSessionId());
+        try (var scope = span.makeCurrent()) {
+            handleKeepAliveSession(request, traced(span, responseObserver, KeepAliveSessionResponse::getStatus));
+        }
+    }
+
+    private void handleKeepAliveSession(KeepAliveSessionRequest request,
+                                        StreamObserver<KeepAliveSessionResponse> responseObserver) {
+        log.debug("gRPC KeepAliveSession: sessionId={}, clientId={}", request.getSessionId(), request.getClientId());
+
+        // If not leader, forward to leader
+        if (!raftNode.isLeader()) {
+            forwardToLeader(() -> leaderForwarder.forwardKeepAliveSession(request),
+                    "keepalive", responseObserver, KeepAliveSessionResponse.newBuilder()
+                            .setSuccess(false)
+                            .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                            .setErrorMessage(notLeaderMessage())
+                            .build());
+            return;
+        }
+
+        sessionService.keepAlive(request.getSessionId(), request.getClientId()).whenComplete((result, error) -> {
+            var responseBuilder = KeepAliveSessionResponse.newBuilder();
+
+            if (error != null) {
+                log.error("Error keeping session alive: {}", error.getMessage());
+                responseBuilder
+                        .setSuccess(false)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR)
+                        .setErrorMessage(error.getMessage());
+            } else if (result.isSuccess()) {
+                responseBuilder
+                        .setSuccess(true)
+                        .setExpiresAt(result.getValue().expiresAt().toEpochMilli())
+                        .setLockCount(sessionService.getLockCount(request.getSessionId()))
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+            } else {
+                var lockError = result.getError();
+                responseBuilder
+                        .setSuccess(false)
+                        .setErrorMessage(lockError.message())
+                        .setStatus(mapStatus(lockError.status()));
+            }
+
+            responseObserver.onNext(responseBuilder.build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    @Override
+    public void closeSession(CloseSessionRequest request,
+                             StreamObserver<CloseSessionResponse> responseObserver) {
+        var span = startGrpcSpan("CloseSession", "lock.session_id", request.getSessionId());
+        try (var scope = span.makeCurrent()) {
+            handleCloseSession(request, traced(span, responseObserver, CloseSessionResponse::getStatus));
+        }
+    }
+
+    private void handleCloseSession(CloseSessionRequest request,
+                                    StreamObserver<CloseSessionResponse> responseObserver) {
+        log.debug("gRPC CloseSession: sessionId={}, clientId={}", request.getSessionId(), request.getClientId());
+
+        // If not leader, forward to leader
+        if (!raftNode.isLeader()) {
+            forwardToLeader(() -> leaderForwarder.forwardCloseSession(request),
+                    "close session", responseObserver, CloseSessionResponse.newBuilder()
+                            .setSuccess(false)
+                            .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                            .setErrorMessage(notLeaderMessage())
+                            .build());
+            return;
+        }
+
+        sessionService.closeSession(request.getSessionId(), request.getClientId()).whenComplete((result, error) -> {
+            var responseBuilder = CloseSessionResponse.newBuilder();
+
+            if (error != null) {
+                log.error("Error closing session: {}", error.getMessage());
+                responseBuilder
+                        .setSuccess(false)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR)
+                        .setErrorMessage(error.getMessage());
+            } else if (result.isSuccess()) {
+                responseBuilder
+                        .setSuccess(true)
+                        .setReleasedCount(result.getValue().size())
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+            } else {
+                var lockError = result.getError();
+                responseBuilder
+                        .setSuccess(false)
+                        .setErrorMessage(lockError.message())
+                        .setStatus(mapStatus(lockError.status()));
+            }
+
+            responseObserver.onNext(responseBuilder.build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    @Override
+    public void listLocks(ListLocksRequest request,
+                          StreamObserver<ListLocksResponse> responseObserver) {
+        var span = startGrpcSpan("ListLocks", "lock.holder_id", request.getHolderId());
+        try (var scope = span.makeCurrent()) {
+            handleListLocks(request, traced(span, responseObserver, ListLocksResponse::getStatus));
+        }
+    }
+
+    private void handleListLocks(ListLocksRequest request,
+                                 StreamObserver<ListLocksResponse> responseObserver) {
+        log.debug("gRPC ListLocks: holderId={}, holderRegion={}, pageToken={}",
+                request.getHolderId(), request.getHolderRegion(), request.getPageToken());
+
+        // ListLocks can be served by any node (read from local state)
+        String holderId = request.getHolderId().isEmpty() ? null : request.getHolderId();
+        String holderRegion = request.getHolderRegion().isEmpty() ? null : request.getHolderRegion();
+        String pageToken = request.getPageToken().isEmpty() ? null : request.getPageToken();
+
+        do {
+            var page = lockService.listLocks(holderId, holderRegion, pageToken, request.getPageSize());
+            var responseBuilder = ListLocksResponse.newBuilder()
+                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+            for (var lock : page.locks()) {
+                responseBuilder.addLocks(LockEntry.newBuilder()
+                        .setLockId(lock.lockId())
+                        .setHolderId(lock.holderId())
+                        .setHolderRegion(lock.holderRegion())
+                        .setFencingToken(lock.fencingToken())
+                        .setExpiresAt(lock.expiresAt().toEpochMilli()));
+            }
+            pageToken = page.nextPageToken();
+            if (pageToken != null) {
+                responseBuilder.setNextPageToken(pageToken);
+            }
+            responseObserver.onNext(responseBuilder.build());
+        } while (pageToken != null && !io.grpc.Context.current().isCancelled());
+
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void releaseAllByHolder(ReleaseAllByHolderRequest request,
+                                   StreamObserver<ReleaseAllByHolderResponse> responseObserver) {
+        var span = startGrpcSpan("ReleaseAllByHolder", "lock.holder_id", request.getHolderId());
+        try (var scope = span.makeCurrent()) {
+            handleReleaseAllByHolder(request, traced(span, responseObserver, ReleaseAllByHolderResponse::getStatus));
+        }
+    }
+
+    private void handleReleaseAllByHolder(ReleaseAllByHolderRequest request,
+                                          StreamObserver<ReleaseAllByHolderResponse> responseObserver) {
+        log.debug("gRPC ReleaseAllByHolder: holderId={}", request.getHolderId());
+
+        // If not leader, forward to leader
+        if (!raftNode.isLeader()) {
+            forwardToLeader(() -> leaderForwarder.forwardReleaseAllByHolder(request),
+                    "release all", responseObserver, ReleaseAllByHolderResponse.newBuilder()
+                            .setSuccess(false)
+                            .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                            .setErrorMessage(notLeaderMessage())
+                            .build());
+            return;
+        }
+
+        lockService.releaseAllByHolder(request.getHolderId()).whenComplete((result, error) -> {
+            var responseBuilder = ReleaseAllByHolderResponse.newBuilder();
+
+            if (error != null) {
+                log.error("Error releasing locks by holder: {}", error.getMessage());
+                responseBuilder
+                        .setSuccess(false)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR)
+                        .setErrorMessage(error.getMessage());
+            } else if (result.isSuccess()) {
+                responseBuilder
+                        .setSuccess(true)
+                        .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+                result.getValue().forEach(lock -> responseBuilder.addLockIds(lock.lockId()));
+            } else {
+                var lockError = result.getError();
+                responseBuilder
+                        .setSuccess(false)
+                        .setErrorMessage(lockError.message())
+                        .setStatus(mapStatus(lockError.status()));
+            }
+
+            responseObserver.onNext(responseBuilder.build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    @Override
+    public void validateTokens(ValidateTokensRequest request,
+                               StreamObserver<ValidateTokensResponse> responseObserver) {
+        var span = startGrpcSpan("ValidateTokens", "lock.token_checks", String.valueOf(request.getChecksCount()));
+        try (var scope = span.makeCurrent()) {
+            handleValidateTokens(request, traced(span, responseObserver, ValidateTokensResponse::getStatus));
+        }
+    }
+
+    private void handleValidateTokens(ValidateTokensRequest request,
+                                      StreamObserver<ValidateTokensResponse> responseObserver) {
+        log.debug("gRPC ValidateTokens: {} checks", request.getChecksCount());
+
+        // ValidateTokens can be served by any node (read from local state)
+        var result = lockService.validateTokens(request.getChecksList().stream()
+                .map(check -> new LockService.TokenCheck(check.getLockId(), check.getFencingToken()))
+                .toList());
+
+        var responseBuilder = ValidateTokensResponse.newBuilder();
+
+        if (result.isSuccess()) {
+            for (var validity : result.getValue()) {
+                responseBuilder.addResults(TokenValidity.newBuilder()
+                        .setLockId(validity.lockId())
+                        .setValid(validity.valid())
+                        .setCurrentFencingToken(validity.currentFencingToken())
+                        .setExpiresAt(validity.expiresAt()));
+            }
+            responseBuilder.setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK);
+        } else {
+            responseBuilder
+                    .setErrorMessage(result.getError().message())
+                    .setStatus(mapStatus(result.getError().status()));
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<WatchTokensRequest> watchTokens(StreamObserver<WatchTokensResponse> responseObserver) {
+        log.debug("gRPC WatchTokens: stream opened");
+
+        // WatchTokens can be served by any node (pushed from local state)
+        return tokenWatchers.open(responseObserver);
+    }
+
+    private void forwardAcquireLock(AcquireLockRequest request,
+                                    StreamObserver<AcquireLockResponse> responseObserver) {
+        contentionTracker.record(ContentionTracker.Kind.FORWARDED, request.getLockId());
+        var forwarded = LeaderHintInterceptor.isForwarded()
+                ? CompletableFuture.completedFuture(Optional.<AcquireLockResponse>empty())
+                : leaderForwarder.forwardAcquireLock(request);
+
+        forwarded.thenAccept(forwardedResponse -> {
+            if (forwardedResponse.isPresent()) {
+                log.debug("Forwarded acquire lock request, got response: {}",
+                        forwardedResponse.get().getStatus());
+                responseObserver.onNext(forwardedResponse.get());
+                responseObserver.onCompleted();
+                return;
+            }
+
+            // Forwarding failed, return not leader error
+            log.warn("Failed to forward acquire lock request to leader");
+            responseObserver.onNext(AcquireLockResponse.newBuilder()
+                    .setSuccess(false)
+                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                    .setErrorMessage("Not the leader and forwarding failed. Leader: " +
+                            raftNode.getLeaderId().orElse("unknown"))
+                    .build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    private void forwardReleaseLock(ReleaseLockRequest request,
+                                    StreamObserver<ReleaseLockResponse> responseObserver) {
+        contentionTracker.record(ContentionTracker.Kind.FORWARDED, request.getLockId());
+        var forwarded = LeaderHintInterceptor.isForwarded()
+                ? CompletableFuture.completedFuture(Optional.<ReleaseLockResponse>empty())
+                : leaderForwarder.forwardReleaseLock(request);
+
+        forwarded.thenAccept(forwardedResponse -> {
+            if (forwardedResponse.isPresent()) {
+                log.debug("Forwarded release lock request, got response: {}",
+                        forwardedResponse.get().getStatus());
+                responseObserver.onNext(forwardedResponse.get());
+                responseObserver.onCompleted();
+                return;
+            }
+
+            // Forwarding failed, return not leader error
+            log.warn("Failed to forward release lock request to leader");
+            responseObserver.onNext(ReleaseLockResponse.newBuilder()
+                    .setSuccess(false)
+                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                    .setErrorMessage("Not the leader and forwarding failed. Leader: " +
+                            raftNode.getLeaderId().orElse("unknown"))
+                    .build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    private void forwardExtendLock(ExtendLockRequest request,
+                                   StreamObserver<ExtendLockResponse> responseObserver) {
+        contentionTracker.record(ContentionTracker.Kind.FORWARDED, request.getLockId());
+        var forwarded = LeaderHintInterceptor.isForwarded()
+                ? CompletableFuture.completedFuture(Optional.<ExtendLockResponse>empty())
+                : leaderForwarder.forwardExtendLock(request);
+
+        forwarded.thenAccept(forwardedResponse -> {
+            if (forwardedResponse.isPresent()) {
+                responseObserver.onNext(forwardedResponse.get());
+                responseObserver.onCompleted();
+                return;
+            }
+
+            // Forwarding failed, return not leader error
+            log.warn("Failed to forward extend lock request to leader");
+            responseObserver.onNext(ExtendLockResponse.newBuilder()
+                    .setSuccess(false)
+                    .setStatus(com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER)
+                    .setErrorMessage("Not the leader and forwarding failed. Leader: " +
+                            raftNode.getLeaderId().orElse("unknown"))
+                    .build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    /**
+     * Forwards a request to the leader and relays its response, or answers with
+     * the given NOT_LEADER response if the forward failed.
+     */
+    private <T> void forwardToLeader(Supplier<CompletableFuture<Optional<T>>> forward, String operation,
+                                     StreamObserver<T> responseObserver, T notLeader) {
+        var forwarded = LeaderHintInterceptor.isForwarded()
+                ? CompletableFuture.completedFuture(Optional.<T>empty())
+                : forward.get();
+
+        forwarded.thenAccept(forwardedResponse -> {
+            if (forwardedResponse.isEmpty()) {
+                // Forwarding failed, return not leader error
+                log.warn("Failed to forward {} request to leader", operation);
+            }
+            responseObserver.onNext(forwardedResponse.orElse(notLeader));
+            responseObserver.onCompleted();
+        });
+    }
+
+    private String notLeaderMessage() {
+        return "Not the leader and forwarding failed. Leader: " + raftNode.getLeaderId().orElse("unknown");
+    }
+
+    private Span startGrpcSpan(String methodName, String lockId) {
+        return startGrpcSpan(methodName, "lock.id", lockId);
+    }
+
+    private Span startGrpcSpan(String methodName, String attribute, String value) {
+        return tracer.spanBuilder("LockService/" + methodName)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute(AttributeKey.stringKey("rpc.service"), "LockService")
+                .setAttribute(AttributeKey.stringKey("rpc.method"), methodName)
+                .setAttribute(AttributeKey.stringKey(attribute), value)
+                .setAttribute(AttributeKey.booleanKey("lock.forwarded"), LeaderHintInterceptor.isForwarded())
+                .startSpan();
+    }
+
+    /**
+     * Ends the span when the response is sent, recording its lock status.
+     */
+    private <T> StreamObserver<T> traced(Span span, StreamObserver<T> observer,
+                                         Function<T, com.gaestalt.lock.grpc.generated.LockStatus> status) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T response) {
+                span.setAttribute(AttributeKey.stringKey("lock.status"), status.apply(response).name());
+                observer.onNext(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                span.setStatus(StatusCode.ERROR, t.getMessage());
+                span.recordException(t);
+                span.end();
+                observer.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                span.setStatus(StatusCode.OK);
+                span.end();
+                observer.onCompleted();
+            }
+        };
+    }
+
+    private LockScope mapScope(com.gaestalt.lock.grpc.generated.LockScope scope) {
+        return switch (scope) {
+            case LOCK_SCOPE_REGION_LOCAL -> LockScope.REGION_LOCAL;
+            default -> LockScope.GLOBAL;
+        };
+    }
+
     private com.gaestalt.lock.grpc.generated.LockStatus mapStatus(LockStatus status) {
         return switch (status) {
             case OK -> com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_OK;
@@ -209,6 +726,7 @@ public class LockGrpcService extends LockServiceGrpc.LockServiceImplBase {
             case ERROR -> com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_ERROR;
             case TIMEOUT -> com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_TIMEOUT;
             case NOT_LEADER -> com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_NOT_LEADER;
+            case RESOURCE_EXHAUSTED -> com.gaestalt.lock.grpc.generated.LockStatus.LOCK_STATUS_RESOURCE_EXHAUSTED;
         };
     }
 }
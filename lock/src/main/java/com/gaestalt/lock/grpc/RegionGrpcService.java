@@ -10,30 +10,62 @@ package com.gaestalt.lock.grpc;
 
 import com.gaestalt.lock.config.RegionConfig;
 import com.gaestalt.lock.grpc.generated.*;
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.quorum.GlobalRaftGroup;
 import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.raft.GlobalEntry;
+import com.gaestalt.lock.raft.LockCommand;
 import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftProtos;
 import com.gaestalt.lock.service.LockStore;
 import com.gaestalt.lock.service.RegionLeaderForwarder;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * gRPC service implementation for cross-region communication.
  * Handles lock vote requests, notifications, and health checks from other regions.
  * Automatically forwards requests to the Raft leader if this node is a follower.
+ *
+ * Lock events streamed from other regions are deduplicated by sequence number
+ * per source region, so batches resent after a reconnect are applied only once.
+ *
+ * In hierarchical mode it also carries the global Raft group's votes, log
+ * replication and proposals to this region's leader, which is the group member.
  */
 @Slf4j
 @GrpcService
 @RequiredArgsConstructor
 public class RegionGrpcService extends RegionServiceGrpc.RegionServiceImplBase {
 
+    private static final int SYNC_CHUNK_SIZE = 1000;
+
     private final QuorumManager quorumManager;
     private final RaftNode raftNode;
     private final LockStore lockStore;
     private final RegionConfig regionConfig;
     private final RegionLeaderForwarder regionLeaderForwarder;
+    private final GlobalRaftGroup globalRaftGroup;
+
+    // Most event stream cursors kept; the least recently used idle one goes first
+    private static final int MAX_STREAM_CURSORS = 256;
+
+    // Highest applied event sequence per stream, by stream id
+    private final Map<String, StreamCursor> streamCursors = new ConcurrentHashMap<>();
 
     @Override
     public void requestLockVote(LockVoteRequest request,
@@ -106,81 +138,225 @@ public class RegionGrpcService extends RegionServiceGrpc.RegionServiceImplBase {
         log.debug("Received lock acquired notification from {} for lock {}",
                 request.getNotifyingRegion(), request.getLockId());
 
-        // If not leader, forward to leader (leader manages pending votes)
+        responseObserver.onNext(deliverLockAcquired(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void notifyLockReleased(LockReleasedNotification request,
+                                   StreamObserver<NotificationAck> responseObserver) {
+        log.debug("Received lock released notification from {} for lock {}",
+                request.getNotifyingRegion(), request.getLockId());
+
+        responseObserver.onNext(deliverLockReleased(request));
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Applies a source region's lock events in sequence order and acknowledges
+     * the highest one committed through this region's log. Events are claimed under the cursor and delivered
+     * outside it, since forwarding to the leader blocks on an RPC; one delivery
+     * per stream runs at a time, so events are never applied out of order. A batch
+     * that cannot be delivered, or arrives while another is being delivered, ends
+     * the stream after acknowledging what was delivered, so the source reconnects
+     * and resends the rest.
+     *
+     * Cursors are kept per stream, not per source region: while a source changes
+     * leader its old and new leaders both stream, and a stream that comes back
+     * must not have its cursor reset and replay events it already delivered.
+     */
+    @Override
+    public StreamObserver<LockEventBatch> replicateLockEvents(StreamObserver<LockEventAck> responseObserver) {
+        return new StreamObserver<>() {
+            private boolean ended;
+
+            @Override
+            public void onNext(LockEventBatch batch) {
+                if (ended) {
+                    return; // Sent before the source saw this stream end
+                }
+                var cursor = streamCursor(batch);
+                var events = new ArrayList<LockEvent>();
+                boolean busy;
+
+                synchronized (cursor) {
+                    cursor.lastUsedNanos = System.nanoTime();
+                    busy = cursor.delivering;
+                    if (!busy) {
+                        for (var event : batch.getEventsList()) {
+                            if (event.getSequence() > cursor.lastSequence) {
+                                events.add(event); // Otherwise resent after a reconnect, already applied
+                            }
+                        }
+                        cursor.delivering = !events.isEmpty();
+                    }
+                }
+
+                long delivered = 0;
+                boolean failed = false;
+                for (var event : events) {
+                    var ack = switch (event.getEventCase()) {
+                        case ACQUIRED -> deliverLockAcquired(event.getAcquired());
+                        case RELEASED -> deliverLockReleased(event.getReleased());
+                        default -> {
+                            log.warn("Ignoring empty lock event {} from region {}",
+                                    event.getSequence(), batch.getSourceRegion());
+                            yield NotificationAck.newBuilder().setSuccess(true).build();
+                        }
+                    };
+                    if (!ack.getSuccess()) {
+                        log.warn("Could not apply lock event {} from region {}, awaiting resend",
+                                event.getSequence(), batch.getSourceRegion());
+                        failed = true;
+                        break;
+                    }
+                    delivered = event.getSequence();
+                }
+
+                long applied;
+                synchronized (cursor) {
+                    cursor.lastSequence = Math.max(cursor.lastSequence, delivered);
+                    if (!busy) {
+                        cursor.delivering = false;
+                    }
+                    applied = cursor.lastSequence;
+                }
+
+                responseObserver.onNext(LockEventAck.newBuilder()
+                        .setRegionId(regionConfig.getRegionId())
+                        .setAckedSequence(applied)
+                        .build());
+                if (failed || busy) {
+                    ended = true;
+                    responseObserver.onError(Status.UNAVAILABLE
+                            .withDescription(failed ? "Lock event not applied" : "Lock events still being applied")
+                            .asRuntimeException());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Lock event stream closed with error: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!ended) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the cursor of a batch's stream, starting one for a stream not seen
+     * before and forgetting the least recently used idle stream past the limit.
+     */
+    private StreamCursor streamCursor(LockEventBatch batch) {
+        var cursor = streamCursors.get(batch.getStreamId());
+        if (cursor != null) {
+            return cursor;
+        }
+        cursor = streamCursors.computeIfAbsent(batch.getStreamId(), id -> {
+            log.info("New lock event stream {} from region {}", id, batch.getSourceRegion());
+            return new StreamCursor();
+        });
+        if (streamCursors.size() > MAX_STREAM_CURSORS) {
+            streamCursors.entrySet().stream()
+                    .filter(entry -> !entry.getValue().delivering)
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                    .ifPresent(entry -> streamCursors.remove(entry.getKey(), entry.getValue()));
+        }
+        return cursor;
+    }
+
+    @Override
+    public void requestLease(LeaseRequest request,
+                             StreamObserver<LeaseResponse> responseObserver) {
+        log.debug("Received lease request from {} for lock {}",
+                request.getRequestingRegion(), request.getLockId());
+
+        // If not leader, forward to leader
         if (!raftNode.isLeader()) {
-            var forwardedResponse = regionLeaderForwarder.forwardLockAcquiredNotification(request);
+            var forwardedResponse = regionLeaderForwarder.forwardLeaseRequest(request);
             if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
                 responseObserver.onNext(forwardedResponse.get());
                 responseObserver.onCompleted();
                 return;
             }
-            // Forwarding failed, but still process locally
-            log.warn("Failed to forward lock acquired notification to leader, processing locally");
+
+            // Forwarding failed, deny the lease
+            log.warn("Failed to forward lease request to leader");
+            responseObserver.onNext(LeaseResponse.newBuilder()
+                    .setGranted(false)
+                    .setRespondingRegion(regionConfig.getRegionId())
+                    .setDenialReason("Not the regional leader and forwarding failed. Leader: " +
+                            raftNode.getLeaderId().orElse("unknown"))
+                    .build());
+            responseObserver.onCompleted();
+            return;
         }
 
-        try {
-            // Convert to internal notification format
-            var internalNotification = new QuorumManager.LockAcquiredNotification(
-                    request.getLockId(),
-                    request.getHolderRegion(),
-                    request.getHolderClient(),
-                    request.getFencingToken(),
-                    request.getExpiresAt(),
-                    request.getNotifyingRegion()
-            );
+        var internalRequest = new QuorumManager.LeaseRequest(
+                request.getLockId(),
+                request.getRequestingRegion(),
+                request.getEpoch(),
+                request.getDurationMs()
+        );
 
-            // Handle the notification
-            quorumManager.handleLockAcquiredNotification(internalNotification);
+        quorumManager.handleLeaseRequest(internalRequest).whenComplete((response, error) -> {
+            var grpcResponse = LeaseResponse.newBuilder()
+                    .setRespondingRegion(regionConfig.getRegionId());
 
-            responseObserver.onNext(NotificationAck.newBuilder()
-                    .setSuccess(true)
-                    .setRegionId(regionConfig.getRegionId())
-                    .build());
-        } catch (Exception e) {
-            log.error("Error handling lock acquired notification: {}", e.getMessage());
-            responseObserver.onNext(NotificationAck.newBuilder()
-                    .setSuccess(false)
-                    .setRegionId(regionConfig.getRegionId())
-                    .build());
-        }
-        responseObserver.onCompleted();
+            if (error != null) {
+                log.error("Error handling lease request: {}", error.getMessage());
+                grpcResponse.setGranted(false).setDenialReason(String.valueOf(error.getMessage()));
+            } else {
+                grpcResponse.setGranted(response.granted());
+                if (response.currentHomeRegion() != null) {
+                    grpcResponse.setCurrentHomeRegion(response.currentHomeRegion());
+                }
+                if (response.denialReason() != null) {
+                    grpcResponse.setDenialReason(response.denialReason());
+                }
+            }
+
+            responseObserver.onNext(grpcResponse.build());
+            responseObserver.onCompleted();
+        });
     }
 
     @Override
-    public void notifyLockReleased(LockReleasedNotification request,
-                                   StreamObserver<NotificationAck> responseObserver) {
-        log.debug("Received lock released notification from {} for lock {}",
+    public void notifyLeaseReleased(LeaseReleasedNotification request,
+                                    StreamObserver<NotificationAck> responseObserver) {
+        log.debug("Received lease released notification from {} for lock {}",
                 request.getNotifyingRegion(), request.getLockId());
 
-        // If not leader, forward to leader (leader manages pending votes)
+        // If not leader, forward to leader (leader owns the lease table)
         if (!raftNode.isLeader()) {
-            var forwardedResponse = regionLeaderForwarder.forwardLockReleasedNotification(request);
+            var forwardedResponse = regionLeaderForwarder.forwardLeaseReleasedNotification(request);
             if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
                 responseObserver.onNext(forwardedResponse.get());
                 responseObserver.onCompleted();
                 return;
             }
-            // Forwarding failed, but still process locally
-            log.warn("Failed to forward lock released notification to leader, processing locally");
+            log.warn("Failed to forward lease released notification to leader, processing locally");
         }
 
         try {
-            // Convert to internal notification format
-            var internalNotification = new QuorumManager.LockReleasedNotification(
+            quorumManager.handleLeaseReleasedNotification(new QuorumManager.LeaseReleasedNotification(
                     request.getLockId(),
-                    request.getFencingToken(),
+                    request.getHomeRegion(),
+                    request.getEpoch(),
                     request.getNotifyingRegion()
-            );
-
-            // Handle the notification
-            quorumManager.handleLockReleasedNotification(internalNotification);
+            ));
 
             responseObserver.onNext(NotificationAck.newBuilder()
                     .setSuccess(true)
                     .setRegionId(regionConfig.getRegionId())
                     .build());
         } catch (Exception e) {
-            log.error("Error handling lock released notification: {}", e.getMessage());
+            log.error("Error handling lease released notification: {}", e.getMessage());
             responseObserver.onNext(NotificationAck.newBuilder()
                     .setSuccess(false)
                     .setRegionId(regionConfig.getRegionId())
@@ -189,6 +365,100 @@ public class RegionGrpcService extends RegionServiceGrpc.RegionServiceImplBase {
         responseObserver.onCompleted();
     }
 
+    @Override
+    public void globalRequestVote(com.gaestalt.lock.raft.generated.VoteRequest request,
+                                  StreamObserver<com.gaestalt.lock.raft.generated.VoteResponse> responseObserver) {
+        log.debug("Received global vote request from {} for term {}", request.getCandidateId(), request.getTerm());
+
+        var response = globalRaftGroup.handleVoteRequest(RaftProtos.fromProto(request))
+                .map(RaftProtos::toProto)
+                .or(() -> raftNode.isLeader()
+                        ? Optional.empty()
+                        : regionLeaderForwarder.forwardGlobalVoteRequest(request));
+        replyFromGlobalMember(response, responseObserver);
+    }
+
+    @Override
+    public void globalAppendEntries(com.gaestalt.lock.raft.generated.AppendEntriesRequest request,
+                                    StreamObserver<com.gaestalt.lock.raft.generated.AppendEntriesResponse> responseObserver) {
+        log.debug("Received global append entries from {} for term {}, {} entries",
+                request.getLeaderId(), request.getTerm(), request.getEntriesCount());
+
+        var response = globalRaftGroup.handleAppendEntries(RaftProtos.fromProto(request))
+                .map(RaftProtos::toProto)
+                .or(() -> raftNode.isLeader()
+                        ? Optional.empty()
+                        : regionLeaderForwarder.forwardGlobalAppendEntries(request));
+        replyFromGlobalMember(response, responseObserver);
+    }
+
+    @Override
+    public void proposeGlobal(GlobalProposal request,
+                              StreamObserver<GlobalProposalResult> responseObserver) {
+        log.debug("Received global proposal from {}", request.getRequestingRegion());
+
+        // If not leader, forward to leader (the leader is the region's group member)
+        if (!raftNode.isLeader()) {
+            replyFromGlobalMember(regionLeaderForwarder.forwardGlobalProposal(request), responseObserver);
+            return;
+        }
+
+        var command = LockCommand.deserialize(request.getCommand());
+        if (command == null) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Global proposal carries no command")
+                    .asRuntimeException());
+            return;
+        }
+
+        globalRaftGroup.handleProposal(RaftProtos.fromProto(request.getType()), command)
+                .whenComplete((committed, e) -> {
+                    responseObserver.onNext(toProposalResult(e == null
+                            ? committed
+                            : new GlobalRaftGroup.Committed(LockResult.failure(LockError.error(e.getMessage())),
+                                    GlobalEntry.Position.START)));
+                    responseObserver.onCompleted();
+                });
+    }
+
+    /**
+     * Replies with the group member's response, or UNAVAILABLE if this region's
+     * leader is not (yet) a member of the global group.
+     */
+    private static <T> void replyFromGlobalMember(Optional<T> response, StreamObserver<T> responseObserver) {
+        if (response.isPresent()) {
+            responseObserver.onNext(response.get());
+            responseObserver.onCompleted();
+            return;
+        }
+        responseObserver.onError(Status.UNAVAILABLE
+                .withDescription("Region leader is not a member of the global Raft group")
+                .asRuntimeException());
+    }
+
+    private static GlobalProposalResult toProposalResult(GlobalRaftGroup.Committed committed) {
+        var result = committed.result();
+        var builder = GlobalProposalResult.newBuilder()
+                .setSuccess(result.isSuccess());
+        if (result.isSuccess()) {
+            builder.setGlobalEpoch(committed.position().epoch())
+                    .setGlobalIndex(committed.position().index());
+            if (result.getValue() instanceof Lock lock) {
+                builder.setLock(toLockState(lock));
+            } else if (result.getValue() instanceof List<?> released) {
+                released.forEach(entry -> builder.addReleased(toLockState((Lock) entry)));
+            }
+            return builder.build();
+        }
+
+        var error = result.getError();
+        builder.setStatus(error.status().name())
+                .setMessage(error.message());
+        error.currentHolderId().ifPresent(builder::setCurrentHolder);
+        error.currentFencingToken().ifPresent(builder::setCurrentFencingToken);
+        return builder.build();
+    }
+
     @Override
     public void ping(PingRequest request,
                      StreamObserver<PingResponse> responseObserver) {
@@ -211,27 +481,164 @@ public class RegionGrpcService extends RegionServiceGrpc.RegionServiceImplBase {
         var responseBuilder = SyncLockStateResponse.newBuilder()
                 .setRegionId(regionConfig.getRegionId());
 
-        // Get all locks from the lock store
-        var allLocks = lockStore.getAllActiveLocks();
+        for (var lock : selectLocks(request)) {
+            responseBuilder.addLocks(toLockState(lock));
+        }
 
-        for (var lock : allLocks) {
-            // Filter by requested lock IDs if specified
-            if (!request.getLockIdsList().isEmpty() &&
-                    !request.getLockIdsList().contains(lock.lockId())) {
-                continue;
-            }
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
 
-            responseBuilder.addLocks(LockState.newBuilder()
-                    .setLockId(lock.lockId())
-                    .setHolderRegion(lock.holderRegion() != null ? lock.holderRegion() : "")
-                    .setHolderClient(lock.holderId())
-                    .setFencingToken(lock.fencingToken())
-                    .setExpiresAt(lock.expiresAt().toEpochMilli())
-                    .setAcquiredAt(lock.acquiredAt().toEpochMilli())
-                    .build());
+    @Override
+    public void getLockDigest(LockDigestRequest request,
+                              StreamObserver<LockDigestResponse> responseObserver) {
+        log.debug("Received lock digest request from {} for locks held by {}",
+                request.getRequestingRegion(), request.getHolderRegion());
+
+        var responseBuilder = LockDigestResponse.newBuilder()
+                .setRegionId(regionConfig.getRegionId());
+        for (long bucket : lockStore.getDigest(request.getHolderRegion())) {
+            responseBuilder.addBuckets(bucket);
         }
 
         responseObserver.onNext(responseBuilder.build());
         responseObserver.onCompleted();
     }
+
+    @Override
+    public void streamLockState(SyncLockStateRequest request,
+                                StreamObserver<SyncLockStateResponse> responseObserver) {
+        log.debug("Received streamed sync lock state request from {} for {} buckets",
+                request.getRequestingRegion(), request.getBucketsCount());
+
+        var chunk = SyncLockStateResponse.newBuilder()
+                .setRegionId(regionConfig.getRegionId());
+
+        for (var lock : selectLocks(request)) {
+            chunk.addLocks(toLockState(lock));
+            if (chunk.getLocksCount() >= SYNC_CHUNK_SIZE) {
+                responseObserver.onNext(chunk.build());
+                chunk.clearLocks();
+            }
+        }
+        if (chunk.getLocksCount() > 0) {
+            responseObserver.onNext(chunk.build());
+        }
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Selects the active locks matching a sync request's filters.
+     */
+    private Collection<Lock> selectLocks(SyncLockStateRequest request) {
+        Collection<Lock> locks = !request.getHolderRegion().isEmpty() && request.getBucketsCount() > 0
+                ? lockStore.getActiveLocksInBuckets(request.getHolderRegion(),
+                        new HashSet<>(request.getBucketsList()))
+                : lockStore.getAllActiveLocks();
+
+        if (request.getHolderRegion().isEmpty() && request.getLockIdsCount() == 0) {
+            return locks;
+        }
+
+        var lockIds = new HashSet<>(request.getLockIdsList());
+        return locks.stream()
+                .filter(lock -> lockIds.isEmpty() || lockIds.contains(lock.lockId()))
+                .filter(lock -> request.getHolderRegion().isEmpty()
+                        || request.getHolderRegion().equals(lock.holderRegion()))
+                .toList();
+    }
+
+    private static LockState toLockState(Lock lock) {
+        return LockState.newBuilder()
+                .setLockId(lock.lockId())
+                .setHolderRegion(lock.holderRegion() != null ? lock.holderRegion() : "")
+                .setHolderClient(lock.holderId())
+                .setFencingToken(lock.fencingToken())
+                .setExpiresAt(lock.expiresAt().toEpochMilli())
+                .setAcquiredAt(lock.acquiredAt().toEpochMilli())
+                .build();
+    }
+
+    /**
+     * Commits a lock acquired notification through the leader, forwarding if this
+     * node is a follower. Success is reported only once the event is in this
+     * region's log; a follower that cannot reach its leader reports failure
+     * rather than applying the event to its own store, so the sender delivers it
+     * again.
+     */
+    private NotificationAck deliverLockAcquired(LockAcquiredNotification request) {
+        // If not leader, forward to leader (leader manages pending votes)
+        if (!raftNode.isLeader()) {
+            var forwardedResponse = regionLeaderForwarder.forwardLockAcquiredNotification(request);
+            if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
+                return forwardedResponse.get();
+            }
+            log.warn("Failed to forward lock acquired notification for {} to leader", request.getLockId());
+            return notificationAck(false);
+        }
+
+        try {
+            // Convert to internal notification format
+            var internalNotification = new QuorumManager.LockAcquiredNotification(
+                    request.getLockId(),
+                    request.getHolderRegion(),
+                    request.getHolderClient(),
+                    request.getFencingToken(),
+                    request.getExpiresAt(),
+                    request.getNotifyingRegion()
+            );
+
+            // Wait for the Raft commit; proposals time out, so this does not block indefinitely
+            return notificationAck(quorumManager.handleLockAcquiredNotification(internalNotification).join());
+        } catch (Exception e) {
+            log.error("Error handling lock acquired notification: {}", e.getMessage());
+            return notificationAck(false);
+        }
+    }
+
+    /**
+     * Commits a lock released notification through the leader, forwarding if this
+     * node is a follower. Success is reported as for acquisitions.
+     */
+    private NotificationAck deliverLockReleased(LockReleasedNotification request) {
+        // If not leader, forward to leader (leader manages pending votes)
+        if (!raftNode.isLeader()) {
+            var forwardedResponse = regionLeaderForwarder.forwardLockReleasedNotification(request);
+            if (forwardedResponse.isPresent() && forwardedResponse.get() != null) {
+                return forwardedResponse.get();
+            }
+            log.warn("Failed to forward lock released notification for {} to leader", request.getLockId());
+            return notificationAck(false);
+        }
+
+        try {
+            // Convert to internal notification format
+            var internalNotification = new QuorumManager.LockReleasedNotification(
+                    request.getLockId(),
+                    request.getFencingToken(),
+                    request.getNotifyingRegion()
+            );
+
+            return notificationAck(quorumManager.handleLockReleasedNotification(internalNotification).join());
+        } catch (Exception e) {
+            log.error("Error handling lock released notification: {}", e.getMessage());
+            return notificationAck(false);
+        }
+    }
+
+    private NotificationAck notificationAck(boolean success) {
+        return NotificationAck.newBuilder()
+                .setSuccess(success)
+                .setRegionId(regionConfig.getRegionId())
+                .build();
+    }
+
+    /**
+     * Position in one event stream from a source region.
+     */
+    private static class StreamCursor {
+        private long lastSequence;
+        private volatile boolean delivering;
+        private volatile long lastUsedNanos = System.nanoTime();
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.grpc.generated.TokenState;
+import com.gaestalt.lock.grpc.generated.WatchTokensRequest;
+import com.gaestalt.lock.grpc.generated.WatchTokensResponse;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.service.LockStore;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WatchTokens streams, and the locks each one watches.
+ *
+ * A watch is registered before the lock's state is first sent, so no change in
+ * between is missed. Changes are only queued on the mutating thread; a virtual
+ * thread later sends the queued locks' state as it is then, several to a message.
+ * A client that cannot keep up is sent nothing until its stream is ready again,
+ * and meanwhile repeated changes to a lock collapse into one update.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenWatchers {
+
+    private final LockStore lockStore;
+    private final LockConfig lockConfig;
+    private final LockMetrics lockMetrics;
+
+    private final Map<String, Set<Watch>> watchersByLock = new ConcurrentHashMap<>();
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void start() {
+        lockStore.addChangeListener(this::lockChanged);
+        lockMetrics.gauge("lockmgr.token.watch.streams", "Open WatchTokens streams",
+                Tags.empty(), this, TokenWatchers::getStreamCount);
+        lockMetrics.gauge("lockmgr.token.watched.locks", "Locks watched by at least one WatchTokens stream",
+                Tags.empty(), this, TokenWatchers::getWatchedLockCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Opens a watch that sends to the given observer, returning the observer for
+     * the client's watch and unwatch requests.
+     */
+    public StreamObserver<WatchTokensRequest> open(StreamObserver<WatchTokensResponse> responseObserver) {
+        var watch = new Watch(responseObserver);
+        if (responseObserver instanceof ServerCallStreamObserver<WatchTokensResponse> serverObserver) {
+            serverObserver.setOnReadyHandler(watch::scheduleFlush);
+            serverObserver.setOnCancelHandler(watch::close);
+        }
+        watches.add(watch);
+        return watch;
+    }
+
+    public int getStreamCount() {
+        return watches.size();
+    }
+
+    public int getWatchedLockCount() {
+        return watchersByLock.size();
+    }
+
+    private void lockChanged(String lockId) {
+        var watching = watchersByLock.get(lockId);
+        if (watching != null) {
+            watching.forEach(watch -> watch.queue(lockId));
+        }
+    }
+
+    private TokenState currentState(String lockId) {
+        var builder = TokenState.newBuilder().setLockId(lockId);
+        lockStore.get(lockId).ifPresent(lock -> builder
+                .setIsLocked(true)
+                .setFencingToken(lock.fencingToken())
+                .setExpiresAt(lock.expiresAt().toEpochMilli()));
+        return builder.build();
+    }
+
+    /**
+     * One client's stream.
+     */
+    private final class Watch implements StreamObserver<WatchTokensRequest> {
+
+        private final StreamObserver<WatchTokensResponse> responseObserver;
+        private final Set<String> watched = ConcurrentHashMap.newKeySet();
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Watch(StreamObserver<WatchTokensResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public synchronized void onNext(WatchTokensRequest request) {
+            if (closed) {
+                return;
+            }
+            for (var lockId : request.getUnwatchList()) {
+                if (watched.remove(lockId)) {
+                    unregister(lockId);
+                }
+            }
+            for (var lockId : request.getWatchList()) {
+                if (!watched.contains(lockId) && watched.size() >= lockConfig.getMaxWatchedTokensPerStream()) {
+                    fail(Status.RESOURCE_EXHAUSTED.withDescription("At most "
+                            + lockConfig.getMaxWatchedTokensPerStream() + " locks can be watched per stream"));
+                    return;
+                }
+                if (watched.add(lockId)) {
+                    register(lockId);
+                }
+                // Sent even if already watched, so a client that lost its copy gets it again
+                queue(lockId);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.debug("Token watch stream closed with error: {}", t.getMessage());
+            close();
+        }
+
+        @Override
+        public void onCompleted() {
+            if (closed) {
+                return;
+            }
+            close();
+            synchronized (responseObserver) {
+                responseObserver.onCompleted();
+            }
+        }
+
+        void queue(String lockId) {
+            pending.add(lockId);
+            scheduleFlush();
+        }
+
+        void scheduleFlush() {
+            if (!closed && !pending.isEmpty() && flushing.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::flush);
+                } catch (RuntimeException e) {
+                    // Executor already shut down
+                    flushing.set(false);
+                }
+            }
+        }
+
+        /**
+         * Sends the queued locks' current state. A change queued while this runs is
+         * either picked up here or schedules its own flush once this one finishes.
+         */
+        private void flush() {
+            do {
+                if (isReady()) {
+                    var response = WatchTokensResponse.newBuilder();
+                    for (var iterator = pending.iterator(); iterator.hasNext(); ) {
+                        var lockId = iterator.next();
+                        iterator.remove();
+                        if (watched.contains(lockId)) {
+                            response.addTokens(currentState(lockId));
+                        }
+                    }
+                    if (response.getTokensCount() > 0) {
+                        send(response.build());
+                    }
+                }
+                flushing.set(false);
+            } while (isReady() && !pending.isEmpty() && flushing.compareAndSet(false, true));
+        }
+
+        private boolean isReady() {
+            return !closed && (!(responseObserver instanceof ServerCallStreamObserver<?> serverObserver)
+                    || serverObserver.isReady());
+        }
+
+        private void send(WatchTokensResponse response) {
+            try {
+                synchronized (responseObserver) {
+                    responseObserver.onNext(response);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Failed to send token updates: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void fail(Status status) {
+            close();
+            synchronized (responseObserver) {
+                responseObserver.onError(status.asRuntimeException());
+            }
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            watches.remove(this);
+            watched.forEach(this::unregister);
+            watched.clear();
+            pending.clear();
+        }
+
+        private void register(String lockId) {
+            watchersByLock.compute(lockId, (key, watching) -> {
+                var set = watching != null ? watching : ConcurrentHashMap.<Watch>newKeySet();
+                set.add(this);
+                return set;
+            });
+        }
+
+        private void unregister(String lockId) {
+            watchersByLock.computeIfPresent(lockId, (key, watching) -> {
+                watching.remove(this);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+
+/**
+ * Sends the current trace context with outgoing calls to other nodes, so the
+ * receiving node's spans join the caller's trace. Used on the channels for
+ * leader forwarding and cross-region calls.
+ */
+public class TracingClientInterceptor implements ClientInterceptor {
+
+    private static final TextMapSetter<Metadata> SETTER = (carrier, key, value) -> {
+        if (carrier != null) {
+            carrier.put(Metadata.Key.of(key, Metadata.ASCII_STRING_MARSHALLER), value);
+        }
+    };
+
+    private final OpenTelemetry openTelemetry;
+
+    public TracingClientInterceptor(OpenTelemetry openTelemetry) {
+        this.openTelemetry = openTelemetry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        var context = Context.current();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                openTelemetry.getPropagators().getTextMapPropagator().inject(context, headers, SETTER);
+                super.start(responseListener, headers);
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+/**
+ * Continues the caller's trace on this node. The trace context sent by
+ * TracingClientInterceptor is extracted from the request headers and made
+ * current while the call is handled, so spans started by the service become
+ * children of the caller's span.
+ */
+@GrpcGlobalServerInterceptor
+@RequiredArgsConstructor
+public class TracingServerInterceptor implements ServerInterceptor {
+
+    private static final TextMapGetter<Metadata> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Metadata carrier) {
+            return carrier.keys();
+        }
+
+        @Override
+        public String get(Metadata carrier, String key) {
+            if (carrier == null || key.endsWith(Metadata.BINARY_HEADER_SUFFIX)) {
+                return null;
+            }
+            return carrier.get(Metadata.Key.of(key, Metadata.ASCII_STRING_MARSHALLER));
+        }
+    };
+
+    private final OpenTelemetry openTelemetry;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        var context = openTelemetry.getPropagators().getTextMapPropagator()
+                .extract(Context.current(), headers, GETTER);
+
+        ServerCall.Listener<ReqT> listener;
+        try (var scope = context.makeCurrent()) {
+            listener = next.startCall(call, headers);
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                try (var scope = context.makeCurrent()) {
+                    super.onMessage(message);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try (var scope = context.makeCurrent()) {
+                    super.onHalfClose();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try (var scope = context.makeCurrent()) {
+                    super.onCancel();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                try (var scope = context.makeCurrent()) {
+                    super.onComplete();
+                }
+            }
+
+            @Override
+            public void onReady() {
+                try (var scope = context.makeCurrent()) {
+                    super.onReady();
+                }
+            }
+        };
+    }
+}
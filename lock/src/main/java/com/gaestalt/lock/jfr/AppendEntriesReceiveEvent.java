@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An AppendEntries call handled by a follower, including heartbeats.
+ */
+@Name("com.gaestalt.lock.AppendEntriesReceive")
+@Label("AppendEntries Receive")
+@Category({"Lock Manager", "Raft"})
+@Description("AppendEntries handled by a follower, timed while holding the Raft state lock")
+@StackTrace(false)
+public class AppendEntriesReceiveEvent extends Event {
+
+    @Label("Leader")
+    public String leader;
+
+    @Label("Term")
+    public long term;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An AppendEntries call from the leader to one follower, including heartbeats.
+ */
+@Name("com.gaestalt.lock.AppendEntriesSend")
+@Label("AppendEntries Send")
+@Category({"Lock Manager", "Raft"})
+@Description("AppendEntries sent by the leader, timed until the follower answered")
+@StackTrace(false)
+public class AppendEntriesSendEvent extends Event {
+
+    @Label("Follower")
+    public String follower;
+
+    @Label("Term")
+    public long term;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
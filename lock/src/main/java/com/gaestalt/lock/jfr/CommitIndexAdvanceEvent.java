@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Raft commit index moving forward on this node.
+ */
+@Name("com.gaestalt.lock.CommitIndexAdvance")
+@Label("Commit Index Advance")
+@Category({"Lock Manager", "Raft"})
+@StackTrace(false)
+public class CommitIndexAdvanceEvent extends Event {
+
+    @Label("Previous Index")
+    public long previousIndex;
+
+    @Label("Commit Index")
+    public long commitIndex;
+
+    @Label("Role")
+    @Description("leader or follower")
+    public String role;
+}
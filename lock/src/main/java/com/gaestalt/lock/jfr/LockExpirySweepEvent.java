@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One scan of the LockStore for expired locks.
+ */
+@Name("com.gaestalt.lock.LockExpirySweep")
+@Label("Lock Expiry Sweep")
+@Category({"Lock Manager", "Lock Store"})
+@StackTrace(false)
+public class LockExpirySweepEvent extends Event {
+
+    @Label("Locks Scanned")
+    public int scanned;
+
+    @Label("Locks Expired")
+    public long expired;
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A cross-region vote round for one lock, from fan-out to decision.
+ */
+@Name("com.gaestalt.lock.QuorumRound")
+@Label("Quorum Round")
+@Category({"Lock Manager", "Quorum"})
+@StackTrace(false)
+public class QuorumRoundEvent extends Event {
+
+    @Label("Lock ID")
+    public String lockId;
+
+    @Label("Voters")
+    public int voters;
+
+    @Label("Votes Needed")
+    public int needed;
+
+    @Label("Votes Received")
+    public int votes;
+
+    @Label("Outcome")
+    @Description("ok, or the lowercased failure status")
+    public String outcome;
+}
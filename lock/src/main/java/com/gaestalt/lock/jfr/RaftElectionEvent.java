@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Raft election on this node, from becoming a candidate to winning,
+ * losing to another leader, or timing out into the next election.
+ */
+@Name("com.gaestalt.lock.RaftElection")
+@Label("Raft Election")
+@Category({"Lock Manager", "Raft"})
+@Description("Election from candidacy to outcome")
+@StackTrace(false)
+public class RaftElectionEvent extends Event {
+
+    @Label("Term")
+    public long term;
+
+    @Label("Peers")
+    public int peers;
+
+    @Label("Outcome")
+    @Description("won, lost or timeout")
+    public String outcome;
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Committed log entries applied to the lock state machine in one pass.
+ */
+@Name("com.gaestalt.lock.StateMachineApply")
+@Label("State Machine Apply")
+@Category({"Lock Manager", "Raft"})
+@StackTrace(false)
+public class StateMachineApplyEvent extends Event {
+
+    @Label("First Index")
+    public long firstIndex;
+
+    @Label("Last Index")
+    public long lastIndex;
+
+    @Label("Entries")
+    public int entries;
+}
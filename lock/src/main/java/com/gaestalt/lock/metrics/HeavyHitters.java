@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate most-frequent keys in a stream, in bounded memory.
+ *
+ * A count-min sketch estimates every key's count; it can overestimate by about
+ * 2/width of the total, never underestimate. The keys with the highest estimates
+ * are kept in a table of size k, so memory is fixed however many distinct keys
+ * are seen. Counts are halved by {@link #decay()} so old hot keys fade out.
+ *
+ * Once the table is full, its smallest count is published as a threshold that
+ * is read without locking: most keys are cold, and their estimates fall below it
+ * and are dropped without touching the table. The table is ordered by count as
+ * well as keyed, so the smallest key is found and evicted in O(log k).
+ */
+public class HeavyHitters {
+
+    private final int depth;
+    private final int width;
+    private final int k;
+    private final AtomicLongArray counts;
+    private final AtomicLong total = new AtomicLong();
+    // Both guarded by top
+    private final Map<String, Long> top = new HashMap<>();
+    private final NavigableSet<Entry> byCount = new TreeSet<>(
+            Comparator.comparingLong(Entry::count).thenComparing(Entry::key));
+    // Smallest tracked count once the table is full, 0 until then
+    private volatile long threshold;
+
+    public HeavyHitters(int depth, int width, int k) {
+        this.depth = Math.max(1, depth);
+        this.width = Math.max(16, width);
+        this.k = Math.max(1, k);
+        this.counts = new AtomicLongArray(this.depth * this.width);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     */
+    public void add(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.incrementAndGet(cell(row, hash)));
+        }
+        total.incrementAndGet();
+        offer(key, estimate);
+    }
+
+    /**
+     * Returns the estimated count of the key.
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(cell(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the tracked keys with their estimated counts, highest first.
+     */
+    public List<Entry> top() {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (top) {
+            top.forEach((key, count) -> entries.add(new Entry(key, count)));
+        }
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key));
+        return entries;
+    }
+
+    /**
+     * Returns the number of occurrences counted, less decay.
+     */
+    public long total() {
+        return total.get();
+    }
+
+    /**
+     * Returns the fraction of all occurrences that belong to the tracked keys.
+     */
+    public double topShare() {
+        long all = total.get();
+        if (all == 0) {
+            return 0;
+        }
+        long tracked;
+        synchronized (top) {
+            tracked = top.values().stream().mapToLong(Long::longValue).sum();
+        }
+        return Math.min(1.0, (double) tracked / all);
+    }
+
+    /**
+     * Halves every count. Keys whose count drops to zero leave the top table.
+     */
+    public void decay() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.getAndUpdate(i, count -> count >> 1);
+        }
+        total.getAndUpdate(count -> count >> 1);
+        synchronized (top) {
+            top.replaceAll((key, count) -> count >> 1);
+            top.values().removeIf(count -> count == 0);
+            byCount.clear();
+            top.forEach((key, count) -> byCount.add(new Entry(key, count)));
+            updateThreshold();
+        }
+    }
+
+    private void offer(String key, long estimate) {
+        // Too small to enter a full table; a tracked key is at least this large already
+        if (estimate <= threshold) {
+            return;
+        }
+
+        synchronized (top) {
+            var previous = top.get(key);
+            if (previous != null) {
+                if (estimate > previous) {
+                    byCount.remove(new Entry(key, previous));
+                    track(key, estimate);
+                }
+                return;
+            }
+
+            if (top.size() >= k) {
+                // The table is full - replace the smallest key if this one is now larger
+                var smallest = byCount.first();
+                if (estimate <= smallest.count()) {
+                    return;
+                }
+                byCount.pollFirst();
+                top.remove(smallest.key());
+            }
+            track(key, estimate);
+        }
+    }
+
+    private void track(String key, long count) {
+        top.put(key, count);
+        byCount.add(new Entry(key, count));
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        threshold = top.size() < k ? 0 : byCount.first().count();
+    }
+
+    private int cell(int row, long hash) {
+        // Row hashes from two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+        int h = (int) hash + row * (int) (hash >>> 32);
+        return row * width + Math.floorMod(h, width);
+    }
+
+    private static long hash(String key) {
+        // 64-bit FNV-1a, then a finalizer to spread the bits
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A tracked key and its estimated count.
+     */
+    public record Entry(String key, long count) {}
+}
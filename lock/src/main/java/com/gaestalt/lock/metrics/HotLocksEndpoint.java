@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the lock IDs that cause the most contention, at
+ * {@code /actuator/hotlocks} (all kinds) and {@code /actuator/hotlocks/{kind}}.
+ */
+@Component
+@Endpoint(id = "hotlocks")
+@RequiredArgsConstructor
+public class HotLocksEndpoint {
+
+    private final ContentionTracker contentionTracker;
+
+    @ReadOperation
+    public Map<String, List<HeavyHitters.Entry>> hotLocks() {
+        return contentionTracker.top();
+    }
+
+    @ReadOperation
+    public List<HeavyHitters.Entry> hotLocks(@Selector String kind) {
+        try {
+            return contentionTracker.top(ContentionTracker.Kind.valueOf(kind.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return null; // Answered with 404
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.metrics;
+
+import com.gaestalt.lock.model.LockResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Lock manager meters, published through the actuator Prometheus endpoint.
+ *
+ * Timers publish percentile histograms so latency can be aggregated across nodes.
+ * Outcomes are tagged with the lowercased LockStatus ("ok" on success), or "error"
+ * when the operation failed with an exception.
+ */
+@Component
+public class LockMetrics {
+
+    private final MeterRegistry registry;
+
+    public LockMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a LockService operation from the call to the completion of its result.
+     */
+    public <T> CompletableFuture<LockResult<T>> timeLockOperation(
+            String operation, Supplier<CompletableFuture<LockResult<T>>> call) {
+        var sample = Timer.start(registry);
+        var result = call.get();
+        result.whenComplete((r, e) -> sample.stop(timer("lockmgr.lock.operation",
+                Tags.of("operation", operation, "outcome", outcome(r)))));
+        return result;
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Records a cross-region quorum round, from fan-out to decision.
+     */
+    public void recordQuorumRound(Timer.Sample sample, LockResult<?> result) {
+        sample.stop(timer("lockmgr.quorum.round", Tags.of("outcome", outcome(result))));
+    }
+
+    /**
+     * Records one region's answer to a vote request.
+     */
+    public void recordRegionVote(Timer.Sample sample, String regionId, String outcome) {
+        sample.stop(timer("lockmgr.quorum.vote", Tags.of("region", regionId, "outcome", outcome)));
+    }
+
+    /**
+     * Records the time from appending a Raft entry to applying it.
+     */
+    public void recordRaftCommit(Timer.Sample sample, LockResult<?> result) {
+        sample.stop(timer("lockmgr.raft.commit", Tags.of("outcome", outcome(result))));
+    }
+
+    public void recordElectionStarted() {
+        Counter.builder("lockmgr.raft.elections")
+                .description("Elections started by this node")
+                .register(registry)
+                .increment();
+    }
+
+    public void recordElectionWon() {
+        Counter.builder("lockmgr.raft.elections.won")
+                .description("Elections this node won")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Counts a proposal the leader refused because its pending table was full.
+     */
+    public void recordProposalRejected() {
+        Counter.builder("lockmgr.raft.proposals.rejected")
+                .description("Proposals refused by leader admission control")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Counts locks removed by an expiry batch the leader proposed.
+     */
+    public void recordLocksExpired(int count) {
+        Counter.builder("lockmgr.locks.expired")
+                .description("Expired locks removed by leader expiry batches")
+                .register(registry)
+                .increment(count);
+    }
+
+    /**
+     * Counts a request a follower answered for the leader.
+     * Outcome is one of forwarded, failed, no_leader or refused.
+     */
+    public void recordForward(String operation, String outcome) {
+        Counter.builder("lockmgr.forwards")
+                .description("Requests forwarded from a follower to the Raft leader")
+                .tags("operation", operation, "outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Counts a contention event: already_locked, vote_denied or forwarded.
+     */
+    public void recordContention(String kind) {
+        Counter.builder("lockmgr.contention")
+                .description("Contention events, per-lock counts at /actuator/hotlocks")
+                .tags("kind", kind)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Registers a gauge sampling the given object.
+     */
+    public <T> void gauge(String name, String description, Tags tags, T obj, ToDoubleFunction<T> value) {
+        Gauge.builder(name, obj, value)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private Timer timer(String name, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static String outcome(LockResult<?> result) {
+        if (result == null) {
+            return "error";
+        }
+        return result.isSuccess() ? "ok" : result.getError().status().name().toLowerCase(Locale.ROOT);
+    }
+}
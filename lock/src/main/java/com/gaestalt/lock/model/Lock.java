@@ -59,7 +59,14 @@ public record Lock(
      * Checks if this lock has expired.
      */
     public boolean isExpired() {
-        return Instant.now().isAfter(expiresAt);
+        return isExpiredAt(Instant.now());
+    }
+
+    /**
+     * Checks if this lock has expired as of the given time.
+     */
+    public boolean isExpiredAt(Instant now) {
+        return now.isAfter(expiresAt);
     }
 
     /**
@@ -77,6 +77,16 @@ public record LockError(
         );
     }
 
+    /**
+     * Creates an error for a session that has expired or was never opened.
+     */
+    public static LockError sessionExpired(String sessionId) {
+        return new LockError(
+                LockStatus.EXPIRED,
+                "Session has expired or does not exist: " + sessionId
+        );
+    }
+
     /**
      * Creates an error for quorum failure.
      */
@@ -108,6 +118,16 @@ public record LockError(
         );
     }
 
+    /**
+     * Creates an error for a proposal refused by leader admission control.
+     */
+    public static LockError resourceExhausted(String reason) {
+        return new LockError(
+                LockStatus.RESOURCE_EXHAUSTED,
+                "Resource exhausted: " + reason
+        );
+    }
+
     /**
      * Creates a generic error.
      */
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.model;
+
+/**
+ * Consistency scope requested for a lock acquisition.
+ */
+public enum LockScope {
+    /**
+     * Lock is coordinated across regions. It may still commit through local Raft
+     * only when the acquiring region holds the home lease for the lock.
+     */
+    GLOBAL,
+
+    /**
+     * Lock is expected to be used from a single region. The acquiring region
+     * takes the home lease eagerly so acquires skip cross-region quorum.
+     */
+    REGION_LOCAL
+}
@@ -55,7 +55,12 @@ public enum LockStatus {
     /**
      * This node is not the Raft leader.
      */
-    NOT_LEADER;
+    NOT_LEADER,
+
+    /**
+     * The leader has too many proposals pending; retry after a backoff.
+     */
+    RESOURCE_EXHAUSTED;
 
     /**
      * Checks if this status represents a successful operation.
@@ -68,6 +73,7 @@ public enum LockStatus {
      * Checks if this status represents a retryable error.
      */
     public boolean isRetryable() {
-        return this == QUORUM_FAILED || this == TIMEOUT || this == NOT_LEADER;
+        return this == QUORUM_FAILED || this == TIMEOUT || this == NOT_LEADER
+                || this == RESOURCE_EXHAUSTED;
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A client session. Locks acquired under a session share its expiry: one
+ * keepalive extends them all, and they are released together when the session
+ * is closed or expires.
+ */
+public record Session(
+        String sessionId,
+        String clientId,
+        long ttlMs,
+        Instant expiresAt
+) {
+    public Session {
+        Objects.requireNonNull(sessionId, "sessionId must not be null");
+        Objects.requireNonNull(clientId, "clientId must not be null");
+        Objects.requireNonNull(expiresAt, "expiresAt must not be null");
+    }
+
+    /**
+     * Checks if this session has expired.
+     */
+    public boolean isExpired() {
+        return isExpiredAt(Instant.now());
+    }
+
+    /**
+     * Checks if this session has expired as of the given time.
+     */
+    public boolean isExpiredAt(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+
+    /**
+     * Returns the remaining time before the session expires in milliseconds.
+     * Returns 0 if the session has expired.
+     */
+    public long remainingMs() {
+        var remaining = expiresAt.toEpochMilli() - Instant.now().toEpochMilli();
+        return Math.max(0, remaining);
+    }
+
+    /**
+     * Checks if this session belongs to the specified client.
+     */
+    public boolean isOwnedBy(String clientId) {
+        return this.clientId.equals(clientId);
+    }
+
+    /**
+     * Creates a new session instance with the given expiration time.
+     */
+    public Session renew(Instant expiresAt) {
+        return new Session(sessionId, clientId, ttlMs, expiresAt);
+    }
+}
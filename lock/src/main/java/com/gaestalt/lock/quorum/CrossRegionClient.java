@@ -8,45 +8,122 @@
 
 package com.gaestalt.lock.quorum;
 
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.config.TracingConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.grpc.TracingClientInterceptor;
 import com.gaestalt.lock.grpc.generated.*;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.raft.GlobalEntry;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftProtos;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Channel;
+import io.grpc.ClientInterceptors;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * gRPC client for cross-region communication.
  * Handles communication with other regional leaders for quorum voting.
+ *
+ * Tracks the health of the remote region: after a run of consecutive failed
+ * calls the region is marked suspect, and the first successful call (usually a
+ * background ping) clears it again.
+ *
+ * Every call carries the current trace context, and vote and lease requests are
+ * traced as client spans.
+ *
+ * The channel normally comes from the node's shared channel factory, which
+ * compresses calls across the WAN and closes the channel itself. A client created
+ * without one gets a factory of its own and closes it on shutdown.
  */
 @Slf4j
 @Getter
 public class CrossRegionClient {
     private static final int DEFAULT_TIMEOUT_MS = 5000;
+    private static final int SYNC_TIMEOUT_MS = 60000;
+    private static final int DEFAULT_SUSPECT_AFTER_FAILURES = 3;
 
     private final String host;
     private final int port;
     private final String regionId;
-    private final ManagedChannel channel;
+    private final GrpcChannelFactory channelFactory;
+    private final boolean ownsChannelFactory;
+    private final Channel channel;
     private final RegionServiceGrpc.RegionServiceBlockingStub stub;
+    private final RegionServiceGrpc.RegionServiceStub asyncStub;
+    private final Tracer tracer;
+
+    // Region health
+    private final int suspectAfterFailures;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    private volatile boolean suspect = false;
 
     public CrossRegionClient(String host, int port, String regionId) {
+        this(host, port, regionId, DEFAULT_SUSPECT_AFTER_FAILURES);
+    }
+
+    public CrossRegionClient(String host, int port, String regionId, int suspectAfterFailures) {
+        this(host, port, regionId, suspectAfterFailures, OpenTelemetry.noop());
+    }
+
+    public CrossRegionClient(String host, int port, String regionId, int suspectAfterFailures,
+                             OpenTelemetry openTelemetry) {
+        this(host, port, regionId, suspectAfterFailures, openTelemetry, standaloneChannelFactory(), true);
+    }
+
+    public CrossRegionClient(String host, int port, String regionId, int suspectAfterFailures,
+                             OpenTelemetry openTelemetry, GrpcChannelFactory channelFactory) {
+        this(host, port, regionId, suspectAfterFailures, openTelemetry, channelFactory, false);
+    }
+
+    private CrossRegionClient(String host, int port, String regionId, int suspectAfterFailures,
+                              OpenTelemetry openTelemetry, GrpcChannelFactory channelFactory,
+                              boolean ownsChannelFactory) {
         this.host = host;
         this.port = port;
         this.regionId = regionId;
+        this.suspectAfterFailures = suspectAfterFailures;
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
 
-        this.channel = ManagedChannelBuilder.forAddress(host, port)
-                .usePlaintext() // Use TLS in production
-                .keepAliveTime(30, TimeUnit.SECONDS)
-                .build();
+        this.channelFactory = channelFactory;
+        this.ownsChannelFactory = ownsChannelFactory;
+        this.channel = ClientInterceptors.intercept(
+                channelFactory.channel(host, port, GrpcChannelFactory.Link.WAN),
+                new TracingClientInterceptor(openTelemetry));
 
         this.stub = RegionServiceGrpc.newBlockingStub(channel);
+        this.asyncStub = RegionServiceGrpc.newStub(channel);
 
         log.info("Created cross-region client for {} at {}:{}", regionId, host, port);
     }
 
+    private static GrpcChannelFactory standaloneChannelFactory() {
+        var config = new ChannelConfig();
+        config.setEventLoopThreads(1);
+        return new GrpcChannelFactory(config);
+    }
+
     /**
      * Requests a lock vote from the remote region.
      */
@@ -54,7 +131,8 @@ public class CrossRegionClient {
         log.debug("Requesting lock vote from region {} for lock {}",
                 regionId, request.lockId());
 
-        try {
+        var span = startClientSpan("RequestLockVote", request.lockId());
+        try (var scope = span.makeCurrent()) {
             var grpcRequest = LockVoteRequest.newBuilder()
                     .setLockId(request.lockId())
                     .setRequestingRegion(request.requestingRegion())
@@ -67,6 +145,8 @@ public class CrossRegionClient {
             var grpcResponse = stub
                     .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
                     .requestLockVote(grpcRequest);
+            recordSuccess();
+            span.setAttribute(AttributeKey.booleanKey("lock.vote.granted"), grpcResponse.getGranted());
 
             return new QuorumManager.LockVoteResponse(
                     grpcResponse.getGranted(),
@@ -78,11 +158,25 @@ public class CrossRegionClient {
                     grpcResponse.getDenialReason()
             );
         } catch (StatusRuntimeException e) {
+            recordFailure();
+            span.setStatus(StatusCode.ERROR, e.getStatus().toString());
             log.error("gRPC error requesting vote from {}: {}", regionId, e.getStatus());
             throw new RuntimeException("Failed to request vote from " + regionId, e);
+        } finally {
+            span.end();
         }
     }
 
+    private Span startClientSpan(String methodName, String lockId) {
+        return tracer.spanBuilder("RegionService/" + methodName)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("rpc.service"), "RegionService")
+                .setAttribute(AttributeKey.stringKey("rpc.method"), methodName)
+                .setAttribute(AttributeKey.stringKey("region.id"), regionId)
+                .setAttribute(AttributeKey.stringKey("lock.id"), lockId)
+                .startSpan();
+    }
+
     /**
      * Notifies the remote region that a lock has been acquired.
      */
@@ -102,7 +196,9 @@ public class CrossRegionClient {
 
             stub.withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
                     .notifyLockAcquired(grpcNotification);
+            recordSuccess();
         } catch (StatusRuntimeException e) {
+            recordFailure();
             log.error("gRPC error notifying {} of acquisition: {}", regionId, e.getStatus());
             throw new RuntimeException("Failed to notify " + regionId, e);
         }
@@ -124,16 +220,261 @@ public class CrossRegionClient {
 
             stub.withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
                     .notifyLockReleased(grpcNotification);
+            recordSuccess();
         } catch (StatusRuntimeException e) {
+            recordFailure();
             log.error("gRPC error notifying {} of release: {}", regionId, e.getStatus());
             throw new RuntimeException("Failed to notify " + regionId, e);
         }
     }
 
+    /**
+     * Requests the home lease for a lock from the remote region.
+     */
+    public QuorumManager.LeaseResponse requestLease(QuorumManager.LeaseRequest request) {
+        log.debug("Requesting lease from region {} for lock {}", regionId, request.lockId());
+
+        var span = startClientSpan("RequestLease", request.lockId());
+        try (var scope = span.makeCurrent()) {
+            var grpcRequest = LeaseRequest.newBuilder()
+                    .setLockId(request.lockId())
+                    .setRequestingRegion(request.requestingRegion())
+                    .setEpoch(request.epoch())
+                    .setDurationMs(request.durationMs())
+                    .build();
+
+            var grpcResponse = stub
+                    .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .requestLease(grpcRequest);
+            recordSuccess();
+            span.setAttribute(AttributeKey.booleanKey("lock.lease.granted"), grpcResponse.getGranted());
+
+            return new QuorumManager.LeaseResponse(
+                    grpcResponse.getGranted(),
+                    grpcResponse.getRespondingRegion(),
+                    grpcResponse.getCurrentHomeRegion(),
+                    grpcResponse.getDenialReason()
+            );
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            span.setStatus(StatusCode.ERROR, e.getStatus().toString());
+            log.error("gRPC error requesting lease from {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to request lease from " + regionId, e);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Notifies the remote region that a home lease has been given up.
+     */
+    public void notifyLeaseReleased(QuorumManager.LeaseReleasedNotification notification) {
+        log.debug("Notifying region {} of lease release: {}", regionId, notification.lockId());
+
+        try {
+            var grpcNotification = LeaseReleasedNotification.newBuilder()
+                    .setLockId(notification.lockId())
+                    .setHomeRegion(notification.homeRegion())
+                    .setEpoch(notification.epoch())
+                    .setNotifyingRegion(notification.notifyingRegion())
+                    .build();
+
+            stub.withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .notifyLeaseReleased(grpcNotification);
+            recordSuccess();
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.error("gRPC error notifying {} of lease release: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to notify " + regionId, e);
+        }
+    }
+
+    /**
+     * Opens an ordered lock event stream to the remote region.
+     *
+     * @param ackObserver Receives acknowledgements and the end of the stream
+     * @return The observer to send event batches on
+     */
+    public StreamObserver<LockEventBatch> openEventStream(StreamObserver<LockEventAck> ackObserver) {
+        log.debug("Opening lock event stream to region {}", regionId);
+        return asyncStub.replicateLockEvents(ackObserver);
+    }
+
+    /**
+     * Fetches the active locks known to the remote region.
+     */
+    public List<Lock> syncLockState(String localRegionId) {
+        try {
+            var request = SyncLockStateRequest.newBuilder()
+                    .setRequestingRegion(localRegionId)
+                    .build();
+
+            var response = stub
+                    .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .syncLockState(request);
+            recordSuccess();
+
+            return response.getLocksList().stream()
+                    .map(CrossRegionClient::toLock)
+                    .toList();
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.error("gRPC error syncing lock state from {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to sync lock state from " + regionId, e);
+        }
+    }
+
+    /**
+     * Fetches the remote region's bucket digests of the locks held by a region.
+     */
+    public List<Long> getLockDigest(String localRegionId, String holderRegion) {
+        try {
+            var request = LockDigestRequest.newBuilder()
+                    .setRequestingRegion(localRegionId)
+                    .setHolderRegion(holderRegion)
+                    .build();
+
+            var response = stub
+                    .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .getLockDigest(request);
+            recordSuccess();
+            return response.getBucketsList();
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.error("gRPC error fetching lock digest from {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to fetch lock digest from " + regionId, e);
+        }
+    }
+
+    /**
+     * Streams the remote region's locks held by a region in the given digest buckets.
+     */
+    public List<Lock> streamLockState(String localRegionId, String holderRegion, List<Integer> buckets) {
+        try {
+            var request = SyncLockStateRequest.newBuilder()
+                    .setRequestingRegion(localRegionId)
+                    .setHolderRegion(holderRegion)
+                    .addAllBuckets(buckets)
+                    .build();
+
+            var locks = new ArrayList<Lock>();
+            stub.withDeadlineAfter(SYNC_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .streamLockState(request)
+                    .forEachRemaining(chunk -> chunk.getLocksList().forEach(state -> locks.add(toLock(state))));
+            recordSuccess();
+            return locks;
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.error("gRPC error streaming lock state from {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to stream lock state from " + regionId, e);
+        }
+    }
+
+    private static Lock toLock(LockState state) {
+        return new Lock(
+                state.getLockId(),
+                state.getHolderClient(),
+                state.getHolderRegion(),
+                state.getFencingToken(),
+                Instant.ofEpochMilli(state.getAcquiredAt()),
+                Instant.ofEpochMilli(state.getExpiresAt())
+        );
+    }
+
+    /**
+     * Requests a vote in the global Raft group from the remote region's leader.
+     */
+    public RaftNode.VoteResponse globalRequestVote(RaftNode.VoteRequest request, long timeoutMs) {
+        try {
+            var response = stub
+                    .withDeadlineAfter(timeoutMs, TimeUnit.MILLISECONDS)
+                    .globalRequestVote(RaftProtos.toProto(request));
+            recordSuccess();
+            return RaftProtos.fromProto(response);
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.debug("gRPC error requesting global vote from {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to request global vote from " + regionId, e);
+        }
+    }
+
+    /**
+     * Replicates global Raft log entries (or a heartbeat) to the remote region's leader.
+     */
+    public RaftNode.AppendEntriesResponse globalAppendEntries(RaftNode.AppendEntriesRequest request,
+                                                              long timeoutMs) {
+        try {
+            var response = stub
+                    .withDeadlineAfter(timeoutMs, TimeUnit.MILLISECONDS)
+                    .globalAppendEntries(RaftProtos.toProto(request));
+            recordSuccess();
+            return RaftProtos.fromProto(response);
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            log.debug("gRPC error appending global entries to {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to append global entries to " + regionId, e);
+        }
+    }
+
+    /**
+     * Proposes a lock command to the global Raft group through the remote region,
+     * which must be leading it. Returns the committed lock for acquisitions and
+     * extensions, and the released locks for a release of all a holder's locks,
+     * with the position in the global log the leader had reached.
+     */
+    public GlobalRaftGroup.Committed proposeGlobal(String localRegionId, LogEntryType type, LockCommand command) {
+        var span = startClientSpan("ProposeGlobal", command.lockId());
+        try (var scope = span.makeCurrent()) {
+            var request = GlobalProposal.newBuilder()
+                    .setType(RaftProtos.toProto(type))
+                    .setCommand(UnsafeByteOperations.unsafeWrap(command.serialize()))
+                    .setRequestingRegion(localRegionId)
+                    .build();
+
+            var response = stub
+                    .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .proposeGlobal(request);
+            recordSuccess();
+
+            if (response.getSuccess()) {
+                var position = new GlobalEntry.Position(response.getGlobalEpoch(), response.getGlobalIndex());
+                if (type == LogEntryType.RELEASE_ALL_BY_HOLDER) {
+                    return new GlobalRaftGroup.Committed(LockResult.success(response.getReleasedList().stream()
+                            .map(CrossRegionClient::toLock)
+                            .toList()), position);
+                }
+                return new GlobalRaftGroup.Committed(
+                        LockResult.success(response.hasLock() ? toLock(response.getLock()) : null), position);
+            }
+            span.setStatus(StatusCode.ERROR, response.getStatus());
+            if (!response.getCurrentHolder().isEmpty()) {
+                return new GlobalRaftGroup.Committed(LockResult.failure(LockError.alreadyLocked(
+                        response.getCurrentHolder(), response.getCurrentFencingToken())), GlobalEntry.Position.START);
+            }
+            return new GlobalRaftGroup.Committed(
+                    LockResult.failure(LockStatus.valueOf(response.getStatus()), response.getMessage()),
+                    GlobalEntry.Position.START);
+        } catch (StatusRuntimeException e) {
+            recordFailure();
+            span.setStatus(StatusCode.ERROR, e.getStatus().toString());
+            log.error("gRPC error proposing to the global group through {}: {}", regionId, e.getStatus());
+            throw new RuntimeException("Failed to propose through " + regionId, e);
+        } finally {
+            span.end();
+        }
+    }
+
     /**
      * Pings the remote region to check health.
      */
     public boolean ping(String localRegionId) {
+        return ping(localRegionId, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Pings the remote region to check health, updating the suspect state.
+     */
+    public boolean ping(String localRegionId, long timeoutMs) {
         try {
             var request = PingRequest.newBuilder()
                     .setRegionId(localRegionId)
@@ -141,25 +482,51 @@ public class CrossRegionClient {
                     .build();
 
             var response = stub
-                    .withDeadlineAfter(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    .withDeadlineAfter(timeoutMs, TimeUnit.MILLISECONDS)
                     .ping(request);
 
+            if (response.getHealthy()) {
+                recordSuccess();
+            } else {
+                recordFailure();
+            }
             return response.getHealthy();
         } catch (Exception e) {
-            log.warn("Ping to region {} failed: {}", regionId, e.getMessage());
+            recordFailure();
+            log.debug("Ping to region {} failed: {}", regionId, e.getMessage());
             return false;
         }
     }
 
     /**
-     * Shuts down the channel.
+     * Records a successful call, clearing the suspect state.
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (suspect) {
+            suspect = false;
+            log.info("Region {} recovered", regionId);
+        }
+    }
+
+    /**
+     * Records a failed call, marking the region suspect after too many in a row.
+     */
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (!suspect && failures >= suspectAfterFailures) {
+            suspect = true;
+            log.warn("Region {} marked suspect after {} consecutive failures", regionId, failures);
+        }
+    }
+
+    /**
+     * Shuts down the channel if this client owns it; a shared factory closes its
+     * channels itself.
      */
     public void shutdown() {
-        try {
-            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            channel.shutdownNow();
-            Thread.currentThread().interrupt();
+        if (ownsChannelFactory) {
+            channelFactory.shutdown();
         }
     }
 }
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.config.TracingConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.raft.ExpiryBatch;
+import com.gaestalt.lock.raft.GlobalEntry;
+import com.gaestalt.lock.raft.GlobalVote;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftLog;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hierarchical mode: the leaders of all regions form a Raft group of their own.
+ * Global-scope acquires, releases and extends are appended to the group's log,
+ * so each costs one WAN round to a majority of regions, and every region receives
+ * the committed entries as one ordered stream. Each region's leader commits them
+ * through the region's own log, so the region's followers apply them too.
+ *
+ * Only the region leader is a member, named by its region ID. A node that becomes
+ * region leader joins as a fresh member and catches up from the group's leader;
+ * one that stops being region leader leaves. Like the region logs, the group's log
+ * is kept in memory: a region that changes leader rejoins with an empty log and
+ * replays it, and entries the region already applied are skipped by global index.
+ * The member's term and vote are the region's, though: each is committed through
+ * the region's log before the member votes or stands, and a new region leader
+ * joins only once it has applied its predecessor's entries, resuming from the
+ * last term and vote recorded there.
+ *
+ * If the group loses enough members that a new log starts, its entries carry a
+ * later epoch, and a surviving member whose log the new one replaced leaves and
+ * rejoins to apply it from the start.
+ *
+ * A member that is not leading the group sends proposals to the region that is.
+ * A proposal succeeds only once this region has applied the entry through its
+ * own log, so the region serves it as soon as the caller hears of it.
+ */
+@Slf4j
+@Component
+public class GlobalRaftGroup {
+
+    private static final long EXPIRY_CHECK_MS = 1000;
+    private static final int EXPIRY_BATCH_SIZE = 512;
+
+    private final RegionConfig regionConfig;
+    private final RaftNode raftNode;
+    private final RaftStateMachine regionStateMachine;
+    private final LockMetrics lockMetrics;
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
+    private final TimerWheel timerWheel;
+    private final GrpcChannelFactory channelFactory;
+    private final Map<String, CrossRegionClient> regionClients = new ConcurrentHashMap<>();
+    private final Queue<RegionWaiter> regionWaiters = new ConcurrentLinkedQueue<>();
+
+    private volatile Member member;
+    private long generations;
+    private ExecutorService executor;
+    private TimerWheel.Timeout leadershipCheck;
+    private TimerWheel.Timeout expiryCheck;
+
+    public GlobalRaftGroup(RegionConfig regionConfig, RaftNode raftNode, RaftStateMachine regionStateMachine,
+                           LockMetrics lockMetrics, OpenTelemetry openTelemetry, TimerWheel timerWheel,
+                           GrpcChannelFactory channelFactory) {
+        this.regionConfig = regionConfig;
+        this.raftNode = raftNode;
+        this.regionStateMachine = regionStateMachine;
+        this.lockMetrics = lockMetrics;
+        this.openTelemetry = openTelemetry;
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
+        this.timerWheel = timerWheel;
+        this.channelFactory = channelFactory;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!regionConfig.isGlobalRaftEnabled()) {
+            return;
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (var peer : regionConfig.getPeers()) {
+            regionClients.put(peer.getRegionId(), createRegionClient(peer));
+        }
+
+        // Join and leave the group as this node gains and loses region leadership
+        long interval = regionConfig.getGlobalHeartbeatIntervalMs();
+        leadershipCheck = timerWheel.scheduleAtFixedRate(this::followRegionLeadership, interval, interval);
+        expiryCheck = timerWheel.scheduleAtFixedRate(this::expireLocks, EXPIRY_CHECK_MS, EXPIRY_CHECK_MS);
+        log.info("Global Raft group enabled across {} region(s)", regionConfig.getTotalRegions());
+    }
+
+    /**
+     * Creates the client used to reach a peer region's leader.
+     */
+    protected CrossRegionClient createRegionClient(RegionConfig.PeerRegion peer) {
+        return new CrossRegionClient(peer.getHost(), peer.getPort(), peer.getRegionId(),
+                regionConfig.getSuspectAfterFailures(), openTelemetry, channelFactory);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (leadershipCheck != null) {
+            leadershipCheck.cancel();
+        }
+        if (expiryCheck != null) {
+            expiryCheck.cancel();
+        }
+        if (member != null) {
+            leave();
+        }
+        regionClients.values().forEach(CrossRegionClient::shutdown);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Whether global-scope locks commit through the global group.
+     */
+    public boolean isEnabled() {
+        return regionConfig.isGlobalRaftEnabled();
+    }
+
+    /**
+     * Whether this node is currently a member of the group.
+     */
+    public boolean isMember() {
+        return member != null;
+    }
+
+    /**
+     * Returns the region leading the group, if this node is a member and knows it.
+     */
+    public Optional<String> getLeaderRegion() {
+        var current = member;
+        return current == null ? Optional.empty() : current.node().getLeaderId();
+    }
+
+    /**
+     * Commits a lock command through the global log, sending it to the leading
+     * region if that is not this one. Completes with the global state machine's
+     * result once the entry has been applied by the group's leader and, if it
+     * succeeded, committed through this region's log too.
+     */
+    public CompletableFuture<LockResult<?>> submit(LogEntryType type, LockCommand command) {
+        var current = member;
+        if (current == null) {
+            return CompletableFuture.completedFuture(LockResult.failure(
+                    LockStatus.QUORUM_FAILED, "Not a member of the global Raft group"));
+        }
+        if (current.node().isLeader()) {
+            return propose(current, type, command).thenCompose(this::awaitRegion);
+        }
+
+        var client = current.node().getLeaderId().map(regionClients::get);
+        if (client.isEmpty()) {
+            return CompletableFuture.completedFuture(LockResult.failure(
+                    LockStatus.QUORUM_FAILED, "No leader in the global Raft group"));
+        }
+        return CompletableFuture.supplyAsync(
+                () -> client.get().proposeGlobal(regionConfig.getRegionId(), type, command), executor)
+                .thenCompose(this::awaitRegion);
+    }
+
+    /**
+     * Handles a proposal sent by another region. Only the leading region accepts
+     * proposals, so a stale view of the leader cannot bounce them between regions.
+     */
+    public CompletableFuture<Committed> handleProposal(LogEntryType type, LockCommand command) {
+        var current = member;
+        if (current == null || !current.node().isLeader()) {
+            String leader = current == null ? "unknown" : current.node().getLeaderId().orElse("unknown");
+            return CompletableFuture.completedFuture(
+                    new Committed(LockResult.failure(LockError.notLeader(leader)), GlobalEntry.Position.START));
+        }
+        return propose(current, type, command);
+    }
+
+    /**
+     * Completes with a proposal's result once this region has applied its entry.
+     * A failed proposal handed nothing on, and completes at once.
+     */
+    private CompletableFuture<LockResult<?>> awaitRegion(Committed committed) {
+        if (!committed.result().isSuccess()) {
+            return CompletableFuture.completedFuture(committed.result());
+        }
+        var waiter = new RegionWaiter(committed.position(), committed.result(), new CompletableFuture<>());
+        timerWheel.orTimeout(waiter.future(), regionConfig.getQuorumTimeoutMs());
+        regionWaiters.add(waiter);
+        checkRegionProgress();
+        return waiter.future();
+    }
+
+    /**
+     * Completes the proposals whose entries this region has now applied, and
+     * forgets those that timed out.
+     */
+    private void checkRegionProgress() {
+        var applied = regionStateMachine.getLastGlobalPosition();
+        regionWaiters.removeIf(waiter -> waiter.future().isDone()
+                || !waiter.position().isAfter(applied) && waiter.future().complete(waiter.result()));
+    }
+
+    /**
+     * Appends a command to the global log as the group's leader. An acquisition
+     * that has already expired is refused here, once, rather than by each member
+     * at apply time, where members' clocks would disagree about it. One that goes
+     * ahead names the expired lock, if any, the leader sees it replacing.
+     */
+    private CompletableFuture<Committed> propose(Member current, LogEntryType type, LockCommand command) {
+        if (type == LogEntryType.ACQUIRE_LOCK) {
+            if (!command.expiresAt().isAfter(Instant.now())) {
+                return CompletableFuture.completedFuture(new Committed(
+                        LockResult.failure(LockError.timeout("global commit")), GlobalEntry.Position.START));
+            }
+            command = command.withPreviousToken(current.store().expiredToken(command.lockId()));
+        }
+        // An entry that succeeded was handed on before its result was known
+        return current.node().submit(type, command)
+                .thenApply(result -> new Committed(result, current.stateMachine().getLastDelivered()));
+    }
+
+    /**
+     * Proposes removing the locks the group's leader finds expired, as a region
+     * leader does for its own log. Members never sweep on their own clocks, so
+     * they all hold, and hand on, the same locks. A batch proposed twice removes
+     * nothing the second time.
+     */
+    private void expireLocks() {
+        var current = member;
+        if (current == null || !current.node().isLeader()) {
+            return;
+        }
+
+        var expired = current.store().findExpiredLocks(EXPIRY_BATCH_SIZE);
+        if (!expired.isEmpty()) {
+            var batch = new ExpiryBatch(expired.stream().map(LockStore.ExpiredLock::of).toList());
+            current.node().submit(LogEntryType.EXPIRE_LOCKS, batch.serialize(), null);
+        }
+    }
+
+    /**
+     * Handles a global vote request, or returns empty if this node is not a member.
+     */
+    public Optional<RaftNode.VoteResponse> handleVoteRequest(RaftNode.VoteRequest request) {
+        var current = member;
+        return current == null ? Optional.empty() : Optional.of(current.node().handleVoteRequest(request));
+    }
+
+    /**
+     * Handles global log replication, or returns empty if this node is not a member.
+     */
+    public Optional<RaftNode.AppendEntriesResponse> handleAppendEntries(RaftNode.AppendEntriesRequest request) {
+        var current = member;
+        return current == null ? Optional.empty() : Optional.of(current.node().handleAppendEntries(request));
+    }
+
+    private synchronized void followRegionLeadership() {
+        checkRegionProgress();
+        boolean leading = raftNode.isLeader();
+        if (leading && member == null) {
+            // Not before the predecessor's recorded votes are applied here
+            if (raftNode.hasAppliedOwnTerm()) {
+                join();
+            }
+        } else if (!leading && member != null) {
+            leave();
+        } else if (member != null && member.isReplaced()) {
+            // The group started a new log; rejoin on the next check to apply it from the start
+            log.info("Global Raft group started a new log; leaving to replay it");
+            leave();
+        }
+    }
+
+    private void join() {
+        var config = new RaftConfig();
+        config.setNodeId(regionConfig.getRegionId());
+        config.setElectionTimeoutMs(regionConfig.getGlobalElectionTimeoutMs());
+        config.setHeartbeatIntervalMs(regionConfig.getGlobalHeartbeatIntervalMs());
+
+        long generation = ++generations;
+        var tokenGenerator = new FencingTokenGenerator();
+        var store = new LockStore(tokenGenerator);
+        var stateMachine = new GlobalStateMachine(store, tokenGenerator, entry -> deliver(entry, generation));
+        var raftLog = new RaftLog();
+        var node = new RaftNode(config, raftLog, stateMachine, tokenGenerator, lockMetrics, tracer, timerWheel);
+
+        var vote = regionStateMachine.getGlobalVote();
+        node.restoreVote(vote.term(), vote.votedFor());
+        node.setVoteRecorder(this::recordVote);
+        node.init();
+        long rpcTimeout = regionConfig.getGlobalElectionTimeoutMs();
+        regionClients.values().forEach(client -> node.addPeer(new RegionPeer(client, rpcTimeout)));
+        node.startElectionProcess();
+
+        member = new Member(generation, node, raftLog, stateMachine, store);
+        log.info("Joined the global Raft group as {}", regionConfig.getRegionId());
+    }
+
+    /**
+     * Commits the member's term and vote through the region's log, unless the
+     * region has them already. Fails if this node no longer leads the region,
+     * so a member left behind by a region leadership change cannot vote.
+     */
+    private boolean recordVote(long term, String votedFor) {
+        var vote = new GlobalVote(term, votedFor);
+        if (vote.equals(regionStateMachine.getGlobalVote())) {
+            return true;
+        }
+        try {
+            var result = raftNode.submit(LogEntryType.GLOBAL_VOTE, vote.serialize(), null)
+                    .get(regionConfig.getGlobalElectionTimeoutMs(), TimeUnit.MILLISECONDS);
+            return result.isSuccess();
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void leave() {
+        var current = member;
+        member = null;
+        current.node().stop();
+        log.info("Left the global Raft group");
+    }
+
+    /**
+     * Commits a global entry through the region's log. A member that fails to
+     * hand an entry on leaves the group, and replays the entry when it rejoins.
+     */
+    private void deliver(GlobalEntry entry, long generation) {
+        if (!entry.position().isAfter(regionStateMachine.getLastGlobalPosition())) {
+            return;
+        }
+
+        raftNode.submit(LogEntryType.GLOBAL_ENTRY, entry.serialize(), null)
+                .whenCompleteAsync((result, e) -> {
+                    if (e == null && result.isSuccess()) {
+                        checkRegionProgress();
+                        return;
+                    }
+                    log.warn("Region did not commit global entry {}: {}", entry.globalIndex(),
+                            e != null ? e.getMessage() : result.getError().message());
+                    leaveIfCurrent(generation);
+                }, executor);
+    }
+
+    private synchronized void leaveIfCurrent(long generation) {
+        if (member != null && member.generation() == generation) {
+            leave();
+        }
+    }
+
+    /**
+     * A proposal's result, and a position in the global log at or after its entry.
+     */
+    public record Committed(LockResult<?> result, GlobalEntry.Position position) {}
+
+    private record RegionWaiter(GlobalEntry.Position position, LockResult<?> result,
+                                CompletableFuture<LockResult<?>> future) {}
+
+    private record Member(long generation, RaftNode node, RaftLog raftLog, GlobalStateMachine stateMachine,
+                          LockStore store) {
+
+        /**
+         * Whether the entry this member took as the start of the group's log has
+         * been replaced by that of a new log.
+         */
+        boolean isReplaced() {
+            long epoch = stateMachine.getEpoch();
+            return epoch != 0 && raftLog.get(1).map(first -> first.term() != epoch).orElse(false);
+        }
+    }
+
+    /**
+     * Another region's leader, reached through its region service.
+     */
+    private record RegionPeer(CrossRegionClient client, long timeoutMs) implements RaftNode.RaftPeer {
+
+        @Override
+        public String nodeId() {
+            return client.getRegionId();
+        }
+
+        @Override
+        public RaftNode.VoteResponse requestVote(RaftNode.VoteRequest request) {
+            return client.globalRequestVote(request, timeoutMs);
+        }
+
+        @Override
+        public RaftNode.AppendEntriesResponse appendEntries(RaftNode.AppendEntriesRequest request) {
+            return client.globalAppendEntries(request, timeoutMs);
+        }
+    }
+}
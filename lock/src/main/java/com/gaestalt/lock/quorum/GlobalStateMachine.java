@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.raft.GlobalEntry;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntry;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * State machine of the global Raft group. Applies committed global entries to
+ * this member's copy of the global lock table, then hands each one that succeeded,
+ * in log order, to be committed through the region's own log.
+ *
+ * Fencing tokens for global acquisitions are drawn here, at apply time, so every
+ * member gives the same entry the same token. The token is drawn even when the
+ * acquisition fails, keeping the members' sequences equal. Expiry is not checked
+ * here: the group's leader refuses an acquisition that has already expired before
+ * proposing it, names the expired lock it may replace, and removes expired locks
+ * through the log, so every member applies, and hands on, exactly the same entries.
+ *
+ * Entries are handed on with the group's epoch, the term of the log's first
+ * entry, and always apply one at a time in log order, never in parallel lanes.
+ */
+class GlobalStateMachine extends RaftStateMachine {
+
+    private final FencingTokenGenerator tokenGenerator;
+    private final Consumer<GlobalEntry> committed;
+    private volatile long epoch;
+    private volatile GlobalEntry.Position lastDelivered = GlobalEntry.Position.START;
+
+    GlobalStateMachine(LockStore lockStore, FencingTokenGenerator tokenGenerator,
+                       Consumer<GlobalEntry> committed) {
+        super(lockStore, new RegionLeaseTable());
+        this.tokenGenerator = tokenGenerator;
+        this.committed = committed;
+    }
+
+    /**
+     * Position of the last entry handed on. When a proposal's result is known,
+     * its entry is at or before this position.
+     */
+    GlobalEntry.Position getLastDelivered() {
+        return lastDelivered;
+    }
+
+    /**
+     * The group's epoch, or 0 until the log's first entry has been applied.
+     */
+    long getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public void applyAll(List<LogEntry> entries, BiConsumer<Long, LockResult<?>> callback,
+                         Executor executor, int lanes) {
+        // Tokens are drawn, and entries handed on, in log order
+        entries.forEach(entry -> apply(entry, result -> callback.accept(entry.index(), result)));
+    }
+
+    @Override
+    public void apply(LogEntry entry, Consumer<LockResult<?>> callback) {
+        if (entry.index() == 1 && getLastAppliedIndex() == 0) {
+            epoch = entry.term();
+        }
+        if (entry.index() <= getLastAppliedIndex() || entry.type() != LogEntryType.ACQUIRE_LOCK) {
+            super.apply(entry, result -> completed(entry, result, callback));
+            return;
+        }
+
+        var command = entry.getCommand();
+        long token = tokenGenerator.nextToken(command.lockId());
+        var withToken = new LogEntry(entry.index(), entry.term(), entry.type(), new LockCommand(
+                command.lockId(), command.clientId(), command.regionId(), token,
+                command.timeoutMs(), command.expiresAt(), command.sessionId(),
+                command.previousToken()).serialize());
+        super.apply(withToken, result -> completed(withToken, result, callback));
+    }
+
+    private void completed(LogEntry entry, LockResult<?> result, Consumer<LockResult<?>> callback) {
+        if (result.isSuccess() && entry.type() != LogEntryType.NOOP) {
+            var global = new GlobalEntry(epoch, entry.index(), entry.type(), entry.data());
+            committed.accept(global);
+            lastDelivered = global.position();
+        }
+        if (callback != null) {
+            callback.accept(result);
+        }
+    }
+}
@@ -9,22 +9,45 @@
 package com.gaestalt.lock.quorum;
 
 import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.config.TracingConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.jfr.QuorumRoundEvent;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.Lock;
 import com.gaestalt.lock.model.LockError;
 import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockScope;
 import com.gaestalt.lock.raft.LockCommand;
 import com.gaestalt.lock.raft.LogEntryType;
 import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.service.LockDigest;
 import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.Tags;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Manages cross-region quorum voting for distributed locks.
@@ -32,6 +55,14 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * Uses pending vote tracking to prevent race conditions where two regions
  * could simultaneously acquire the same lock.
+ *
+ * Locks can also be homed to a region through a cross-region lease. While this
+ * region holds the home lease for a lock, acquisitions skip the vote round and
+ * commit through local Raft only.
+ *
+ * Acquisitions and releases are replicated to the other regions over one
+ * ordered event stream per region, and a periodic anti-entropy pass repairs
+ * anything the streams missed.
  */
 @Slf4j
 @Component
@@ -42,47 +73,119 @@ public class QuorumManager {
     private final RegionConfig regionConfig;
     private final LockStore lockStore;
     private final RaftNode raftNode;
+    private final RegionLeaseTable leaseTable;
+    private final LockMetrics lockMetrics;
+    private final ContentionTracker contentionTracker;
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
     private final Map<String, CrossRegionClient> regionClients = new ConcurrentHashMap<>();
+    private final Map<String, RegionEventStream> eventStreams = new ConcurrentHashMap<>();
 
     // Track pending votes - lockId -> PendingVote
-    // When we grant a vote for a lock, we reserve it here to prevent granting votes
-    // to other regions for the same lock until the acquisition is confirmed or times out
+    // When we grant a vote for a lock, or start our own round for it, we reserve it here
+    // to prevent granting votes to other regions for the same lock until the acquisition
+    // is confirmed or times out
     private final Map<String, PendingVote> pendingVotes = new ConcurrentHashMap<>();
 
+    // Recent local acquisitions per lock, used to decide when to take or renew a home lease
+    private final Map<String, LeaseDemand> leaseDemand = new ConcurrentHashMap<>();
+    private final AtomicLong leaseEpochs = new AtomicLong(System.currentTimeMillis());
+
+    private final TimerWheel timerWheel;
+    private final GrpcChannelFactory channelFactory;
     private ExecutorService executor;
     private ScheduledExecutorService cleanupScheduler;
 
-    public QuorumManager(RegionConfig regionConfig, LockStore lockStore, RaftNode raftNode) {
+    public QuorumManager(RegionConfig regionConfig, LockStore lockStore, RaftNode raftNode,
+                         RegionLeaseTable leaseTable, LockMetrics lockMetrics, OpenTelemetry openTelemetry,
+                         TimerWheel timerWheel, ContentionTracker contentionTracker,
+                         GrpcChannelFactory channelFactory) {
         this.regionConfig = regionConfig;
         this.lockStore = lockStore;
         this.raftNode = raftNode;
+        this.leaseTable = leaseTable;
+        this.lockMetrics = lockMetrics;
+        this.openTelemetry = openTelemetry;
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
+        this.timerWheel = timerWheel;
+        this.contentionTracker = contentionTracker;
+        this.channelFactory = channelFactory;
     }
 
     @PostConstruct
     public void init() {
         executor = Executors.newVirtualThreadPerTaskExecutor();
         cleanupScheduler = Executors.newSingleThreadScheduledExecutor(
-                Thread.ofVirtual().name("pending-vote-cleanup-").factory()
+                Thread.ofVirtual().name("quorum-scheduler-").factory()
         );
 
-        // Start cleanup task for expired pending votes
+        // Renew home leases that still see local traffic; idle leases lapse so
+        // the lock can migrate to wherever it is being acquired now
+        long leaseCheckInterval = Math.max(regionConfig.getLeaseDurationMs() / 3, 100);
         cleanupScheduler.scheduleAtFixedRate(
-                this::cleanupExpiredPendingVotes,
-                PENDING_VOTE_TIMEOUT_MS,
-                PENDING_VOTE_TIMEOUT_MS / 2,
+                this::maintainLeases,
+                leaseCheckInterval,
+                leaseCheckInterval,
                 TimeUnit.MILLISECONDS
         );
 
+        lockMetrics.gauge("lockmgr.quorum.pending.votes",
+                "Locks reserved by a vote granted to another region or by this region's own round, awaiting commit",
+                Tags.empty(), pendingVotes, Map::size);
+
         // Initialize clients for peer regions
         for (var peer : regionConfig.getPeers()) {
-            var client = new CrossRegionClient(peer.getHost(), peer.getPort(), peer.getRegionId());
+            var client = createRegionClient(peer);
             regionClients.put(peer.getRegionId(), client);
             log.info("Initialized cross-region client for {}", peer.getRegionId());
+
+            if (regionConfig.isReplicationStreamEnabled()) {
+                eventStreams.put(peer.getRegionId(), new RegionEventStream(
+                        client,
+                        regionConfig.getRegionId(),
+                        cleanupScheduler,
+                        regionConfig.getReplicationBatchSize(),
+                        regionConfig.getReplicationLingerMs(),
+                        regionConfig.getReplicationMaxPending()
+                ));
+            }
+        }
+
+        // Probe peer regions so dead ones are skipped in vote fan-out
+        if (!regionClients.isEmpty()) {
+            cleanupScheduler.scheduleAtFixedRate(
+                    this::probeRegionHealth,
+                    0,
+                    regionConfig.getHealthProbeIntervalMs(),
+                    TimeUnit.MILLISECONDS
+            );
+        }
+
+        // Reconcile with peer regions to repair events the streams dropped
+        if (!regionClients.isEmpty() && regionConfig.getAntiEntropyIntervalMs() > 0) {
+            cleanupScheduler.scheduleAtFixedRate(
+                    this::reconcileWithRegions,
+                    regionConfig.getAntiEntropyIntervalMs(),
+                    regionConfig.getAntiEntropyIntervalMs(),
+                    TimeUnit.MILLISECONDS
+            );
         }
     }
 
+    /**
+     * Creates the client used to reach a peer region. Overridden to run regions
+     * over a simulated network.
+     */
+    protected CrossRegionClient createRegionClient(RegionConfig.PeerRegion peer) {
+        return new CrossRegionClient(peer.getHost(), peer.getPort(), peer.getRegionId(),
+                regionConfig.getSuspectAfterFailures(), openTelemetry, channelFactory);
+    }
+
     @PreDestroy
     public void shutdown() {
+        for (var stream : eventStreams.values()) {
+            stream.close();
+        }
         if (cleanupScheduler != null) {
             cleanupScheduler.shutdown();
         }
@@ -91,16 +194,48 @@ public class QuorumManager {
         }
     }
 
-    private void cleanupExpiredPendingVotes() {
-        var now = Instant.now();
-        pendingVotes.entrySet().removeIf(entry -> {
-            if (entry.getValue().expiresAt().isBefore(now)) {
-                log.debug("Removing expired pending vote for lock {} from region {}",
-                        entry.getKey(), entry.getValue().requestingRegion());
-                return true;
-            }
-            return false;
-        });
+    /**
+     * Ends the reservation this region's own acquisition holds on a lock. Called
+     * once the acquisition is known to have committed or failed; one whose outcome
+     * is unknown keeps its reservation until it lapses.
+     */
+    public void completeLocalAcquisition(String lockId, long fencingToken) {
+        pendingVotes.computeIfPresent(lockId, (key, vote) ->
+                vote.requestingRegion().equals(regionConfig.getRegionId())
+                        && vote.fencingToken() == fencingToken ? null : vote);
+    }
+
+    /**
+     * Reserves a lock for a region until its acquisition is confirmed, or for
+     * PENDING_VOTE_TIMEOUT_MS. Checking for and taking the reservation is one
+     * step, so two regions can never both hold it. Returns the live reservation
+     * standing in the way instead, if there is one. Another region's retry
+     * replaces its own vote, but this region's acquisitions never share one.
+     */
+    private Optional<PendingVote> reserve(String lockId, String region, String clientId, long fencingToken) {
+        String self = regionConfig.getRegionId();
+        var pendingVote = new PendingVote(region, clientId, fencingToken,
+                Instant.now().plusMillis(PENDING_VOTE_TIMEOUT_MS));
+        var current = pendingVotes.compute(lockId, (key, existing) ->
+                existing != null && existing.expiresAt().isAfter(Instant.now())
+                        && (!existing.requestingRegion().equals(region) || region.equals(self))
+                        ? existing : pendingVote);
+        if (current != pendingVote) {
+            return Optional.of(current);
+        }
+        timerWheel.schedule(() -> expirePendingVote(lockId, pendingVote), PENDING_VOTE_TIMEOUT_MS);
+        return Optional.empty();
+    }
+
+    /**
+     * Drops a pending vote that was never confirmed. A vote already confirmed or
+     * replaced by a newer one is left alone.
+     */
+    private void expirePendingVote(String lockId, PendingVote vote) {
+        if (pendingVotes.remove(lockId, vote)) {
+            log.debug("Removing expired pending vote for lock {} from region {}",
+                    lockId, vote.requestingRegion());
+        }
     }
 
     /**
@@ -127,16 +262,18 @@ public class QuorumManager {
             );
         }
 
-        // Check if there's a pending vote for this lock from another region
-        // This prevents race conditions where we could grant a vote to another region
-        // while simultaneously trying to acquire the same lock ourselves
-        var existingPending = pendingVotes.get(lockId);
-        if (existingPending != null && existingPending.expiresAt().isAfter(Instant.now())) {
+        // Reserve the lock for our own acquisition, as our self-vote. This prevents
+        // race conditions where we could grant a vote to another region while
+        // simultaneously trying to acquire the same lock ourselves. It also covers
+        // the home-lease path below, where nothing else records the acquisition
+        // until it commits. LockService ends the reservation once the outcome is known
+        var existingPending = reserve(lockId, regionConfig.getRegionId(), clientId, fencingToken);
+        if (existingPending.isPresent()) {
             log.debug("Cannot acquire lock {} - pending vote exists for region {}",
-                    lockId, existingPending.requestingRegion());
+                    lockId, existingPending.get().requestingRegion());
             return CompletableFuture.completedFuture(
                     LockResult.failure(LockError.alreadyLocked(
-                            existingPending.clientId(),
+                            existingPending.get().clientId(),
                             0L  // No token yet, acquisition pending
                     ))
             );
@@ -152,6 +289,16 @@ public class QuorumManager {
             );
         }
 
+        // The lock is homed here - the other regions have already promised not to
+        // vote for anyone else, so local Raft is enough. The reservation above keeps
+        // the lease from being handed to another region before the acquisition commits
+        if (holdsLease(lockId)) {
+            log.debug("Lock {} is homed in this region, skipping cross-region vote", lockId);
+            return CompletableFuture.completedFuture(
+                    LockResult.success(new QuorumResult(1, totalRegions, List.of(regionConfig.getRegionId())))
+            );
+        }
+
         // Request votes from peer regions
         var request = new LockVoteRequest(
                 lockId,
@@ -162,26 +309,31 @@ public class QuorumManager {
                 System.currentTimeMillis()
         );
 
-        List<CompletableFuture<VoteResult>> voteFutures = regionClients.values().stream()
-                .map(client -> requestVoteFromRegion(client, request))
-                .toList();
+        var voters = selectVoters();
+        var roundTimer = lockMetrics.startTimer();
+        var span = tracer.spanBuilder("quorum.round")
+                .setAttribute(AttributeKey.stringKey("lock.id"), lockId)
+                .setAttribute(AttributeKey.longKey("quorum.voters"), (long) voters.size())
+                .setAttribute(AttributeKey.longKey("quorum.needed"), (long) quorumNeeded)
+                .startSpan();
+        var event = new QuorumRoundEvent();
+        event.begin();
 
-        return CompletableFuture.allOf(voteFutures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> {
+        List<CompletableFuture<VoteResult>> voteFutures;
+        try (var scope = span.makeCurrent()) {
+            voteFutures = voters.stream()
+                    .map(client -> requestVoteFromRegion(client, request))
+                    .toList();
+        }
+
+        // Decide as soon as a majority has granted (or can no longer grant) rather
+        // than waiting on the slowest region
+        var decision = awaitGrants(voteFutures, quorumNeeded - 1)
+                .thenApply(granted -> {
                     List<String> grantingRegions = new CopyOnWriteArrayList<>();
                     grantingRegions.add(regionConfig.getRegionId()); // Add self
-
-                    for (var future : voteFutures) {
-                        try {
-                            var result = future.join();
-                            if (result.granted()) {
-                                votesReceived.incrementAndGet();
-                                grantingRegions.add(result.regionId());
-                            }
-                        } catch (Exception e) {
-                            log.warn("Vote request failed: {}", e.getMessage());
-                        }
-                    }
+                    grantingRegions.addAll(granted);
+                    votesReceived.addAndGet(granted.size());
 
                     int votes = votesReceived.get();
                     if (votes >= quorumNeeded) {
@@ -195,20 +347,111 @@ public class QuorumManager {
                                 LockError.quorumFailed(votes, quorumNeeded)
                         );
                     }
-                })
-                .orTimeout(regionConfig.getQuorumTimeoutMs(), TimeUnit.MILLISECONDS)
+                });
+        return timerWheel.orTimeout(decision, regionConfig.getQuorumTimeoutMs())
                 .exceptionally(e -> {
                     log.error("Quorum request timed out for lock {}", lockId);
-                    return LockResult.failure(LockError.timeout("Quorum request"));
+                    return LockResult.<QuorumResult>failure(LockError.timeout("Quorum request"));
+                })
+                .whenComplete((result, e) -> {
+                    lockMetrics.recordQuorumRound(roundTimer, result);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.lockId = lockId;
+                        event.voters = voters.size();
+                        event.needed = quorumNeeded;
+                        event.votes = votesReceived.get();
+                        event.outcome = result.isSuccess()
+                                ? "ok" : result.getError().status().name().toLowerCase(Locale.ROOT);
+                        event.commit();
+                    }
+                    if (result.isSuccess()) {
+                        span.setAttribute(AttributeKey.longKey("quorum.votes"), result.getValue().votesReceived());
+                        span.setStatus(StatusCode.OK);
+                    } else {
+                        span.setStatus(StatusCode.ERROR, result.getError().message());
+                    }
+                    span.end();
                 });
     }
 
+    /**
+     * Chooses the regions to ask for votes. Suspect regions are skipped as long as
+     * the healthy ones can still make up a majority; otherwise everyone is asked
+     * in case a suspect region has come back.
+     */
+    private List<CrossRegionClient> selectVoters() {
+        var healthy = regionClients.values().stream()
+                .filter(client -> !client.isSuspect())
+                .toList();
+
+        if (healthy.size() + 1 >= regionConfig.getQuorumSize()) {
+            return healthy;
+        }
+        return List.copyOf(regionClients.values());
+    }
+
+    /**
+     * Completes with the granting regions once enough votes have been granted,
+     * or once the outstanding votes can no longer reach that number.
+     */
+    private CompletableFuture<List<String>> awaitGrants(List<CompletableFuture<VoteResult>> votes,
+                                                        int grantsNeeded) {
+        var result = new CompletableFuture<List<String>>();
+        var granted = new CopyOnWriteArrayList<String>();
+        var outstanding = new AtomicInteger(votes.size());
+
+        if (grantsNeeded <= 0 || votes.isEmpty()) {
+            result.complete(List.of());
+            return result;
+        }
+
+        for (var vote : votes) {
+            vote.whenComplete((vr, error) -> {
+                if (error == null && vr.granted()) {
+                    granted.add(vr.regionId());
+                }
+                int remaining = outstanding.decrementAndGet();
+                if (granted.size() >= grantsNeeded || granted.size() + remaining < grantsNeeded) {
+                    result.complete(List.copyOf(granted));
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Probes every peer region with a ping. Healthy regions are kept fresh and
+     * suspect regions are given the chance to recover in the background.
+     */
+    private void probeRegionHealth() {
+        for (var client : regionClients.values()) {
+            CompletableFuture.runAsync(
+                    () -> client.ping(regionConfig.getRegionId(), regionConfig.getHealthProbeTimeoutMs()),
+                    executor
+            );
+        }
+    }
+
+    /**
+     * Returns the number of peer regions not currently marked suspect.
+     */
+    public int getHealthyRegionCount() {
+        return (int) regionClients.values().stream()
+                .filter(client -> !client.isSuspect())
+                .count();
+    }
+
     private CompletableFuture<VoteResult> requestVoteFromRegion(
             CrossRegionClient client, LockVoteRequest request) {
 
-        return CompletableFuture.supplyAsync(() -> {
+        // Carry the quorum round's span onto the executor thread as the vote's parent
+        return CompletableFuture.supplyAsync(Context.current().wrapSupplier(() -> {
+            var voteTimer = lockMetrics.startTimer();
             try {
                 var response = client.requestLockVote(request);
+                lockMetrics.recordRegionVote(voteTimer, client.getRegionId(),
+                        response.granted() ? "granted" : "denied");
                 return new VoteResult(
                         response.granted(),
                         client.getRegionId(),
@@ -217,9 +460,10 @@ public class QuorumManager {
             } catch (Exception e) {
                 log.warn("Failed to get vote from region {}: {}",
                         client.getRegionId(), e.getMessage());
+                lockMetrics.recordRegionVote(voteTimer, client.getRegionId(), "error");
                 return new VoteResult(false, client.getRegionId(), e.getMessage());
             }
-        }, executor);
+        }), executor);
     }
 
     /**
@@ -227,6 +471,14 @@ public class QuorumManager {
      * Uses pending vote tracking to prevent race conditions.
      */
     public LockVoteResponse handleLockVoteRequest(LockVoteRequest request) {
+        var response = decideVote(request);
+        if (!response.granted()) {
+            contentionTracker.record(ContentionTracker.Kind.VOTE_DENIED, request.lockId());
+        }
+        return response;
+    }
+
+    private LockVoteResponse decideVote(LockVoteRequest request) {
         log.debug("Received vote request from {} for lock {}",
                 request.requestingRegion(), request.lockId());
 
@@ -247,7 +499,9 @@ public class QuorumManager {
             );
         }
 
-        // Check if there's already a pending vote for this lock
+        // Check if there's already a pending vote for this lock. This comes before
+        // the lease check, so a lease is not handed over while an acquisition under
+        // it is still committing here
         var existingPending = pendingVotes.get(lockId);
         if (existingPending != null && existingPending.expiresAt().isAfter(Instant.now())) {
             // There's already a pending vote for this lock
@@ -270,15 +524,45 @@ public class QuorumManager {
             }
         }
 
-        // Grant the vote and track it as pending
-        var pendingVote = new PendingVote(
-                request.requestingRegion(),
-                request.clientId(),
-                Instant.now().plusMillis(PENDING_VOTE_TIMEOUT_MS)
-        );
-        pendingVotes.put(lockId, pendingVote);
-        log.debug("Granted vote for lock {} to region {}, pending until {}",
-                lockId, request.requestingRegion(), pendingVote.expiresAt());
+        // Check if the lock is homed in some other region
+        var lease = leaseTable.get(lockId);
+        if (lease.isPresent() && !lease.get().isHomedIn(request.requestingRegion())) {
+            if (lease.get().isHomedIn(regionConfig.getRegionId())) {
+                // Acquire traffic has moved to another region and the lock is free - hand the lease back
+                releaseLease(lease.get());
+            } else {
+                log.debug("Denying vote for lock {} - homed in region {}",
+                        lockId, lease.get().homeRegion());
+                return new LockVoteResponse(
+                        false,
+                        lease.get().homeRegion(),
+                        null,
+                        0,
+                        lease.get().expiresAt().toEpochMilli(),
+                        regionConfig.getRegionId(),
+                        "Lock homed in region " + lease.get().homeRegion()
+                );
+            }
+        }
+
+        // Grant the vote and track it as pending, unless a competing reservation
+        // was taken since the check above
+        var competing = reserve(lockId, request.requestingRegion(), request.clientId(),
+                request.proposedFencingToken());
+        if (competing.isPresent()) {
+            log.debug("Denying vote for lock {} - pending vote exists for region {}",
+                    lockId, competing.get().requestingRegion());
+            return new LockVoteResponse(
+                    false,
+                    competing.get().requestingRegion(),
+                    null,
+                    0,
+                    competing.get().expiresAt().toEpochMilli(),
+                    regionConfig.getRegionId(),
+                    "Pending vote for another region"
+            );
+        }
+        log.debug("Granted vote for lock {} to region {}", lockId, request.requestingRegion());
 
         return new LockVoteResponse(
                 true,
@@ -297,6 +581,11 @@ public class QuorumManager {
                 lockId, holderRegion, holderId, fencingToken, expiresAt, regionConfig.getRegionId()
         );
 
+        if (!eventStreams.isEmpty()) {
+            eventStreams.values().forEach(stream -> stream.publishAcquired(notification));
+            return;
+        }
+
         regionClients.values().forEach(client ->
                 CompletableFuture.runAsync(() -> {
                     try {
@@ -311,55 +600,116 @@ public class QuorumManager {
 
     /**
      * Handles a lock acquired notification from another region.
-     * Clears any pending vote and replicates the lock via Raft to all nodes in this region.
+     * Replicates the lock via Raft to all nodes in this region, then clears any
+     * pending vote. The vote is kept until the lock is in this region's store, so
+     * no other region's vote is granted while the replication commits.
+     *
+     * @return completes with true once the lock is committed through this
+     *         region's log, or false if it could not be, including when this
+     *         node is not the regional leader; the sender should deliver it again
      */
-    public void handleLockAcquiredNotification(LockAcquiredNotification notification) {
+    public CompletableFuture<Boolean> handleLockAcquiredNotification(LockAcquiredNotification notification) {
         log.debug("Received lock acquired notification: {} held by {}",
                 notification.lockId(), notification.holderRegion());
 
-        // Clear the pending vote for this lock
-        var removed = pendingVotes.remove(notification.lockId());
-        if (removed != null) {
-            log.debug("Cleared pending vote for lock {} (acquired by {})",
-                    notification.lockId(), notification.holderRegion());
+        // Only the leader can commit it; an event applied to one follower's store alone would be lost
+        if (!raftNode.isLeader()) {
+            log.warn("Received lock acquired notification for {} but not leader - not applying",
+                    notification.lockId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Same holder and token as the local copy - the lock was extended in its region
+        var existing = lockStore.get(notification.lockId())
+                .filter(lock -> lock.fencingToken() == notification.fencingToken()
+                        && lock.holderId().equals(notification.holderId()));
+        if (existing.isPresent()) {
+            clearPendingVote(notification);
+            return applyRemoteExtension(notification);
         }
 
         // Replicate the lock acquisition via Raft so all nodes in this region have it
-        if (raftNode.isLeader()) {
-            long timeoutMs = notification.expiresAt() - System.currentTimeMillis();
-            var command = LockCommand.acquire(
-                    notification.lockId(),
-                    notification.holderId(),
-                    notification.holderRegion(),
-                    notification.fencingToken(),
-                    Math.max(timeoutMs, 1000) // Ensure at least 1 second timeout
-            );
+        long timeoutMs = notification.expiresAt() - System.currentTimeMillis();
+        var command = LockCommand.acquire(
+                notification.lockId(),
+                notification.holderId(),
+                notification.holderRegion(),
+                notification.fencingToken(),
+                Math.max(timeoutMs, 1000) // Ensure at least 1 second timeout
+        ).withPreviousToken(lockStore.expiredToken(notification.lockId()));
 
-            raftNode.submit(LogEntryType.ACQUIRE_LOCK, command)
-                    .whenComplete((result, error) -> {
-                        if (error != null) {
-                            log.error("Failed to replicate remote lock acquisition via Raft: {}",
-                                    error.getMessage());
-                        } else if (result.isSuccess()) {
-                            log.debug("Replicated remote lock {} via Raft", notification.lockId());
-                        } else {
-                            log.warn("Remote lock replication returned error: {}",
-                                    result.getError().message());
-                        }
-                    });
-        } else {
-            // Not leader - store locally (this shouldn't happen due to forwarding, but fallback)
-            log.warn("Received lock acquired notification but not leader - storing locally only");
-            lockStore.acquireWithToken(
-                    notification.lockId(),
-                    notification.holderId(),
-                    notification.holderRegion(),
-                    notification.fencingToken(),
-                    Instant.ofEpochMilli(notification.expiresAt())
-            );
+        return raftNode.submit(LogEntryType.ACQUIRE_LOCK, command)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("Failed to replicate remote lock acquisition via Raft: {}",
+                                error.getMessage());
+                        return false;
+                    }
+                    if (result.isSuccess()) {
+                        log.debug("Replicated remote lock {} via Raft", notification.lockId());
+                        clearPendingVote(notification);
+                    } else {
+                        log.warn("Remote lock replication returned error: {}",
+                                result.getError().message());
+                    }
+                    return committed(result);
+                });
+    }
+
+    /**
+     * Whether a replicated event reached this region's log. A refusal that is
+     * not retryable was committed and applied, and refused by the state machine
+     * (a stale token, say); delivering the event again would be refused again.
+     */
+    private static boolean committed(LockResult<?> result) {
+        return result.isSuccess() || !result.getError().status().isRetryable();
+    }
+
+    private void clearPendingVote(LockAcquiredNotification notification) {
+        if (clearPendingVote(notification.lockId(), notification.holderRegion(), notification.fencingToken())) {
+            log.debug("Cleared pending vote for lock {} (acquired by {})",
+                    notification.lockId(), notification.holderRegion());
         }
     }
 
+    /**
+     * Clears the pending vote for a lock only if it is the one held by the given
+     * region for the given token. A notification about some other acquisition, or
+     * an anti-entropy repair, must not wipe a reservation still in its round.
+     */
+    private boolean clearPendingVote(String lockId, String region, long fencingToken) {
+        var cleared = new AtomicBoolean();
+        pendingVotes.computeIfPresent(lockId, (key, vote) -> {
+            if (vote.requestingRegion().equals(region) && vote.fencingToken() == fencingToken) {
+                cleared.set(true);
+                return null;
+            }
+            return vote;
+        });
+        return cleared.get();
+    }
+
+    /**
+     * Commits a remote region's extension of a lock already held here. Called only
+     * on the leader; a follower never extends its own copy, which the next entry
+     * from the leader would overwrite.
+     */
+    private CompletableFuture<Boolean> applyRemoteExtension(LockAcquiredNotification notification) {
+        var command = LockCommand.extend(notification.lockId(), notification.holderId(),
+                notification.fencingToken(), Instant.ofEpochMilli(notification.expiresAt()));
+
+        return raftNode.submit(LogEntryType.EXTEND_LOCK, command)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("Failed to replicate remote lock extension via Raft: {}",
+                                error.getMessage());
+                        return false;
+                    }
+                    log.debug("Replicated remote lock extension {} via Raft", notification.lockId());
+                    return committed(result);
+                });
+    }
+
     /**
      * Notifies other regions that a lock has been released.
      */
@@ -368,6 +718,11 @@ public class QuorumManager {
                 lockId, fencingToken, regionConfig.getRegionId()
         );
 
+        if (!eventStreams.isEmpty()) {
+            eventStreams.values().forEach(stream -> stream.publishReleased(notification));
+            return;
+        }
+
         regionClients.values().forEach(client ->
                 CompletableFuture.runAsync(() -> {
                     try {
@@ -383,34 +738,398 @@ public class QuorumManager {
     /**
      * Handles a lock released notification from another region.
      * Clears any pending vote and replicates the release via Raft.
+     *
+     * @return completes with true once the release is committed through this
+     *         region's log, or false if it could not be, including when this
+     *         node is not the regional leader
      */
-    public void handleLockReleasedNotification(LockReleasedNotification notification) {
+    public CompletableFuture<Boolean> handleLockReleasedNotification(LockReleasedNotification notification) {
         log.debug("Received lock released notification: {}", notification.lockId());
 
-        // Clear any pending vote for this lock
-        pendingVotes.remove(notification.lockId());
+        if (!raftNode.isLeader()) {
+            log.warn("Received lock released notification for {} but not leader - not applying",
+                    notification.lockId());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Clear the pending vote the releasing region held for this lock, if any
+        clearPendingVote(notification.lockId(), notification.notifyingRegion(), notification.fencingToken());
 
         // Replicate the lock release via Raft so all nodes in this region remove it
-        if (raftNode.isLeader()) {
-            var command = LockCommand.release(
-                    notification.lockId(),
-                    null, // clientId not needed for release by token
-                    notification.fencingToken()
-            );
+        var command = LockCommand.release(
+                notification.lockId(),
+                null, // clientId not needed for release by token
+                notification.fencingToken()
+        );
+
+        return raftNode.submit(LogEntryType.RELEASE_LOCK, command)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.error("Failed to replicate remote lock release via Raft: {}",
+                                error.getMessage());
+                        return false;
+                    }
+                    log.debug("Replicated remote lock release {} via Raft", notification.lockId());
+                    return committed(result);
+                });
+    }
+
+    /**
+     * Reconciles this region's view of remotely held locks with each healthy
+     * peer region. Only the regional leader reconciles; followers receive the
+     * repairs through Raft.
+     */
+    private void reconcileWithRegions() {
+        if (!raftNode.isLeader()) {
+            return;
+        }
+
+        for (var client : regionClients.values()) {
+            if (client.isSuspect()) {
+                continue;
+            }
+            CompletableFuture.runAsync(() -> {
+                try {
+                    reconcileWith(client);
+                } catch (Exception e) {
+                    log.warn("Anti-entropy with region {} failed: {}", client.getRegionId(), e.getMessage());
+                }
+            }, executor);
+        }
+    }
+
+    /**
+     * Reconciles the locks one peer region holds. The digests of both views are
+     * compared bucket by bucket and only the buckets that differ are pulled from
+     * the peer. Missing or stale copies are acquired, and copies the peer no
+     * longer holds are released. Locks acquired here after the pull started are
+     * left alone, as their events may simply not be reflected in the peer's answer yet.
+     */
+    void reconcileWith(CrossRegionClient client) {
+        var remoteRegion = client.getRegionId();
+        var syncStart = Instant.now();
+
+        var remoteDigest = client.getLockDigest(regionConfig.getRegionId(), remoteRegion);
+        var differing = LockDigest.differingBuckets(lockStore.getDigest(remoteRegion), remoteDigest);
+        if (differing.isEmpty()) {
+            log.debug("Lock state for region {} is in sync", remoteRegion);
+            return;
+        }
+
+        log.debug("Lock state for region {} differs in {} of {} buckets",
+                remoteRegion, differing.size(), LockDigest.BUCKETS);
+
+        Map<String, Lock> remoteHeld = client.streamLockState(regionConfig.getRegionId(), remoteRegion, differing)
+                .stream()
+                .collect(Collectors.toMap(Lock::lockId, Function.identity(), (a, b) -> a));
+
+        int acquired = 0;
+        int released = 0;
+
+        for (var remote : remoteHeld.values()) {
+            var local = lockStore.get(remote.lockId());
+            if (local.isPresent()) {
+                // Only a stale copy of the same region's lock can be replaced
+                if (!remoteRegion.equals(local.get().holderRegion())
+                        || local.get().fencingToken() >= remote.fencingToken()) {
+                    continue;
+                }
+                handleLockReleasedNotification(new LockReleasedNotification(
+                        remote.lockId(), local.get().fencingToken(), remoteRegion));
+            }
+
+            handleLockAcquiredNotification(new LockAcquiredNotification(
+                    remote.lockId(),
+                    remote.holderRegion(),
+                    remote.holderId(),
+                    remote.fencingToken(),
+                    remote.expiresAt().toEpochMilli(),
+                    remoteRegion
+            ));
+            acquired++;
+        }
+
+        for (var local : lockStore.getActiveLocksInBuckets(remoteRegion, new HashSet<>(differing))) {
+            if (!remoteHeld.containsKey(local.lockId())
+                    && local.acquiredAt().isBefore(syncStart)) {
+                handleLockReleasedNotification(new LockReleasedNotification(
+                        local.lockId(), local.fencingToken(), remoteRegion));
+                released++;
+            }
+        }
+
+        if (acquired > 0 || released > 0) {
+            log.info("Anti-entropy with region {} repaired {} acquisitions and {} releases",
+                    remoteRegion, acquired, released);
+        }
+    }
+
+    /**
+     * Checks if this region holds the home lease for a lock with enough time left
+     * to commit an acquisition before the lease could lapse.
+     */
+    public boolean holdsLease(String lockId) {
+        long margin = regionConfig.getLeaseDurationMs() / 4;
+        return leaseTable.get(lockId)
+                .filter(lease -> lease.isHomedIn(regionConfig.getRegionId()))
+                .filter(lease -> lease.remainingMs() > margin)
+                .isPresent();
+    }
+
+    /**
+     * Takes the home lease for a lock ahead of an acquisition when the scope asks for
+     * it, or when the lock has been acquired repeatedly from this region.
+     * Never fails - if the lease cannot be obtained the acquisition simply takes the
+     * cross-region quorum path.
+     */
+    public CompletableFuture<Void> prepareLease(String lockId, LockScope scope) {
+        boolean regionLocal = scope == LockScope.REGION_LOCAL;
+        if (regionConfig.getTotalRegions() == 1 || (!regionLocal && !regionConfig.isLeaseEnabled())) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        boolean demandMet = recordLocalAcquire(lockId);
+        if (holdsLease(lockId) || (!regionLocal && !demandMet)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return requestLease(lockId)
+                .handle((result, error) -> {
+                    if (error != null || !result.isSuccess()) {
+                        log.debug("Could not home lock {} in this region, using quorum path", lockId);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Requests (or renews) the home lease for a lock from a majority of regions.
+     * On success the lease is committed through local Raft before the future completes.
+     */
+    public CompletableFuture<LockResult<RegionLease>> requestLease(String lockId) {
+        String self = regionConfig.getRegionId();
+        int quorumNeeded = regionConfig.getQuorumSize();
+        long epoch = leaseEpochs.incrementAndGet();
+        long durationMs = regionConfig.getLeaseDurationMs();
+
+        // Measured from before any grant so our view of the lease never outlives
+        // the expiry recorded by the granting regions
+        var grantedAt = Instant.now();
+        var expiresAt = grantedAt.plusMillis(durationMs);
+
+        var existing = leaseTable.get(lockId);
+        if (existing.isPresent() && !existing.get().isHomedIn(self)) {
+            return CompletableFuture.completedFuture(LockResult.failure(
+                    LockError.alreadyLocked(existing.get().homeRegion(), 0L)));
+        }
+
+        // An acquisition of our own under the lease does not stop its renewal
+        var existingPending = pendingVotes.get(lockId);
+        if (existingPending != null && existingPending.expiresAt().isAfter(Instant.now())
+                && !existingPending.requestingRegion().equals(self)) {
+            return CompletableFuture.completedFuture(LockResult.failure(
+                    LockError.alreadyLocked(existingPending.clientId(), 0L)));
+        }
+
+        var request = new LeaseRequest(lockId, self, epoch, durationMs);
+        List<CompletableFuture<LeaseResponse>> grantFutures = selectVoters().stream()
+                .map(client -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return client.requestLease(request);
+                    } catch (Exception e) {
+                        log.warn("Failed to get lease grant from region {}: {}",
+                                client.getRegionId(), e.getMessage());
+                        return new LeaseResponse(false, client.getRegionId(), null, e.getMessage());
+                    }
+                }, executor))
+                .toList();
+
+        var lease = CompletableFuture.allOf(grantFutures.toArray(new CompletableFuture[0]))
+                .thenCompose(v -> {
+                    var granters = grantFutures.stream()
+                            .map(CompletableFuture::join)
+                            .filter(LeaseResponse::granted)
+                            .map(LeaseResponse::respondingRegion)
+                            .toList();
+
+                    int grants = granters.size() + 1; // Self
+                    if (grants < quorumNeeded) {
+                        log.debug("Lease for lock {} not granted: {}/{}", lockId, grants, quorumNeeded);
+                        // Free the regions that did grant rather than making them wait out the lease
+                        notifyLeaseReleased(lockId, self, epoch, granters);
+                        return CompletableFuture.completedFuture(
+                                LockResult.<RegionLease>failure(LockError.quorumFailed(grants, quorumNeeded)));
+                    }
+
+                    var command = LockCommand.grantLease(lockId, self, epoch, grantedAt, expiresAt);
+                    return raftNode.submit(LogEntryType.GRANT_LEASE, command)
+                            .thenApply(raftResult -> raftResult.isSuccess()
+                                    ? LockResult.success(new RegionLease(lockId, self, epoch, expiresAt))
+                                    : LockResult.<RegionLease>failure(raftResult.getError()));
+                });
+        return timerWheel.orTimeout(lease, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> {
+                    log.error("Lease request timed out for lock {}", lockId);
+                    return LockResult.failure(LockError.timeout("Lease request"));
+                });
+    }
+
+    /**
+     * Handles a lease request from another region.
+     * The lease is granted when no other region holds the lock, a pending vote, or
+     * the lease itself. A lease homed here is handed over if the lock is free.
+     */
+    public CompletableFuture<LeaseResponse> handleLeaseRequest(LeaseRequest request) {
+        log.debug("Received lease request from {} for lock {}",
+                request.requestingRegion(), request.lockId());
 
-            raftNode.submit(LogEntryType.RELEASE_LOCK, command)
+        String lockId = request.lockId();
+        String self = regionConfig.getRegionId();
+
+        var existingLock = lockStore.get(lockId);
+        if (existingLock.isPresent() && !request.requestingRegion().equals(existingLock.get().holderRegion())) {
+            return CompletableFuture.completedFuture(new LeaseResponse(
+                    false, self, existingLock.get().holderRegion(), "Lock held by another region"));
+        }
+
+        var existingPending = pendingVotes.get(lockId);
+        if (existingPending != null && existingPending.expiresAt().isAfter(Instant.now())
+                && !existingPending.requestingRegion().equals(request.requestingRegion())) {
+            return CompletableFuture.completedFuture(new LeaseResponse(
+                    false, self, null, "Pending vote for another region"));
+        }
+
+        var lease = leaseTable.get(lockId);
+        if (lease.isPresent() && !lease.get().isHomedIn(request.requestingRegion())) {
+            if (lease.get().isHomedIn(self)) {
+                releaseLease(lease.get());
+            } else {
+                return CompletableFuture.completedFuture(new LeaseResponse(
+                        false, self, lease.get().homeRegion(), "Lock homed in another region"));
+            }
+        }
+
+        var grantedAt = Instant.now();
+        var expiresAt = grantedAt.plusMillis(request.durationMs());
+        if (!raftNode.isLeader()) {
+            // Not leader - record locally (this shouldn't happen due to forwarding, but fallback)
+            log.warn("Received lease request but not leader - recording locally only");
+            boolean granted = leaseTable.grant(
+                    new RegionLease(lockId, request.requestingRegion(), request.epoch(), expiresAt), grantedAt);
+            return CompletableFuture.completedFuture(new LeaseResponse(granted, self, null,
+                    granted ? null : "Lock homed in another region"));
+        }
+
+        var command = LockCommand.grantLease(lockId, request.requestingRegion(), request.epoch(),
+                grantedAt, expiresAt);
+        return raftNode.submit(LogEntryType.GRANT_LEASE, command)
+                .thenApply(result -> result.isSuccess()
+                        ? new LeaseResponse(true, self, null, null)
+                        : new LeaseResponse(false, self, null, result.getError().message()));
+    }
+
+    /**
+     * Handles a lease released notification from another region.
+     */
+    public void handleLeaseReleasedNotification(LeaseReleasedNotification notification) {
+        log.debug("Received lease released notification: {} from {}",
+                notification.lockId(), notification.homeRegion());
+
+        if (raftNode.isLeader()) {
+            var command = LockCommand.revokeLease(
+                    notification.lockId(), notification.homeRegion(), notification.epoch());
+            raftNode.submit(LogEntryType.REVOKE_LEASE, command)
                     .whenComplete((result, error) -> {
                         if (error != null) {
-                            log.error("Failed to replicate remote lock release via Raft: {}",
-                                    error.getMessage());
-                        } else {
-                            log.debug("Replicated remote lock release {} via Raft", notification.lockId());
+                            log.error("Failed to replicate lease release via Raft: {}", error.getMessage());
                         }
                     });
         } else {
-            // Not leader - release locally (this shouldn't happen due to forwarding, but fallback)
-            log.warn("Received lock released notification but not leader - releasing locally only");
-            lockStore.releaseByToken(notification.lockId(), notification.fencingToken());
+            log.warn("Received lease released notification but not leader - revoking locally only");
+            leaseTable.revoke(notification.lockId(), notification.homeRegion(), notification.epoch());
+        }
+    }
+
+    /**
+     * Gives up a lease homed in this region and tells the other regions.
+     */
+    private void releaseLease(RegionLease lease) {
+        log.debug("Releasing home lease for lock {}", lease.lockId());
+        leaseDemand.remove(lease.lockId());
+
+        var command = LockCommand.revokeLease(lease.lockId(), lease.homeRegion(), lease.epoch());
+        raftNode.submit(LogEntryType.REVOKE_LEASE, command);
+        notifyLeaseReleased(lease.lockId(), lease.homeRegion(), lease.epoch(), List.copyOf(regionClients.keySet()));
+    }
+
+    private void notifyLeaseReleased(String lockId, String homeRegion, long epoch, List<String> regionIds) {
+        var notification = new LeaseReleasedNotification(lockId, homeRegion, epoch, regionConfig.getRegionId());
+
+        regionIds.stream()
+                .map(regionClients::get)
+                .filter(Objects::nonNull)
+                .forEach(client -> CompletableFuture.runAsync(() -> {
+                    try {
+                        client.notifyLeaseReleased(notification);
+                    } catch (Exception e) {
+                        log.warn("Failed to notify {} of lease release: {}",
+                                client.getRegionId(), e.getMessage());
+                    }
+                }, executor));
+    }
+
+    /**
+     * Records a local acquisition and reports whether the lock has been acquired
+     * often enough within one lease duration to be worth homing here.
+     */
+    private boolean recordLocalAcquire(String lockId) {
+        var now = Instant.now();
+        long window = regionConfig.getLeaseDurationMs();
+
+        var demand = leaseDemand.compute(lockId, (key, existing) -> {
+            if (existing == null || existing.windowStart().plusMillis(window).isBefore(now)) {
+                return new LeaseDemand(1, now, now);
+            }
+            return new LeaseDemand(existing.count() + 1, existing.windowStart(), now);
+        });
+
+        return demand.count() >= regionConfig.getLeaseAcquireThreshold();
+    }
+
+    /**
+     * Renews home leases that are still in use and drops stale lease bookkeeping.
+     * Expired leases are removed by the leader through the log rather than by each
+     * node's own clock, so no node forgets a lease the others still apply against.
+     */
+    private void maintainLeases() {
+        try {
+            var now = Instant.now();
+            long durationMs = regionConfig.getLeaseDurationMs();
+            leaseDemand.entrySet().removeIf(entry ->
+                    entry.getValue().lastAcquireAt().plusMillis(durationMs).isBefore(now));
+
+            if (!raftNode.isLeader()) {
+                return;
+            }
+
+            for (var lease : leaseTable.getExpired()) {
+                raftNode.submit(LogEntryType.REVOKE_LEASE,
+                        LockCommand.revokeLease(lease.lockId(), lease.homeRegion(), lease.epoch()));
+            }
+
+            String self = regionConfig.getRegionId();
+            for (var lease : leaseTable.getLeasesHomedIn(self)) {
+                boolean inUse = leaseDemand.containsKey(lease.lockId()) ||
+                        lockStore.get(lease.lockId())
+                                .map(lock -> self.equals(lock.holderRegion()))
+                                .orElse(false);
+
+                if (inUse && lease.remainingMs() < durationMs * 2 / 3) {
+                    requestLease(lease.lockId());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Lease maintenance failed: {}", e.getMessage());
         }
     }
 
@@ -455,8 +1174,38 @@ public class QuorumManager {
             List<String> grantingRegions
     ) {}
 
+    public record LeaseRequest(
+            String lockId,
+            String requestingRegion,
+            long epoch,
+            long durationMs
+    ) {}
+
+    public record LeaseResponse(
+            boolean granted,
+            String respondingRegion,
+            String currentHomeRegion,
+            String denialReason
+    ) {}
+
+    public record LeaseReleasedNotification(
+            String lockId,
+            String homeRegion,
+            long epoch,
+            String notifyingRegion
+    ) {}
+
     private record VoteResult(boolean granted, String regionId, String reason) {}
 
+    /**
+     * Local acquisitions of a lock within the current lease window.
+     */
+    private record LeaseDemand(
+            int count,
+            Instant windowStart,
+            Instant lastAcquireAt
+    ) {}
+
     /**
      * Tracks a pending vote that has been granted but not yet confirmed.
      * Used to prevent race conditions in cross-region lock acquisition.
@@ -464,6 +1213,7 @@ public class QuorumManager {
     private record PendingVote(
             String requestingRegion,
             String clientId,
+            long fencingToken,
             Instant expiresAt
     ) {}
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import com.gaestalt.lock.grpc.generated.LockAcquiredNotification;
+import com.gaestalt.lock.grpc.generated.LockEvent;
+import com.gaestalt.lock.grpc.generated.LockEventAck;
+import com.gaestalt.lock.grpc.generated.LockEventBatch;
+import com.gaestalt.lock.grpc.generated.LockReleasedNotification;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered, batched stream of lock events from this region to one peer region.
+ *
+ * Events are numbered with a per-stream sequence and held until the peer
+ * acknowledges them. Publishing only queues the event; a flush after a short
+ * linger sends everything queued in batches. When the stream breaks, every
+ * unacknowledged event is resent on the next connection under the same stream
+ * id, so the peer can drop the ones it has already applied.
+ *
+ * The queue is bounded. If a peer stays unreachable long enough to fill it the
+ * oldest events are dropped and the gap is left to anti-entropy reconciliation.
+ */
+@Slf4j
+public class RegionEventStream {
+
+    private static final long INITIAL_BACKOFF_MS = 100;
+    private static final long MAX_BACKOFF_MS = 5000;
+
+    private final CrossRegionClient client;
+    private final String localRegionId;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxPending;
+    private final int maxInFlight;
+    private final String streamId = UUID.randomUUID().toString();
+
+    // Events not yet acknowledged by the peer, in sequence order
+    private final Deque<LockEvent> unacked = new ArrayDeque<>();
+    private long nextSequence = 1;
+    private long sentSequence = 0;
+    private long ackedSequence = 0;
+    private long droppedEvents = 0;
+
+    private StreamObserver<LockEventBatch> requestObserver;
+    private int connectionGeneration = 0;
+    private int reconnectAttempts = 0;
+    private boolean flushScheduled = false;
+    private boolean reconnectScheduled = false;
+    private boolean closed = false;
+
+    public RegionEventStream(CrossRegionClient client, String localRegionId,
+                             ScheduledExecutorService scheduler,
+                             int batchSize, long lingerMs, int maxPending) {
+        this.client = client;
+        this.localRegionId = localRegionId;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(batchSize, 1);
+        this.lingerMs = Math.max(lingerMs, 0);
+        this.maxPending = Math.max(maxPending, this.batchSize);
+        this.maxInFlight = this.batchSize * 4;
+    }
+
+    public String getRegionId() {
+        return client.getRegionId();
+    }
+
+    /**
+     * Queues a lock acquisition for the peer region.
+     */
+    public void publishAcquired(QuorumManager.LockAcquiredNotification notification) {
+        publish(LockEvent.newBuilder()
+                .setAcquired(LockAcquiredNotification.newBuilder()
+                        .setLockId(notification.lockId())
+                        .setHolderRegion(notification.holderRegion())
+                        .setHolderClient(notification.holderId())
+                        .setFencingToken(notification.fencingToken())
+                        .setExpiresAt(notification.expiresAt())
+                        .setNotifyingRegion(notification.notifyingRegion())));
+    }
+
+    /**
+     * Queues a lock release for the peer region.
+     */
+    public void publishReleased(QuorumManager.LockReleasedNotification notification) {
+        publish(LockEvent.newBuilder()
+                .setReleased(LockReleasedNotification.newBuilder()
+                        .setLockId(notification.lockId())
+                        .setFencingToken(notification.fencingToken())
+                        .setNotifyingRegion(notification.notifyingRegion())));
+    }
+
+    private synchronized void publish(LockEvent.Builder event) {
+        if (closed) {
+            return;
+        }
+
+        unacked.addLast(event.setSequence(nextSequence++).build());
+
+        while (unacked.size() > maxPending) {
+            var dropped = unacked.pollFirst();
+            ackedSequence = Math.max(ackedSequence, dropped.getSequence());
+            sentSequence = Math.max(sentSequence, ackedSequence);
+            if (droppedEvents++ == 0) {
+                log.warn("Event stream to region {} is full, dropping oldest events until it drains",
+                        getRegionId());
+            }
+        }
+
+        // A full batch goes out right away, otherwise wait briefly for more events
+        scheduleFlush(nextSequence - 1 - sentSequence >= batchSize ? 0 : lingerMs);
+    }
+
+    /**
+     * Returns the number of events waiting for acknowledgement.
+     */
+    public synchronized int getPendingCount() {
+        return unacked.size();
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full.
+     */
+    public synchronized long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Returns the highest sequence number acknowledged by the peer.
+     */
+    public synchronized long getAckedSequence() {
+        return ackedSequence;
+    }
+
+    public synchronized void close() {
+        closed = true;
+        if (requestObserver != null) {
+            try {
+                requestObserver.onCompleted();
+            } catch (Exception e) {
+                log.debug("Error closing event stream to {}: {}", getRegionId(), e.getMessage());
+            }
+            requestObserver = null;
+        }
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        scheduler.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void flush() {
+        flushScheduled = false;
+        if (closed || unacked.isEmpty() || reconnectScheduled) {
+            return;
+        }
+
+        if (requestObserver == null) {
+            connect();
+        }
+
+        var batch = LockEventBatch.newBuilder()
+                .setSourceRegion(localRegionId)
+                .setStreamId(streamId);
+
+        try {
+            for (var event : unacked) {
+                if (event.getSequence() <= sentSequence) {
+                    continue;
+                }
+                if (sentSequence - ackedSequence >= maxInFlight) {
+                    break;
+                }
+                batch.addEvents(event);
+                sentSequence = event.getSequence();
+
+                if (batch.getEventsCount() >= batchSize) {
+                    requestObserver.onNext(batch.build());
+                    batch.clearEvents();
+                }
+            }
+            if (batch.getEventsCount() > 0) {
+                requestObserver.onNext(batch.build());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to send lock events to region {}: {}", getRegionId(), e.getMessage());
+            disconnected(connectionGeneration);
+        }
+    }
+
+    private void connect() {
+        int generation = ++connectionGeneration;
+        requestObserver = client.openEventStream(new StreamObserver<>() {
+            @Override
+            public void onNext(LockEventAck ack) {
+                acknowledged(generation, ack.getAckedSequence());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("Event stream to region {} failed: {}", getRegionId(), t.getMessage());
+                disconnected(generation);
+            }
+
+            @Override
+            public void onCompleted() {
+                disconnected(generation);
+            }
+        });
+    }
+
+    private synchronized void acknowledged(int generation, long sequence) {
+        if (generation != connectionGeneration || sequence <= ackedSequence) {
+            return;
+        }
+
+        ackedSequence = sequence;
+        reconnectAttempts = 0;
+        client.recordSuccess();
+
+        while (!unacked.isEmpty() && unacked.peekFirst().getSequence() <= sequence) {
+            unacked.pollFirst();
+        }
+        if (unacked.isEmpty() && droppedEvents > 0) {
+            log.info("Event stream to region {} drained after dropping {} events",
+                    getRegionId(), droppedEvents);
+            droppedEvents = 0;
+        }
+
+        // The in-flight window has room again
+        if (nextSequence - 1 > sentSequence) {
+            scheduleFlush(0);
+        }
+    }
+
+    private synchronized void disconnected(int generation) {
+        if (generation != connectionGeneration || closed) {
+            return;
+        }
+
+        connectionGeneration++;
+        requestObserver = null;
+        client.recordFailure();
+
+        // Everything not acknowledged is resent on the next connection
+        sentSequence = ackedSequence;
+
+        if (!reconnectScheduled) {
+            reconnectScheduled = true;
+            long backoff = Math.min(INITIAL_BACKOFF_MS << Math.min(reconnectAttempts++, 6), MAX_BACKOFF_MS);
+            scheduler.schedule(this::reconnect, backoff, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void reconnect() {
+        reconnectScheduled = false;
+        if (!closed && !unacked.isEmpty()) {
+            log.debug("Resuming event stream to region {} from sequence {}", getRegionId(), ackedSequence + 1);
+            scheduleFlush(0);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A cross-region lease homing a lock to a single region.
+ * While the lease is valid, the home region may commit acquisitions of the lock
+ * through local Raft only, and other regions deny votes for it to anyone else.
+ */
+public record RegionLease(
+        String lockId,
+        String homeRegion,
+        long epoch,
+        Instant expiresAt
+) {
+    public RegionLease {
+        Objects.requireNonNull(lockId, "lockId must not be null");
+        Objects.requireNonNull(homeRegion, "homeRegion must not be null");
+        Objects.requireNonNull(expiresAt, "expiresAt must not be null");
+    }
+
+    /**
+     * Checks if this lease is still in force.
+     */
+    public boolean isValid() {
+        return Instant.now().isBefore(expiresAt);
+    }
+
+    /**
+     * Checks if this lease homes the lock in the given region.
+     */
+    public boolean isHomedIn(String regionId) {
+        return homeRegion.equals(regionId);
+    }
+
+    /**
+     * Returns the remaining lease time in milliseconds.
+     * Returns 0 if the lease has expired.
+     */
+    public long remainingMs() {
+        return Math.max(0, expiresAt.toEpochMilli() - Instant.now().toEpochMilli());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe table of region home leases known to this node.
+ * Updated only by applying committed Raft entries so every node in the region
+ * agrees on which leases it has granted or holds.
+ */
+@Slf4j
+@Component
+public class RegionLeaseTable {
+
+    private final Map<String, RegionLease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Records a granted or renewed lease.
+     * A renewal by the same home region always replaces the existing lease. A lease
+     * for a different home region is recorded only if the existing one had lapsed
+     * by grantedAt, the time the proposer granted the new lease. Epochs come from
+     * each region's own counter, so they are never compared across regions, and
+     * the decision reads no clock, so every node applying the entry agrees.
+     *
+     * @return true if the lease was recorded
+     */
+    public boolean grant(RegionLease lease, Instant grantedAt) {
+        var recorded = new boolean[] { false };
+
+        leases.compute(lease.lockId(), (key, existing) -> {
+            if (existing == null || existing.isHomedIn(lease.homeRegion())
+                    || !existing.expiresAt().isAfter(grantedAt)) {
+                recorded[0] = true;
+                log.debug("Lease for lock {} homed in {} until {}",
+                        lease.lockId(), lease.homeRegion(), lease.expiresAt());
+                return lease;
+            }
+            return existing;
+        });
+
+        return recorded[0];
+    }
+
+    /**
+     * Removes a lease if it is still held by the given region at or below the given epoch.
+     */
+    public void revoke(String lockId, String homeRegion, long epoch) {
+        leases.computeIfPresent(lockId, (key, existing) -> {
+            if (existing.isHomedIn(homeRegion) && existing.epoch() <= epoch) {
+                log.debug("Lease for lock {} revoked from {}", lockId, homeRegion);
+                return null;
+            }
+            return existing;
+        });
+    }
+
+    /**
+     * Gets the valid lease for a lock, if any.
+     */
+    public Optional<RegionLease> get(String lockId) {
+        return Optional.ofNullable(leases.get(lockId))
+                .filter(RegionLease::isValid);
+    }
+
+    /**
+     * Checks if a lock is currently homed in the given region.
+     */
+    public boolean isHomedIn(String lockId, String regionId) {
+        return get(lockId).map(lease -> lease.isHomedIn(regionId)).orElse(false);
+    }
+
+    /**
+     * Gets all valid leases homed in the given region.
+     */
+    public Collection<RegionLease> getLeasesHomedIn(String regionId) {
+        return leases.values().stream()
+                .filter(RegionLease::isValid)
+                .filter(lease -> lease.isHomedIn(regionId))
+                .toList();
+    }
+
+    /**
+     * Gets every lease recorded, valid or not, for a snapshot.
+     */
+    public Collection<RegionLease> getAll() {
+        return List.copyOf(leases.values());
+    }
+
+    /**
+     * Gets every recorded lease that has expired, for the leader to revoke
+     * through the log.
+     */
+    public Collection<RegionLease> getExpired() {
+        return leases.values().stream()
+                .filter(lease -> !lease.isValid())
+                .toList();
+    }
+
+    /**
+     * Replaces every lease with those from a snapshot.
+     */
+    public void restore(Collection<RegionLease> snapshot) {
+        leases.clear();
+        snapshot.forEach(lease -> leases.put(lease.lockId(), lease));
+    }
+
+    /**
+     * Clears all leases (for testing).
+     */
+    public void clear() {
+        leases.clear();
+    }
+}
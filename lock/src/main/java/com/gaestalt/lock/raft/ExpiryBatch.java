@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.service.LockStore;
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Locks the leader found expired, carried in one EXPIRE_LOCKS entry so every
+ * node removes them without sweeping its own store.
+ *
+ * Each lock is identified by the fencing token and expiry the leader saw. A node
+ * applying the batch removes a lock only while both still match, so a lock that
+ * was re-acquired or extended by an earlier entry survives. Batches are written
+ * compactly - lock ID, token and expiry to the microsecond per lock - rather
+ * than with Java serialization, as a sweep after a burst can carry thousands.
+ */
+public record ExpiryBatch(List<LockStore.ExpiredLock> locks) {
+
+    public ExpiryBatch {
+        locks = List.copyOf(locks);
+    }
+
+    /**
+     * Serializes this batch to bytes.
+     */
+    public byte[] serialize() {
+        try (var bos = new ByteArrayOutputStream(4 + locks.size() * 48);
+             var out = new DataOutputStream(bos)) {
+            out.writeInt(locks.size());
+            for (var lock : locks) {
+                out.writeUTF(lock.lockId());
+                out.writeLong(lock.fencingToken());
+                out.writeLong(ChronoUnit.MICROS.between(Instant.EPOCH, lock.expiresAt()));
+            }
+            out.flush();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize expiry batch", e);
+        }
+    }
+
+    /**
+     * Deserializes a batch straight from a log entry's data.
+     */
+    public static ExpiryBatch deserialize(ByteString data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        try (var in = new DataInputStream(data.newInput())) {
+            int count = in.readInt();
+            var locks = new ArrayList<LockStore.ExpiredLock>(count);
+            for (int i = 0; i < count; i++) {
+                locks.add(new LockStore.ExpiredLock(in.readUTF(), in.readLong(),
+                        Instant.EPOCH.plus(in.readLong(), ChronoUnit.MICROS)));
+            }
+            return new ExpiryBatch(locks);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize expiry batch", e);
+        }
+    }
+}
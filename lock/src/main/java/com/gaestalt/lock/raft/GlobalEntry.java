@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.raft.generated.LogEntryTypeProto;
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * An entry committed by the global Raft group of region leaders, carried into a
+ * region's own log so every node of the region applies it. Its position lets
+ * the region skip entries it has already applied when a new region leader
+ * rejoins the group and replays its log.
+ *
+ * A group that loses all its members starts a new log, whose indices begin at 1
+ * again, so a position is the global index within an epoch: the term of the
+ * group log's first entry. Each region keeps its vote and term through its own
+ * log, so a group started afresh always begins in a later term than any before.
+ *
+ * The wrapped data is the global log entry's own {@link ByteString}. It is
+ * written after a fixed header - epoch, index and entry type - and read back as
+ * a view of the region entry's data, so it is not copied on either side.
+ */
+public record GlobalEntry(
+        long epoch,
+        long globalIndex,
+        LogEntryType type,
+        ByteString data
+) {
+
+    private static final int HEADER_BYTES = 2 * Long.BYTES + Integer.BYTES;
+
+    public GlobalEntry {
+        Objects.requireNonNull(type, "type must not be null");
+        if (type == LogEntryType.GLOBAL_ENTRY) {
+            throw new IllegalArgumentException("global entries do not nest");
+        }
+        if (data == null) {
+            data = ByteString.EMPTY;
+        }
+    }
+
+    /**
+     * This entry's position in the global log.
+     */
+    public Position position() {
+        return new Position(epoch, globalIndex);
+    }
+
+    /**
+     * Deserializes the wrapped command data.
+     */
+    public LockCommand getCommand() {
+        return LockCommand.deserialize(data);
+    }
+
+    /**
+     * Serializes this entry to bytes.
+     */
+    public byte[] serialize() {
+        try (var bos = new ByteArrayOutputStream(HEADER_BYTES + data.size());
+             var out = new DataOutputStream(bos)) {
+            out.writeLong(epoch);
+            out.writeLong(globalIndex);
+            out.writeInt(RaftProtos.toProto(type).getNumber());
+            data.writeTo(out);
+            out.flush();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize global entry", e);
+        }
+    }
+
+    /**
+     * Deserializes a global entry straight from a log entry's data.
+     */
+    public static GlobalEntry deserialize(ByteString data) {
+        if (data == null || data.size() < HEADER_BYTES) {
+            return null;
+        }
+        try (var in = new DataInputStream(data.newInput())) {
+            long epoch = in.readLong();
+            long globalIndex = in.readLong();
+            var type = LogEntryTypeProto.forNumber(in.readInt());
+            if (type == null) {
+                return null;
+            }
+            return new GlobalEntry(epoch, globalIndex, RaftProtos.fromProto(type), data.substring(HEADER_BYTES));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize global entry", e);
+        }
+    }
+
+    /**
+     * A position in the global log: an index within an epoch.
+     */
+    public record Position(long epoch, long index) {
+
+        /**
+         * The position before any entry of any epoch.
+         */
+        public static final Position START = new Position(0, 0);
+
+        /**
+         * Whether this position comes after the other: a later epoch, or a
+         * later index in the same epoch.
+         */
+        public boolean isAfter(Position other) {
+            return epoch > other.epoch() || epoch == other.epoch() && index > other.index();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.google.protobuf.ByteString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * The term and vote of a region's member of the global Raft group, committed
+ * through the region's own log before the member votes or stands. The member
+ * lives only as long as the node leading the region; the region's log outlives
+ * it, so a new region leader rejoins with the term and vote its predecessor
+ * used and cannot vote a second time in the same term.
+ *
+ * @param term     Global term
+ * @param votedFor Member voted for in that term, or null if none
+ */
+public record GlobalVote(long term, String votedFor) {
+
+    /**
+     * The vote of a region that has never voted.
+     */
+    public static final GlobalVote NONE = new GlobalVote(0, null);
+
+    /**
+     * Whether this vote may follow the given one: a later term, or the same
+     * term with no vote cast yet or the same vote cast again.
+     */
+    public boolean canFollow(GlobalVote previous) {
+        return term > previous.term()
+                || term == previous.term()
+                && (previous.votedFor() == null || Objects.equals(votedFor, previous.votedFor()));
+    }
+
+    /**
+     * Serializes this vote to bytes.
+     */
+    public byte[] serialize() {
+        try (var bos = new ByteArrayOutputStream();
+             var out = new DataOutputStream(bos)) {
+            out.writeLong(term);
+            out.writeBoolean(votedFor != null);
+            if (votedFor != null) {
+                out.writeUTF(votedFor);
+            }
+            out.flush();
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize global vote", e);
+        }
+    }
+
+    /**
+     * Deserializes a vote straight from a log entry's data.
+     */
+    public static GlobalVote deserialize(ByteString data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        try (var in = new DataInputStream(data.newInput())) {
+            long term = in.readLong();
+            return new GlobalVote(term, in.readBoolean() ? in.readUTF() : null);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize global vote", e);
+        }
+    }
+}
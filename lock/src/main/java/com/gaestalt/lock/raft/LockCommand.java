@@ -8,12 +8,18 @@
 
 package com.gaestalt.lock.raft;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
 import java.io.*;
 import java.time.Instant;
 import java.util.Objects;
 
 /**
  * Represents a lock command to be applied to the state machine.
+ * Session commands carry the session ID in both lockId and sessionId.
+ * Acquire commands carry in previousToken the fencing token of the expired lock
+ * the proposer saw, which is the only lock the acquisition may replace.
  */
 public record LockCommand(
         String lockId,
@@ -21,7 +27,9 @@ public record LockCommand(
         String regionId,
         long fencingToken,
         long timeoutMs,
-        Instant expiresAt
+        Instant expiresAt,
+        String sessionId,
+        long previousToken
 ) implements Serializable {
 
     @Serial
@@ -36,15 +44,89 @@ public record LockCommand(
      */
     public static LockCommand acquire(String lockId, String clientId, String regionId,
                                        long fencingToken, long timeoutMs) {
+        return acquire(lockId, clientId, regionId, fencingToken, timeoutMs, null);
+    }
+
+    /**
+     * Creates an acquire lock command that binds the lock to a session, if given.
+     */
+    public static LockCommand acquire(String lockId, String clientId, String regionId,
+                                       long fencingToken, long timeoutMs, String sessionId) {
         return new LockCommand(lockId, clientId, regionId, fencingToken, timeoutMs,
-                Instant.now().plusMillis(timeoutMs));
+                Instant.now().plusMillis(timeoutMs), sessionId, 0);
+    }
+
+    /**
+     * Returns this acquire command allowed to replace the expired lock holding
+     * previousToken, as the proposer saw it.
+     */
+    public LockCommand withPreviousToken(long previousToken) {
+        return new LockCommand(lockId, clientId, regionId, fencingToken, timeoutMs, expiresAt, sessionId,
+                previousToken);
     }
 
     /**
      * Creates a release lock command.
      */
     public static LockCommand release(String lockId, String clientId, long fencingToken) {
-        return new LockCommand(lockId, clientId, null, fencingToken, 0, null);
+        return new LockCommand(lockId, clientId, null, fencingToken, 0, null, null, 0);
+    }
+
+    /**
+     * Creates a command releasing every lock held by a client.
+     * The holder is carried in both lockId and clientId.
+     */
+    public static LockCommand releaseAllByHolder(String holderId) {
+        return new LockCommand(holderId, holderId, null, 0, 0, null, null, 0);
+    }
+
+    /**
+     * Creates an extend lock command that moves the lock's expiry to expiresAt.
+     */
+    public static LockCommand extend(String lockId, String clientId, long fencingToken, Instant expiresAt) {
+        return new LockCommand(lockId, clientId, null, fencingToken, 0, expiresAt, null, 0);
+    }
+
+    /**
+     * Creates a grant lease command.
+     * The home region is carried in regionId, the lease epoch in fencingToken and
+     * the lease duration from grantedAt in timeoutMs.
+     */
+    public static LockCommand grantLease(String lockId, String homeRegion, long epoch,
+                                         Instant grantedAt, Instant expiresAt) {
+        return new LockCommand(lockId, null, homeRegion, epoch,
+                expiresAt.toEpochMilli() - grantedAt.toEpochMilli(), expiresAt, null, 0);
+    }
+
+    /**
+     * Creates a revoke lease command.
+     */
+    public static LockCommand revokeLease(String lockId, String homeRegion, long epoch) {
+        return new LockCommand(lockId, null, homeRegion, epoch, 0, null, null, 0);
+    }
+
+    /**
+     * Creates an open session command.
+     */
+    public static LockCommand openSession(String sessionId, String clientId, long ttlMs) {
+        return new LockCommand(sessionId, clientId, null, 0, ttlMs,
+                Instant.now().plusMillis(ttlMs), sessionId, 0);
+    }
+
+    /**
+     * Creates a keepalive command that moves the session's expiry, and that of
+     * every lock held under it, to expiresAt.
+     */
+    public static LockCommand keepAliveSession(String sessionId, String clientId, Instant expiresAt) {
+        return new LockCommand(sessionId, clientId, null, 0, 0, expiresAt, sessionId, 0);
+    }
+
+    /**
+     * Creates a close session command.
+     * A null clientId skips the owner check (used when the session expires).
+     */
+    public static LockCommand closeSession(String sessionId, String clientId) {
+        return new LockCommand(sessionId, clientId, null, 0, 0, null, sessionId, 0);
     }
 
     /**
@@ -64,11 +146,18 @@ public record LockCommand(
      * Deserializes a command from bytes.
      */
     public static LockCommand deserialize(byte[] data) {
-        if (data == null || data.length == 0) {
+        return data != null ? deserialize(UnsafeByteOperations.unsafeWrap(data)) : null;
+    }
+
+    /**
+     * Deserializes a command straight from a log entry's or message's data,
+     * without copying it out first.
+     */
+    public static LockCommand deserialize(ByteString data) {
+        if (data == null || data.isEmpty()) {
             return null;
         }
-        try (var bis = new ByteArrayInputStream(data);
-             var ois = new ObjectInputStream(bis)) {
+        try (var ois = new ObjectInputStream(data.newInput())) {
             return (LockCommand) ois.readObject();
         } catch (IOException | ClassNotFoundException e) {
             throw new RuntimeException("Failed to deserialize command", e);
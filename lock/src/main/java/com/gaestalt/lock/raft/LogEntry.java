@@ -8,19 +8,29 @@
 
 package com.gaestalt.lock.raft;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
 import java.util.Objects;
 
 /**
  * Represents an entry in the Raft log.
+ *
+ * The command data is an immutable {@link ByteString}, the type protobuf messages
+ * carry it in, so the leader puts an entry's data into each AppendEntries call as
+ * is and a follower stores the data it received without copying either way.
  */
 public record LogEntry(
         long index,
         long term,
         LogEntryType type,
-        byte[] data
+        ByteString data
 ) {
     public LogEntry {
         Objects.requireNonNull(type, "type must not be null");
+        if (data == null) {
+            data = ByteString.EMPTY;
+        }
         if (index < 0) {
             throw new IllegalArgumentException("index must be non-negative");
         }
@@ -29,11 +39,19 @@ public record LogEntry(
         }
     }
 
+    /**
+     * Creates an entry over freshly serialized data. The array is wrapped, not
+     * copied, and must not be modified afterwards.
+     */
+    public LogEntry(long index, long term, LogEntryType type, byte[] data) {
+        this(index, term, type, data != null ? UnsafeByteOperations.unsafeWrap(data) : ByteString.EMPTY);
+    }
+
     /**
      * Creates a no-op entry (used for leader commitment).
      */
     public static LogEntry noop(long index, long term) {
-        return new LogEntry(index, term, LogEntryType.NOOP, new byte[0]);
+        return new LogEntry(index, term, LogEntryType.NOOP, ByteString.EMPTY);
     }
 
     /**
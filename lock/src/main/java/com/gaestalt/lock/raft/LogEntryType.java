@@ -30,5 +30,50 @@ public enum LogEntryType {
     /**
      * Extend a lock timeout.
      */
-    EXTEND_LOCK
+    EXTEND_LOCK,
+
+    /**
+     * Grant (or renew) a region home lease for a lock.
+     */
+    GRANT_LEASE,
+
+    /**
+     * Revoke a region home lease for a lock.
+     */
+    REVOKE_LEASE,
+
+    /**
+     * Open a client session.
+     */
+    OPEN_SESSION,
+
+    /**
+     * Extend a session and every lock held under it.
+     */
+    KEEPALIVE_SESSION,
+
+    /**
+     * Close a session and release every lock held under it.
+     */
+    CLOSE_SESSION,
+
+    /**
+     * Release every lock held by a client.
+     */
+    RELEASE_ALL_BY_HOLDER,
+
+    /**
+     * Apply an entry committed by the global Raft group of region leaders.
+     */
+    GLOBAL_ENTRY,
+
+    /**
+     * Remove a batch of locks the leader found expired.
+     */
+    EXPIRE_LOCKS,
+
+    /**
+     * Record the term and vote of the region's member of the global Raft group.
+     */
+    GLOBAL_VOTE
 }
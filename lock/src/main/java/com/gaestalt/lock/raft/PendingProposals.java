@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.service.TimerWheel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entries the leader has appended and not yet applied, each with the future its
+ * proposer is waiting on.
+ *
+ * The table is bounded twice: in total, so an overloaded leader sheds load instead
+ * of queueing without limit, and per client, so one busy client cannot take every
+ * slot. Rejected proposals fail with RESOURCE_EXHAUSTED before anything is appended
+ * to the log. Entries proposed without a client (lease grants and revokes) count
+ * against the total only.
+ *
+ * Each future completes with TIMEOUT at its deadline and leaves the table however
+ * it completes. Admission is checked and entries added under the Raft state lock.
+ */
+class PendingProposals {
+
+    private final int maxPending;
+    private final int maxPendingPerClient;
+    private final long timeoutMs;
+    private final TimerWheel timerWheel;
+
+    private final Map<Long, CompletableFuture<LockResult<?>>> proposals = new ConcurrentHashMap<>();
+    private final Map<String, Integer> perClient = new ConcurrentHashMap<>();
+
+    PendingProposals(int maxPending, int maxPendingPerClient, long timeoutMs, TimerWheel timerWheel) {
+        this.maxPending = maxPending;
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.timeoutMs = timeoutMs;
+        this.timerWheel = timerWheel;
+    }
+
+    /**
+     * Returns the reason a proposal from this client would be refused, if any.
+     */
+    Optional<LockError> checkAdmission(String clientId) {
+        if (proposals.size() >= maxPending) {
+            return Optional.of(LockError.resourceExhausted(
+                    "Leader has " + maxPending + " proposals pending"));
+        }
+        if (clientId != null && perClient.getOrDefault(clientId, 0) >= maxPendingPerClient) {
+            return Optional.of(LockError.resourceExhausted(
+                    "Client " + clientId + " has " + maxPendingPerClient + " proposals pending"));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tracks the future for the entry at the given index until it completes.
+     */
+    CompletableFuture<LockResult<?>> add(long index, String clientId) {
+        var future = new CompletableFuture<LockResult<?>>();
+        proposals.put(index, future);
+        if (clientId != null) {
+            perClient.merge(clientId, 1, Integer::sum);
+        }
+
+        future.whenComplete((result, e) -> {
+            proposals.remove(index, future);
+            if (clientId != null) {
+                perClient.computeIfPresent(clientId, (key, count) -> count == 1 ? null : count - 1);
+            }
+        });
+        timerWheel.completeOnTimeout(future, LockResult.failure(LockError.timeout("Raft commit")), timeoutMs);
+        return future;
+    }
+
+    /**
+     * Completes the proposal for an applied entry. Entries this node did not
+     * propose, or whose proposal already timed out, are ignored.
+     */
+    void complete(long index, LockResult<?> result) {
+        var future = proposals.get(index);
+        if (future != null) {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Fails every pending proposal, e.g. when this node stops being leader.
+     * Entries already replicated may still commit under the next leader.
+     */
+    int failAll(LockError error) {
+        List<CompletableFuture<LockResult<?>>> failed = List.copyOf(proposals.values());
+        failed.forEach(future -> future.complete(LockResult.failure(error)));
+        return failed.size();
+    }
+
+    int size() {
+        return proposals.size();
+    }
+
+    int pendingFor(String clientId) {
+        return perClient.getOrDefault(clientId, 0);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports a node out of service until it has caught up with the leader after
+ * starting, so the readiness probe keeps traffic away while it replays.
+ */
+@Component
+@RequiredArgsConstructor
+public class RaftCatchUpHealthIndicator implements HealthIndicator {
+
+    private final RaftNode raftNode;
+
+    @Override
+    public Health health() {
+        var health = raftNode.isReady() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("lastAppliedIndex", raftNode.getLastAppliedIndex())
+                .withDetail("leader", raftNode.getLeaderId().orElse("unknown"))
+                .build();
+    }
+}
@@ -9,8 +9,8 @@
 package com.gaestalt.lock.raft;
 
 import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -29,11 +29,16 @@ public class RaftClusterInitializer {
 
     private final RaftConfig raftConfig;
     private final RaftNode raftNode;
+    private final GrpcChannelFactory channelFactory;
+    private final RaftSnapshots raftSnapshots;
 
     private final List<RaftPeerClient> peerClients = new ArrayList<>();
 
     @PostConstruct
     public void initializeCluster() {
+        // Warm start from the local snapshot before any leader contacts this node
+        raftSnapshots.start();
+
         var peers = raftConfig.getPeerNodes();
 
         if (peers.isEmpty()) {
@@ -49,7 +54,8 @@ public class RaftClusterInitializer {
                 var client = new RaftPeerClient(
                         peer.getNodeId(),
                         peer.getHost(),
-                        peer.getPort()
+                        peer.getPort(),
+                        channelFactory
                 );
                 peerClients.add(client);
                 raftNode.addPeer(client);
@@ -64,17 +70,4 @@ public class RaftClusterInitializer {
         // Start election process after all peers are connected
         raftNode.startElectionProcess();
     }
-
-    @PreDestroy
-    public void shutdown() {
-        log.info("Shutting down Raft peer connections");
-        for (var client : peerClients) {
-            try {
-                client.close();
-            } catch (Exception e) {
-                log.warn("Error closing peer client {}: {}", client.nodeId(), e.getMessage());
-            }
-        }
-        peerClients.clear();
-    }
 }
@@ -14,8 +14,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
 
-import java.util.List;
-
 /**
  * gRPC service for handling Raft consensus RPCs from peer nodes.
  */
@@ -30,22 +28,9 @@ public class RaftGrpcService extends RaftServiceGrpc.RaftServiceImplBase {
     public void requestVote(VoteRequest request, StreamObserver<VoteResponse> responseObserver) {
         log.debug("Received vote request from {} for term {}", request.getCandidateId(), request.getTerm());
 
-        var internalRequest = new RaftNode.VoteRequest(
-                request.getTerm(),
-                request.getCandidateId(),
-                request.getLastLogIndex(),
-                request.getLastLogTerm()
-        );
-
-        var internalResponse = raftNode.handleVoteRequest(internalRequest);
-
-        var response = VoteResponse.newBuilder()
-                .setTerm(internalResponse.term())
-                .setVoteGranted(internalResponse.voteGranted())
-                .setVoterId(internalResponse.voterId())
-                .build();
+        var internalResponse = raftNode.handleVoteRequest(RaftProtos.fromProto(request));
 
-        responseObserver.onNext(response);
+        responseObserver.onNext(RaftProtos.toProto(internalResponse));
         responseObserver.onCompleted();
     }
 
@@ -54,46 +39,9 @@ public class RaftGrpcService extends RaftServiceGrpc.RaftServiceImplBase {
         log.debug("Received append entries from {} for term {}, {} entries",
                 request.getLeaderId(), request.getTerm(), request.getEntriesCount());
 
-        List<LogEntry> entries = request.getEntriesList().stream()
-                .map(this::fromProto)
-                .toList();
-
-        var internalRequest = new RaftNode.AppendEntriesRequest(
-                request.getTerm(),
-                request.getLeaderId(),
-                request.getPrevLogIndex(),
-                request.getPrevLogTerm(),
-                entries,
-                request.getLeaderCommit()
-        );
-
-        var internalResponse = raftNode.handleAppendEntries(internalRequest);
+        var internalResponse = raftNode.handleAppendEntries(RaftProtos.fromProto(request));
 
-        var response = AppendEntriesResponse.newBuilder()
-                .setTerm(internalResponse.term())
-                .setSuccess(internalResponse.success())
-                .setMatchIndex(internalResponse.matchIndex())
-                .setFollowerId(internalResponse.followerId())
-                .build();
-
-        responseObserver.onNext(response);
+        responseObserver.onNext(RaftProtos.toProto(internalResponse));
         responseObserver.onCompleted();
     }
-
-    private LogEntry fromProto(LogEntryProto proto) {
-        LogEntryType type = switch (proto.getType()) {
-            case LOG_ENTRY_TYPE_NOOP -> LogEntryType.NOOP;
-            case LOG_ENTRY_TYPE_ACQUIRE_LOCK -> LogEntryType.ACQUIRE_LOCK;
-            case LOG_ENTRY_TYPE_RELEASE_LOCK -> LogEntryType.RELEASE_LOCK;
-            case LOG_ENTRY_TYPE_EXTEND_LOCK -> LogEntryType.EXTEND_LOCK;
-            default -> LogEntryType.NOOP;
-        };
-
-        return new LogEntry(
-                proto.getIndex(),
-                proto.getTerm(),
-                type,
-                proto.getData().toByteArray()
-        );
-    }
 }
@@ -9,21 +9,33 @@
 package com.gaestalt.lock.raft;
 
 import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.jfr.AppendEntriesReceiveEvent;
+import com.gaestalt.lock.jfr.AppendEntriesSendEvent;
+import com.gaestalt.lock.jfr.CommitIndexAdvanceEvent;
+import com.gaestalt.lock.jfr.RaftElectionEvent;
+import com.gaestalt.lock.jfr.StateMachineApplyEvent;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.LockError;
 import com.gaestalt.lock.model.LockResult;
 import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.Tags;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Consumer;
 
 /**
  * Raft consensus node implementation.
@@ -37,47 +49,85 @@ public class RaftNode {
     private final RaftLog raftLog;
     private final RaftStateMachine stateMachine;
     private final FencingTokenGenerator tokenGenerator;
+    private final LockMetrics lockMetrics;
+    private final Tracer tracer;
 
     // Persistent state
     private final AtomicLong currentTerm = new AtomicLong(0);
     private final AtomicReference<String> votedFor = new AtomicReference<>(null);
+    private volatile VoteRecorder voteRecorder = (term, candidateId) -> true;
 
     // Volatile state
     private volatile RaftState state = RaftState.FOLLOWER;
     private volatile String leaderId = null;
     private volatile long commitIndex = 0;
     private volatile Instant lastHeartbeat = Instant.now();
+    private volatile boolean stopped;
+
+    // Readiness: set once this node has applied everything the leader had committed
+    private volatile long leaderCommitIndex = 0;
+    private volatile boolean ready;
+    private volatile long readyTimeMs = -1;
+
+    // Heartbeat and election timing derived from measured latencies
+    private final RaftTimings timings;
+    private volatile boolean activeSinceHeartbeat;
+
+    // Flight Recorder event for the election in progress, guarded by stateLock
+    private RaftElectionEvent election;
 
     // Leader state
     private final Map<String, Long> nextIndex = new ConcurrentHashMap<>();
     private final Map<String, Long> matchIndex = new ConcurrentHashMap<>();
 
-    // Pending operations waiting for commit
-    private final Map<Long, CompletableFuture<LockResult<?>>> pendingOperations = new ConcurrentHashMap<>();
-    private final Map<Long, Consumer<LockResult<?>>> pendingCallbacks = new ConcurrentHashMap<>();
+    // Proposals waiting for commit, bounded by admission control
+    private final PendingProposals pendingProposals;
 
-    // Thread management
-    private ScheduledExecutorService scheduler;
-    private ScheduledFuture<?> electionTimer;
-    private ScheduledFuture<?> heartbeatTimer;
+    // Thread management; timers run on the shared wheel, RPCs to peers on virtual threads
+    private final TimerWheel timerWheel;
+    private ExecutorService executor;
+    private ExecutorService replayExecutor;
+    private int replayLanes;
+    private TimerWheel.Timeout electionTimer;
+    private TimerWheel.Timeout heartbeatTimer;
     private final ReentrantLock stateLock = new ReentrantLock();
 
     // Cluster peers (gRPC client stubs will be injected)
     private final List<RaftPeer> peers = new CopyOnWriteArrayList<>();
 
     public RaftNode(RaftConfig config, RaftLog raftLog, RaftStateMachine stateMachine,
-                    FencingTokenGenerator tokenGenerator) {
+                    FencingTokenGenerator tokenGenerator, LockMetrics lockMetrics, Tracer tracer,
+                    TimerWheel timerWheel) {
         this.config = config;
         this.raftLog = raftLog;
         this.stateMachine = stateMachine;
         this.tokenGenerator = tokenGenerator;
+        this.lockMetrics = lockMetrics;
+        this.tracer = tracer;
+        this.timerWheel = timerWheel;
+        this.timings = new RaftTimings(config);
+        this.pendingProposals = new PendingProposals(config.getMaxPendingProposals(),
+                config.getMaxPendingProposalsPerClient(), config.getProposalTimeoutMs(), timerWheel);
     }
 
     @PostConstruct
     public void init() {
-        scheduler = Executors.newScheduledThreadPool(2,
-                Thread.ofVirtual().name("raft-", 0).factory()
-        );
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("raft-", 0).factory());
+        replayLanes = config.getReplayThreads() > 0
+                ? config.getReplayThreads() : Runtime.getRuntime().availableProcessors();
+        replayExecutor = Executors.newFixedThreadPool(replayLanes,
+                Thread.ofPlatform().daemon().name("raft-replay-", 0).factory());
+        lockMetrics.gauge("lockmgr.raft.log.size", "Entries in the Raft log",
+                Tags.empty(), raftLog, RaftLog::size);
+        lockMetrics.gauge("lockmgr.raft.pending.operations", "Submitted entries waiting to be applied",
+                Tags.empty(), pendingProposals, PendingProposals::size);
+        lockMetrics.gauge("lockmgr.raft.heartbeat.interval", "Current leader heartbeat interval in milliseconds",
+                Tags.empty(), timings, RaftTimings::currentHeartbeatIntervalMs);
+        lockMetrics.gauge("lockmgr.raft.election.timeout", "Minimum follower election timeout in milliseconds",
+                Tags.empty(), timings, RaftTimings::electionTimeoutMs);
+        lockMetrics.gauge("lockmgr.raft.startup.ready.time",
+                "Milliseconds from JVM start until the node had caught up with the leader",
+                Tags.empty(), this, node -> node.readyTimeMs < 0 ? Double.NaN : node.readyTimeMs);
         log.info("Raft node {} initialized as FOLLOWER (waiting for cluster setup)", config.getNodeId());
     }
 
@@ -92,20 +142,106 @@ public class RaftNode {
 
     @PreDestroy
     public void stop() {
-        if (scheduler != null) {
-            scheduler.shutdown();
+        stopped = true;
+        if (electionTimer != null) {
+            electionTimer.cancel();
+        }
+        if (heartbeatTimer != null) {
+            heartbeatTimer.cancel();
+        }
+        if (executor != null) {
+            executor.shutdown();
             try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
                 }
             } catch (InterruptedException e) {
-                scheduler.shutdownNow();
+                executor.shutdownNow();
                 Thread.currentThread().interrupt();
             }
         }
+        if (replayExecutor != null) {
+            replayExecutor.shutdownNow();
+        }
         log.info("Raft node {} stopped", config.getNodeId());
     }
 
+    /**
+     * Loads a local snapshot before the node joins the cluster. The state is
+     * served at once but counts as applied only when the leader's log confirms
+     * the snapshot's last entry.
+     */
+    public void restoreSnapshot(StateSnapshot snapshot) {
+        stateLock.lock();
+        try {
+            currentTerm.accumulateAndGet(snapshot.currentTerm(), Math::max);
+            tokenGenerator.updateFloor(snapshot.tokenFloor());
+            snapshot.tokens().forEach(tokenGenerator::updateToken);
+            stateMachine.restore(snapshot);
+            log.info("Restored snapshot at index {} (term {}) with {} locks",
+                    snapshot.lastAppliedIndex(), snapshot.lastAppliedTerm(), snapshot.store().locks().size());
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Sets where the node records each term and vote before acting on it. By
+     * default they are kept only in memory.
+     */
+    public void setVoteRecorder(VoteRecorder voteRecorder) {
+        this.voteRecorder = voteRecorder;
+    }
+
+    /**
+     * Resumes from a term and vote recorded by an earlier incarnation of this
+     * member, before the node joins the cluster.
+     */
+    public void restoreVote(long term, String candidateId) {
+        stateLock.lock();
+        try {
+            if (term > currentTerm.get()) {
+                currentTerm.set(term);
+                votedFor.set(candidateId);
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Captures the applied state, or nothing while there is none of its own
+     * to capture (nothing applied yet, or a restore still unconfirmed).
+     */
+    public Optional<StateSnapshot> captureSnapshot() {
+        stateLock.lock();
+        try {
+            if (stateMachine.isRestorePending() || stateMachine.getLastAppliedIndex() == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(stateMachine.snapshot(currentTerm.get(), tokenGenerator.getTokens(),
+                    tokenGenerator.getFloor()));
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Whether this node has applied everything committed when it last heard from
+     * the leader (or, as leader, everything it has committed). Once true it stays
+     * true; it gates readiness after a restart, not ongoing lag.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Index of the last entry applied to the state machine.
+     */
+    public long getLastAppliedIndex() {
+        return stateMachine.getLastAppliedIndex();
+    }
+
     /**
      * Adds a peer to the cluster.
      */
@@ -113,6 +249,18 @@ public class RaftNode {
         peers.add(peer);
         nextIndex.put(peer.nodeId(), raftLog.getLastIndex() + 1);
         matchIndex.put(peer.nodeId(), 0L);
+        lockMetrics.gauge("lockmgr.raft.replication.lag", "Entries the follower is behind the leader's log",
+                Tags.of("follower", peer.nodeId()), this, node -> node.getReplicationLag(peer.nodeId()));
+    }
+
+    /**
+     * Returns how many log entries the follower is missing, or 0 when this node is not the leader.
+     */
+    public long getReplicationLag(String followerId) {
+        if (state != RaftState.LEADER) {
+            return 0;
+        }
+        return Math.max(0, raftLog.getLastIndex() - matchIndex.getOrDefault(followerId, 0L));
     }
 
     /**
@@ -120,6 +268,14 @@ public class RaftNode {
      * Returns a future that completes when the command is committed and applied.
      */
     public CompletableFuture<LockResult<?>> submit(LogEntryType type, LockCommand command) {
+        return submit(type, command.serialize(), command.clientId());
+    }
+
+    /**
+     * Submits already serialized entry data to the Raft log, counting it against
+     * the client's admission quota if a client is given.
+     */
+    public CompletableFuture<LockResult<?>> submit(LogEntryType type, byte[] data, String clientId) {
         stateLock.lock();
         try {
             if (state != RaftState.LEADER) {
@@ -131,15 +287,44 @@ public class RaftNode {
                 );
             }
 
+            // Refuse before appending, so a shed proposal never reaches the log
+            var refusal = pendingProposals.checkAdmission(clientId);
+            if (refusal.isPresent()) {
+                lockMetrics.recordProposalRejected();
+                return CompletableFuture.completedFuture(LockResult.failure(refusal.get()));
+            }
+
             long term = currentTerm.get();
             long index = raftLog.getLastIndex() + 1;
-            var entry = new LogEntry(index, term, type, command.serialize());
+            var entry = new LogEntry(index, term, type, data);
 
             raftLog.append(entry);
             log.debug("Leader appended entry at index {} term {}", index, term);
 
-            var future = new CompletableFuture<LockResult<?>>();
-            pendingOperations.put(index, future);
+            var future = pendingProposals.add(index, clientId);
+
+            // Work ends an idle stretch; the entry itself goes out below
+            activeSinceHeartbeat = true;
+            if (timings.isStretched()) {
+                scheduleHeartbeat(term, timings.nextHeartbeatIntervalMs(false));
+            }
+
+            // Covers replication, commit and apply; ends when the entry has been applied
+            var commitTimer = lockMetrics.startTimer();
+            var span = tracer.spanBuilder("raft.commit")
+                    .setAttribute(AttributeKey.stringKey("raft.entry_type"), type.name())
+                    .setAttribute(AttributeKey.longKey("raft.index"), index)
+                    .setAttribute(AttributeKey.longKey("raft.term"), term)
+                    .startSpan();
+            future.whenComplete((result, e) -> {
+                lockMetrics.recordRaftCommit(commitTimer, result);
+                if (result != null && result.isSuccess()) {
+                    span.setStatus(StatusCode.OK);
+                } else {
+                    span.setStatus(StatusCode.ERROR, result != null ? result.getError().message() : String.valueOf(e));
+                }
+                span.end();
+            });
 
             // Trigger immediate replication
             replicateToFollowers();
@@ -179,6 +364,10 @@ public class RaftNode {
                             request.lastLogIndex() >= raftLog.getLastIndex());
 
             if (canVote && logOk) {
+                if (!voteRecorder.record(term, request.candidateId())) {
+                    log.warn("Could not record vote for {} in term {}", request.candidateId(), term);
+                    return new VoteResponse(term, false, config.getNodeId());
+                }
                 votedFor.set(request.candidateId());
                 resetElectionTimer();
                 log.info("Voting for {} in term {}", request.candidateId(), term);
@@ -195,6 +384,22 @@ public class RaftNode {
      * Handles an append entries request from leader.
      */
     public AppendEntriesResponse handleAppendEntries(AppendEntriesRequest request) {
+        var event = new AppendEntriesReceiveEvent();
+        event.begin();
+        var response = processAppendEntries(request);
+        event.end();
+        if (event.shouldCommit()) {
+            event.leader = request.leaderId();
+            event.term = request.term();
+            event.entries = request.entries().size();
+            event.bytes = payloadBytes(request.entries());
+            event.success = response.success();
+            event.commit();
+        }
+        return response;
+    }
+
+    private AppendEntriesResponse processAppendEntries(AppendEntriesRequest request) {
         stateLock.lock();
         try {
             long term = currentTerm.get();
@@ -211,9 +416,15 @@ public class RaftNode {
             }
 
             // Valid leader, reset election timer
+            if (!request.leaderId().equals(leaderId)) {
+                timings.leaderChanged();
+            }
+            timings.recordHeartbeat(System.nanoTime());
             resetElectionTimer();
             leaderId = request.leaderId();
+            leaderCommitIndex = request.leaderCommit();
             state = RaftState.FOLLOWER;
+            endElection("lost");
 
             // Check log consistency
             if (!raftLog.containsEntry(request.prevLogIndex(), request.prevLogTerm())) {
@@ -239,13 +450,14 @@ public class RaftNode {
                         raftLog.append(entry);
                     }
                 }
+                resolveRestoredSnapshot();
             }
 
             // Update commit index
             if (request.leaderCommit() > commitIndex) {
-                commitIndex = Math.min(request.leaderCommit(), raftLog.getLastIndex());
-                applyCommittedEntries();
+                advanceCommitIndex(Math.min(request.leaderCommit(), raftLog.getLastIndex()));
             }
+            checkReady();
 
             return new AppendEntriesResponse(term, true,
                     raftLog.getLastIndex(), config.getNodeId());
@@ -261,6 +473,19 @@ public class RaftNode {
         return state == RaftState.LEADER;
     }
 
+    /**
+     * Whether this node leads and has applied an entry of its own term, and so
+     * everything committed before it took over.
+     */
+    public boolean hasAppliedOwnTerm() {
+        stateLock.lock();
+        try {
+            return state == RaftState.LEADER && stateMachine.getLastAppliedTerm() == currentTerm.get();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
     /**
      * Gets the current leader ID.
      */
@@ -284,17 +509,13 @@ public class RaftNode {
 
     private void resetElectionTimer() {
         if (electionTimer != null) {
-            electionTimer.cancel(false);
+            electionTimer.cancel();
         }
 
-        long timeout = config.getElectionTimeoutMs() +
-                ThreadLocalRandom.current().nextLong(config.getElectionTimeoutMs());
+        long electionTimeoutMs = timings.electionTimeoutMs();
+        long timeout = electionTimeoutMs + ThreadLocalRandom.current().nextLong(electionTimeoutMs);
 
-        electionTimer = scheduler.schedule(
-                this::startElection,
-                timeout,
-                TimeUnit.MILLISECONDS
-        );
+        electionTimer = timerWheel.schedule(this::startElection, timeout);
         lastHeartbeat = Instant.now();
     }
 
@@ -310,7 +531,21 @@ public class RaftNode {
             votedFor.set(config.getNodeId());
             leaderId = null;
 
+            // Stand only once the self-vote is recorded; try again next timeout
+            if (!voteRecorder.record(term, config.getNodeId())) {
+                log.warn("Could not record self-vote in term {}", term);
+                resetElectionTimer();
+                return;
+            }
+
             log.info("Starting election for term {}", term);
+            lockMetrics.recordElectionStarted();
+
+            endElection("timeout");
+            election = new RaftElectionEvent();
+            election.term = term;
+            election.peers = peers.size();
+            election.begin();
 
             // Count votes (including self-vote)
             int votesNeeded = (peers.size() + 1) / 2 + 1;
@@ -338,7 +573,7 @@ public class RaftNode {
                     } catch (Exception e) {
                         log.warn("Failed to request vote from {}: {}", peer.nodeId(), e.getMessage());
                     }
-                }, scheduler);
+                }, executor);
             }
 
             // Set election timeout for next round
@@ -382,6 +617,8 @@ public class RaftNode {
         leaderId = config.getNodeId();
 
         log.info("Became leader for term {}", currentTerm.get());
+        lockMetrics.recordElectionWon();
+        endElection("won");
 
         // Initialize leader state
         long lastIndex = raftLog.getLastIndex();
@@ -394,20 +631,13 @@ public class RaftNode {
         var noopEntry = LogEntry.noop(lastIndex + 1, currentTerm.get());
         raftLog.append(noopEntry);
 
-        // Start heartbeat timer
-        if (heartbeatTimer != null) {
-            heartbeatTimer.cancel(false);
-        }
-        heartbeatTimer = scheduler.scheduleAtFixedRate(
-                this::sendHeartbeats,
-                0,
-                config.getHeartbeatIntervalMs(),
-                TimeUnit.MILLISECONDS
-        );
+        // Start heartbeats
+        timings.leaderChanged();
+        scheduleHeartbeat(currentTerm.get(), 0);
 
         // Cancel election timer
         if (electionTimer != null) {
-            electionTimer.cancel(false);
+            electionTimer.cancel();
         }
     }
 
@@ -417,20 +647,67 @@ public class RaftNode {
         votedFor.set(null);
 
         if (heartbeatTimer != null) {
-            heartbeatTimer.cancel(false);
+            heartbeatTimer.cancel();
             heartbeatTimer = null;
         }
 
         resetElectionTimer();
+        endElection("lost");
+
+        // The new leader is not known until it contacts us
+        int failed = pendingProposals.failAll(LockError.notLeader("unknown"));
+        if (failed > 0) {
+            log.info("Failed {} pending proposals on step-down", failed);
+        }
         log.info("Stepped down to follower, term {}", newTerm);
     }
 
-    private void sendHeartbeats() {
-        if (state != RaftState.LEADER) {
+    private void endElection(String outcome) {
+        if (election == null) {
             return;
         }
+        election.end();
+        if (election.shouldCommit()) {
+            election.outcome = outcome;
+            election.commit();
+        }
+        election = null;
+    }
+
+    /**
+     * Replaces the heartbeat timer. Called under stateLock.
+     */
+    private void scheduleHeartbeat(long term, long delayMs) {
+        if (heartbeatTimer != null) {
+            heartbeatTimer.cancel();
+        }
+        heartbeatTimer = timerWheel.schedule(() -> sendHeartbeat(term), delayMs);
+    }
+
+    /**
+     * Sends one round of heartbeats and schedules the next, further out if nothing
+     * has been proposed since the last round and every follower has caught up.
+     */
+    private void sendHeartbeat(long term) {
+        stateLock.lock();
+        try {
+            if (stopped || state != RaftState.LEADER || currentTerm.get() != term) {
+                return;
+            }
+
+            boolean idle = !activeSinceHeartbeat && followersCaughtUp();
+            activeSinceHeartbeat = false;
+            replicateToFollowers();
+            scheduleHeartbeat(term, timings.nextHeartbeatIntervalMs(idle));
+        } finally {
+            stateLock.unlock();
+        }
+    }
 
-        replicateToFollowers();
+    private boolean followersCaughtUp() {
+        long lastIndex = raftLog.getLastIndex();
+        return commitIndex >= lastIndex
+                && peers.stream().allMatch(peer -> matchIndex.getOrDefault(peer.nodeId(), 0L) >= lastIndex);
     }
 
     private void replicateToFollowers() {
@@ -450,7 +727,7 @@ public class RaftNode {
                 } catch (Exception e) {
                     log.warn("Failed to replicate to {}: {}", peer.nodeId(), e.getMessage());
                 }
-            }, scheduler);
+            }, executor);
         }
     }
 
@@ -468,7 +745,20 @@ public class RaftNode {
                 leaderCommit
         );
 
+        var event = new AppendEntriesSendEvent();
+        event.begin();
+        long sentNanos = System.nanoTime();
         var response = peer.appendEntries(request);
+        timings.recordRoundTrip(peer.nodeId(), System.nanoTime() - sentNanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.follower = peer.nodeId();
+            event.term = term;
+            event.entries = entries.size();
+            event.bytes = payloadBytes(entries);
+            event.success = response.success();
+            event.commit();
+        }
 
         stateLock.lock();
         try {
@@ -489,9 +779,11 @@ public class RaftNode {
                 // Check if we can advance commit index
                 updateCommitIndex();
             } else {
-                // Decrement next index and retry
+                // Back up to the end of the follower's log, or by one if that is
+                // further on (a conflicting entry), and retry. A restarted follower
+                // with an empty log is caught up in one round rather than one per entry
                 long next = nextIndex.getOrDefault(peer.nodeId(), 1L);
-                nextIndex.put(peer.nodeId(), Math.max(1, next - 1));
+                nextIndex.put(peer.nodeId(), Math.max(1, Math.min(next - 1, response.matchIndex() + 1)));
             }
         } finally {
             stateLock.unlock();
@@ -499,42 +791,131 @@ public class RaftNode {
     }
 
     private void updateCommitIndex() {
-        // Find the highest index replicated to a majority
+        long newCommitIndex = majorityMatchIndex(raftLog.getLastIndex(), matchIndex.values());
+
+        // Only commit entries from current term
+        if (newCommitIndex > commitIndex &&
+                raftLog.getTermAt(newCommitIndex) == currentTerm.get()) {
+            advanceCommitIndex(newCommitIndex);
+        }
+    }
+
+    /**
+     * Finds the highest index replicated to a majority, given the leader's own last
+     * index and the followers' match indices.
+     */
+    static long majorityMatchIndex(long leaderIndex, Collection<Long> followerMatchIndices) {
         List<Long> allMatchIndices = new ArrayList<>();
-        allMatchIndices.add(raftLog.getLastIndex()); // Leader's own index
-        allMatchIndices.addAll(matchIndex.values());
+        allMatchIndices.add(leaderIndex);
+        allMatchIndices.addAll(followerMatchIndices);
         Collections.sort(allMatchIndices);
 
         int majorityIndex = allMatchIndices.size() / 2;
-        long newCommitIndex = allMatchIndices.get(majorityIndex);
+        return allMatchIndices.get(majorityIndex);
+    }
 
-        // Only commit entries from current term
-        if (newCommitIndex > commitIndex &&
-                raftLog.getTermAt(newCommitIndex) == currentTerm.get()) {
-            commitIndex = newCommitIndex;
-            applyCommittedEntries();
+    private void advanceCommitIndex(long newCommitIndex) {
+        var event = new CommitIndexAdvanceEvent();
+        if (event.shouldCommit()) {
+            event.previousIndex = commitIndex;
+            event.commitIndex = newCommitIndex;
+            event.role = state == RaftState.LEADER ? "leader" : "follower";
+            event.commit();
         }
+        commitIndex = newCommitIndex;
+        applyCommittedEntries();
     }
 
     private void applyCommittedEntries() {
+        resolveRestoredSnapshot();
+        if (stateMachine.isRestorePending()) {
+            // Applying now would replay entries the snapshot may already hold
+            return;
+        }
+
         long lastApplied = stateMachine.getLastAppliedIndex();
+        long applyTo = commitIndex;
+        if (lastApplied >= applyTo) {
+            checkReady();
+            return;
+        }
 
-        for (long i = lastApplied + 1; i <= commitIndex; i++) {
-            var entry = raftLog.get(i);
-            if (entry.isPresent()) {
-                long index = i;
-                stateMachine.apply(entry.get(), result -> {
-                    var future = pendingOperations.remove(index);
-                    if (future != null) {
-                        future.complete(result);
-                    }
-                    var callback = pendingCallbacks.remove(index);
-                    if (callback != null) {
-                        callback.accept(result);
-                    }
-                });
+        var event = new StateMachineApplyEvent();
+        event.begin();
+        if (applyTo - lastApplied >= config.getParallelReplayThreshold() && replayLanes > 1) {
+            var entries = new ArrayList<LogEntry>((int) (applyTo - lastApplied));
+            for (long i = lastApplied + 1; i <= applyTo; i++) {
+                raftLog.get(i).ifPresent(entries::add);
+            }
+            stateMachine.applyAll(entries, pendingProposals::complete, replayExecutor, replayLanes);
+        } else {
+            for (long i = lastApplied + 1; i <= applyTo; i++) {
+                var entry = raftLog.get(i);
+                if (entry.isPresent()) {
+                    long index = i;
+                    stateMachine.apply(entry.get(), result -> pendingProposals.complete(index, result));
+                }
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.firstIndex = lastApplied + 1;
+            event.lastIndex = applyTo;
+            event.entries = (int) (applyTo - lastApplied);
+            event.commit();
+        }
+        checkReady();
+    }
+
+    /**
+     * Confirms or discards a restored snapshot once the log shows whether its
+     * last entry is there as recorded. An entry at the snapshot's index with its
+     * term means the same history up to it; a different term there, or a log that
+     * moved to a later term without reaching that index, means the snapshot
+     * holds entries that were never committed. Called under stateLock.
+     */
+    private void resolveRestoredSnapshot() {
+        var snapshot = stateMachine.getRestoredSnapshot();
+        if (snapshot == null) {
+            return;
+        }
+        if (raftLog.getLastIndex() >= snapshot.lastAppliedIndex()) {
+            if (raftLog.getTermAt(snapshot.lastAppliedIndex()) == snapshot.lastAppliedTerm()) {
+                stateMachine.confirmRestore();
+            } else {
+                stateMachine.discardRestore();
             }
+        } else if (raftLog.getLastTerm() > snapshot.lastAppliedTerm()) {
+            stateMachine.discardRestore();
+        }
+    }
+
+    /**
+     * Latches readiness once everything known to be committed is applied.
+     * Called under stateLock.
+     */
+    private void checkReady() {
+        if (ready || stateMachine.isRestorePending()) {
+            return;
+        }
+        long applied = stateMachine.getLastAppliedIndex();
+        boolean caughtUp = state == RaftState.LEADER
+                ? applied >= commitIndex && commitIndex > 0
+                : leaderId != null && applied >= leaderCommitIndex;
+        if (caughtUp) {
+            ready = true;
+            readyTimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+            log.info("Raft node {} caught up at index {}, {} ms after start",
+                    config.getNodeId(), applied, readyTimeMs);
+        }
+    }
+
+    private static long payloadBytes(List<LogEntry> entries) {
+        long bytes = 0;
+        for (var entry : entries) {
+            bytes += entry.data().size();
         }
+        return bytes;
     }
 
     // Record types for internal communication
@@ -552,4 +933,12 @@ public class RaftNode {
         VoteResponse requestVote(VoteRequest request);
         AppendEntriesResponse appendEntries(AppendEntriesRequest request);
     }
+
+    /**
+     * Makes a term and vote durable before the node acts on them. Returns false
+     * if it could not, and the node then neither grants the vote nor stands.
+     */
+    public interface VoteRecorder {
+        boolean record(long term, String votedFor);
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.raft.generated.*;
+
+/**
+ * Conversions between Raft RPC records and their protobuf messages.
+ * Shared by the intra-region Raft service and the global group of region leaders,
+ * which carries the same messages over the region service.
+ *
+ * Entry data is shared between a {@link LogEntry} and its message, not copied;
+ * only the fixed-size fields are converted.
+ */
+public final class RaftProtos {
+
+    private RaftProtos() {
+    }
+
+    public static VoteRequest toProto(RaftNode.VoteRequest request) {
+        return VoteRequest.newBuilder()
+                .setTerm(request.term())
+                .setCandidateId(request.candidateId())
+                .setLastLogIndex(request.lastLogIndex())
+                .setLastLogTerm(request.lastLogTerm())
+                .build();
+    }
+
+    public static RaftNode.VoteRequest fromProto(VoteRequest request) {
+        return new RaftNode.VoteRequest(
+                request.getTerm(),
+                request.getCandidateId(),
+                request.getLastLogIndex(),
+                request.getLastLogTerm()
+        );
+    }
+
+    public static VoteResponse toProto(RaftNode.VoteResponse response) {
+        return VoteResponse.newBuilder()
+                .setTerm(response.term())
+                .setVoteGranted(response.voteGranted())
+                .setVoterId(response.voterId())
+                .build();
+    }
+
+    public static RaftNode.VoteResponse fromProto(VoteResponse response) {
+        return new RaftNode.VoteResponse(
+                response.getTerm(),
+                response.getVoteGranted(),
+                response.getVoterId()
+        );
+    }
+
+    public static AppendEntriesRequest toProto(RaftNode.AppendEntriesRequest request) {
+        return AppendEntriesRequest.newBuilder()
+                .setTerm(request.term())
+                .setLeaderId(request.leaderId())
+                .setPrevLogIndex(request.prevLogIndex())
+                .setPrevLogTerm(request.prevLogTerm())
+                .setLeaderCommit(request.leaderCommit())
+                .addAllEntries(request.entries().stream().map(RaftProtos::toProto).toList())
+                .build();
+    }
+
+    public static RaftNode.AppendEntriesRequest fromProto(AppendEntriesRequest request) {
+        return new RaftNode.AppendEntriesRequest(
+                request.getTerm(),
+                request.getLeaderId(),
+                request.getPrevLogIndex(),
+                request.getPrevLogTerm(),
+                request.getEntriesList().stream().map(RaftProtos::fromProto).toList(),
+                request.getLeaderCommit()
+        );
+    }
+
+    public static AppendEntriesResponse toProto(RaftNode.AppendEntriesResponse response) {
+        return AppendEntriesResponse.newBuilder()
+                .setTerm(response.term())
+                .setSuccess(response.success())
+                .setMatchIndex(response.matchIndex())
+                .setFollowerId(response.followerId())
+                .build();
+    }
+
+    public static RaftNode.AppendEntriesResponse fromProto(AppendEntriesResponse response) {
+        return new RaftNode.AppendEntriesResponse(
+                response.getTerm(),
+                response.getSuccess(),
+                response.getMatchIndex(),
+                response.getFollowerId()
+        );
+    }
+
+    public static LogEntryProto toProto(LogEntry entry) {
+        return LogEntryProto.newBuilder()
+                .setIndex(entry.index())
+                .setTerm(entry.term())
+                .setType(toProto(entry.type()))
+                .setData(entry.data())
+                .build();
+    }
+
+    public static LogEntry fromProto(LogEntryProto proto) {
+        return new LogEntry(
+                proto.getIndex(),
+                proto.getTerm(),
+                fromProto(proto.getType()),
+                proto.getData()
+        );
+    }
+
+    public static LogEntryTypeProto toProto(LogEntryType type) {
+        return switch (type) {
+            case NOOP -> LogEntryTypeProto.LOG_ENTRY_TYPE_NOOP;
+            case ACQUIRE_LOCK -> LogEntryTypeProto.LOG_ENTRY_TYPE_ACQUIRE_LOCK;
+            case RELEASE_LOCK -> LogEntryTypeProto.LOG_ENTRY_TYPE_RELEASE_LOCK;
+            case EXTEND_LOCK -> LogEntryTypeProto.LOG_ENTRY_TYPE_EXTEND_LOCK;
+            case GRANT_LEASE -> LogEntryTypeProto.LOG_ENTRY_TYPE_GRANT_LEASE;
+            case REVOKE_LEASE -> LogEntryTypeProto.LOG_ENTRY_TYPE_REVOKE_LEASE;
+            case OPEN_SESSION -> LogEntryTypeProto.LOG_ENTRY_TYPE_OPEN_SESSION;
+            case KEEPALIVE_SESSION -> LogEntryTypeProto.LOG_ENTRY_TYPE_KEEPALIVE_SESSION;
+            case CLOSE_SESSION -> LogEntryTypeProto.LOG_ENTRY_TYPE_CLOSE_SESSION;
+            case RELEASE_ALL_BY_HOLDER -> LogEntryTypeProto.LOG_ENTRY_TYPE_RELEASE_ALL_BY_HOLDER;
+            case GLOBAL_ENTRY -> LogEntryTypeProto.LOG_ENTRY_TYPE_GLOBAL_ENTRY;
+            case EXPIRE_LOCKS -> LogEntryTypeProto.LOG_ENTRY_TYPE_EXPIRE_LOCKS;
+            case GLOBAL_VOTE -> LogEntryTypeProto.LOG_ENTRY_TYPE_GLOBAL_VOTE;
+        };
+    }
+
+    public static LogEntryType fromProto(LogEntryTypeProto type) {
+        return switch (type) {
+            case LOG_ENTRY_TYPE_NOOP -> LogEntryType.NOOP;
+            case LOG_ENTRY_TYPE_ACQUIRE_LOCK -> LogEntryType.ACQUIRE_LOCK;
+            case LOG_ENTRY_TYPE_RELEASE_LOCK -> LogEntryType.RELEASE_LOCK;
+            case LOG_ENTRY_TYPE_EXTEND_LOCK -> LogEntryType.EXTEND_LOCK;
+            case LOG_ENTRY_TYPE_GRANT_LEASE -> LogEntryType.GRANT_LEASE;
+            case LOG_ENTRY_TYPE_REVOKE_LEASE -> LogEntryType.REVOKE_LEASE;
+            case LOG_ENTRY_TYPE_OPEN_SESSION -> LogEntryType.OPEN_SESSION;
+            case LOG_ENTRY_TYPE_KEEPALIVE_SESSION -> LogEntryType.KEEPALIVE_SESSION;
+            case LOG_ENTRY_TYPE_CLOSE_SESSION -> LogEntryType.CLOSE_SESSION;
+            case LOG_ENTRY_TYPE_RELEASE_ALL_BY_HOLDER -> LogEntryType.RELEASE_ALL_BY_HOLDER;
+            case LOG_ENTRY_TYPE_GLOBAL_ENTRY -> LogEntryType.GLOBAL_ENTRY;
+            case LOG_ENTRY_TYPE_EXPIRE_LOCKS -> LogEntryType.EXPIRE_LOCKS;
+            case LOG_ENTRY_TYPE_GLOBAL_VOTE -> LogEntryType.GLOBAL_VOTE;
+            default -> LogEntryType.NOOP;
+        };
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes this node's applied state to local disk periodically and on shutdown,
+ * and loads it on startup so a restarted node applies only the entries after it.
+ *
+ * There is one snapshot file per node, replaced atomically each time. A missing
+ * or unreadable file is not an error; the node starts empty and catches up from
+ * the leader as before.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RaftSnapshots {
+
+    private final RaftConfig config;
+    private final RaftNode raftNode;
+    private final TimerWheel timerWheel;
+    private final LockMetrics lockMetrics;
+
+    private volatile long lastSnapshotIndex;
+    private TimerWheel.Timeout snapshotTimer;
+
+    /**
+     * Restores the latest snapshot and starts taking new ones. Called by
+     * RaftClusterInitializer before the node contacts its peers.
+     */
+    public void start() {
+        if (!config.isSnapshotEnabled()) {
+            return;
+        }
+        lockMetrics.gauge("lockmgr.raft.snapshot.index", "Log index of the last local snapshot written or loaded",
+                Tags.empty(), this, snapshots -> snapshots.lastSnapshotIndex);
+        restoreLatest();
+        snapshotTimer = timerWheel.scheduleAtFixedRate(this::takeSnapshot,
+                config.getSnapshotIntervalMs(), config.getSnapshotIntervalMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (snapshotTimer != null) {
+            snapshotTimer.cancel();
+            takeSnapshot();
+        }
+    }
+
+    /**
+     * Loads the snapshot file into the Raft node, if there is a readable one.
+     */
+    void restoreLatest() {
+        var path = snapshotPath();
+        if (!Files.exists(path)) {
+            log.info("No local snapshot at {}; starting empty", path);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            var snapshot = SnapshotFile.read(path);
+            raftNode.restoreSnapshot(snapshot);
+            lastSnapshotIndex = snapshot.lastAppliedIndex();
+            log.info("Loaded snapshot {} in {} ms", path, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot if anything has been applied since the last one.
+     */
+    void takeSnapshot() {
+        var snapshot = raftNode.captureSnapshot();
+        if (snapshot.isEmpty() || snapshot.get().lastAppliedIndex() == lastSnapshotIndex) {
+            return;
+        }
+        var path = snapshotPath();
+        long startNanos = System.nanoTime();
+        try {
+            SnapshotFile.write(snapshot.get(), path);
+            lastSnapshotIndex = snapshot.get().lastAppliedIndex();
+            log.debug("Wrote snapshot at index {} with {} locks in {} ms", lastSnapshotIndex,
+                    snapshot.get().store().locks().size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Failed to write snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    long getLastSnapshotIndex() {
+        return lastSnapshotIndex;
+    }
+
+    private Path snapshotPath() {
+        return Path.of(config.getSnapshotDir(), "snapshot-" + config.getNodeId() + ".bin");
+    }
+}
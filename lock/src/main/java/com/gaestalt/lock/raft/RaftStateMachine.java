@@ -10,16 +10,31 @@ package com.gaestalt.lock.raft;
 
 import com.gaestalt.lock.model.Lock;
 import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.Session;
+import com.gaestalt.lock.quorum.RegionLease;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
 import com.gaestalt.lock.service.LockStore;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
  * Raft state machine for applying committed log entries to the lock store.
+ *
+ * A node restarting from a local snapshot loads its state here before it has
+ * the log entries that produced it. The restore stays pending until the log
+ * shows whether the snapshot's last entry was committed as recorded: confirmed,
+ * entries up to it are skipped; otherwise the state is discarded and rebuilt
+ * from the log.
  */
 @Slf4j
 @Component
@@ -27,8 +42,17 @@ import java.util.function.Consumer;
 public class RaftStateMachine {
 
     private final LockStore lockStore;
+    private final RegionLeaseTable leaseTable;
     @Getter
     private long lastAppliedIndex = 0;
+    @Getter
+    private long lastAppliedTerm = 0;
+    @Getter
+    private volatile GlobalEntry.Position lastGlobalPosition = GlobalEntry.Position.START;
+    @Getter
+    private GlobalVote globalVote = GlobalVote.NONE;
+    @Getter
+    private StateSnapshot restoredSnapshot;
 
     /**
      * Applies a committed log entry to the state machine.
@@ -44,26 +68,219 @@ public class RaftStateMachine {
 
         log.debug("Applying entry {} of type {}", entry.index(), entry.type());
 
-        LockResult<?> result = switch (entry.type()) {
+        LockResult<?> result = applyEntry(entry);
+
+        lastAppliedIndex = entry.index();
+        lastAppliedTerm = entry.term();
+
+        if (callback != null) {
+            callback.accept(result);
+        }
+    }
+
+    /**
+     * Applies a run of committed entries, spreading lock commands across lanes.
+     *
+     * Acquire, release and extend entries touch only their own lock, so consecutive
+     * ones are split into lanes by lock ID and the lanes applied in parallel; each
+     * lock's entries still apply in log order. Any other entry waits for the lanes
+     * to drain and applies alone. Callbacks may run on the executor's threads.
+     *
+     * @param entries  Entries in log order, following the last one applied
+     * @param callback Called with each entry's index and result
+     * @param executor Runs the lanes
+     * @param lanes    Number of lanes
+     */
+    public void applyAll(List<LogEntry> entries, BiConsumer<Long, LockResult<?>> callback,
+                         Executor executor, int lanes) {
+        var batches = new ArrayList<List<LogEntry>>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            batches.add(new ArrayList<>());
+        }
+
+        for (var entry : entries) {
+            if (entry.index() <= lastAppliedIndex) {
+                continue;
+            }
+            var command = isLockCommand(entry) ? entry.getCommand() : null;
+            if (command == null) {
+                applyLanes(batches, callback, executor);
+                apply(entry, result -> callback.accept(entry.index(), result));
+                continue;
+            }
+            batches.get(Math.floorMod(command.lockId().hashCode(), lanes)).add(entry);
+        }
+        applyLanes(batches, callback, executor);
+    }
+
+    private static boolean isLockCommand(LogEntry entry) {
+        return entry.type() == LogEntryType.ACQUIRE_LOCK
+                || entry.type() == LogEntryType.RELEASE_LOCK
+                || entry.type() == LogEntryType.EXTEND_LOCK;
+    }
+
+    private void applyLanes(List<List<LogEntry>> batches, BiConsumer<Long, LockResult<?>> callback,
+                            Executor executor) {
+        LogEntry last = null;
+        var lanes = new ArrayList<CompletableFuture<Void>>();
+        for (var batch : batches) {
+            if (batch.isEmpty()) {
+                continue;
+            }
+            var lane = List.copyOf(batch);
+            batch.clear();
+            lanes.add(CompletableFuture.runAsync(() -> lane.forEach(entry ->
+                    callback.accept(entry.index(), applyEntry(entry))), executor));
+            var tail = lane.get(lane.size() - 1);
+            if (last == null || tail.index() > last.index()) {
+                last = tail;
+            }
+        }
+        if (last == null) {
+            return;
+        }
+        CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new)).join();
+        lastAppliedIndex = last.index();
+        lastAppliedTerm = last.term();
+    }
+
+    /**
+     * Captures the applied state for a local snapshot. Must not run concurrently
+     * with applying entries.
+     *
+     * @param currentTerm The node's current term
+     * @param tokens      The fencing token generator's tokens
+     * @param tokenFloor  The fencing token generator's floor
+     */
+    public StateSnapshot snapshot(long currentTerm, Map<String, Long> tokens, long tokenFloor) {
+        var global = lastGlobalPosition;
+        return new StateSnapshot(currentTerm, lastAppliedIndex, lastAppliedTerm, global.epoch(), global.index(),
+                globalVote, lockStore.exportState(), tokens, tokenFloor, List.copyOf(leaseTable.getAll()));
+    }
+
+    /**
+     * Loads a local snapshot's locks, sessions and leases. Nothing counts as
+     * applied until {@link #confirmRestore()}.
+     */
+    public void restore(StateSnapshot snapshot) {
+        lockStore.restore(snapshot.store());
+        leaseTable.restore(snapshot.leases());
+        lastAppliedIndex = 0;
+        lastAppliedTerm = 0;
+        lastGlobalPosition = GlobalEntry.Position.START;
+        globalVote = GlobalVote.NONE;
+        restoredSnapshot = snapshot;
+    }
+
+    public boolean isRestorePending() {
+        return restoredSnapshot != null;
+    }
+
+    /**
+     * Accepts the restored state as the result of applying the log up to the
+     * snapshot's last entry.
+     */
+    public void confirmRestore() {
+        var snapshot = restoredSnapshot;
+        if (snapshot == null) {
+            return;
+        }
+        lastAppliedIndex = snapshot.lastAppliedIndex();
+        lastAppliedTerm = snapshot.lastAppliedTerm();
+        lastGlobalPosition = new GlobalEntry.Position(snapshot.lastGlobalEpoch(), snapshot.lastGlobalIndex());
+        globalVote = snapshot.globalVote();
+        restoredSnapshot = null;
+        log.info("Confirmed restored snapshot at index {}", lastAppliedIndex);
+    }
+
+    /**
+     * Drops the restored state so the log is applied from its start. Fencing
+     * tokens seen in the snapshot are kept; they only ever move forward.
+     */
+    public void discardRestore() {
+        var snapshot = restoredSnapshot;
+        if (snapshot == null) {
+            return;
+        }
+        restoredSnapshot = null;
+        lockStore.clear();
+        leaseTable.clear();
+        log.info("Discarded restored snapshot at index {} (term {}), which the leader's log does not contain",
+                snapshot.lastAppliedIndex(), snapshot.lastAppliedTerm());
+    }
+
+    private LockResult<?> applyEntry(LogEntry entry) {
+        return switch (entry.type()) {
             case ACQUIRE_LOCK -> applyAcquireLock(entry);
             case RELEASE_LOCK -> applyReleaseLock(entry);
             case EXTEND_LOCK -> applyExtendLock(entry);
+            case GRANT_LEASE -> applyGrantLease(entry);
+            case REVOKE_LEASE -> applyRevokeLease(entry);
+            case OPEN_SESSION -> applyOpenSession(entry);
+            case KEEPALIVE_SESSION -> applyKeepAliveSession(entry);
+            case CLOSE_SESSION -> applyCloseSession(entry);
+            case RELEASE_ALL_BY_HOLDER -> applyReleaseAllByHolder(entry);
+            case GLOBAL_ENTRY -> applyGlobalEntry(entry);
+            case EXPIRE_LOCKS -> applyExpireLocks(entry);
+            case GLOBAL_VOTE -> applyGlobalVote(entry);
             case NOOP -> LockResult.success(null);
         };
+    }
 
-        lastAppliedIndex = entry.index();
+    /**
+     * Applies an entry committed by the global group of region leaders.
+     * Entries at or before the last global position applied were delivered
+     * before, by a previous region leader, and are skipped; so are entries of an
+     * earlier epoch, from a group that has since started afresh. Whether an acquisition had
+     * expired was decided by the global group's leader before it proposed it, so
+     * the entry is applied as delivered, without consulting this node's clock.
+     */
+    private LockResult<?> applyGlobalEntry(LogEntry entry) {
+        var global = GlobalEntry.deserialize(entry.data());
+        if (global == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+        if (!global.position().isAfter(lastGlobalPosition)) {
+            log.debug("Skipping already applied global entry {}", global.position());
+            return LockResult.success(null);
+        }
+        lastGlobalPosition = global.position();
+        return applyEntry(new LogEntry(entry.index(), entry.term(), global.type(), global.data()));
+    }
 
-        if (callback != null) {
-            callback.accept(result);
+    /**
+     * Records the term and vote of the region's global group member. A vote that
+     * could not follow the one recorded, in an earlier term or for another member
+     * in the same term, is refused, so the region never votes twice in one term.
+     */
+    private LockResult<?> applyGlobalVote(LogEntry entry) {
+        var vote = GlobalVote.deserialize(entry.data());
+        if (vote == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
         }
+        if (!vote.canFollow(globalVote)) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Region already voted in global term " + globalVote.term()
+            );
+        }
+        globalVote = vote;
+        return LockResult.success(null);
     }
 
     /**
-     * Applies an acquire lock command.
+     * Applies an acquire lock command. The lock it may replace, and the time it
+     * was acquired, both come from the proposer, so no node's clock is read.
      */
     private LockResult<Lock> applyAcquireLock(LogEntry entry) {
         var command = entry.getCommand();
-        if (command == null) {
+        if (command == null || command.expiresAt() == null) {
             return LockResult.failure(
                     com.gaestalt.lock.model.LockStatus.ERROR,
                     "Invalid command data"
@@ -75,7 +292,10 @@ public class RaftStateMachine {
                 command.clientId(),
                 command.regionId(),
                 command.fencingToken(),
-                command.expiresAt()
+                command.previousToken(),
+                command.expiresAt().minusMillis(Math.max(command.timeoutMs(), 1)),
+                command.expiresAt(),
+                command.sessionId()
         );
     }
 
@@ -94,19 +314,149 @@ public class RaftStateMachine {
         return lockStore.releaseByToken(command.lockId(), command.fencingToken());
     }
 
+    /**
+     * Applies a command releasing every lock held by a client.
+     */
+    private LockResult<List<Lock>> applyReleaseAllByHolder(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.clientId() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.releaseAllByHolder(command.clientId());
+    }
+
     /**
      * Applies an extend lock command.
      */
-    private LockResult<Void> applyExtendLock(LogEntry entry) {
-        // Extension would be implemented similarly
+    private LockResult<Lock> applyExtendLock(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.expiresAt() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.extend(command.lockId(), command.clientId(),
+                command.fencingToken(), command.expiresAt());
+    }
+
+    /**
+     * Applies a batch of locks the leader found expired.
+     */
+    private LockResult<List<Lock>> applyExpireLocks(LogEntry entry) {
+        var batch = ExpiryBatch.deserialize(entry.data());
+        if (batch == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.expireLocks(batch.locks());
+    }
+
+    /**
+     * Applies a grant lease command.
+     */
+    private LockResult<RegionLease> applyGrantLease(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.expiresAt() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        // The proposer's grant time travels as the lease duration, so whether an
+        // existing lease had lapsed does not depend on this node's clock
+        var lease = new RegionLease(command.lockId(), command.regionId(),
+                command.fencingToken(), command.expiresAt());
+        if (!leaseTable.grant(lease, command.expiresAt().minusMillis(command.timeoutMs()))) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ALREADY_LOCKED,
+                    "Lock is homed in another region"
+            );
+        }
+        return LockResult.success(lease);
+    }
+
+    /**
+     * Applies a revoke lease command.
+     */
+    private LockResult<Void> applyRevokeLease(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        leaseTable.revoke(command.lockId(), command.regionId(), command.fencingToken());
         return LockResult.success(null);
     }
 
+    /**
+     * Applies an open session command.
+     */
+    private LockResult<Session> applyOpenSession(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.sessionId() == null || command.expiresAt() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.openSession(new Session(command.sessionId(), command.clientId(),
+                command.timeoutMs(), command.expiresAt()));
+    }
+
+    /**
+     * Applies a session keepalive command.
+     */
+    private LockResult<Session> applyKeepAliveSession(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.sessionId() == null || command.expiresAt() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.keepAliveSession(command.sessionId(), command.clientId(), command.expiresAt());
+    }
+
+    /**
+     * Applies a close session command.
+     */
+    private LockResult<List<Lock>> applyCloseSession(LogEntry entry) {
+        var command = entry.getCommand();
+        if (command == null || command.sessionId() == null) {
+            return LockResult.failure(
+                    com.gaestalt.lock.model.LockStatus.ERROR,
+                    "Invalid command data"
+            );
+        }
+
+        return lockStore.closeSession(command.sessionId(), command.clientId());
+    }
+
     /**
      * Resets the state machine (for testing).
      */
     public void reset() {
         lastAppliedIndex = 0;
+        lastAppliedTerm = 0;
+        lastGlobalPosition = GlobalEntry.Position.START;
+        globalVote = GlobalVote.NONE;
+        restoredSnapshot = null;
         lockStore.clear();
+        leaseTable.clear();
     }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.config.RaftConfig;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeat interval and election timeout derived from measured latencies.
+ *
+ * The leader records the round trip of every AppendEntries call per peer and
+ * heartbeats at a multiple of the slowest peer's p99, so heartbeats on a slow
+ * network are not sent faster than they can usefully arrive. Followers record the
+ * gap between AppendEntries from the leader and time out at a multiple of its p99,
+ * so a leader that is slow to reach them is not mistaken for a dead one. Both are
+ * held within the configured bounds, with the fixed settings as the floor.
+ *
+ * While the cluster is idle the leader stretches the interval by half each beat,
+ * up to the idle interval, and drops back as soon as there is work. The growth is
+ * gradual so followers' gap windows keep up: each gap is at most half again the
+ * last, well inside the multiple they time out at. The stretched interval is also
+ * kept below the longest election timeout divided by that multiple.
+ *
+ * A follower with no gaps measured yet, such as a restarted node or a new member,
+ * cannot tell how far apart an idle leader's heartbeats are. Until it has one it
+ * times out as if it had seen the longest idle interval, so it does not start an
+ * election between two heartbeats of a healthy leader.
+ *
+ * With adaptive timing disabled the fixed settings are returned unchanged.
+ */
+class RaftTimings {
+
+    static final int WINDOW = 64;
+    static final double PERCENTILE = 0.99;
+    static final double IDLE_GROWTH = 1.5;
+
+    private final RaftConfig config;
+    private final Map<String, Window> roundTrips = new HashMap<>();
+    private final Window heartbeatGaps = new Window();
+
+    private long lastHeartbeatNanos;
+    private long heartbeatIntervalMs;
+
+    RaftTimings(RaftConfig config) {
+        this.config = config;
+        this.heartbeatIntervalMs = config.getHeartbeatIntervalMs();
+    }
+
+    /**
+     * Records an AppendEntries round trip to a peer, on the leader.
+     */
+    synchronized void recordRoundTrip(String peerId, long nanos) {
+        roundTrips.computeIfAbsent(peerId, id -> new Window()).add(nanos);
+    }
+
+    /**
+     * Records AppendEntries arriving from the current leader, on a follower.
+     */
+    synchronized void recordHeartbeat(long nowNanos) {
+        if (lastHeartbeatNanos != 0) {
+            heartbeatGaps.add(nowNanos - lastHeartbeatNanos);
+        }
+        lastHeartbeatNanos = nowNanos;
+    }
+
+    /**
+     * Forgets the last heartbeat, so the time spent electing a new leader is not
+     * counted as a gap between heartbeats.
+     */
+    synchronized void leaderChanged() {
+        lastHeartbeatNanos = 0;
+        heartbeatIntervalMs = baseHeartbeatIntervalMs();
+    }
+
+    /**
+     * Heartbeat interval while the cluster is busy.
+     */
+    synchronized long baseHeartbeatIntervalMs() {
+        long floor = config.getHeartbeatIntervalMs();
+        if (!config.isAdaptiveTimingEnabled()) {
+            return floor;
+        }
+        long slowest = roundTrips.values().stream()
+                .mapToLong(window -> window.percentile(PERCENTILE))
+                .max()
+                .orElse(0);
+        long derived = (long) Math.ceil(config.getHeartbeatRttMultiplier() * toMillis(slowest));
+        return clamp(derived, floor, Math.max(floor, config.getMaxHeartbeatIntervalMs()));
+    }
+
+    /**
+     * Interval until the next heartbeat. An idle cluster stretches the current
+     * interval; any activity resets it to the base interval.
+     */
+    synchronized long nextHeartbeatIntervalMs(boolean idle) {
+        long base = baseHeartbeatIntervalMs();
+        if (!idle || !config.isAdaptiveTimingEnabled()) {
+            heartbeatIntervalMs = base;
+        } else {
+            long stretched = (long) Math.ceil(heartbeatIntervalMs * IDLE_GROWTH);
+            heartbeatIntervalMs = clamp(stretched, base, Math.max(base, maxIdleHeartbeatIntervalMs()));
+        }
+        return heartbeatIntervalMs;
+    }
+
+    /**
+     * The interval last handed out, for the gauge.
+     */
+    synchronized long currentHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    /**
+     * True while heartbeats are further apart than the base interval.
+     */
+    synchronized boolean isStretched() {
+        return heartbeatIntervalMs > baseHeartbeatIntervalMs();
+    }
+
+    /**
+     * Minimum election timeout; the timer adds up to as much again at random.
+     */
+    synchronized long electionTimeoutMs() {
+        long floor = config.getElectionTimeoutMs();
+        if (!config.isAdaptiveTimingEnabled()) {
+            return floor;
+        }
+        long gap = heartbeatGaps.isEmpty()
+                ? maxIdleHeartbeatIntervalMs()
+                : toMillis(heartbeatGaps.percentile(PERCENTILE));
+        long derived = (long) Math.ceil(config.getElectionGapMultiplier() * gap);
+        return clamp(derived, floor, Math.max(floor, config.getMaxElectionTimeoutMs()));
+    }
+
+    private long maxIdleHeartbeatIntervalMs() {
+        long safe = (long) (Math.max(config.getElectionTimeoutMs(), config.getMaxElectionTimeoutMs())
+                / config.getElectionGapMultiplier());
+        return Math.min(config.getIdleHeartbeatIntervalMs(), safe);
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * The most recent samples, in nanoseconds.
+     */
+    private static final class Window {
+
+        private final long[] samples = new long[WINDOW];
+        private int count;
+        private int next;
+
+        void add(long nanos) {
+            samples[next] = Math.max(0, nanos);
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.Session;
+import com.gaestalt.lock.quorum.RegionLease;
+import com.gaestalt.lock.service.LockStore;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary encoding of a {@link StateSnapshot}.
+ *
+ * Lock IDs, holders, regions and session IDs are written once to a string table
+ * and referred to by position, since a few holders and regions account for most
+ * locks. Instants are written as epoch microseconds. A CRC-32 of the contents
+ * ends the file.
+ *
+ * Files are written to a temporary sibling, synced and renamed into place, so a
+ * crash mid-write leaves the previous snapshot intact. They are read through a
+ * memory mapping, without copying the file onto the heap first.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x4C4B534E; // "LKSN"
+    private static final int VERSION = 3;
+    // Version 1 files have no token floor; it reads as 0
+    private static final int FIRST_VERSION = 1;
+    // Version 1 and 2 files have no global vote or epoch; they read as none and 0
+    private static final int GLOBAL_VOTE_VERSION = 3;
+    private static final int NO_SESSION = -1;
+    private static final int NO_VOTE = -1;
+
+    private SnapshotFile() {
+    }
+
+    static void write(StateSnapshot snapshot, Path path) throws IOException {
+        var strings = new LinkedHashMap<String, Integer>();
+        var store = snapshot.store();
+        var vote = snapshot.globalVote();
+        if (vote.votedFor() != null) {
+            intern(strings, vote.votedFor());
+        }
+        snapshot.tokens().keySet().forEach(lockId -> intern(strings, lockId));
+        for (var session : store.sessions()) {
+            intern(strings, session.sessionId());
+            intern(strings, session.clientId());
+        }
+        for (var lock : store.locks()) {
+            intern(strings, lock.lockId());
+            intern(strings, lock.holderId());
+            intern(strings, lock.holderRegion());
+        }
+        store.lockSessions().values().forEach(sessionId -> intern(strings, sessionId));
+        for (var lease : snapshot.leases()) {
+            intern(strings, lease.lockId());
+            intern(strings, lease.homeRegion());
+        }
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var file = new FileOutputStream(temp.toFile())) {
+            var crc = new CRC32();
+            var out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), crc));
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshot.currentTerm());
+            out.writeLong(snapshot.lastAppliedIndex());
+            out.writeLong(snapshot.lastAppliedTerm());
+            out.writeLong(snapshot.lastGlobalIndex());
+            out.writeLong(snapshot.tokenFloor());
+            out.writeLong(vote.term());
+            out.writeLong(snapshot.lastGlobalEpoch());
+
+            out.writeInt(strings.size());
+            for (var string : strings.keySet()) {
+                var bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(vote.votedFor() != null ? strings.get(vote.votedFor()) : NO_VOTE);
+
+            out.writeInt(snapshot.tokens().size());
+            for (var token : snapshot.tokens().entrySet()) {
+                out.writeInt(strings.get(token.getKey()));
+                out.writeLong(token.getValue());
+            }
+
+            out.writeInt(store.sessions().size());
+            for (var session : store.sessions()) {
+                out.writeInt(strings.get(session.sessionId()));
+                out.writeInt(strings.get(session.clientId()));
+                out.writeLong(session.ttlMs());
+                out.writeLong(micros(session.expiresAt()));
+            }
+
+            out.writeInt(store.locks().size());
+            for (var lock : store.locks()) {
+                var sessionId = store.lockSessions().get(lock.lockId());
+                out.writeInt(strings.get(lock.lockId()));
+                out.writeInt(strings.get(lock.holderId()));
+                out.writeInt(strings.get(lock.holderRegion()));
+                out.writeLong(lock.fencingToken());
+                out.writeLong(micros(lock.acquiredAt()));
+                out.writeLong(micros(lock.expiresAt()));
+                out.writeInt(sessionId != null ? strings.get(sessionId) : NO_SESSION);
+            }
+
+            out.writeInt(snapshot.leases().size());
+            for (var lease : snapshot.leases()) {
+                out.writeInt(strings.get(lease.lockId()));
+                out.writeInt(strings.get(lease.homeRegion()));
+                out.writeLong(lease.epoch());
+                out.writeLong(micros(lease.expiresAt()));
+            }
+
+            out.flush();
+            // The checksum itself is not checksummed
+            new DataOutputStream(file).writeLong(crc.getValue());
+            file.getChannel().force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static StateSnapshot read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < 2 * Integer.BYTES + 5 * Long.BYTES) {
+            throw new IOException("Snapshot truncated at " + buffer.limit() + " bytes");
+        }
+        try {
+            int contentLength = buffer.limit() - Long.BYTES;
+            var crc = new CRC32();
+            crc.update(buffer.slice(0, contentLength));
+            if (crc.getValue() != buffer.getLong(contentLength)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            buffer.limit(contentLength);
+
+            int version = buffer.getInt() == MAGIC ? buffer.getInt() : -1;
+            if (version < FIRST_VERSION || version > VERSION) {
+                throw new IOException("Not a version " + FIRST_VERSION + "-" + VERSION + " lock snapshot");
+            }
+            long currentTerm = buffer.getLong();
+            long lastAppliedIndex = buffer.getLong();
+            long lastAppliedTerm = buffer.getLong();
+            long lastGlobalIndex = buffer.getLong();
+            long tokenFloor = version > FIRST_VERSION ? buffer.getLong() : 0;
+            long voteTerm = version >= GLOBAL_VOTE_VERSION ? buffer.getLong() : 0;
+            long lastGlobalEpoch = version >= GLOBAL_VOTE_VERSION ? buffer.getLong() : 0;
+
+            var strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                var bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            var globalVote = GlobalVote.NONE;
+            if (version >= GLOBAL_VOTE_VERSION) {
+                int votedFor = buffer.getInt();
+                globalVote = new GlobalVote(voteTerm, votedFor != NO_VOTE ? strings[votedFor] : null);
+            }
+
+            int tokenCount = buffer.getInt();
+            var tokens = new HashMap<String, Long>(tokenCount * 2);
+            for (int i = 0; i < tokenCount; i++) {
+                tokens.put(strings[buffer.getInt()], buffer.getLong());
+            }
+
+            int sessionCount = buffer.getInt();
+            var sessions = new ArrayList<Session>(sessionCount);
+            for (int i = 0; i < sessionCount; i++) {
+                sessions.add(new Session(strings[buffer.getInt()], strings[buffer.getInt()],
+                        buffer.getLong(), instant(buffer.getLong())));
+            }
+
+            int lockCount = buffer.getInt();
+            var locks = new ArrayList<Lock>(lockCount);
+            var lockSessions = new HashMap<String, String>();
+            for (int i = 0; i < lockCount; i++) {
+                var lock = new Lock(strings[buffer.getInt()], strings[buffer.getInt()], strings[buffer.getInt()],
+                        buffer.getLong(), instant(buffer.getLong()), instant(buffer.getLong()));
+                int session = buffer.getInt();
+                locks.add(lock);
+                if (session != NO_SESSION) {
+                    lockSessions.put(lock.lockId(), strings[session]);
+                }
+            }
+
+            int leaseCount = buffer.getInt();
+            var leases = new ArrayList<RegionLease>(leaseCount);
+            for (int i = 0; i < leaseCount; i++) {
+                leases.add(new RegionLease(strings[buffer.getInt()], strings[buffer.getInt()],
+                        buffer.getLong(), instant(buffer.getLong())));
+            }
+
+            return new StateSnapshot(currentTerm, lastAppliedIndex, lastAppliedTerm, lastGlobalEpoch, lastGlobalIndex,
+                    globalVote, new LockStore.StoreState(locks, sessions, lockSessions), tokens, tokenFloor, leases);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot: " + e, e);
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String string) {
+        strings.putIfAbsent(string, strings.size());
+    }
+
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant instant(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.quorum.RegionLease;
+import com.gaestalt.lock.service.LockStore;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state a node has applied up to one log entry, as written to a local
+ * snapshot so a restarted node can serve reads before the leader catches it up.
+ *
+ * @param currentTerm      The node's term when the snapshot was taken
+ * @param lastAppliedIndex Index of the last entry applied
+ * @param lastAppliedTerm  Term of the last entry applied
+ * @param lastGlobalEpoch  Epoch of the last global group entry applied
+ * @param lastGlobalIndex  Index of the last global group entry applied
+ * @param globalVote       Term and vote of the region's global group member
+ * @param store            Locks and sessions
+ * @param tokens           Current fencing token of each lock
+ * @param tokenFloor       Highest fencing token of a lock whose sequence was retired
+ * @param leases           Region home leases
+ */
+public record StateSnapshot(
+        long currentTerm,
+        long lastAppliedIndex,
+        long lastAppliedTerm,
+        long lastGlobalEpoch,
+        long lastGlobalIndex,
+        GlobalVote globalVote,
+        LockStore.StoreState store,
+        Map<String, Long> tokens,
+        long tokenFloor,
+        List<RegionLease> leases
+) {}
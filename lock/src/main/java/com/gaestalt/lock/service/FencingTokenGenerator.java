@@ -11,6 +11,7 @@ package com.gaestalt.lock.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -18,6 +19,10 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Generates monotonically increasing fencing tokens for distributed locks.
  * Each lock has its own token sequence to ensure uniqueness.
+ *
+ * The sequence of a lock that expired is retired rather than kept forever. A
+ * floor, raised to the highest token retired, takes its place: a lock with no
+ * sequence starts above the floor, so its tokens still only move forward.
  */
 @Slf4j
 @Component
@@ -25,6 +30,7 @@ public class FencingTokenGenerator {
 
     private final Map<String, AtomicLong> tokenSequences = new ConcurrentHashMap<>();
     private final AtomicLong globalSequence = new AtomicLong(0);
+    private final AtomicLong floor = new AtomicLong(0);
 
     /**
      * Gets the next fencing token for a specific lock.
@@ -34,20 +40,25 @@ public class FencingTokenGenerator {
      * @return The next fencing token
      */
     public long nextToken(String lockId) {
-        return tokenSequences
-                .computeIfAbsent(lockId, k -> new AtomicLong(0))
-                .incrementAndGet();
+        var token = new long[] { 0 };
+        // Incremented inside compute so a concurrent retire cannot drop the sequence mid-draw
+        tokenSequences.compute(lockId, (k, existing) -> {
+            var sequence = existing != null ? existing : new AtomicLong(floor.get());
+            token[0] = sequence.incrementAndGet();
+            return sequence;
+        });
+        return token[0];
     }
 
     /**
      * Gets the current token for a lock without incrementing.
      *
      * @param lockId The lock identifier
-     * @return The current token value, or 0 if no token exists
+     * @return The current token value, or the floor if no token exists
      */
     public long currentToken(String lockId) {
         var sequence = tokenSequences.get(lockId);
-        return sequence != null ? sequence.get() : 0;
+        return sequence != null ? sequence.get() : floor.get();
     }
 
     /**
@@ -60,13 +71,54 @@ public class FencingTokenGenerator {
     public void updateToken(String lockId, long token) {
         tokenSequences.compute(lockId, (k, existing) -> {
             if (existing == null) {
-                return new AtomicLong(token);
+                return new AtomicLong(Math.max(token, floor.get()));
             }
             existing.updateAndGet(current -> Math.max(current, token));
             return existing;
         });
     }
 
+    /**
+     * Drops the sequence of a lock that expired, raising the floor to its
+     * current token. Nodes' floors need not agree: the leader's sequences also
+     * count tokens it drew for acquisitions that never committed, which followers
+     * never see. Every node applies the committed tokens and retires the same
+     * locks in log order, though, so each floor is at least the highest committed
+     * token retired, and a node that becomes leader still draws above every token
+     * a lock has been held under.
+     *
+     * @param lockId The lock identifier
+     */
+    public void retire(String lockId) {
+        tokenSequences.computeIfPresent(lockId, (k, sequence) -> {
+            floor.accumulateAndGet(sequence.get(), Math::max);
+            return null;
+        });
+    }
+
+    /**
+     * Gets the floor tokens of locks with no sequence start above.
+     */
+    public long getFloor() {
+        return floor.get();
+    }
+
+    /**
+     * Raises the floor, e.g. to a snapshot's. It never moves down.
+     */
+    public void updateFloor(long token) {
+        floor.accumulateAndGet(token, Math::max);
+    }
+
+    /**
+     * Gets the current token of every lock, for a snapshot.
+     */
+    public Map<String, Long> getTokens() {
+        var tokens = new HashMap<String, Long>(tokenSequences.size() * 2);
+        tokenSequences.forEach((lockId, sequence) -> tokens.put(lockId, sequence.get()));
+        return tokens;
+    }
+
     /**
      * Generates a globally unique token (not per-lock).
      * Useful for operations that need a unique identifier across all locks.
@@ -96,6 +148,7 @@ public class FencingTokenGenerator {
     public void clear() {
         tokenSequences.clear();
         globalSequence.set(0);
+        floor.set(0);
         log.warn("All token sequences cleared");
     }
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockScope;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acquisitions the leader currently has in flight, keyed by lock ID.
+ *
+ * Only one acquisition per lock draws a fencing token and starts a quorum round at
+ * a time. Any other acquire for the same lock finds the attempt here and either
+ * shares its outcome or gives up, instead of starting a round it is bound to lose.
+ */
+public class InFlightAcquisitions {
+
+    private final ConcurrentHashMap<String, Attempt> attempts = new ConcurrentHashMap<>();
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+
+    /**
+     * Registers an attempt for the lock.
+     * Returns null if the caller now owns the lock's in-flight slot, or the attempt
+     * already in flight otherwise.
+     */
+    public Attempt register(String lockId, Attempt attempt) {
+        var existing = attempts.putIfAbsent(lockId, attempt);
+        if (existing == null) {
+            started.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * Frees the lock's slot and hands the outcome to everyone waiting on the attempt.
+     * The slot is freed first so waiters that retry can take it.
+     */
+    public void complete(String lockId, Attempt attempt, LockResult<Lock> result) {
+        attempts.remove(lockId, attempt);
+        attempt.result().complete(result);
+    }
+
+    public void recordJoined() {
+        joined.increment();
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public void recordWaited() {
+        waited.increment();
+    }
+
+    public int getInFlightCount() {
+        return attempts.size();
+    }
+
+    /**
+     * Acquisitions that owned their slot and went on to the quorum round.
+     */
+    public long getStartedCount() {
+        return started.sum();
+    }
+
+    /**
+     * Retries from the same client that shared the in-flight attempt's outcome.
+     */
+    public long getJoinedCount() {
+        return joined.sum();
+    }
+
+    /**
+     * Competing acquisitions failed fast without a quorum round.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Competing acquisitions that waited for the in-flight attempt to finish.
+     */
+    public long getWaitedCount() {
+        return waited.sum();
+    }
+
+    /**
+     * An acquisition in flight, the request it was made with, and the future its
+     * outcome is published on.
+     */
+    public record Attempt(String clientId, String sessionId, LockScope scope, long timeoutMs,
+                          CompletableFuture<LockResult<Lock>> result) {
+        public Attempt(String clientId) {
+            this(clientId, null, LockScope.GLOBAL, 0);
+        }
+
+        public Attempt(String clientId, String sessionId, LockScope scope, long timeoutMs) {
+            this(clientId, sessionId, scope, timeoutMs, new CompletableFuture<>());
+        }
+
+        /**
+         * Whether an acquire is a retry of this attempt: the same client asking
+         * for the lock the same way. Sharing this attempt's outcome would hand a
+         * request under another session, scope or timeout a lock it did not ask for.
+         */
+        public boolean isRetry(String clientId, String sessionId, LockScope scope, long timeoutMs) {
+            return this.clientId.equals(clientId) && Objects.equals(this.sessionId, sessionId)
+                    && this.scope == scope && this.timeoutMs == timeoutMs;
+        }
+    }
+}
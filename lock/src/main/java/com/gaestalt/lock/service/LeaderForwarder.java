@@ -9,74 +9,216 @@
 package com.gaestalt.lock.service;
 
 import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.TracingConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.grpc.TracingClientInterceptor;
+import com.gaestalt.lock.metrics.LockMetrics;
 import com.gaestalt.lock.grpc.generated.*;
 import com.gaestalt.lock.raft.RaftNode;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
-import io.grpc.StatusRuntimeException;
-import jakarta.annotation.PreDestroy;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /**
  * Forwards lock requests to the current Raft leader.
  * Maintains gRPC connections to peer nodes for request forwarding.
+ *
+ * Forwards are asynchronous, so no server thread waits on the leader. They are
+ * made in the caller's gRPC context, which carries the client's deadline and
+ * cancellation through to the leader. At most maxConcurrentForwards requests are
+ * in flight at once; beyond that the request is refused immediately and the
+ * client is left to follow the leader hint instead of piling onto a leader change.
+ * The trace context travels with each forward, so the leader's spans join the
+ * caller's trace. Connections come from the shared channel factory.
  */
 @Slf4j
 @Component
 public class LeaderForwarder {
 
+    // Metadata key marking forwarded requests, so they are never forwarded again
+    public static final Metadata.Key<String> FORWARDED_FROM_KEY =
+            Metadata.Key.of("x-forwarded-from", Metadata.ASCII_STRING_MARSHALLER);
+
     private final RaftNode raftNode;
     private final RaftConfig raftConfig;
-    private final Map<String, ManagedChannel> channelCache = new ConcurrentHashMap<>();
-    private final Map<String, LockServiceGrpc.LockServiceBlockingStub> stubCache = new ConcurrentHashMap<>();
+    private final LockMetrics lockMetrics;
+    private final OpenTelemetry openTelemetry;
+    private final Tracer tracer;
+    private final Semaphore forwardPermits;
+    private final GrpcChannelFactory channelFactory;
+    private final Map<String, LockServiceGrpc.LockServiceStub> stubCache = new ConcurrentHashMap<>();
 
-    public LeaderForwarder(RaftNode raftNode, RaftConfig raftConfig) {
+    public LeaderForwarder(RaftNode raftNode, RaftConfig raftConfig, LockMetrics lockMetrics,
+                           OpenTelemetry openTelemetry, GrpcChannelFactory channelFactory) {
         this.raftNode = raftNode;
         this.raftConfig = raftConfig;
+        this.lockMetrics = lockMetrics;
+        this.openTelemetry = openTelemetry;
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
+        this.forwardPermits = new Semaphore(Math.max(raftConfig.getMaxConcurrentForwards(), 1));
+        this.channelFactory = channelFactory;
     }
 
     /**
      * Forwards an acquire lock request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
      */
-    public Optional<AcquireLockResponse> forwardAcquireLock(AcquireLockRequest request) {
-        return getLeaderStub().map(stub -> {
-            try {
-                log.debug("Forwarding acquire lock request to leader for lock {}", request.getLockId());
-                // Apply fresh deadline for each request
-                return stub.withDeadlineAfter(10, TimeUnit.SECONDS).acquireLock(request);
-            } catch (StatusRuntimeException e) {
-                log.warn("Failed to forward acquire lock to leader: {}", e.getStatus());
-                return null;
-            }
-        });
+    public CompletableFuture<Optional<AcquireLockResponse>> forwardAcquireLock(AcquireLockRequest request) {
+        log.debug("Forwarding acquire lock request to leader for lock {}", request.getLockId());
+        return forward("acquire", (stub, observer) -> stub.acquireLock(request, observer));
     }
 
     /**
      * Forwards a release lock request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<ReleaseLockResponse>> forwardReleaseLock(ReleaseLockRequest request) {
+        log.debug("Forwarding release lock request to leader for lock {}", request.getLockId());
+        return forward("release", (stub, observer) -> stub.releaseLock(request, observer));
+    }
+
+    /**
+     * Forwards an extend lock request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<ExtendLockResponse>> forwardExtendLock(ExtendLockRequest request) {
+        log.debug("Forwarding extend lock request to leader for lock {}", request.getLockId());
+        return forward("extend", (stub, observer) -> stub.extendLock(request, observer));
+    }
+
+    /**
+     * Forwards an open session request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<OpenSessionResponse>> forwardOpenSession(OpenSessionRequest request) {
+        log.debug("Forwarding open session request to leader for client {}", request.getClientId());
+        return forward("open_session", (stub, observer) -> stub.openSession(request, observer));
+    }
+
+    /**
+     * Forwards a session keepalive to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<KeepAliveSessionResponse>> forwardKeepAliveSession(
+            KeepAliveSessionRequest request) {
+        log.debug("Forwarding keepalive to leader for session {}", request.getSessionId());
+        return forward("keepalive_session", (stub, observer) -> stub.keepAliveSession(request, observer));
+    }
+
+    /**
+     * Forwards a close session request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<CloseSessionResponse>> forwardCloseSession(CloseSessionRequest request) {
+        log.debug("Forwarding close session request to leader for session {}", request.getSessionId());
+        return forward("close_session", (stub, observer) -> stub.closeSession(request, observer));
+    }
+
+    /**
+     * Forwards a release-all-by-holder request to the current leader.
+     * Completes with empty if there is no reachable leader or the forward failed.
+     */
+    public CompletableFuture<Optional<ReleaseAllByHolderResponse>> forwardReleaseAllByHolder(
+            ReleaseAllByHolderRequest request) {
+        log.debug("Forwarding release all request to leader for holder {}", request.getHolderId());
+        return forward("release_all", (stub, observer) -> stub.releaseAllByHolder(request, observer));
+    }
+
+    /**
+     * Returns the client-facing address of a node, if it is a known peer.
+     */
+    public Optional<String> getLeaderAddress(String leaderId) {
+        return findNode(leaderId).map(RaftConfig.ClusterNode::getAddress);
+    }
+
+    /**
+     * Returns the number of forwards currently in flight.
      */
-    public Optional<ReleaseLockResponse> forwardReleaseLock(ReleaseLockRequest request) {
-        return getLeaderStub().map(stub -> {
-            try {
-                log.debug("Forwarding release lock request to leader for lock {}", request.getLockId());
-                // Apply fresh deadline for each request
-                return stub.withDeadlineAfter(10, TimeUnit.SECONDS).releaseLock(request);
-            } catch (StatusRuntimeException e) {
-                log.warn("Failed to forward release lock to leader: {}", e.getStatus());
-                return null;
+    public int getInFlightForwards() {
+        return Math.max(raftConfig.getMaxConcurrentForwards(), 1) - forwardPermits.availablePermits();
+    }
+
+    private <T> CompletableFuture<Optional<T>> forward(
+            String operation, BiConsumer<LockServiceGrpc.LockServiceStub, StreamObserver<T>> call) {
+
+        var leaderStub = getLeaderStub();
+        if (leaderStub.isEmpty()) {
+            lockMetrics.recordForward(operation, "no_leader");
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        if (!forwardPermits.tryAcquire()) {
+            log.warn("Forwarding budget of {} exhausted, refusing to forward {}",
+                    raftConfig.getMaxConcurrentForwards(), operation);
+            lockMetrics.recordForward(operation, "refused");
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        var span = tracer.spanBuilder("LeaderForwarder/" + operation)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(AttributeKey.stringKey("raft.leader_id"), raftNode.getLeaderId().orElse("unknown"))
+                .startSpan();
+
+        var result = new CompletableFuture<Optional<T>>();
+        result.whenComplete((response, error) -> {
+            forwardPermits.release();
+            boolean forwarded = response != null && response.isPresent();
+            lockMetrics.recordForward(operation, forwarded ? "forwarded" : "failed");
+            if (forwarded) {
+                span.setStatus(StatusCode.OK);
+            } else {
+                span.setStatus(StatusCode.ERROR, "forward failed");
             }
+            span.end();
         });
+
+        try (var scope = span.makeCurrent()) {
+            // Apply fresh deadline for each request; a shorter client deadline still wins
+            call.accept(
+                    leaderStub.get().withDeadlineAfter(raftConfig.getForwardTimeoutMs(), TimeUnit.MILLISECONDS),
+                    new StreamObserver<>() {
+                        @Override
+                        public void onNext(T response) {
+                            result.complete(Optional.of(response));
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            log.warn("Failed to forward {} to leader: {}", operation, t.getMessage());
+                            result.complete(Optional.empty());
+                        }
+
+                        @Override
+                        public void onCompleted() {
+                            result.complete(Optional.empty());
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Failed to forward {} to leader: {}", operation, e.getMessage());
+            result.complete(Optional.empty());
+        }
+        return result;
     }
 
     /**
      * Gets a gRPC stub for the current leader.
      */
-    private Optional<LockServiceGrpc.LockServiceBlockingStub> getLeaderStub() {
+    private Optional<LockServiceGrpc.LockServiceStub> getLeaderStub() {
         Optional<String> leaderId = raftNode.getLeaderId();
         if (leaderId.isEmpty()) {
             log.warn("No leader available for forwarding");
@@ -91,18 +233,7 @@ public class LeaderForwarder {
             return Optional.empty();
         }
 
-        // Find leader's address from config
-        var leaderNode = raftConfig.getPeerNodes().stream()
-                .filter(node -> node.getNodeId().equals(leader))
-                .findFirst();
-
-        // Also check clusterNodes in case peer parsing doesn't include leader
-        if (leaderNode.isEmpty()) {
-            leaderNode = raftConfig.getClusterNodes().stream()
-                    .filter(node -> node.getNodeId().equals(leader))
-                    .findFirst();
-        }
-
+        var leaderNode = findNode(leader);
         if (leaderNode.isEmpty()) {
             log.warn("Leader {} not found in cluster configuration", leader);
             return Optional.empty();
@@ -112,32 +243,33 @@ public class LeaderForwarder {
         return Optional.of(getOrCreateStub(node.getNodeId(), node.getHost(), node.getPort()));
     }
 
-    private LockServiceGrpc.LockServiceBlockingStub getOrCreateStub(String nodeId, String host, int port) {
+    private Optional<RaftConfig.ClusterNode> findNode(String nodeId) {
+        // Find node's address from config
+        var node = raftConfig.getPeerNodes().stream()
+                .filter(peer -> peer.getNodeId().equals(nodeId))
+                .findFirst();
+
+        // Also check clusterNodes in case peer parsing doesn't include the node
+        if (node.isEmpty()) {
+            node = raftConfig.getClusterNodes().stream()
+                    .filter(peer -> peer.getNodeId().equals(nodeId))
+                    .findFirst();
+        }
+        return node;
+    }
+
+    private LockServiceGrpc.LockServiceStub getOrCreateStub(String nodeId, String host, int port) {
         return stubCache.computeIfAbsent(nodeId, id -> {
-            ManagedChannel channel = channelCache.computeIfAbsent(nodeId, cid ->
-                    ManagedChannelBuilder.forAddress(host, port)
-                            .usePlaintext()
-                            .keepAliveTime(30, TimeUnit.SECONDS)
-                            .build()
-            );
-            log.info("Created forwarding channel to {} at {}:{}", nodeId, host, port);
+            var channel = channelFactory.channel(host, port, GrpcChannelFactory.Link.LOCAL);
+            log.info("Created forwarding stub for {} at {}:{}", nodeId, host, port);
+
+            var headers = new Metadata();
+            headers.put(FORWARDED_FROM_KEY, raftConfig.getNodeId());
+
             // Don't set deadline here - apply fresh deadline per request
-            return LockServiceGrpc.newBlockingStub(channel);
+            return LockServiceGrpc.newStub(channel)
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers),
+                            new TracingClientInterceptor(openTelemetry));
         });
     }
-
-    @PreDestroy
-    public void shutdown() {
-        log.info("Shutting down leader forwarder channels");
-        for (var entry : channelCache.entrySet()) {
-            try {
-                entry.getValue().shutdown().awaitTermination(5, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                entry.getValue().shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
-        channelCache.clear();
-        stubCache.clear();
-    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.model.Lock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bucketed digest of the locks held by each region.
+ *
+ * Every lock hashes to one of {@link #BUCKETS} buckets by lock id, and a bucket's
+ * digest is the XOR of the hashes of the locks in it. XOR makes updates O(1) and
+ * order independent, so the digest can be maintained as locks come and go and two
+ * regions can compare their views of a region's locks bucket by bucket, exchanging
+ * only the buckets that differ.
+ *
+ * The hash covers the lock id, holder and fencing token. Timestamps are left out
+ * because each node stamps acquisitions with its own clock.
+ */
+public class LockDigest {
+
+    public static final int BUCKETS = 1024;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<String, AtomicLongArray> regions = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a lock to, or removes it from, its holder region's digest.
+     * Adding and removing are the same operation.
+     */
+    public void toggle(Lock lock) {
+        regions.computeIfAbsent(lock.holderRegion(), k -> new AtomicLongArray(BUCKETS))
+                .accumulateAndGet(bucketOf(lock.lockId()), hash(lock), (a, b) -> a ^ b);
+    }
+
+    /**
+     * Returns a copy of the bucket digests for locks held by a region.
+     */
+    public long[] snapshot(String holderRegion) {
+        var digest = new long[BUCKETS];
+        var buckets = regions.get(holderRegion);
+        if (buckets != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                digest[i] = buckets.get(i);
+            }
+        }
+        return digest;
+    }
+
+    public void clear() {
+        regions.clear();
+    }
+
+    /**
+     * Returns the indexes of buckets whose digests differ.
+     * Digests of a different size are treated as differing everywhere.
+     */
+    public static List<Integer> differingBuckets(long[] local, List<Long> remote) {
+        var differing = new ArrayList<Integer>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (remote.size() != BUCKETS || local[i] != remote.get(i)) {
+                differing.add(i);
+            }
+        }
+        return differing;
+    }
+
+    /**
+     * Returns the bucket a lock id falls in. String.hashCode is specified by the
+     * language, so every region places a lock in the same bucket.
+     */
+    public static int bucketOf(String lockId) {
+        return Math.floorMod(lockId.hashCode(), BUCKETS);
+    }
+
+    static long hash(Lock lock) {
+        long h = FNV_OFFSET;
+        h = fnv(h, lock.lockId());
+        h = fnv(h, lock.holderId());
+        h ^= lock.fencingToken();
+        h *= FNV_PRIME;
+        // Final mix so near-identical locks spread across all bits
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long fnv(long h, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= FNV_PRIME;
+        }
+        // Separator so ("ab", "c") and ("a", "bc") hash differently
+        h ^= 0xff;
+        return h * FNV_PRIME;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.raft.ExpiryBatch;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lock expiry, driven by the Raft leader. The leader looks for expired locks on
+ * its own clock and proposes their removal in batches, one EXPIRE_LOCKS entry per
+ * batch; every node removes them, and retires their fencing-token sequences, when
+ * the entry applies. Followers never sweep, so a node with a skewed clock cannot
+ * drop a lock the rest of its region still holds.
+ *
+ * Locks held under a session are left to {@link SessionService}, which releases
+ * them when the session expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LockExpiryService {
+
+    private final RaftNode raftNode;
+    private final LockStore lockStore;
+    private final LockConfig lockConfig;
+    private final RegionConfig regionConfig;
+    private final LockMetrics lockMetrics;
+    private final TimerWheel timerWheel;
+
+    // Expired locks with a removal already proposed
+    private final Set<String> expiring = ConcurrentHashMap.newKeySet();
+    private TimerWheel.Timeout expiryCheck;
+
+    @PostConstruct
+    public void start() {
+        expiryCheck = timerWheel.scheduleAtFixedRate(this::expireLocks,
+                lockConfig.getLockExpiryCheckMs(), lockConfig.getLockExpiryCheckMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (expiryCheck != null) {
+            expiryCheck.cancel();
+        }
+    }
+
+    /**
+     * Proposes removing the locks that have expired, a batch per entry. Only the
+     * leader does this; a lock whose removal is still in flight is not proposed again.
+     */
+    void expireLocks() {
+        if (!raftNode.isLeader()) {
+            expiring.clear();
+            return;
+        }
+
+        int batchSize = Math.max(1, lockConfig.getLockExpiryBatchSize());
+        var expired = lockStore.findExpiredLocks(Integer.MAX_VALUE).stream()
+                .filter(lock -> expiring.add(lock.lockId()))
+                .toList();
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            propose(expired.subList(from, Math.min(from + batchSize, expired.size())));
+        }
+    }
+
+    private void propose(List<Lock> locks) {
+        var batch = new ExpiryBatch(locks.stream().map(LockStore.ExpiredLock::of).toList());
+        log.debug("Proposing expiry of {} locks", locks.size());
+
+        timerWheel.orTimeout(raftNode.submit(LogEntryType.EXPIRE_LOCKS, batch.serialize(), null),
+                        regionConfig.getQuorumTimeoutMs())
+                .whenComplete((result, e) -> {
+                    locks.forEach(lock -> expiring.remove(lock.lockId()));
+                    if (e != null || !result.isSuccess()) {
+                        log.warn("Failed to expire {} locks: {}", locks.size(),
+                                e != null ? e.getMessage() : result.getError().message());
+                        return;
+                    }
+                    if (result.getValue() instanceof List<?> removed) {
+                        lockMetrics.recordLocksExpired(removed.size());
+                    }
+                });
+    }
+}
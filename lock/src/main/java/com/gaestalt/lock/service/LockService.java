@@ -10,17 +10,24 @@ package com.gaestalt.lock.service;
 
 import com.gaestalt.lock.config.LockConfig;
 import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
 import com.gaestalt.lock.model.*;
+import com.gaestalt.lock.quorum.GlobalRaftGroup;
 import com.gaestalt.lock.quorum.QuorumManager;
 import com.gaestalt.lock.raft.LockCommand;
 import com.gaestalt.lock.raft.LogEntryType;
 import com.gaestalt.lock.raft.RaftNode;
+import io.micrometer.core.instrument.Tags;
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Main lock service coordinating between Raft consensus and cross-region quorum.
@@ -37,6 +44,20 @@ public class LockService {
     private final FencingTokenGenerator tokenGenerator;
     private final LockConfig lockConfig;
     private final RegionConfig regionConfig;
+    private final LockMetrics lockMetrics;
+    private final TimerWheel timerWheel;
+    private final ContentionTracker contentionTracker;
+    private final GlobalRaftGroup globalRaftGroup;
+
+    private final InFlightAcquisitions inFlightAcquisitions = new InFlightAcquisitions();
+
+    @PostConstruct
+    public void registerMetrics() {
+        lockMetrics.gauge("lockmgr.locks.active", "Unexpired locks held in any region",
+                Tags.empty(), lockStore, LockStore::getActiveLockCount);
+        lockMetrics.gauge("lockmgr.lock.acquisitions.in.flight", "Acquisitions waiting on quorum or Raft",
+                Tags.empty(), inFlightAcquisitions, InFlightAcquisitions::getInFlightCount);
+    }
 
     /**
      * Attempts to acquire a distributed lock.
@@ -46,8 +67,40 @@ public class LockService {
      * 3. If quorum achieved, committing the lock via Raft
      */
     public CompletableFuture<LockResult<Lock>> acquireLock(String lockId, String clientId, long timeoutMs) {
-        log.debug("Acquire lock request: lockId={}, clientId={}, timeout={}",
-                lockId, clientId, timeoutMs);
+        return acquireLock(lockId, clientId, timeoutMs, LockScope.GLOBAL);
+    }
+
+    /**
+     * Attempts to acquire a distributed lock with the given scope.
+     * When the lock is homed in this region (explicitly through region-local scope,
+     * or because it is acquired repeatedly from here) the vote round is skipped.
+     */
+    public CompletableFuture<LockResult<Lock>> acquireLock(String lockId, String clientId, long timeoutMs,
+                                                           LockScope scope) {
+        return acquireLock(lockId, clientId, timeoutMs, scope, null);
+    }
+
+    /**
+     * Attempts to acquire a distributed lock under a session, if one is given.
+     * A session-bound lock expires with its session rather than after timeoutMs,
+     * and is kept alive by the session's keepalives.
+     */
+    public CompletableFuture<LockResult<Lock>> acquireLock(String lockId, String clientId, long timeoutMs,
+                                                           LockScope scope, String sessionId) {
+        return lockMetrics.timeLockOperation("acquire",
+                        () -> acquire(lockId, clientId, timeoutMs, scope, sessionId))
+                .whenComplete((result, e) -> {
+                    if (result != null && !result.isSuccess()
+                            && result.getError().status() == LockStatus.ALREADY_LOCKED) {
+                        contentionTracker.record(ContentionTracker.Kind.ALREADY_LOCKED, lockId);
+                    }
+                });
+    }
+
+    private CompletableFuture<LockResult<Lock>> acquire(String lockId, String clientId, long timeoutMs,
+                                                        LockScope scope, String sessionId) {
+        log.debug("Acquire lock request: lockId={}, clientId={}, timeout={}, scope={}, session={}",
+                lockId, clientId, timeoutMs, scope, sessionId);
 
         // Validate inputs
         if (!Lock.isValidLockId(lockId)) {
@@ -59,6 +112,29 @@ public class LockService {
         // Normalize timeout
         long normalizedTimeout = lockConfig.normalizeTimeout(timeoutMs);
 
+        // A session-bound lock lives as long as its session
+        if (sessionId != null) {
+            var session = lockStore.getSession(sessionId).filter(s -> !s.isExpired());
+            if (session.isEmpty()) {
+                return CompletableFuture.completedFuture(
+                        LockResult.failure(LockError.sessionExpired(sessionId))
+                );
+            }
+            if (!session.get().isOwnedBy(clientId)) {
+                return CompletableFuture.completedFuture(
+                        LockResult.failure(LockStatus.ERROR, "Session not owned by this client")
+                );
+            }
+            // Sessions are kept alive through the region's log only
+            if (globalRaftGroup.isEnabled()) {
+                return CompletableFuture.completedFuture(
+                        LockResult.failure(LockStatus.ERROR,
+                                "Session-bound locks are not supported with the global Raft group")
+                );
+            }
+            normalizedTimeout = Math.max(session.get().remainingMs(), 1);
+        }
+
         // Check if we're the leader
         if (!raftNode.isLeader()) {
             return CompletableFuture.completedFuture(
@@ -68,43 +144,112 @@ public class LockService {
             );
         }
 
+        // A held lock fails here, before a fencing token is drawn
+        var existingLock = lockStore.get(lockId);
+        if (existingLock.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.alreadyLocked(
+                            existingLock.get().holderId(), existingLock.get().fencingToken()
+                    ))
+            );
+        }
+
+        if (!lockConfig.isInFlightTableEnabled()) {
+            return acquireUncontended(lockId, clientId, normalizedTimeout, scope, sessionId);
+        }
+
+        // Only one acquisition per lock goes on to the quorum round at a time
+        var attempt = new InFlightAcquisitions.Attempt(clientId, sessionId, scope, timeoutMs);
+        var inFlight = inFlightAcquisitions.register(lockId, attempt);
+        if (inFlight != null) {
+            return acquireContended(lockId, clientId, timeoutMs, scope, sessionId, inFlight);
+        }
+
+        acquireUncontended(lockId, clientId, normalizedTimeout, scope, sessionId)
+                .whenComplete((result, e) -> inFlightAcquisitions.complete(lockId, attempt,
+                        e == null ? result : LockResult.failure(LockError.error(e.getMessage()))));
+        return attempt.result();
+    }
+
+    /**
+     * Returns the table of acquisitions this node has in flight.
+     */
+    public InFlightAcquisitions getInFlightAcquisitions() {
+        return inFlightAcquisitions;
+    }
+
+    /**
+     * Handles an acquire that found another acquisition of the same lock in flight.
+     * A retry from the same client, with the same session, scope and timeout, shares
+     * that attempt's outcome. Any other acquire competes with it, even one from the
+     * same client: it fails fast, or with waitForInFlightAcquire waits for the
+     * outcome and tries again only if the attempt failed.
+     */
+    private CompletableFuture<LockResult<Lock>> acquireContended(String lockId, String clientId, long timeoutMs,
+                                                                 LockScope scope, String sessionId,
+                                                                 InFlightAcquisitions.Attempt inFlight) {
+        if (inFlight.isRetry(clientId, sessionId, scope, timeoutMs)) {
+            log.debug("Acquire of lock {} by {} joins the attempt in flight", lockId, clientId);
+            inFlightAcquisitions.recordJoined();
+            return inFlight.result();
+        }
+
+        if (!lockConfig.isWaitForInFlightAcquire()) {
+            log.debug("Cannot acquire lock {} - acquisition in flight for {}", lockId, inFlight.clientId());
+            inFlightAcquisitions.recordRejected();
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.alreadyLocked(
+                            inFlight.clientId(),
+                            0L  // No token yet, acquisition pending
+                    ))
+            );
+        }
+
+        inFlightAcquisitions.recordWaited();
+        return inFlight.result().thenCompose(result -> {
+            if (result.isSuccess()) {
+                return CompletableFuture.completedFuture(
+                        LockResult.<Lock>failure(LockError.alreadyLocked(
+                                result.getValue().holderId(), result.getValue().fencingToken()
+                        ))
+                );
+            }
+            return acquire(lockId, clientId, timeoutMs, scope, sessionId);
+        });
+    }
+
+    /**
+     * Draws a fencing token, runs the quorum round and commits the lock via Raft.
+     * With the global Raft group the lock commits through the global log instead,
+     * whatever its scope, and the group draws the token.
+     */
+    private CompletableFuture<LockResult<Lock>> acquireUncontended(String lockId, String clientId,
+                                                                   long normalizedTimeout, LockScope scope,
+                                                                   String sessionId) {
+        if (globalRaftGroup.isEnabled()) {
+            return commitGlobal(LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(
+                    lockId, clientId, regionConfig.getRegionId(), 0, normalizedTimeout));
+        }
+
         // Generate fencing token
         long fencingToken = tokenGenerator.nextToken(lockId);
         String regionId = regionConfig.getRegionId();
 
-        // Request quorum from other regions
-        return quorumManager.requestLockQuorum(lockId, clientId, fencingToken, normalizedTimeout)
+        // Keep the caller's trace current across the thread hops of lease and quorum rounds
+        var traceContext = Context.current();
+
+        // Request quorum from other regions (skipped when the lock is homed here)
+        return quorumManager.prepareLease(lockId, scope)
+                .thenCompose(v -> {
+                    try (var traceScope = traceContext.makeCurrent()) {
+                        return quorumManager.requestLockQuorum(lockId, clientId, fencingToken, normalizedTimeout);
+                    }
+                })
                 .thenCompose(quorumResult -> {
-                    if (!quorumResult.isSuccess()) {
-                        return CompletableFuture.completedFuture(
-                                LockResult.<Lock>failure(quorumResult.getError())
-                        );
+                    try (var traceScope = traceContext.makeCurrent()) {
+                        return commitAcquire(quorumResult, lockId, clientId, regionId, fencingToken,
+                                normalizedTimeout, sessionId);
                     }
-
-                    // Quorum achieved, commit via Raft
-                    var command = LockCommand.acquire(
-                            lockId, clientId, regionId, fencingToken, normalizedTimeout
-                    );
-
-                    return raftNode.submit(LogEntryType.ACQUIRE_LOCK, command)
-                            .thenApply(raftResult -> {
-                                if (raftResult.isSuccess()) {
-                                    // Notify other regions of successful acquisition
-                                    quorumManager.notifyLockAcquired(
-                                            lockId, regionId, clientId, fencingToken,
-                                            System.currentTimeMillis() + normalizedTimeout
-                                    );
-
-                                    return LockResult.success(Lock.create(
-                                            lockId, clientId, regionId, fencingToken, normalizedTimeout
-                                    ));
-                                }
-                                return LockResult.<Lock>failure(raftResult.getError());
-                            })
-                            .orTimeout(regionConfig.getQuorumTimeoutMs(), TimeUnit.MILLISECONDS)
-                            .exceptionally(e -> LockResult.failure(
-                                    LockError.timeout("Raft commit: " + e.getMessage())
-                            ));
                 })
                 .exceptionally(e -> {
                     log.error("Failed to acquire lock {}: {}", lockId, e.getMessage());
@@ -112,10 +257,58 @@ public class LockService {
                 });
     }
 
+    /**
+     * Commits an acquisition via Raft once its quorum round has succeeded.
+     */
+    private CompletableFuture<LockResult<Lock>> commitAcquire(LockResult<QuorumManager.QuorumResult> quorumResult,
+                                                              String lockId, String clientId, String regionId,
+                                                              long fencingToken, long normalizedTimeout,
+                                                              String sessionId) {
+        if (!quorumResult.isSuccess()) {
+            quorumManager.completeLocalAcquisition(lockId, fencingToken);
+            return CompletableFuture.completedFuture(
+                    LockResult.<Lock>failure(quorumResult.getError())
+            );
+        }
+
+        // Quorum achieved, commit via Raft. The entry may replace only a lock this
+        // leader already sees expired, however far the followers' clocks have got
+        var command = LockCommand.acquire(
+                lockId, clientId, regionId, fencingToken, normalizedTimeout, sessionId
+        ).withPreviousToken(lockStore.expiredToken(lockId));
+
+        // The reservation taken for the quorum round ends when Raft answers, even
+        // after the caller has timed out; an entry that never answers keeps it until it lapses
+        var commit = raftNode.submit(LogEntryType.ACQUIRE_LOCK, command)
+                .thenApply(raftResult -> {
+                    quorumManager.completeLocalAcquisition(lockId, fencingToken);
+                    if (raftResult.isSuccess()) {
+                        // Notify other regions of successful acquisition
+                        quorumManager.notifyLockAcquired(
+                                lockId, regionId, clientId, fencingToken,
+                                System.currentTimeMillis() + normalizedTimeout
+                        );
+
+                        return LockResult.success(Lock.create(
+                                lockId, clientId, regionId, fencingToken, normalizedTimeout
+                        ));
+                    }
+                    return LockResult.<Lock>failure(raftResult.getError());
+                });
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> LockResult.failure(
+                        LockError.timeout("Raft commit: " + e.getMessage())
+                ));
+    }
+
     /**
      * Releases a previously acquired lock.
      */
     public CompletableFuture<LockResult<Void>> releaseLock(String lockId, String clientId, long fencingToken) {
+        return lockMetrics.timeLockOperation("release", () -> release(lockId, clientId, fencingToken));
+    }
+
+    private CompletableFuture<LockResult<Void>> release(String lockId, String clientId, long fencingToken) {
         log.debug("Release lock request: lockId={}, clientId={}, token={}",
                 lockId, clientId, fencingToken);
 
@@ -131,6 +324,11 @@ public class LockService {
         // Verify the lock exists and is held by this client
         var existingLock = lockStore.get(lockId);
         if (existingLock.isEmpty()) {
+            // A global acquisition may not have reached this region's log yet
+            if (globalRaftGroup.isEnabled()) {
+                return commitGlobal(LogEntryType.RELEASE_LOCK,
+                        LockCommand.release(lockId, clientId, fencingToken));
+            }
             return CompletableFuture.completedFuture(
                     LockResult.failure(LockError.notFound(lockId))
             );
@@ -149,10 +347,14 @@ public class LockService {
             );
         }
 
+        if (globalRaftGroup.isEnabled()) {
+            return commitGlobal(LogEntryType.RELEASE_LOCK, LockCommand.release(lockId, clientId, fencingToken));
+        }
+
         // Commit release via Raft
         var command = LockCommand.release(lockId, clientId, fencingToken);
 
-        return raftNode.submit(LogEntryType.RELEASE_LOCK, command)
+        var commit = raftNode.submit(LogEntryType.RELEASE_LOCK, command)
                 .thenApply(raftResult -> {
                     if (raftResult.isSuccess()) {
                         // Notify other regions
@@ -160,14 +362,167 @@ public class LockService {
                         return LockResult.<Void>success(null);
                     }
                     return LockResult.<Void>failure(raftResult.getError());
-                })
-                .orTimeout(regionConfig.getQuorumTimeoutMs(), TimeUnit.MILLISECONDS)
+                });
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
                 .exceptionally(e -> {
                     log.error("Failed to release lock {}: {}", lockId, e.getMessage());
                     return LockResult.failure(LockError.timeout("Raft commit: " + e.getMessage()));
                 });
     }
 
+    /**
+     * Releases every lock a client holds, in any region, through one Raft entry.
+     * Other regions are told of each release as usual.
+     */
+    public CompletableFuture<LockResult<List<Lock>>> releaseAllByHolder(String holderId) {
+        return lockMetrics.timeLockOperation("release_all", () -> releaseAll(holderId));
+    }
+
+    private CompletableFuture<LockResult<List<Lock>>> releaseAll(String holderId) {
+        log.debug("Release all locks request: holderId={}", holderId);
+
+        if (holderId == null || holderId.isBlank()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockStatus.ERROR, "Holder ID is required")
+            );
+        }
+
+        // Check if we're the leader
+        if (!raftNode.isLeader()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.notLeader(
+                            raftNode.getLeaderId().orElse("unknown")
+                    ))
+            );
+        }
+
+        if (globalRaftGroup.isEnabled()) {
+            return commitGlobal(LogEntryType.RELEASE_ALL_BY_HOLDER, LockCommand.releaseAllByHolder(holderId));
+        }
+
+        if (lockStore.getLocksByHolder(holderId).isEmpty()) {
+            return CompletableFuture.completedFuture(LockResult.success(List.of()));
+        }
+
+        // Commit the batch release via Raft
+        var command = LockCommand.releaseAllByHolder(holderId);
+
+        var commit = raftNode.submit(LogEntryType.RELEASE_ALL_BY_HOLDER, command)
+                .thenApply(raftResult -> {
+                    if (raftResult.isSuccess()) {
+                        @SuppressWarnings("unchecked")
+                        var released = (List<Lock>) raftResult.getValue();
+                        // Notify other regions
+                        released.forEach(lock -> quorumManager.notifyLockReleased(
+                                lock.lockId(), lock.fencingToken()));
+                        return LockResult.success(released);
+                    }
+                    return LockResult.<List<Lock>>failure(raftResult.getError());
+                });
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> {
+                    log.error("Failed to release locks of {}: {}", holderId, e.getMessage());
+                    return LockResult.failure(LockError.timeout("Raft commit: " + e.getMessage()));
+                });
+    }
+
+    /**
+     * Extends a held lock so it expires timeoutMs from now.
+     * Other regions learn the new expiry through the same event path as acquisitions.
+     */
+    public CompletableFuture<LockResult<Lock>> extendLock(String lockId, String clientId,
+                                                          long fencingToken, long timeoutMs) {
+        return lockMetrics.timeLockOperation("extend", () -> extend(lockId, clientId, fencingToken, timeoutMs));
+    }
+
+    private CompletableFuture<LockResult<Lock>> extend(String lockId, String clientId,
+                                                       long fencingToken, long timeoutMs) {
+        log.debug("Extend lock request: lockId={}, clientId={}, token={}, timeout={}",
+                lockId, clientId, fencingToken, timeoutMs);
+
+        // Check if we're the leader
+        if (!raftNode.isLeader()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.notLeader(
+                            raftNode.getLeaderId().orElse("unknown")
+                    ))
+            );
+        }
+
+        // The global state machine checks the holder and token itself
+        var expiresAt = Instant.now().plusMillis(lockConfig.normalizeTimeout(timeoutMs));
+        if (globalRaftGroup.isEnabled()) {
+            return commitGlobal(LogEntryType.EXTEND_LOCK,
+                    LockCommand.extend(lockId, clientId, fencingToken, expiresAt));
+        }
+
+        // Verify the lock exists and is held by this client
+        var existingLock = lockStore.get(lockId);
+        if (existingLock.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.notFound(lockId))
+            );
+        }
+
+        var lock = existingLock.get();
+        if (!lock.matchesToken(fencingToken)) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.invalidToken(lock.fencingToken(), fencingToken))
+            );
+        }
+
+        if (!lock.holderId().equals(clientId)) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockStatus.ERROR, "Lock not held by this client")
+            );
+        }
+
+        // Commit extension via Raft
+        var command = LockCommand.extend(lockId, clientId, fencingToken, expiresAt);
+
+        var commit = raftNode.submit(LogEntryType.EXTEND_LOCK, command)
+                .thenApply(raftResult -> {
+                    if (raftResult.isSuccess()) {
+                        // Notify other regions of the new expiry
+                        quorumManager.notifyLockAcquired(
+                                lockId, lock.holderRegion(), clientId, fencingToken,
+                                expiresAt.toEpochMilli()
+                        );
+                        return LockResult.success(new Lock(lockId, clientId, lock.holderRegion(),
+                                fencingToken, lock.acquiredAt(), expiresAt));
+                    }
+                    return LockResult.<Lock>failure(raftResult.getError());
+                });
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> {
+                    log.error("Failed to extend lock {}: {}", lockId, e.getMessage());
+                    return LockResult.failure(LockError.timeout("Raft commit: " + e.getMessage()));
+                });
+    }
+
+    /**
+     * Commits a command through the global Raft group of region leaders. Every
+     * region, this one included, then applies it through its own log; success is
+     * reported only once this region has, so a read here sees the change.
+     */
+    private <T> CompletableFuture<LockResult<T>> commitGlobal(LogEntryType type, LockCommand command) {
+        var commit = globalRaftGroup.submit(type, command)
+                .thenApply(result -> {
+                    if (result.isSuccess()) {
+                        @SuppressWarnings("unchecked")
+                        var value = (T) result.getValue();
+                        return LockResult.success(value);
+                    }
+                    return LockResult.<T>failure(result.getError());
+                });
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> {
+                    log.error("Failed to commit {} of {} through the global group: {}",
+                            type, command.lockId(), e.getMessage());
+                    return LockResult.failure(LockError.timeout("Global commit: " + e.getMessage()));
+                });
+    }
+
     /**
      * Checks the status of a lock.
      */
@@ -187,6 +542,52 @@ public class LockService {
                 .orElseGet(() -> LockResult.failure(LockError.notFound(lockId)));
     }
 
+    /**
+     * Checks a batch of fencing tokens against local state, one result per check
+     * in order. A token is valid only while it is the current holder's. Any node
+     * can answer; a follower may trail the leader by the replication lag.
+     */
+    public LockResult<List<TokenValidity>> validateTokens(List<TokenCheck> checks) {
+        if (checks.size() > lockConfig.getMaxTokenChecksPerRequest()) {
+            return LockResult.failure(LockError.error("At most " + lockConfig.getMaxTokenChecksPerRequest()
+                    + " tokens can be checked per request, got " + checks.size()));
+        }
+
+        return LockResult.success(checks.stream()
+                .map(check -> lockStore.get(check.lockId())
+                        .map(lock -> new TokenValidity(check.lockId(), lock.matchesToken(check.fencingToken()),
+                                lock.fencingToken(), lock.expiresAt().toEpochMilli()))
+                        .orElseGet(() -> new TokenValidity(check.lockId(), false, 0, 0)))
+                .toList());
+    }
+
+    /**
+     * Lists active locks from local state, a page at a time, optionally only those
+     * of one holder and/or one holder region. Any node can answer.
+     */
+    public LockStore.LockPage listLocks(String holderId, String holderRegion, String pageToken, int pageSize) {
+        log.debug("List locks request: holderId={}, holderRegion={}, pageToken={}, pageSize={}",
+                holderId, holderRegion, pageToken, pageSize);
+
+        return lockStore.listLocks(holderId, holderRegion, pageToken, lockConfig.normalizePageSize(pageSize));
+    }
+
+    /**
+     * A fencing token presented for a lock.
+     */
+    public record TokenCheck(String lockId, long fencingToken) {}
+
+    /**
+     * Whether a presented token is current, with the lock's actual token and
+     * expiry (both 0 if the lock is not held).
+     */
+    public record TokenValidity(
+            String lockId,
+            boolean valid,
+            long currentFencingToken,
+            long expiresAt
+    ) {}
+
     /**
      * Information about a lock's current state.
      */
@@ -8,67 +8,85 @@
 
 package com.gaestalt.lock.service;
 
+import com.gaestalt.lock.jfr.LockExpirySweepEvent;
 import com.gaestalt.lock.model.Lock;
 import com.gaestalt.lock.model.LockError;
 import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.Session;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
-import java.time.Duration;
+import java.time.Clock;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * Thread-safe in-memory storage for distributed locks.
- * Uses virtual threads for lock expiration cleanup.
+ * Keeps a per-region {@link LockDigest} up to date so regions can reconcile
+ * by exchanging only the parts of their state that differ.
+ *
+ * Locks acquired under a {@link Session} take the session's expiry and are moved
+ * with it by each keepalive. Expiry leaves them alone; they are released
+ * together when the session is closed.
+ *
+ * Expired locks are removed when the Raft leader's batched expiry entries are
+ * applied ({@link #expireLocks}), so every node of a region drops the same locks
+ * at the same log position and none sweeps on its own clock. Until then they stay
+ * in the map but are treated as absent. Applying a committed acquire, extend or
+ * keepalive does not read the clock either: an acquire replaces only the expired
+ * lock its proposer named, and the leader decides whether a lock or session it
+ * extends had expired. The global group's members work the same way, with
+ * expiry entries proposed by the group's leader.
+ *
+ * Change listeners are told the ID of each lock that may have been acquired,
+ * released or extended, after the change is visible to {@link #get}.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LockStore {
-    private static final Duration CLEANUP_INTERVAL = Duration.ofSeconds(1);
-
     private final Map<String, Lock> locks = new ConcurrentHashMap<>();
+    private final LockDigest digest = new LockDigest();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionLocks = new ConcurrentHashMap<>();
+    private final Map<String, String> lockSessions = new ConcurrentHashMap<>();
+    // Lock IDs, overall and by holder and by holder region, in order so listings can page through them
+    private final NavigableSet<String> lockIds = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<String>> holderIndex = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<String>> regionIndex = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
     private final FencingTokenGenerator tokenGenerator;
-    private ScheduledExecutorService cleanupExecutor;
-
-    @PostConstruct
-    public void startCleanupTask() {
-        cleanupExecutor = Executors.newSingleThreadScheduledExecutor(
-                Thread.ofVirtual().name("lock-cleanup-", 0).factory()
-        );
-        cleanupExecutor.scheduleAtFixedRate(
-                this::cleanupExpiredLocks,
-                CLEANUP_INTERVAL.toMillis(),
-                CLEANUP_INTERVAL.toMillis(),
-                TimeUnit.MILLISECONDS
-        );
-        log.info("Lock cleanup task started with interval: {}", CLEANUP_INTERVAL);
-    }
-
-    @PreDestroy
-    public void stopCleanupTask() {
-        if (cleanupExecutor != null) {
-            cleanupExecutor.shutdown();
-            try {
-                if (!cleanupExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    cleanupExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                cleanupExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+    private volatile Clock clock = Clock.systemUTC();
+
+    /**
+     * Replaces the clock that decides when locks and sessions expire, e.g. to skew
+     * one node's clock in a fault-injection run. Lock and session expiry times
+     * still come from the commands that set them.
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a listener called with a lock's ID after the lock may have changed.
+     * Listeners run on the mutating thread and must not block.
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
     }
 
     /**
@@ -88,21 +106,97 @@ public class LockStore {
     }
 
     /**
-     * Acquires a lock with a pre-determined fencing token (used for distributed consensus).
+     * Acquires a lock with a pre-determined fencing token outside the log, e.g. as a
+     * local fallback. It may replace a lock that has expired by this node's clock.
      */
     public LockResult<Lock> acquireWithToken(String lockId, String clientId, String regionId,
                                               long fencingToken, Instant expiresAt) {
-        return computeIfAbsentOrExpired(lockId, existing ->
-            new Lock(lockId, clientId, regionId, fencingToken, Instant.now(), expiresAt)
-        );
+        return acquireWithToken(lockId, clientId, regionId, fencingToken, expiresAt, null);
+    }
+
+    /**
+     * Acquires a lock with a pre-determined fencing token outside the log, binding
+     * it to a session if one is given.
+     */
+    public LockResult<Lock> acquireWithToken(String lockId, String clientId, String regionId,
+                                              long fencingToken, Instant expiresAt, String sessionId) {
+        return acquireWithToken(lockId, clientId, regionId, fencingToken, expiredToken(lockId),
+                clock.instant(), expiresAt, sessionId);
+    }
+
+    /**
+     * Applies a committed acquisition with a pre-determined fencing token (used for
+     * distributed consensus). The lock is taken only if it is absent, or is still the
+     * lock holding previousToken, which the proposer saw expired. Nothing here reads
+     * this node's clock, so every node applying the entry reaches the same result,
+     * and a command applied after its expiry still takes the lock, already expired.
+     *
+     * A sessionId binds the lock to that session, which then sets its expiry. The
+     * session need only be open; the leader checks that it has not expired before
+     * proposing, and closes it through the log once it has.
+     */
+    public LockResult<Lock> acquireWithToken(String lockId, String clientId, String regionId,
+                                              long fencingToken, long previousToken,
+                                              Instant acquiredAt, Instant expiresAt, String sessionId) {
+        var session = sessionId != null ? sessions.get(sessionId) : null;
+        if (sessionId != null && session == null) {
+            return LockResult.failure(LockError.sessionExpired(sessionId));
+        }
+
+        var lockExpiresAt = session != null ? session.expiresAt() : expiresAt;
+        var lockAcquiredAt = acquiredAt.isBefore(lockExpiresAt) ? acquiredAt : lockExpiresAt.minusMillis(1);
+        var result = new LockResult[] { null };
+
+        locks.compute(lockId, (key, existing) -> {
+            if (existing != null && existing.fencingToken() != previousToken) {
+                result[0] = LockResult.failure(
+                        LockError.alreadyLocked(existing.holderId(), existing.fencingToken())
+                );
+                return existing;
+            }
+
+            var newLock = new Lock(lockId, clientId, regionId, fencingToken, lockAcquiredAt, lockExpiresAt);
+            if (existing != null) {
+                removed(existing);
+            }
+            added(newLock);
+            result[0] = LockResult.success(newLock);
+            log.debug("Lock acquired: {} by {}", lockId, clientId);
+            return newLock;
+        });
+
+        if (result[0].isSuccess()) {
+            if (session != null) {
+                lockSessions.put(lockId, sessionId);
+                sessionLocks.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(lockId);
+            }
+            changed(lockId);
+        }
+        // Keeps every node's generator ahead of the tokens it has seen, should it lead next
+        tokenGenerator.updateToken(lockId, fencingToken);
+        return result[0];
+    }
+
+    /**
+     * Returns the fencing token of the lock held under lockId if it has expired by
+     * this node's clock, or 0 if the lock is absent or still held. A proposer puts
+     * it in an acquire entry as the one lock the acquisition may replace.
+     */
+    public long expiredToken(String lockId) {
+        var existing = locks.get(lockId);
+        return existing != null && isExpired(existing) ? existing.fencingToken() : 0;
     }
 
     private LockResult<Lock> computeIfAbsentOrExpired(String lockId, Function<Lock, Lock> lockCreator) {
         var result = new LockResult[] { null };
 
         locks.compute(lockId, (key, existing) -> {
-            if (existing == null || existing.isExpired()) {
+            if (existing == null || isExpired(existing)) {
                 Lock newLock = lockCreator.apply(existing);
+                if (existing != null) {
+                    removed(existing);
+                }
+                added(newLock);
                 result[0] = LockResult.success(newLock);
                 log.debug("Lock acquired: {} by {}", lockId, newLock.holderId());
                 return newLock;
@@ -114,6 +208,9 @@ public class LockStore {
             }
         });
 
+        if (result[0].isSuccess()) {
+            changed(lockId);
+        }
         return result[0];
     }
 
@@ -134,8 +231,9 @@ public class LockStore {
                 return null;
             }
 
-            if (existing.isExpired()) {
+            if (isExpired(existing)) {
                 result[0] = LockResult.failure(LockError.expired(lockId));
+                removed(existing);
                 return null;
             }
 
@@ -155,9 +253,11 @@ public class LockStore {
 
             log.debug("Lock released: {} by {}", lockId, clientId);
             result[0] = LockResult.success(null);
+            removed(existing);
             return null;
         });
 
+        changed(lockId);
         return result[0];
     }
 
@@ -182,18 +282,179 @@ public class LockStore {
 
             log.debug("Lock released by token: {}", lockId);
             result[0] = LockResult.success(null);
+            removed(existing);
             return null;
         });
 
+        changed(lockId);
+        return result[0];
+    }
+
+    /**
+     * Moves the expiry of a held lock if the fencing token matches.
+     * A null clientId skips the holder check (used for distributed extension).
+     * Whether the lock had expired is the proposer's call, so this node's clock is
+     * not consulted; a lock an expiry batch has removed is no longer found.
+     */
+    public LockResult<Lock> extend(String lockId, String clientId, long fencingToken, Instant expiresAt) {
+        var result = new LockResult[] { null };
+
+        locks.computeIfPresent(lockId, (key, existing) -> {
+            if (!existing.matchesToken(fencingToken)) {
+                result[0] = LockResult.failure(
+                        LockError.invalidToken(existing.fencingToken(), fencingToken)
+                );
+                return existing;
+            }
+
+            if (clientId != null && !existing.holderId().equals(clientId)) {
+                result[0] = LockResult.failure(LockError.error(
+                        "Lock is held by different client: " + existing.holderId()
+                ));
+                return existing;
+            }
+
+            if (lockSessions.containsKey(lockId)) {
+                result[0] = LockResult.failure(LockError.error(
+                        "Lock is held under a session; keep the session alive instead"
+                ));
+                return existing;
+            }
+
+            // The digest hash does not cover expiry, so it is unchanged
+            var extended = new Lock(lockId, existing.holderId(), existing.holderRegion(),
+                    existing.fencingToken(), existing.acquiredAt(), expiresAt);
+            log.debug("Lock extended: {} until {}", lockId, expiresAt);
+            result[0] = LockResult.success(extended);
+            return extended;
+        });
+
+        if (result[0] == null) {
+            return LockResult.failure(LockError.notFound(lockId));
+        }
+        if (result[0].isSuccess()) {
+            changed(lockId);
+        }
+        return result[0];
+    }
+
+    /**
+     * Opens a session. Opening a session that already exists is a no-op.
+     */
+    public LockResult<Session> openSession(Session session) {
+        var opened = sessions.putIfAbsent(session.sessionId(), session);
+        log.debug("Session opened: {} for {}", session.sessionId(), session.clientId());
+        return LockResult.success(opened != null ? opened : session);
+    }
+
+    /**
+     * Moves the expiry of a session, and of every lock held under it, to expiresAt.
+     * A null clientId skips the owner check. The session need only still be open;
+     * whether it had expired is the leader's call, as for {@link #extend}.
+     */
+    public LockResult<Session> keepAliveSession(String sessionId, String clientId, Instant expiresAt) {
+        var result = new LockResult[] { null };
+
+        sessions.compute(sessionId, (key, existing) -> {
+            if (existing == null) {
+                result[0] = LockResult.failure(LockError.sessionExpired(sessionId));
+                return existing;
+            }
+
+            if (clientId != null && !existing.isOwnedBy(clientId)) {
+                result[0] = LockResult.failure(LockError.error(
+                        "Session is owned by different client: " + existing.clientId()
+                ));
+                return existing;
+            }
+
+            var renewed = existing.renew(expiresAt);
+            for (var lockId : sessionLocks.getOrDefault(sessionId, Set.of())) {
+                // The digest hash does not cover expiry, so it is unchanged
+                locks.computeIfPresent(lockId, (id, lock) -> new Lock(lockId, lock.holderId(),
+                        lock.holderRegion(), lock.fencingToken(), lock.acquiredAt(), expiresAt));
+            }
+            log.debug("Session kept alive: {} until {}", sessionId, expiresAt);
+            result[0] = LockResult.success(renewed);
+            return renewed;
+        });
+
+        if (result[0].isSuccess()) {
+            sessionLocks.getOrDefault(sessionId, Set.of()).forEach(this::changed);
+        }
         return result[0];
     }
 
+    /**
+     * Closes a session and releases every lock held under it, returning the
+     * released locks. Closing a session that no longer exists succeeds with no
+     * locks. A null clientId skips the owner check (used on expiry).
+     */
+    public LockResult<List<Lock>> closeSession(String sessionId, String clientId) {
+        var session = sessions.get(sessionId);
+        if (session == null) {
+            return LockResult.success(List.of());
+        }
+        if (clientId != null && !session.isOwnedBy(clientId)) {
+            return LockResult.failure(LockError.error(
+                    "Session is owned by different client: " + session.clientId()
+            ));
+        }
+
+        sessions.remove(sessionId);
+        var released = new ArrayList<Lock>();
+        for (var lockId : sessionLocks.getOrDefault(sessionId, Set.of())) {
+            locks.computeIfPresent(lockId, (key, existing) -> {
+                removed(existing);
+                released.add(existing);
+                return null;
+            });
+        }
+        sessionLocks.remove(sessionId);
+        released.forEach(lock -> changed(lock.lockId()));
+
+        log.debug("Session closed: {}, released {} locks", sessionId, released.size());
+        return LockResult.success(List.copyOf(released));
+    }
+
+    /**
+     * Gets a session, whether or not it has expired.
+     */
+    public Optional<Session> getSession(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * Gets the IDs of the locks held under a session.
+     */
+    public Set<String> getSessionLocks(String sessionId) {
+        return Set.copyOf(sessionLocks.getOrDefault(sessionId, Set.of()));
+    }
+
+    /**
+     * Gets the sessions that have expired but not yet been closed.
+     */
+    public List<Session> getExpiredSessions() {
+        return sessions.values().stream()
+                .filter(this::isExpired)
+                .toList();
+    }
+
+    /**
+     * Gets the count of open, unexpired sessions.
+     */
+    public int getActiveSessionCount() {
+        return (int) sessions.values().stream()
+                .filter(session -> !isExpired(session))
+                .count();
+    }
+
     /**
      * Gets the current state of a lock.
      */
     public Optional<Lock> get(String lockId) {
         return Optional.ofNullable(locks.get(lockId))
-                .filter(lock -> !lock.isExpired());
+                .filter(lock -> !isExpired(lock));
     }
 
     /**
@@ -208,24 +469,183 @@ public class LockStore {
      */
     public Collection<Lock> getAllActiveLocks() {
         return locks.values().stream()
-                .filter(lock -> !lock.isExpired())
+                .filter(lock -> !isExpired(lock))
+                .toList();
+    }
+
+    /**
+     * Gets the active locks held by a region that fall in the given digest buckets.
+     */
+    public List<Lock> getActiveLocksInBuckets(String holderRegion, Set<Integer> buckets) {
+        return regionIndex.getOrDefault(holderRegion, Collections.emptyNavigableSet()).stream()
+                .filter(lockId -> buckets.contains(LockDigest.bucketOf(lockId)))
+                .map(locks::get)
+                .filter(lock -> lock != null && !isExpired(lock))
+                .toList();
+    }
+
+    /**
+     * Gets the active locks held by a client, in any region.
+     */
+    public List<Lock> getLocksByHolder(String holderId) {
+        return activeLocks(holderIndex.getOrDefault(holderId, Collections.emptyNavigableSet()));
+    }
+
+    /**
+     * Gets the active locks held by clients of a region.
+     */
+    public List<Lock> getLocksByRegion(String holderRegion) {
+        return activeLocks(regionIndex.getOrDefault(holderRegion, Collections.emptyNavigableSet()));
+    }
+
+    /**
+     * Lists active locks in lock ID order, a page at a time, optionally only those
+     * of one holder and/or one holder region. Each listing walks an index of lock
+     * IDs from the page token on: the holder or region index when filtered, the
+     * index of every lock otherwise.
+     *
+     * @param holderId     Only locks held by this client, or null for any
+     * @param holderRegion Only locks held from this region, or null for any
+     * @param afterLockId  The previous page's nextPageToken, or null for the first page
+     * @param pageSize     Maximum locks in the page
+     * @return The page, with a nextPageToken if more locks follow
+     */
+    public LockPage listLocks(String holderId, String holderRegion, String afterLockId, int pageSize) {
+        NavigableSet<String> index;
+        if (holderId != null) {
+            index = holderIndex.getOrDefault(holderId, Collections.emptyNavigableSet());
+        } else if (holderRegion != null) {
+            index = regionIndex.getOrDefault(holderRegion, Collections.emptyNavigableSet());
+        } else {
+            index = lockIds;
+        }
+
+        var page = new ArrayList<Lock>();
+        for (var lockId : afterLockId == null ? index : index.tailSet(afterLockId, false)) {
+            var lock = locks.get(lockId);
+            if (lock == null || isExpired(lock)
+                    || (holderRegion != null && !holderRegion.equals(lock.holderRegion()))) {
+                continue;
+            }
+            if (page.size() == pageSize) {
+                return new LockPage(List.copyOf(page), page.get(page.size() - 1).lockId());
+            }
+            page.add(lock);
+        }
+        return new LockPage(List.copyOf(page), null);
+    }
+
+    /**
+     * Releases every lock held by a client, in any region, returning the released
+     * locks (used when a client process is gone).
+     */
+    public LockResult<List<Lock>> releaseAllByHolder(String holderId) {
+        var released = new ArrayList<Lock>();
+        for (var lockId : holderIndex.getOrDefault(holderId, Collections.emptyNavigableSet())) {
+            locks.computeIfPresent(lockId, (key, existing) -> {
+                if (!existing.holderId().equals(holderId)) {
+                    return existing;
+                }
+                removed(existing);
+                released.add(existing);
+                return null;
+            });
+        }
+
+        released.forEach(lock -> changed(lock.lockId()));
+
+        log.debug("Released {} locks held by {}", released.size(), holderId);
+        return LockResult.success(List.copyOf(released));
+    }
+
+    private List<Lock> activeLocks(Collection<String> lockIds) {
+        return lockIds.stream()
+                .map(locks::get)
+                .filter(lock -> lock != null && !isExpired(lock))
                 .toList();
     }
 
+    /**
+     * Returns the bucket digests of the locks held by a region.
+     * Expired locks stay in the digest until an expiry batch removes them.
+     */
+    public long[] getDigest(String holderRegion) {
+        return digest.snapshot(holderRegion);
+    }
+
     /**
      * Gets the count of active locks.
      */
     public int getActiveLockCount() {
         return (int) locks.values().stream()
-                .filter(lock -> !lock.isExpired())
+                .filter(lock -> !isExpired(lock))
                 .count();
     }
 
+    /**
+     * Finds up to limit expired locks not held under a session, for the leader
+     * to propose removing.
+     */
+    public List<Lock> findExpiredLocks(int limit) {
+        var event = new LockExpirySweepEvent();
+        event.begin();
+        int scanned = locks.size();
+
+        var expired = locks.values().stream()
+                .filter(this::isExpired)
+                .filter(lock -> !lockSessions.containsKey(lock.lockId()))
+                .limit(limit)
+                .toList();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.scanned = scanned;
+            event.expired = expired.size();
+            event.commit();
+        }
+        return expired;
+    }
+
+    /**
+     * Removes locks a committed expiry batch names, returning those removed.
+     * A lock is removed only while it still has the fencing token and expiry the
+     * leader saw (to the microsecond, as snapshots keep it) and is not held under
+     * a session; the node's own clock is not consulted, so every node removes the
+     * same locks. The fencing token sequence
+     * of each removed lock is retired with it.
+     */
+    public LockResult<List<Lock>> expireLocks(List<ExpiredLock> expired) {
+        var removed = new ArrayList<Lock>();
+        for (var candidate : expired) {
+            locks.computeIfPresent(candidate.lockId(), (key, existing) -> {
+                if (!existing.matchesToken(candidate.fencingToken())
+                        || existing.expiresAt().truncatedTo(ChronoUnit.MICROS).isAfter(candidate.expiresAt())
+                        || lockSessions.containsKey(key)) {
+                    return existing;
+                }
+                removed(existing);
+                removed.add(existing);
+                return null;
+            });
+        }
+
+        for (var lock : removed) {
+            tokenGenerator.retire(lock.lockId());
+            changed(lock.lockId());
+        }
+        log.debug("Expired {} of {} locks in batch", removed.size(), expired.size());
+        return LockResult.success(List.copyOf(removed));
+    }
+
     /**
      * Forces the removal of a lock (for administrative purposes).
      */
     public void forceRemove(String lockId) {
-        locks.remove(lockId);
+        locks.computeIfPresent(lockId, (key, existing) -> {
+            removed(existing);
+            return null;
+        });
+        changed(lockId);
         log.warn("Lock forcibly removed: {}", lockId);
     }
 
@@ -233,20 +653,143 @@ public class LockStore {
      * Clears all locks (for testing).
      */
     public void clear() {
+        var cleared = List.copyOf(locks.keySet());
         locks.clear();
+        lockIds.clear();
+        digest.clear();
+        sessions.clear();
+        sessionLocks.clear();
+        lockSessions.clear();
+        holderIndex.clear();
+        regionIndex.clear();
+        cleared.forEach(this::changed);
         log.warn("All locks cleared");
     }
 
-    private void cleanupExpiredLocks() {
-        var expiredCount = locks.entrySet().stream()
-                .filter(entry -> entry.getValue().isExpired())
-                .peek(entry -> log.debug("Cleaning up expired lock: {}", entry.getKey()))
-                .map(Map.Entry::getKey)
-                .peek(locks::remove)
-                .count();
+    /**
+     * Copies the locks and sessions held, for a snapshot. Mutations made while
+     * the copy is taken may or may not be included.
+     */
+    public StoreState exportState() {
+        return new StoreState(List.copyOf(locks.values()), List.copyOf(sessions.values()), Map.copyOf(lockSessions));
+    }
+
+    /**
+     * Replaces everything held with a snapshot's locks and sessions.
+     */
+    public void restore(StoreState state) {
+        clear();
+        state.sessions().forEach(session -> sessions.put(session.sessionId(), session));
+        for (var lock : state.locks()) {
+            locks.put(lock.lockId(), lock);
+            added(lock);
+            tokenGenerator.updateToken(lock.lockId(), lock.fencingToken());
+        }
+        state.lockSessions().forEach((lockId, sessionId) -> {
+            if (locks.containsKey(lockId)) {
+                lockSessions.put(lockId, sessionId);
+                sessionLocks.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(lockId);
+            }
+        });
+        state.locks().forEach(lock -> changed(lock.lockId()));
+        log.info("Restored {} locks and {} sessions", state.locks().size(), state.sessions().size());
+    }
+
+    /**
+     * The locks and sessions held at one point in time.
+     *
+     * @param locks        Every lock in the store, including expired ones not yet swept
+     * @param sessions     Every open session
+     * @param lockSessions The session each session-bound lock is held under
+     */
+    public record StoreState(List<Lock> locks, List<Session> sessions, Map<String, String> lockSessions) {}
+
+    /**
+     * A lock as the leader saw it when it found the lock expired.
+     *
+     * @param lockId       The lock identifier
+     * @param fencingToken The lock's fencing token
+     * @param expiresAt    The lock's expiry
+     */
+    public record ExpiredLock(String lockId, long fencingToken, Instant expiresAt) {
+
+        public static ExpiredLock of(Lock lock) {
+            return new ExpiredLock(lock.lockId(), lock.fencingToken(), lock.expiresAt());
+        }
+    }
 
-        if (expiredCount > 0) {
-            log.debug("Cleaned up {} expired locks", expiredCount);
+    /**
+     * One page of a lock listing.
+     *
+     * @param locks         The locks in this page
+     * @param nextPageToken Where the next page starts, or null if this is the last
+     */
+    public record LockPage(List<Lock> locks, String nextPageToken) {}
+
+    private boolean isExpired(Lock lock) {
+        return lock.isExpiredAt(clock.instant());
+    }
+
+    private boolean isExpired(Session session) {
+        return session.isExpiredAt(clock.instant());
+    }
+
+    private void changed(String lockId) {
+        for (var listener : changeListeners) {
+            try {
+                listener.accept(lockId);
+            } catch (RuntimeException e) {
+                log.warn("Lock change listener failed for {}: {}", lockId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Records a lock entering the map in the digest and the indexes.
+     */
+    private void added(Lock lock) {
+        digest.toggle(lock);
+        lockIds.add(lock.lockId());
+        index(holderIndex, lock.holderId(), lock.lockId());
+        index(regionIndex, lock.holderRegion(), lock.lockId());
+    }
+
+    /**
+     * Drops a lock leaving the map from the digest, the indexes and its session.
+     */
+    private void removed(Lock lock) {
+        digest.toggle(lock);
+        lockIds.remove(lock.lockId());
+        unindex(holderIndex, lock.holderId(), lock.lockId());
+        unindex(regionIndex, lock.holderRegion(), lock.lockId());
+        unbind(lock.lockId());
+    }
+
+    private static void index(Map<String, NavigableSet<String>> index, String key, String lockId) {
+        index.compute(key, (k, lockIds) -> {
+            var ids = lockIds != null ? lockIds : new ConcurrentSkipListSet<String>();
+            ids.add(lockId);
+            return ids;
+        });
+    }
+
+    private static void unindex(Map<String, NavigableSet<String>> index, String key, String lockId) {
+        index.computeIfPresent(key, (k, lockIds) -> {
+            lockIds.remove(lockId);
+            return lockIds.isEmpty() ? null : lockIds;
+        });
+    }
+
+    /**
+     * Drops a lock that is being removed from its session, if it has one.
+     */
+    private void unbind(String lockId) {
+        var sessionId = lockSessions.remove(lockId);
+        if (sessionId != null) {
+            sessionLocks.computeIfPresent(sessionId, (key, lockIds) -> {
+                lockIds.remove(lockId);
+                return lockIds;
+            });
         }
     }
 }
@@ -9,12 +9,10 @@
 package com.gaestalt.lock.service;
 
 import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
 import com.gaestalt.lock.grpc.generated.*;
 import com.gaestalt.lock.raft.RaftNode;
-import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * Forwards cross-region requests to the current Raft leader within this region.
  * Used when a follower receives a cross-region request that should be handled by the leader.
+ * Connections come from the shared channel factory.
  */
 @Slf4j
 @Component
@@ -33,12 +32,13 @@ public class RegionLeaderForwarder {
 
     private final RaftNode raftNode;
     private final RaftConfig raftConfig;
-    private final Map<String, ManagedChannel> channelCache = new ConcurrentHashMap<>();
+    private final GrpcChannelFactory channelFactory;
     private final Map<String, RegionServiceGrpc.RegionServiceBlockingStub> stubCache = new ConcurrentHashMap<>();
 
-    public RegionLeaderForwarder(RaftNode raftNode, RaftConfig raftConfig) {
+    public RegionLeaderForwarder(RaftNode raftNode, RaftConfig raftConfig, GrpcChannelFactory channelFactory) {
         this.raftNode = raftNode;
         this.raftConfig = raftConfig;
+        this.channelFactory = channelFactory;
     }
 
     /**
@@ -86,6 +86,83 @@ public class RegionLeaderForwarder {
         });
     }
 
+    /**
+     * Forwards a lease request to the current leader.
+     */
+    public Optional<LeaseResponse> forwardLeaseRequest(LeaseRequest request) {
+        return getLeaderStub().map(stub -> {
+            try {
+                log.debug("Forwarding lease request to leader for lock {}", request.getLockId());
+                return stub.withDeadlineAfter(5, TimeUnit.SECONDS).requestLease(request);
+            } catch (StatusRuntimeException e) {
+                log.warn("Failed to forward lease request to leader: {}", e.getStatus());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Forwards a lease released notification to the current leader.
+     */
+    public Optional<NotificationAck> forwardLeaseReleasedNotification(LeaseReleasedNotification notification) {
+        return getLeaderStub().map(stub -> {
+            try {
+                log.debug("Forwarding lease released notification to leader for lock {}", notification.getLockId());
+                return stub.withDeadlineAfter(5, TimeUnit.SECONDS).notifyLeaseReleased(notification);
+            } catch (StatusRuntimeException e) {
+                log.warn("Failed to forward lease released notification to leader: {}", e.getStatus());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Forwards a global Raft group vote request to the current leader.
+     */
+    public Optional<com.gaestalt.lock.raft.generated.VoteResponse> forwardGlobalVoteRequest(
+            com.gaestalt.lock.raft.generated.VoteRequest request) {
+        return getLeaderStub().map(stub -> {
+            try {
+                log.debug("Forwarding global vote request to leader for term {}", request.getTerm());
+                return stub.withDeadlineAfter(5, TimeUnit.SECONDS).globalRequestVote(request);
+            } catch (StatusRuntimeException e) {
+                log.warn("Failed to forward global vote request to leader: {}", e.getStatus());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Forwards global Raft group log replication to the current leader.
+     */
+    public Optional<com.gaestalt.lock.raft.generated.AppendEntriesResponse> forwardGlobalAppendEntries(
+            com.gaestalt.lock.raft.generated.AppendEntriesRequest request) {
+        return getLeaderStub().map(stub -> {
+            try {
+                log.debug("Forwarding global append entries to leader for term {}", request.getTerm());
+                return stub.withDeadlineAfter(5, TimeUnit.SECONDS).globalAppendEntries(request);
+            } catch (StatusRuntimeException e) {
+                log.warn("Failed to forward global append entries to leader: {}", e.getStatus());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Forwards a global proposal to the current leader.
+     */
+    public Optional<GlobalProposalResult> forwardGlobalProposal(GlobalProposal proposal) {
+        return getLeaderStub().map(stub -> {
+            try {
+                log.debug("Forwarding global proposal from {} to leader", proposal.getRequestingRegion());
+                return stub.withDeadlineAfter(5, TimeUnit.SECONDS).proposeGlobal(proposal);
+            } catch (StatusRuntimeException e) {
+                log.warn("Failed to forward global proposal to leader: {}", e.getStatus());
+                return null;
+            }
+        });
+    }
+
     /**
      * Gets a gRPC stub for the current leader.
      */
@@ -127,29 +204,9 @@ public class RegionLeaderForwarder {
 
     private RegionServiceGrpc.RegionServiceBlockingStub getOrCreateStub(String nodeId, String host, int port) {
         return stubCache.computeIfAbsent(nodeId, id -> {
-            ManagedChannel channel = channelCache.computeIfAbsent(nodeId, cid ->
-                    ManagedChannelBuilder.forAddress(host, port)
-                            .usePlaintext()
-                            .keepAliveTime(30, TimeUnit.SECONDS)
-                            .build()
-            );
-            log.info("Created region forwarding channel to {} at {}:{}", nodeId, host, port);
+            var channel = channelFactory.channel(host, port, GrpcChannelFactory.Link.LOCAL);
+            log.info("Created region forwarding stub for {} at {}:{}", nodeId, host, port);
             return RegionServiceGrpc.newBlockingStub(channel);
         });
     }
-
-    @PreDestroy
-    public void shutdown() {
-        log.info("Shutting down region leader forwarder channels");
-        for (var entry : channelCache.entrySet()) {
-            try {
-                entry.getValue().shutdown().awaitTermination(5, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                entry.getValue().shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
-        channelCache.clear();
-        stubCache.clear();
-    }
 }
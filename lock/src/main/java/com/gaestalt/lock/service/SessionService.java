@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.Session;
+import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftNode;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client sessions. A client opens a session with a TTL, acquires locks under it
+ * through {@link LockService}, and keeps every one of them alive with a single
+ * keepalive - one Raft entry however many locks the session holds.
+ *
+ * Closing a session releases its locks in one Raft entry. The leader also closes
+ * sessions that have gone a full TTL without a keepalive, on a timer-wheel task.
+ * Other regions hold session locks as ordinary locks and are told of each new
+ * expiry and release through the same events as single-lock operations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    private final RaftNode raftNode;
+    private final QuorumManager quorumManager;
+    private final LockStore lockStore;
+    private final LockConfig lockConfig;
+    private final RegionConfig regionConfig;
+    private final LockMetrics lockMetrics;
+    private final TimerWheel timerWheel;
+
+    // Expired sessions with a close already proposed
+    private final Set<String> closing = ConcurrentHashMap.newKeySet();
+    private TimerWheel.Timeout expiryCheck;
+
+    @PostConstruct
+    public void start() {
+        lockMetrics.gauge("lockmgr.sessions.active", "Open, unexpired client sessions",
+                Tags.empty(), lockStore, LockStore::getActiveSessionCount);
+        expiryCheck = timerWheel.scheduleAtFixedRate(this::closeExpiredSessions,
+                lockConfig.getSessionExpiryCheckMs(), lockConfig.getSessionExpiryCheckMs());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (expiryCheck != null) {
+            expiryCheck.cancel();
+        }
+    }
+
+    /**
+     * Opens a session for the client that expires ttlMs from now unless kept alive.
+     */
+    public CompletableFuture<LockResult<Session>> openSession(String clientId, long ttlMs) {
+        return lockMetrics.timeLockOperation("open_session", () -> open(clientId, ttlMs));
+    }
+
+    private CompletableFuture<LockResult<Session>> open(String clientId, long ttlMs) {
+        log.debug("Open session request: clientId={}, ttl={}", clientId, ttlMs);
+
+        if (clientId == null || clientId.isBlank()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.error("Client ID is required"))
+            );
+        }
+
+        if (!raftNode.isLeader()) {
+            return notLeader();
+        }
+
+        var command = LockCommand.openSession(UUID.randomUUID().toString(), clientId,
+                lockConfig.normalizeSessionTtl(ttlMs));
+
+        return commit(LogEntryType.OPEN_SESSION, command, "open session");
+    }
+
+    /**
+     * Extends the session, and every lock held under it, to one TTL from now.
+     */
+    public CompletableFuture<LockResult<Session>> keepAlive(String sessionId, String clientId) {
+        return lockMetrics.timeLockOperation("keepalive_session", () -> extend(sessionId, clientId));
+    }
+
+    private CompletableFuture<LockResult<Session>> extend(String sessionId, String clientId) {
+        log.debug("Keepalive request: sessionId={}, clientId={}", sessionId, clientId);
+
+        if (!raftNode.isLeader()) {
+            return notLeader();
+        }
+
+        var session = lockStore.getSession(sessionId).filter(s -> !s.isExpired());
+        if (session.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.sessionExpired(sessionId))
+            );
+        }
+
+        if (!session.get().isOwnedBy(clientId)) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.error("Session not owned by this client"))
+            );
+        }
+
+        var expiresAt = Instant.now().plusMillis(session.get().ttlMs());
+        var command = LockCommand.keepAliveSession(sessionId, clientId, expiresAt);
+
+        return this.<Session>commit(LogEntryType.KEEPALIVE_SESSION, command, "keepalive")
+                .thenApply(result -> result.onSuccess(renewed -> {
+                    // Other regions hold these as ordinary locks - tell them of the new expiry
+                    for (var lockId : lockStore.getSessionLocks(sessionId)) {
+                        lockStore.get(lockId).ifPresent(lock -> quorumManager.notifyLockAcquired(
+                                lockId, lock.holderRegion(), lock.holderId(), lock.fencingToken(),
+                                expiresAt.toEpochMilli()
+                        ));
+                    }
+                }));
+    }
+
+    /**
+     * Closes the session and releases every lock held under it.
+     */
+    public CompletableFuture<LockResult<List<Lock>>> closeSession(String sessionId, String clientId) {
+        return lockMetrics.timeLockOperation("close_session", () -> close(sessionId, clientId));
+    }
+
+    private CompletableFuture<LockResult<List<Lock>>> close(String sessionId, String clientId) {
+        log.debug("Close session request: sessionId={}, clientId={}", sessionId, clientId);
+
+        if (!raftNode.isLeader()) {
+            return notLeader();
+        }
+
+        var session = lockStore.getSession(sessionId);
+        if (session.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.sessionExpired(sessionId))
+            );
+        }
+
+        if (clientId != null && !session.get().isOwnedBy(clientId)) {
+            return CompletableFuture.completedFuture(
+                    LockResult.failure(LockError.error("Session not owned by this client"))
+            );
+        }
+
+        return this.<List<Lock>>commit(LogEntryType.CLOSE_SESSION,
+                        LockCommand.closeSession(sessionId, clientId), "close session")
+                .thenApply(result -> result.onSuccess(released -> released.forEach(lock ->
+                        quorumManager.notifyLockReleased(lock.lockId(), lock.fencingToken()))));
+    }
+
+    /**
+     * Returns the number of locks held under a session.
+     */
+    public int getLockCount(String sessionId) {
+        return lockStore.getSessionLocks(sessionId).size();
+    }
+
+    /**
+     * Closes the sessions that have expired, releasing their locks. Only the
+     * leader does this; followers keep expired sessions until the close commits.
+     */
+    void closeExpiredSessions() {
+        if (!raftNode.isLeader()) {
+            closing.clear();
+            return;
+        }
+
+        for (var session : lockStore.getExpiredSessions()) {
+            if (!closing.add(session.sessionId())) {
+                continue;
+            }
+            log.debug("Session {} of {} expired, releasing its locks", session.sessionId(), session.clientId());
+            close(session.sessionId(), null).whenComplete((result, e) -> {
+                closing.remove(session.sessionId());
+                if (e != null || !result.isSuccess()) {
+                    log.warn("Failed to close expired session {}: {}", session.sessionId(),
+                            e != null ? e.getMessage() : result.getError().message());
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<LockResult<T>> commit(LogEntryType type, LockCommand command, String operation) {
+        var commit = raftNode.submit(type, command)
+                .thenApply(raftResult -> (LockResult<T>) raftResult);
+        return timerWheel.orTimeout(commit, regionConfig.getQuorumTimeoutMs())
+                .exceptionally(e -> {
+                    log.error("Failed to {} {}: {}", operation, command.sessionId(), e.getMessage());
+                    return LockResult.failure(LockError.timeout("Raft commit: " + e.getMessage()));
+                });
+    }
+
+    private <T> CompletableFuture<LockResult<T>> notLeader() {
+        return CompletableFuture.completedFuture(
+                LockResult.failure(LockError.notLeader(
+                        raftNode.getLeaderId().orElse("unknown")
+                ))
+        );
+    }
+}
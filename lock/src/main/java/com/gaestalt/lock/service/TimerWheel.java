@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.config.LockConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel shared by request deadlines, pending-vote expiry and the Raft
+ * election and heartbeat timers.
+ *
+ * Scheduling and cancelling are O(1): a new timeout is queued for the wheel thread,
+ * and a cancelled one is only marked and dropped when its bucket next comes round.
+ * One platform thread advances the wheel every tick and hands expired tasks to
+ * virtual threads, so a slow task never delays the others. Timeouts fire up to one
+ * tick late.
+ */
+@Slf4j
+@Component
+public class TimerWheel {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout>[] wheel;
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean started;
+    private volatile boolean stopped;
+    private long startNanos;
+    private long tick;
+    private Thread worker;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(LockConfig config) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getTimerTickMs()));
+        int size = Integer.highestOneBit(Math.max(2, config.getTimerWheelSize()) * 2 - 1);
+        this.mask = size - 1;
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Runs the task once after the delay.
+     */
+    public Timeout schedule(Runnable task, long delayMs) {
+        return add(new Timeout(task, 0), delayMs);
+    }
+
+    /**
+     * Runs the task every period until cancelled. A run that overlaps the next
+     * period delays it rather than running concurrently.
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelayMs, long periodMs) {
+        return add(new Timeout(task, TimeUnit.MILLISECONDS.toNanos(Math.max(1, periodMs))), initialDelayMs);
+    }
+
+    /**
+     * Fails the future with a TimeoutException if it has not completed in time.
+     */
+    public <T> CompletableFuture<T> orTimeout(CompletableFuture<T> future, long timeoutMs) {
+        var timeout = schedule(() -> future.completeExceptionally(new TimeoutException()), timeoutMs);
+        future.whenComplete((result, e) -> timeout.cancel());
+        return future;
+    }
+
+    /**
+     * Completes the future with the value if it has not completed in time.
+     */
+    public <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, T value, long timeoutMs) {
+        var timeout = schedule(() -> future.complete(value), timeoutMs);
+        future.whenComplete((result, e) -> timeout.cancel());
+        return future;
+    }
+
+    /**
+     * Timeouts scheduled and neither expired nor cancelled.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (worker != null) {
+            worker.interrupt();
+        }
+        executor.shutdown();
+    }
+
+    private Timeout add(Timeout timeout, long delayMs) {
+        if (stopped) {
+            timeout.state.set(CANCELLED);
+            return timeout;
+        }
+        ensureStarted();
+        timeout.deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    private void ensureStarted() {
+        if (!started) {
+            synchronized (this) {
+                if (!started) {
+                    startNanos = System.nanoTime();
+                    worker = Thread.ofPlatform().daemon().name("lock-timer").start(this::run);
+                    started = true;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            long tickEnd = (tick + 1) * tickNanos;
+            long now = System.nanoTime() - startNanos;
+            while (now < tickEnd && !stopped) {
+                LockSupport.parkNanos(tickEnd - now);
+                now = System.nanoTime() - startNanos;
+            }
+
+            transferAdditions();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferAdditions() {
+        Timeout timeout;
+        while ((timeout = additions.poll()) != null) {
+            if (timeout.state.get() != PENDING) {
+                continue;
+            }
+            long ticks = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (Math.max(ticks, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        var iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            var timeout = iterator.next();
+            if (timeout.state.get() != PENDING) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                timeout.fire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public final class Timeout {
+
+        private final Runnable task;
+        private final long periodNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Nanoseconds since the wheel started; written before the timeout is queued
+        private volatile long deadline;
+        // Owned by the wheel thread
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Stops the task from running, or from running again if periodic.
+         * Returns false if a one-shot task already ran.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void fire() {
+            if (periodNanos == 0) {
+                if (!state.compareAndSet(PENDING, EXPIRED)) {
+                    return;
+                }
+                pending.decrementAndGet();
+            }
+            try {
+                executor.execute(this::runTask);
+            } catch (RuntimeException e) {
+                // Executor already shut down
+                log.debug("Dropping timer task: {}", e.getMessage());
+            }
+        }
+
+        private void runTask() {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timer task failed: {}", e.getMessage(), e);
+            } finally {
+                if (periodNanos > 0 && state.get() == PENDING && !stopped) {
+                    long now = System.nanoTime() - startNanos;
+                    deadline = Math.max(deadline + periodNanos, now);
+                    additions.add(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.grpc.generated.CheckLockRequest;
+import com.gaestalt.lock.grpc.generated.CheckLockResponse;
+import com.gaestalt.lock.grpc.generated.LockServiceGrpc;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared outbound channel factory.
+ */
+class GrpcChannelFactoryTest {
+
+    private static final Metadata.Key<String> ENCODING =
+            Metadata.Key.of("grpc-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final AtomicReference<String> encoding = new AtomicReference<>();
+    private Server server;
+    private GrpcChannelFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var service = new LockServiceGrpc.LockServiceImplBase() {
+            @Override
+            public void checkLock(CheckLockRequest request, StreamObserver<CheckLockResponse> observer) {
+                observer.onNext(CheckLockResponse.getDefaultInstance());
+                observer.onCompleted();
+            }
+        };
+        var captureEncoding = new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                         Metadata headers,
+                                                                         ServerCallHandler<ReqT, RespT> next) {
+                encoding.set(headers.get(ENCODING));
+                return next.startCall(call, headers);
+            }
+        };
+        server = NettyServerBuilder.forPort(0)
+                .addService(ServerInterceptors.intercept(service, captureEncoding))
+                .build()
+                .start();
+        factory = new GrpcChannelFactory(new ChannelConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.shutdown();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one connection between roles reaching the same address")
+    void shouldShareConnectionPerAddress() {
+        var local = factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.LOCAL);
+        var wan = factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.WAN);
+
+        LockServiceGrpc.newBlockingStub(local).checkLock(CheckLockRequest.getDefaultInstance());
+        LockServiceGrpc.newBlockingStub(wan).checkLock(CheckLockRequest.getDefaultInstance());
+
+        assertEquals(1, factory.getChannelCount());
+        assertSame(local, factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.LOCAL));
+    }
+
+    @Test
+    @DisplayName("Should compress calls over WAN links only")
+    void shouldCompressWanCallsOnly() {
+        var local = factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.LOCAL);
+        LockServiceGrpc.newBlockingStub(local).checkLock(CheckLockRequest.getDefaultInstance());
+        assertNull(encoding.get());
+
+        var wan = factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.WAN);
+        LockServiceGrpc.newBlockingStub(wan).checkLock(CheckLockRequest.getDefaultInstance());
+        assertEquals("gzip", encoding.get());
+    }
+
+    @Test
+    @DisplayName("Should refuse new channels once shut down")
+    void shouldRefuseAfterShutdown() {
+        factory.shutdown();
+
+        assertThrows(IllegalStateException.class,
+                () -> factory.channel("localhost", server.getPort(), GrpcChannelFactory.Link.LOCAL));
+    }
+
+    @Test
+    @DisplayName("Should shut down while channels are being opened without deadlocking")
+    void shouldShutDownWhileOpening() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            for (int round = 0; round < 20; round++) {
+                var racing = new GrpcChannelFactory(new ChannelConfig());
+                var openers = new ArrayList<Thread>();
+                for (int i = 0; i < 4; i++) {
+                    int port = 20000 + round * 4 + i;
+                    openers.add(Thread.ofPlatform().start(() -> {
+                        try {
+                            racing.channel("localhost", port, GrpcChannelFactory.Link.LOCAL);
+                        } catch (IllegalStateException e) {
+                            // Lost the race with shutdown
+                        }
+                    }));
+                }
+                racing.shutdown();
+                for (var opener : openers) {
+                    opener.join();
+                }
+                assertEquals(0, racing.getChannelCount());
+            }
+        });
+    }
+}
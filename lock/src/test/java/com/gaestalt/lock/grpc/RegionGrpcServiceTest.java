@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.grpc.generated.LockAcquiredNotification;
+import com.gaestalt.lock.grpc.generated.LockEvent;
+import com.gaestalt.lock.grpc.generated.LockEventAck;
+import com.gaestalt.lock.grpc.generated.LockEventBatch;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.RegionLeaderForwarder;
+import com.gaestalt.lock.service.TimerWheel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for applying lock events streamed from another region.
+ */
+class RegionGrpcServiceTest {
+
+    private static final String STREAM_ID = "stream-1";
+
+    private final List<String> delivered = new ArrayList<>();
+    private final List<String> failOnce = new ArrayList<>();
+    private RegionGrpcService service;
+
+    @BeforeEach
+    void setUp() {
+        var tokenGenerator = new FencingTokenGenerator();
+        var lockStore = new LockStore(tokenGenerator);
+        var regionConfig = new RegionConfig();
+        regionConfig.setRegionId("us-east-1");
+        regionConfig.setPeersString("");
+
+        var raftConfig = new RaftConfig();
+        raftConfig.setNodeId("test-node-1");
+        var lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+        var leaseTable = new RegionLeaseTable();
+        var raftNode = new LeaderRaftNode(raftConfig, new RaftStateMachine(lockStore, leaseTable), tokenGenerator);
+        var channelFactory = new GrpcChannelFactory(new ChannelConfig());
+
+        var quorumManager = new QuorumManager(regionConfig, lockStore, raftNode, leaseTable, lockMetrics,
+                OpenTelemetry.noop(), new TimerWheel(new LockConfig()),
+                new ContentionTracker(new LockConfig(), lockMetrics, new TimerWheel(new LockConfig())),
+                channelFactory) {
+            @Override
+            public CompletableFuture<Boolean> handleLockAcquiredNotification(
+                    QuorumManager.LockAcquiredNotification notification) {
+                delivered.add(notification.lockId());
+                // A commit that fails is reported as not committed
+                return CompletableFuture.completedFuture(!failOnce.remove(notification.lockId()));
+            }
+        };
+
+        service = new RegionGrpcService(quorumManager, raftNode, lockStore, regionConfig,
+                new RegionLeaderForwarder(raftNode, raftConfig, channelFactory), null);
+    }
+
+    /**
+     * RaftNode that reports itself as leader, so events are applied here.
+     */
+    private static class LeaderRaftNode extends RaftNode {
+        LeaderRaftNode(RaftConfig config, RaftStateMachine stateMachine, FencingTokenGenerator tokenGenerator) {
+            super(config, null, stateMachine, tokenGenerator, new LockMetrics(new SimpleMeterRegistry()),
+                    OpenTelemetry.noop().getTracer("test"), new TimerWheel(new LockConfig()));
+        }
+
+        @Override
+        public boolean isLeader() {
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge only the events delivered and have the rest resent")
+    void shouldNotAcknowledgeUndeliveredEvents() {
+        failOnce.add("lock-2");
+
+        var first = new RecordingObserver();
+        service.replicateLockEvents(first).onNext(batch(1, 2, 3));
+
+        assertEquals(List.of(1L), first.acked);
+        assertEquals(Status.Code.UNAVAILABLE, first.error.getStatus().getCode());
+        assertEquals(List.of("lock-1", "lock-2"), delivered);
+
+        // The source reconnects and resends everything after the acknowledged event
+        var second = new RecordingObserver();
+        service.replicateLockEvents(second).onNext(batch(2, 3));
+
+        assertEquals(List.of(3L), second.acked);
+        assertNull(second.error);
+        assertEquals(List.of("lock-1", "lock-2", "lock-2", "lock-3"), delivered);
+    }
+
+    @Test
+    @DisplayName("Should apply events resent after a reconnect only once")
+    void shouldSkipEventsAlreadyApplied() {
+        var observer = new RecordingObserver();
+        var stream = service.replicateLockEvents(observer);
+        stream.onNext(batch(1, 2));
+        stream.onNext(batch(1, 2, 3));
+
+        assertEquals(List.of(2L, 3L), observer.acked);
+        assertEquals(List.of("lock-1", "lock-2", "lock-3"), delivered);
+    }
+
+    @Test
+    @DisplayName("Should not replay a stream's events after another stream from the same region")
+    void shouldKeepCursorPerStream() {
+        var observer = new RecordingObserver();
+        service.replicateLockEvents(observer).onNext(batch(1, 2));
+
+        // The region's new leader streams too, numbering its own events from 1
+        service.replicateLockEvents(new RecordingObserver()).onNext(batch("stream-2", 1));
+
+        // The old leader's stream resends events whose acknowledgement it missed
+        service.replicateLockEvents(observer).onNext(batch(1, 2, 3));
+
+        assertEquals(List.of(2L, 3L), observer.acked);
+        assertEquals(List.of("lock-1", "lock-2", "lock-1", "lock-3"), delivered);
+    }
+
+    private static LockEventBatch batch(long... sequences) {
+        return batch(STREAM_ID, sequences);
+    }
+
+    private static LockEventBatch batch(String streamId, long... sequences) {
+        var batch = LockEventBatch.newBuilder()
+                .setSourceRegion("eu-west-1")
+                .setStreamId(streamId);
+        for (long sequence : sequences) {
+            batch.addEvents(LockEvent.newBuilder()
+                    .setSequence(sequence)
+                    .setAcquired(LockAcquiredNotification.newBuilder()
+                            .setLockId("lock-" + sequence)
+                            .setHolderRegion("eu-west-1")
+                            .setHolderClient("client-1")
+                            .setFencingToken(sequence)
+                            .setExpiresAt(System.currentTimeMillis() + 30000)
+                            .setNotifyingRegion("eu-west-1")));
+        }
+        return batch.build();
+    }
+
+    private static class RecordingObserver implements StreamObserver<LockEventAck> {
+        private final List<Long> acked = new ArrayList<>();
+        private StatusRuntimeException error;
+
+        @Override
+        public void onNext(LockEventAck ack) {
+            acked.add(ack.getAckedSequence());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = (StatusRuntimeException) t;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
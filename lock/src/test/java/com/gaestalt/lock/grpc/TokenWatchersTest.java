@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.grpc.generated.LockServiceGrpc;
+import com.gaestalt.lock.grpc.generated.TokenState;
+import com.gaestalt.lock.grpc.generated.WatchTokensRequest;
+import com.gaestalt.lock.grpc.generated.WatchTokensResponse;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that WatchTokens streams are sent the state of the locks they watch.
+ */
+class TokenWatchersTest {
+
+    private final BlockingQueue<TokenState> received = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Status> closed = new CompletableFuture<>();
+
+    private LockStore lockStore;
+    private TokenWatchers tokenWatchers;
+    private Server server;
+    private ManagedChannel channel;
+    private StreamObserver<WatchTokensRequest> requests;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lockStore = new LockStore(new FencingTokenGenerator());
+        var lockConfig = new LockConfig();
+        lockConfig.setMaxWatchedTokensPerStream(2);
+        tokenWatchers = new TokenWatchers(lockStore, lockConfig, new LockMetrics(new SimpleMeterRegistry()));
+        tokenWatchers.start();
+
+        var name = InProcessServerBuilder.generateName();
+        var service = new LockServiceGrpc.LockServiceImplBase() {
+            @Override
+            public StreamObserver<WatchTokensRequest> watchTokens(StreamObserver<WatchTokensResponse> observer) {
+                return tokenWatchers.open(observer);
+            }
+        };
+        server = InProcessServerBuilder.forName(name).addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        requests = LockServiceGrpc.newStub(channel).watchTokens(new StreamObserver<>() {
+            @Override
+            public void onNext(WatchTokensResponse response) {
+                received.addAll(response.getTokensList());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                closed.complete(Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                closed.complete(Status.OK);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        tokenWatchers.stop();
+    }
+
+    @Test
+    @DisplayName("Should send a watched lock's state at once and again when it changes")
+    void shouldSendStateOnWatchAndChange() throws Exception {
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 7, Instant.now().plusSeconds(30));
+
+        requests.onNext(WatchTokensRequest.newBuilder().addWatch("lock-1").build());
+        var initial = next();
+        assertTrue(initial.getIsLocked());
+        assertEquals(7, initial.getFencingToken());
+
+        lockStore.releaseByToken("lock-1", 7);
+        var released = next();
+        assertEquals("lock-1", released.getLockId());
+        assertFalse(released.getIsLocked());
+        assertEquals(0, released.getFencingToken());
+        assertEquals(1, tokenWatchers.getWatchedLockCount());
+    }
+
+    @Test
+    @DisplayName("Should stop sending a lock once it is unwatched")
+    void shouldStopAfterUnwatch() throws Exception {
+        requests.onNext(WatchTokensRequest.newBuilder().addWatch("lock-1").addWatch("lock-2").build());
+        next();
+        next();
+
+        // Watching lock-2 again is answered once the unwatch has been applied
+        requests.onNext(WatchTokensRequest.newBuilder().addUnwatch("lock-1").addWatch("lock-2").build());
+        assertEquals("lock-2", next().getLockId());
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 1, Instant.now().plusSeconds(30));
+        lockStore.acquireWithToken("lock-2", "client-1", "us-east-1", 2, Instant.now().plusSeconds(30));
+
+        var update = next();
+        assertEquals("lock-2", update.getLockId());
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, tokenWatchers.getWatchedLockCount());
+    }
+
+    @Test
+    @DisplayName("Should close a stream that watches too many locks and drop its watches")
+    void shouldRefuseTooManyWatches() throws Exception {
+        requests.onNext(WatchTokensRequest.newBuilder()
+                .addWatch("lock-1").addWatch("lock-2").addWatch("lock-3").build());
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, closed.get(5, TimeUnit.SECONDS).getCode());
+        assertEquals(0, tokenWatchers.getWatchedLockCount());
+        assertEquals(0, tokenWatchers.getStreamCount());
+    }
+
+    private TokenState next() throws InterruptedException {
+        var state = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(state, "No token state received");
+        return state;
+    }
+}
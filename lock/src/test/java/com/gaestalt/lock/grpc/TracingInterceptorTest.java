@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.grpc;
+
+import com.gaestalt.lock.grpc.generated.CheckLockRequest;
+import com.gaestalt.lock.grpc.generated.CheckLockResponse;
+import com.gaestalt.lock.grpc.generated.LockServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that trace context crosses gRPC calls between nodes.
+ */
+class TracingInterceptorTest {
+
+    private static final OpenTelemetry OPEN_TELEMETRY = OpenTelemetry.propagating(
+            ContextPropagators.create(W3CTraceContextPropagator.getInstance()));
+
+    private final AtomicReference<SpanContext> received = new AtomicReference<>();
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should continue the caller's trace on the receiving node")
+    void shouldContinueCallersTrace() throws Exception {
+        start();
+        var parent = SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331",
+                TraceFlags.getSampled(), TraceState.getDefault());
+
+        try (var scope = Span.wrap(parent).makeCurrent()) {
+            LockServiceGrpc.newBlockingStub(channel).checkLock(CheckLockRequest.getDefaultInstance());
+        }
+
+        assertEquals(parent.getTraceId(), received.get().getTraceId());
+        assertEquals(parent.getSpanId(), received.get().getSpanId());
+        assertTrue(received.get().isRemote());
+    }
+
+    @Test
+    @DisplayName("Should not invent a trace when the caller has none")
+    void shouldNotInventTrace() throws Exception {
+        start();
+
+        LockServiceGrpc.newBlockingStub(channel).checkLock(CheckLockRequest.getDefaultInstance());
+
+        assertFalse(received.get().isValid());
+    }
+
+    private void start() throws Exception {
+        var name = InProcessServerBuilder.generateName();
+        var service = new LockServiceGrpc.LockServiceImplBase() {
+            @Override
+            public void checkLock(CheckLockRequest request, StreamObserver<CheckLockResponse> observer) {
+                received.set(Span.current().getSpanContext());
+                observer.onNext(CheckLockResponse.getDefaultInstance());
+                observer.onCompleted();
+            }
+        };
+        server = InProcessServerBuilder.forName(name)
+                .addService(ServerInterceptors.intercept(service, new TracingServerInterceptor(OPEN_TELEMETRY)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name)
+                .intercept(new TracingClientInterceptor(OPEN_TELEMETRY))
+                .build();
+    }
+}
@@ -8,23 +8,34 @@
 
 package com.gaestalt.lock.integration;
 
+import com.gaestalt.lock.config.ChannelConfig;
 import com.gaestalt.lock.config.LockConfig;
 import com.gaestalt.lock.config.RaftConfig;
 import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
 import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.quorum.GlobalRaftGroup;
 import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
 import com.gaestalt.lock.raft.LogEntry;
 import com.gaestalt.lock.raft.RaftNode;
 import com.gaestalt.lock.raft.RaftStateMachine;
 import com.gaestalt.lock.service.FencingTokenGenerator;
 import com.gaestalt.lock.service.LockService;
 import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Timeout;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -44,10 +55,12 @@ class DistributedLockTest {
     private LockService lockService;
     private LockStore lockStore;
     private FencingTokenGenerator tokenGenerator;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         tokenGenerator = new FencingTokenGenerator();
+        meterRegistry = new SimpleMeterRegistry();
         lockStore = new LockStore(tokenGenerator);
 
         var raftConfig = new RaftConfig();
@@ -62,13 +75,23 @@ class DistributedLockTest {
 
         var lockConfig = new LockConfig();
 
-        var stateMachine = new RaftStateMachine(lockStore);
+        var lockMetrics = new LockMetrics(meterRegistry);
+        var leaseTable = new RegionLeaseTable();
+        var stateMachine = new RaftStateMachine(lockStore, leaseTable);
         var raftNode = new TestRaftNode(raftConfig, stateMachine, tokenGenerator);
-        var quorumManager = new QuorumManager(regionConfig, lockStore, raftNode);
+        var timerWheel = new TimerWheel(lockConfig);
+        var contentionTracker = new ContentionTracker(lockConfig, lockMetrics, timerWheel);
+        var channelFactory = new GrpcChannelFactory(new ChannelConfig());
+        var quorumManager = new QuorumManager(regionConfig, lockStore, raftNode, leaseTable, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, contentionTracker, channelFactory);
         quorumManager.init();
 
+        var globalRaftGroup = new GlobalRaftGroup(regionConfig, raftNode, stateMachine, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, channelFactory);
+
         lockService = new LockService(raftNode, quorumManager, lockStore,
-                tokenGenerator, lockConfig, regionConfig);
+                tokenGenerator, lockConfig, regionConfig, lockMetrics, timerWheel, contentionTracker,
+                globalRaftGroup);
     }
 
     @Test
@@ -240,6 +263,53 @@ class DistributedLockTest {
         assertEquals("client-2", lock2.holderId());
     }
 
+    @Test
+    @DisplayName("Should time lock operations by outcome")
+    @Timeout(10)
+    void shouldTimeLockOperationsByOutcome() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+
+        lockService.acquireLock(lockId, "client-1", 30000).get(5, TimeUnit.SECONDS);
+        lockService.acquireLock(lockId, "client-2", 30000).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, meterRegistry.get("lockmgr.lock.operation")
+                .tags("operation", "acquire", "outcome", "ok").timer().count());
+        assertEquals(1, meterRegistry.get("lockmgr.lock.operation")
+                .tags("operation", "acquire", "outcome", "already_locked").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should accept only the current holder's fencing token")
+    @Timeout(10)
+    void shouldValidateFencingTokens() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+        var freeLockId = UUID.randomUUID().toString();
+
+        var lock1 = lockService.acquireLock(lockId, "client-1", 30000).get(5, TimeUnit.SECONDS).getValue();
+        lockService.releaseLock(lockId, "client-1", lock1.fencingToken()).get(5, TimeUnit.SECONDS);
+        var lock2 = lockService.acquireLock(lockId, "client-2", 30000).get(5, TimeUnit.SECONDS).getValue();
+
+        var result = lockService.validateTokens(List.of(
+                new LockService.TokenCheck(lockId, lock1.fencingToken()),
+                new LockService.TokenCheck(lockId, lock2.fencingToken()),
+                new LockService.TokenCheck(freeLockId, lock2.fencingToken())));
+
+        assertTrue(result.isSuccess());
+        var results = result.getValue();
+        assertFalse(results.get(0).valid(), "Token of a released acquisition is stale");
+        assertEquals(lock2.fencingToken(), results.get(0).currentFencingToken());
+        assertTrue(results.get(1).valid());
+        // The stored lock, not the one returned to the client, which has its own timestamps
+        assertEquals(lockStore.get(lockId).orElseThrow().expiresAt().toEpochMilli(), results.get(1).expiresAt());
+        assertFalse(results.get(2).valid());
+        assertEquals(0, results.get(2).currentFencingToken());
+
+        var tooMany = lockService.validateTokens(Collections.nCopies(
+                new LockConfig().getMaxTokenChecksPerRequest() + 1, new LockService.TokenCheck(lockId, 1)));
+        assertFalse(tooMany.isSuccess());
+        assertEquals(LockStatus.ERROR, tooMany.getError().status());
+    }
+
     @Test
     @DisplayName("Should validate lock ID format")
     @Timeout(5)
@@ -260,7 +330,8 @@ class DistributedLockTest {
 
         TestRaftNode(RaftConfig config, RaftStateMachine stateMachine,
                      FencingTokenGenerator tokenGenerator) {
-            super(config, null, stateMachine, tokenGenerator);
+            super(config, null, stateMachine, tokenGenerator, new LockMetrics(new SimpleMeterRegistry()),
+                    OpenTelemetry.noop().getTracer("test"), new TimerWheel(new LockConfig()));
             this.testStateMachine = stateMachine;
         }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.jfr;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
+import com.gaestalt.lock.raft.RaftLog;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the lock manager's Flight Recorder events and their JFC profile.
+ */
+class LockEventsTest {
+
+    private static final Set<String> LOCK_EVENTS = Set.of(
+            "com.gaestalt.lock.RaftElection",
+            "com.gaestalt.lock.AppendEntriesSend",
+            "com.gaestalt.lock.AppendEntriesReceive",
+            "com.gaestalt.lock.CommitIndexAdvance",
+            "com.gaestalt.lock.StateMachineApply",
+            "com.gaestalt.lock.QuorumRound",
+            "com.gaestalt.lock.LockExpirySweep"
+    );
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should record an election, commit and apply on a single-node cluster")
+    @Timeout(10)
+    void shouldRecordRaftEvents() throws Exception {
+        var tokenGenerator = new FencingTokenGenerator();
+        var stateMachine = new RaftStateMachine(new LockStore(tokenGenerator), new RegionLeaseTable());
+
+        var config = new RaftConfig();
+        config.setNodeId("jfr-node");
+        config.setElectionTimeoutMs(100);
+        config.setHeartbeatIntervalMs(50);
+
+        var raftNode = new RaftNode(config, new RaftLog(), stateMachine, tokenGenerator,
+                new LockMetrics(new SimpleMeterRegistry()), OpenTelemetry.noop().getTracer("test"),
+                new TimerWheel(new LockConfig()));
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(RaftElectionEvent.class);
+            recording.enable(CommitIndexAdvanceEvent.class);
+            recording.enable(StateMachineApplyEvent.class);
+            recording.start();
+
+            raftNode.init();
+            raftNode.startElectionProcess();
+            while (stateMachine.getLastAppliedIndex() < 1) {
+                Thread.sleep(20);
+            }
+            raftNode.stop();
+
+            recording.stop();
+            var file = tempDir.resolve("raft.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        var election = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.gaestalt.lock.RaftElection"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("won", election.getString("outcome"));
+        assertEquals(0, election.getInt("peers"));
+
+        var commit = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.gaestalt.lock.CommitIndexAdvance"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, commit.getLong("previousIndex"));
+        assertEquals("leader", commit.getString("role"));
+
+        assertTrue(events.stream()
+                .anyMatch(e -> e.getEventType().getName().equals("com.gaestalt.lock.StateMachineApply")));
+    }
+
+    @Test
+    @DisplayName("Should enable every lock manager event in the JFC profile")
+    void shouldEnableEveryEventInProfile() throws Exception {
+        var configuration = Configuration.create(Path.of("jfr", "lockmgr.jfc"));
+
+        var enabled = configuration.getSettings().entrySet().stream()
+                .filter(e -> e.getKey().endsWith("#enabled") && e.getValue().equals("true"))
+                .map(e -> e.getKey().substring(0, e.getKey().indexOf('#')))
+                .collect(Collectors.toSet());
+
+        assertTrue(enabled.containsAll(LOCK_EVENTS), "missing: " + LOCK_EVENTS.stream()
+                .filter(name -> !enabled.contains(name))
+                .toList());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the heavy-hitters sketch behind hot-lock tracking.
+ */
+class HeavyHittersTest {
+
+    @Test
+    @DisplayName("Should find the heaviest keys among many light ones")
+    void shouldFindHeavyKeys() {
+        var hitters = new HeavyHitters(4, 1024, 5);
+
+        for (int round = 0; round < 100; round++) {
+            hitters.add("hot-a");
+            hitters.add("hot-a");
+            hitters.add("hot-b");
+            for (int i = 0; i < 50; i++) {
+                hitters.add("cold-" + (round * 50 + i));
+            }
+        }
+
+        List<HeavyHitters.Entry> top = hitters.top();
+        assertEquals(5, top.size());
+        assertEquals("hot-a", top.get(0).key());
+        assertEquals("hot-b", top.get(1).key());
+        assertTrue(top.get(0).count() >= 200);
+        assertEquals(5300, hitters.total());
+    }
+
+    @Test
+    @DisplayName("Should evict the smallest tracked key once a new key outgrows it")
+    void shouldEvictSmallestKey() {
+        var hitters = new HeavyHitters(4, 1024, 2);
+        for (int i = 0; i < 3; i++) {
+            hitters.add("a");
+        }
+        hitters.add("b");
+        hitters.add("b");
+
+        hitters.add("c");
+        hitters.add("c");
+        assertEquals(List.of(new HeavyHitters.Entry("a", 3), new HeavyHitters.Entry("b", 2)), hitters.top());
+
+        hitters.add("c");
+        assertEquals(List.of(new HeavyHitters.Entry("a", 3), new HeavyHitters.Entry("c", 3)), hitters.top());
+    }
+
+    @Test
+    @DisplayName("Should never underestimate a key's count")
+    void shouldNeverUnderestimate() {
+        var hitters = new HeavyHitters(4, 64, 3);
+
+        for (int i = 0; i < 1000; i++) {
+            hitters.add("lock-" + (i % 100));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(hitters.estimate("lock-" + i) >= 10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should halve counts on decay and drop keys that reach zero")
+    void shouldDecay() {
+        var hitters = new HeavyHitters(4, 1024, 5);
+        for (int i = 0; i < 8; i++) {
+            hitters.add("busy");
+        }
+        hitters.add("once");
+
+        hitters.decay();
+
+        assertEquals(4, hitters.estimate("busy"));
+        assertEquals(4, hitters.total());
+        assertEquals(List.of(new HeavyHitters.Entry("busy", 4)), hitters.top());
+        assertEquals(1.0, hitters.topShare());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CrossRegionClient health tracking.
+ */
+class CrossRegionClientTest {
+
+    private CrossRegionClient client;
+
+    @BeforeEach
+    void setUp() {
+        // Channels connect lazily, so no server is needed for health bookkeeping
+        client = new CrossRegionClient("localhost", 1, "us-west-2", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should start healthy")
+    void shouldStartHealthy() {
+        assertFalse(client.isSuspect());
+    }
+
+    @Test
+    @DisplayName("Should mark region suspect after consecutive failures")
+    void shouldMarkSuspectAfterConsecutiveFailures() {
+        client.recordFailure();
+        client.recordFailure();
+        assertFalse(client.isSuspect());
+
+        client.recordFailure();
+        assertTrue(client.isSuspect());
+    }
+
+    @Test
+    @DisplayName("Should reset failure count on success")
+    void shouldResetFailureCountOnSuccess() {
+        client.recordFailure();
+        client.recordFailure();
+        client.recordSuccess();
+        client.recordFailure();
+        client.recordFailure();
+
+        assertFalse(client.isSuspect());
+    }
+
+    @Test
+    @DisplayName("Should recover from suspect on success")
+    void shouldRecoverOnSuccess() {
+        for (int i = 0; i < 3; i++) {
+            client.recordFailure();
+        }
+        assertTrue(client.isSuspect());
+
+        client.recordSuccess();
+        assertFalse(client.isSuspect());
+    }
+
+    @Test
+    @DisplayName("Should mark unreachable region suspect after failed pings")
+    void shouldMarkUnreachableRegionSuspect() {
+        for (int i = 0; i < 3; i++) {
+            assertFalse(client.ping("us-east-1", 200));
+        }
+
+        assertTrue(client.isSuspect());
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.raft.ExpiryBatch;
+import com.gaestalt.lock.raft.GlobalEntry;
+import com.gaestalt.lock.raft.GlobalVote;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntry;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftLog;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the global Raft group's state machine and the delivery of its
+ * entries to a region.
+ */
+class GlobalStateMachineTest {
+
+    private static final String LOCK_ID = UUID.randomUUID().toString();
+
+    private final List<GlobalEntry> delivered = new ArrayList<>();
+    private final GlobalStateMachine stateMachine = newMember(delivered);
+
+    @Test
+    @DisplayName("Should give an acquisition the same token on every member")
+    void shouldAssignSameTokenOnEveryMember() {
+        var otherDelivered = new ArrayList<GlobalEntry>();
+        var other = newMember(otherDelivered);
+        var entries = List.of(
+                entry(1, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-1", "us-east-1", 0, 30000)),
+                entry(2, LogEntryType.RELEASE_LOCK, LockCommand.release(LOCK_ID, "client-1", 1)),
+                entry(3, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-2", "eu-west-1", 0, 30000)));
+
+        var results = apply(stateMachine, entries);
+        var otherResults = apply(other, entries);
+
+        assertEquals(1, ((Lock) results.get(0).getValue()).fencingToken());
+        assertEquals(2, ((Lock) results.get(2).getValue()).fencingToken());
+        assertEquals(2, ((Lock) otherResults.get(2).getValue()).fencingToken());
+        assertEquals(3, delivered.size());
+        assertEquals(delivered.get(2).data(), otherDelivered.get(2).data());
+    }
+
+    @Test
+    @DisplayName("Should refuse a held lock and hand on only entries that succeeded")
+    void shouldRefuseHeldLock() {
+        var results = apply(stateMachine, List.of(
+                entry(1, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-1", "us-east-1", 0, 30000)),
+                entry(2, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-2", "eu-west-1", 0, 30000))));
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(LockStatus.ALREADY_LOCKED, results.get(1).getError().status());
+        assertEquals(1, delivered.size());
+        assertEquals(1, delivered.get(0).globalIndex());
+    }
+
+    @Test
+    @DisplayName("Should apply an acquisition that expired before commit the same way on every member and region")
+    void shouldApplyExpiredAcquisitionDeterministically() {
+        var otherDelivered = new ArrayList<GlobalEntry>();
+        var other = newMember(otherDelivered);
+        var expired = new LockCommand(LOCK_ID, "client-1", "us-east-1", 0, 1000,
+                Instant.now().minusSeconds(1), null, 0);
+        var entries = List.of(
+                entry(1, LogEntryType.ACQUIRE_LOCK, expired),
+                entry(2, LogEntryType.ACQUIRE_LOCK,
+                        LockCommand.acquire(LOCK_ID, "client-2", "us-east-1", 0, 30000).withPreviousToken(1)));
+
+        var results = apply(stateMachine, entries);
+        var otherResults = apply(other, entries);
+
+        // The expired lock is taken, already lapsed, and handed on by both members
+        assertEquals(1, ((Lock) results.get(0).getValue()).fencingToken());
+        assertEquals(2, ((Lock) results.get(1).getValue()).fencingToken());
+        assertEquals(2, ((Lock) otherResults.get(1).getValue()).fencingToken());
+        assertEquals(2, delivered.size());
+        assertEquals(2, otherDelivered.size());
+
+        var regionStore = new LockStore(new FencingTokenGenerator());
+        var region = new RaftStateMachine(regionStore, new RegionLeaseTable());
+        region.apply(new LogEntry(1, 1, LogEntryType.GLOBAL_ENTRY, delivered.get(0).serialize()), null);
+        assertEquals(1, region.getLastGlobalPosition().index());
+        assertTrue(regionStore.get(LOCK_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should take over and expire a lock the same way on members with skewed clocks")
+    void shouldAgreeAcrossSkewedMembers() {
+        var aheadTokens = new FencingTokenGenerator();
+        var ahead = new LockStore(aheadTokens);
+        ahead.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(31)));
+        var aheadDelivered = new ArrayList<GlobalEntry>();
+        var leader = newMember(ahead, aheadTokens, aheadDelivered);
+        var behindTokens = new FencingTokenGenerator();
+        var behind = new LockStore(behindTokens);
+        var follower = newMember(behind, behindTokens, delivered);
+
+        var first = List.of(entry(1, LogEntryType.ACQUIRE_LOCK,
+                LockCommand.acquire(LOCK_ID, "client-1", "us-east-1", 0, 30000)));
+        apply(leader, first);
+        apply(follower, first);
+
+        // The leader sees the lock expired and names it in both entries it proposes
+        var expiry = new ExpiryBatch(ahead.findExpiredLocks(10).stream().map(LockStore.ExpiredLock::of).toList());
+        var rest = List.of(
+                entry(2, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-2", "eu-west-1", 0, 30000)
+                        .withPreviousToken(ahead.expiredToken(LOCK_ID))),
+                new LogEntry(3, 1, LogEntryType.EXPIRE_LOCKS, expiry.serialize()));
+        var leaderResults = apply(leader, rest);
+        var results = apply(follower, rest);
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(leaderResults.stream().map(LockResult::isSuccess).toList(),
+                results.stream().map(LockResult::isSuccess).toList());
+        assertEquals(aheadDelivered.stream().map(GlobalEntry::globalIndex).toList(),
+                delivered.stream().map(GlobalEntry::globalIndex).toList());
+        assertEquals("client-2", behind.get(LOCK_ID).orElseThrow().holderId());
+    }
+
+    @Test
+    @DisplayName("Should apply each global entry to a region once when a new member replays the log")
+    void shouldApplyGlobalEntryToRegionOnce() {
+        apply(stateMachine, List.of(
+                entry(1, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-1", "us-east-1", 0, 30000)),
+                entry(2, LogEntryType.RELEASE_LOCK, LockCommand.release(LOCK_ID, "client-1", 1))));
+        var regionStore = new LockStore(new FencingTokenGenerator());
+        var region = new RaftStateMachine(regionStore, new RegionLeaseTable());
+
+        // The first region leader delivers both entries; a new one replaying the log
+        // must not bring the released lock back
+        long index = 0;
+        for (var entry : delivered) {
+            region.apply(new LogEntry(++index, 1, LogEntryType.GLOBAL_ENTRY, entry.serialize()), null);
+        }
+        region.apply(new LogEntry(++index, 2, LogEntryType.GLOBAL_ENTRY, delivered.get(0).serialize()), null);
+
+        assertTrue(regionStore.get(LOCK_ID).isEmpty());
+        assertEquals(2, region.getLastGlobalPosition().index());
+        assertEquals(3, region.getLastAppliedIndex());
+    }
+
+    @Test
+    @DisplayName("Should apply a restarted group's entries in a region that applied the previous group's")
+    void shouldApplyEntriesOfLaterEpoch() {
+        apply(stateMachine, List.of(
+                entry(1, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire(LOCK_ID, "client-1", "us-east-1", 0, 30000)),
+                entry(2, LogEntryType.RELEASE_LOCK, LockCommand.release(LOCK_ID, "client-1", 1))));
+
+        // Every member left; the new group's log starts again at index 1, in a later term
+        var restartedDelivered = new ArrayList<GlobalEntry>();
+        var restarted = newMember(restartedDelivered);
+        var results = new ArrayList<LockResult<?>>();
+        restarted.applyAll(List.of(new LogEntry(1, 3, LogEntryType.ACQUIRE_LOCK,
+                        LockCommand.acquire(LOCK_ID, "client-2", "eu-west-1", 0, 30000).serialize())),
+                (index, result) -> results.add(result), Runnable::run, 4);
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(new GlobalEntry.Position(3, 1), restartedDelivered.get(0).position());
+
+        var regionStore = new LockStore(new FencingTokenGenerator());
+        var region = new RaftStateMachine(regionStore, new RegionLeaseTable());
+        long index = 0;
+        for (var entry : delivered) {
+            region.apply(new LogEntry(++index, 1, LogEntryType.GLOBAL_ENTRY, entry.serialize()), null);
+        }
+        region.apply(new LogEntry(++index, 1, LogEntryType.GLOBAL_ENTRY, restartedDelivered.get(0).serialize()), null);
+        // A late delivery from the previous group is skipped
+        region.apply(new LogEntry(++index, 1, LogEntryType.GLOBAL_ENTRY, delivered.get(0).serialize()), null);
+
+        assertEquals("client-2", regionStore.get(LOCK_ID).orElseThrow().holderId());
+        assertEquals(new GlobalEntry.Position(3, 1), region.getLastGlobalPosition());
+    }
+
+    @Test
+    @DisplayName("Should not let a region vote twice in one global term when its new leader rejoins")
+    void shouldKeepRegionVoteAcrossRejoin() {
+        var region = new RaftStateMachine(new LockStore(new FencingTokenGenerator()), new RegionLeaseTable());
+        var index = new AtomicLong();
+        RaftNode.VoteRecorder recorder = (term, votedFor) -> {
+            var results = new ArrayList<LockResult<?>>();
+            region.apply(new LogEntry(index.incrementAndGet(), 1, LogEntryType.GLOBAL_VOTE,
+                    new GlobalVote(term, votedFor).serialize()), results::add);
+            return results.get(0).isSuccess();
+        };
+        var timerWheel = new TimerWheel(new LockConfig());
+        try {
+            var first = newNode(recorder, timerWheel);
+            assertTrue(first.handleVoteRequest(new RaftNode.VoteRequest(5, "eu-west-1", 0, 0)).voteGranted());
+            first.stop();
+
+            // The region's next leader resumes from the vote its predecessor recorded
+            var vote = region.getGlobalVote();
+            var second = newNode(recorder, timerWheel);
+            second.restoreVote(vote.term(), vote.votedFor());
+            assertFalse(second.handleVoteRequest(new RaftNode.VoteRequest(5, "ap-south-1", 0, 0)).voteGranted());
+            assertTrue(second.handleVoteRequest(new RaftNode.VoteRequest(6, "ap-south-1", 0, 0)).voteGranted());
+            second.stop();
+        } finally {
+            timerWheel.stop();
+        }
+
+        // The region's log refuses a second vote in a term even if asked for one
+        assertFalse(recorder.record(6, "eu-west-1"));
+        assertEquals(new GlobalVote(6, "ap-south-1"), region.getGlobalVote());
+    }
+
+    private static RaftNode newNode(RaftNode.VoteRecorder recorder, TimerWheel timerWheel) {
+        var config = new RaftConfig();
+        config.setNodeId("us-east-1");
+        var tokenGenerator = new FencingTokenGenerator();
+        var node = new RaftNode(config, new RaftLog(), newMember(new LockStore(tokenGenerator), tokenGenerator,
+                new ArrayList<>()), tokenGenerator, new LockMetrics(new SimpleMeterRegistry()),
+                OpenTelemetry.noop().getTracer("test"), timerWheel);
+        node.setVoteRecorder(recorder);
+        return node;
+    }
+
+    private static GlobalStateMachine newMember(List<GlobalEntry> delivered) {
+        var tokenGenerator = new FencingTokenGenerator();
+        return newMember(new LockStore(tokenGenerator), tokenGenerator, delivered);
+    }
+
+    private static GlobalStateMachine newMember(LockStore store, FencingTokenGenerator tokenGenerator,
+                                                List<GlobalEntry> delivered) {
+        return new GlobalStateMachine(store, tokenGenerator, delivered::add);
+    }
+
+    private static LogEntry entry(long index, LogEntryType type, LockCommand command) {
+        return new LogEntry(index, 1, type, command.serialize());
+    }
+
+    private static List<LockResult<?>> apply(GlobalStateMachine member, List<LogEntry> entries) {
+        var results = new ArrayList<LockResult<?>>();
+        entries.forEach(entry -> member.apply(entry, results::add));
+        return results;
+    }
+}
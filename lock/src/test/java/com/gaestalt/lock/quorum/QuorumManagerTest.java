@@ -8,22 +8,37 @@
 
 package com.gaestalt.lock.quorum;
 
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.config.LockConfig;
 import com.gaestalt.lock.config.RaftConfig;
 import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.LockResult;
 import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntry;
+import com.gaestalt.lock.raft.LogEntryType;
 import com.gaestalt.lock.raft.RaftNode;
 import com.gaestalt.lock.raft.RaftStateMachine;
 import com.gaestalt.lock.service.FencingTokenGenerator;
 import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,7 +50,8 @@ class QuorumManagerTest {
     private QuorumManager quorumManager;
     private LockStore lockStore;
     private RegionConfig regionConfig;
-    private RaftNode raftNode;
+    private TestRaftNode raftNode;
+    private RegionLeaseTable leaseTable;
 
     @BeforeEach
     void setUp() {
@@ -49,25 +65,48 @@ class QuorumManagerTest {
         // Create a test RaftNode that simulates being the leader
         var raftConfig = new RaftConfig();
         raftConfig.setNodeId("test-node-1");
-        var stateMachine = new RaftStateMachine(lockStore);
+        var lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+        leaseTable = new RegionLeaseTable();
+        var stateMachine = new RaftStateMachine(lockStore, leaseTable);
         raftNode = new TestRaftNode(raftConfig, stateMachine, tokenGenerator);
 
-        quorumManager = new QuorumManager(regionConfig, lockStore, raftNode);
+        quorumManager = new QuorumManager(regionConfig, lockStore, raftNode, leaseTable, lockMetrics,
+                OpenTelemetry.noop(), new TimerWheel(new LockConfig()),
+                new ContentionTracker(new LockConfig(), lockMetrics, new TimerWheel(new LockConfig())),
+                new GrpcChannelFactory(new ChannelConfig()));
         quorumManager.init();
     }
 
     /**
-     * Test RaftNode that simulates being a leader for testing purposes.
+     * Test RaftNode that is a follower unless made leader, when it applies
+     * submissions straight to the state machine.
      */
     private static class TestRaftNode extends RaftNode {
+        private final RaftStateMachine testStateMachine;
+        private final AtomicLong nextIndex = new AtomicLong(0);
+        private volatile boolean leader;
+
         TestRaftNode(RaftConfig config, RaftStateMachine stateMachine,
                      FencingTokenGenerator tokenGenerator) {
-            super(config, null, stateMachine, tokenGenerator);
+            super(config, null, stateMachine, tokenGenerator, new LockMetrics(new SimpleMeterRegistry()),
+                    OpenTelemetry.noop().getTracer("test"), new TimerWheel(new LockConfig()));
+            this.testStateMachine = stateMachine;
         }
 
         @Override
         public boolean isLeader() {
-            return false; // For quorum tests, we don't need to be leader
+            return leader; // For quorum tests, we don't need to be leader
+        }
+
+        @Override
+        public CompletableFuture<LockResult<?>> submit(LogEntryType type, LockCommand command) {
+            if (!leader) {
+                return super.submit(type, command);
+            }
+            var future = new CompletableFuture<LockResult<?>>();
+            testStateMachine.apply(new LogEntry(nextIndex.incrementAndGet(), 1, type, command.serialize()),
+                    future::complete);
+            return future;
         }
 
         @Override
@@ -170,6 +209,7 @@ class QuorumManagerTest {
     @Test
     @DisplayName("Should handle lock acquired notification")
     void shouldHandleLockAcquiredNotification() {
+        raftNode.leader = true;
         var lockId = UUID.randomUUID().toString();
         var notification = new QuorumManager.LockAcquiredNotification(
                 lockId,
@@ -180,7 +220,7 @@ class QuorumManagerTest {
                 "us-west-2"
         );
 
-        quorumManager.handleLockAcquiredNotification(notification);
+        assertTrue(quorumManager.handleLockAcquiredNotification(notification).join());
 
         // Lock should now be present in local store
         var lock = lockStore.get(lockId);
@@ -193,6 +233,7 @@ class QuorumManagerTest {
     @Test
     @DisplayName("Should handle lock released notification")
     void shouldHandleLockReleasedNotification() {
+        raftNode.leader = true;
         var lockId = UUID.randomUUID().toString();
 
         // First acquire the lock
@@ -205,9 +246,171 @@ class QuorumManagerTest {
                 "us-west-2"
         );
 
-        quorumManager.handleLockReleasedNotification(notification);
+        assertTrue(quorumManager.handleLockReleasedNotification(notification).join());
 
         // Lock should no longer be present
         assertFalse(lockStore.isLocked(lockId));
     }
+
+    @Test
+    @DisplayName("Should not apply lock notifications on a follower")
+    void shouldNotApplyNotificationsOnFollower() {
+        var lockId = UUID.randomUUID().toString();
+        var acquired = new QuorumManager.LockAcquiredNotification(lockId, "us-west-2", "client-1", 1,
+                System.currentTimeMillis() + 30000, "us-west-2");
+
+        assertFalse(quorumManager.handleLockAcquiredNotification(acquired).join());
+        assertFalse(lockStore.get(lockId).isPresent());
+
+        var otherId = UUID.randomUUID().toString();
+        var lock = lockStore.tryAcquire(otherId, "client-1", "us-west-2", 30000).getValue();
+        assertFalse(quorumManager.handleLockReleasedNotification(new QuorumManager.LockReleasedNotification(
+                otherId, lock.fencingToken(), "us-west-2")).join());
+        assertTrue(lockStore.isLocked(otherId));
+    }
+
+    @Test
+    @DisplayName("Should report a remote lock event refused by the state machine as committed")
+    void shouldReportRefusedEventAsCommitted() {
+        raftNode.leader = true;
+        var lockId = UUID.randomUUID().toString();
+        lockStore.tryAcquire(lockId, "client-1", "us-east-1", 30000);
+
+        // Held here under another token: the acquisition is committed and refused, not worth resending
+        var notification = new QuorumManager.LockAcquiredNotification(lockId, "us-west-2", "client-2", 1,
+                System.currentTimeMillis() + 30000, "us-west-2");
+
+        assertTrue(quorumManager.handleLockAcquiredNotification(notification).join());
+        assertEquals("us-east-1", lockStore.get(lockId).orElseThrow().holderRegion());
+    }
+
+    @Test
+    @DisplayName("Should deny vote request when lock is homed in another region")
+    void shouldDenyVoteWhenLockHomedElsewhere() {
+        var lockId = UUID.randomUUID().toString();
+        leaseTable.grant(new RegionLease(lockId, "eu-west-1", 1, Instant.now().plusSeconds(10)), Instant.now());
+
+        var request = new QuorumManager.LockVoteRequest(
+                lockId,
+                "us-west-2",
+                "client-1",
+                30000,
+                1,
+                System.currentTimeMillis()
+        );
+
+        var response = quorumManager.handleLockVoteRequest(request);
+
+        assertFalse(response.granted());
+        assertEquals("eu-west-1", response.currentHolderRegion());
+    }
+
+    @Test
+    @DisplayName("Should grant vote request to the region the lock is homed in")
+    void shouldGrantVoteToHomeRegion() {
+        var lockId = UUID.randomUUID().toString();
+        leaseTable.grant(new RegionLease(lockId, "us-west-2", 1, Instant.now().plusSeconds(10)), Instant.now());
+
+        var request = new QuorumManager.LockVoteRequest(
+                lockId,
+                "us-west-2",
+                "client-1",
+                30000,
+                1,
+                System.currentTimeMillis()
+        );
+
+        assertTrue(quorumManager.handleLockVoteRequest(request).granted());
+    }
+
+    @Test
+    @DisplayName("Should not vote for another region while its own quorum round for the lock is in flight")
+    void shouldNotVoteAgainstOwnQuorumRound() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+        regionConfig.setPeersString("us-west-2:localhost:9091,eu-west-1:localhost:9091");
+
+        quorumManager.requestLockQuorum(lockId, "client-1", 7, 30000).get(5, TimeUnit.SECONDS);
+
+        var vote = new QuorumManager.LockVoteRequest(lockId, "us-west-2", "client-2", 30000, 8,
+                System.currentTimeMillis());
+        assertFalse(quorumManager.handleLockVoteRequest(vote).granted());
+
+        quorumManager.completeLocalAcquisition(lockId, 7);
+        assertTrue(quorumManager.handleLockVoteRequest(vote).granted());
+    }
+
+    @Test
+    @DisplayName("Should keep its own reservation when another region's lock on it is released")
+    void shouldKeepOwnReservationOnRemoteRelease() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+        regionConfig.setPeersString("us-west-2:localhost:9091,eu-west-1:localhost:9091");
+
+        quorumManager.requestLockQuorum(lockId, "client-1", 7, 30000).get(5, TimeUnit.SECONDS);
+        raftNode.leader = true;
+        quorumManager.handleLockReleasedNotification(new QuorumManager.LockReleasedNotification(
+                lockId, 3, "us-west-2"));
+
+        var vote = new QuorumManager.LockVoteRequest(lockId, "us-west-2", "client-2", 30000, 8,
+                System.currentTimeMillis());
+        assertFalse(quorumManager.handleLockVoteRequest(vote).granted());
+
+        // A release from the region holding the vote, for the token it voted on, clears it
+        quorumManager.completeLocalAcquisition(lockId, 7);
+        assertTrue(quorumManager.handleLockVoteRequest(vote).granted());
+        quorumManager.handleLockReleasedNotification(new QuorumManager.LockReleasedNotification(
+                lockId, 8, "us-west-2"));
+        var otherVote = new QuorumManager.LockVoteRequest(lockId, "eu-west-1", "client-3", 30000, 9,
+                System.currentTimeMillis());
+        assertTrue(quorumManager.handleLockVoteRequest(otherVote).granted());
+    }
+
+    @Test
+    @DisplayName("Should not hand the lease over while an acquisition under it is still committing")
+    void shouldNotHandOverLeaseDuringLocalAcquisition() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+        regionConfig.setPeersString("us-west-2:localhost:9091,eu-west-1:localhost:9091");
+        leaseTable.grant(new RegionLease(lockId, "us-east-1", 1, Instant.now().plusSeconds(10)), Instant.now());
+
+        // Homed here, so local Raft is enough; the lock is not in the store until it commits
+        assertTrue(quorumManager.requestLockQuorum(lockId, "client-1", 7, 30000)
+                .get(5, TimeUnit.SECONDS).isSuccess());
+
+        var vote = new QuorumManager.LockVoteRequest(lockId, "us-west-2", "client-2", 30000, 8,
+                System.currentTimeMillis());
+        assertFalse(quorumManager.handleLockVoteRequest(vote).granted());
+        assertFalse(quorumManager.handleLeaseRequest(new QuorumManager.LeaseRequest(lockId, "eu-west-1", 1, 10000))
+                .get(5, TimeUnit.SECONDS).granted());
+        assertTrue(leaseTable.isHomedIn(lockId, "us-east-1"));
+
+        // Once the acquisition has failed the lock is free to move
+        quorumManager.completeLocalAcquisition(lockId, 7);
+        assertTrue(quorumManager.handleLockVoteRequest(vote).granted());
+    }
+
+    @Test
+    @DisplayName("Should deny lease request when lock held by another region")
+    void shouldDenyLeaseWhenLockHeldByAnotherRegion() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+        lockStore.tryAcquire(lockId, "client-1", "us-east-1", 30000);
+
+        var response = quorumManager.handleLeaseRequest(
+                new QuorumManager.LeaseRequest(lockId, "us-west-2", 1, 10000)
+        ).get(5, TimeUnit.SECONDS);
+
+        assertFalse(response.granted());
+        assertEquals("us-east-1", response.currentHomeRegion());
+    }
+
+    @Test
+    @DisplayName("Should record lease when granting lease request")
+    void shouldRecordLeaseWhenGranting() throws Exception {
+        var lockId = UUID.randomUUID().toString();
+
+        var response = quorumManager.handleLeaseRequest(
+                new QuorumManager.LeaseRequest(lockId, "us-west-2", 1, 10000)
+        ).get(5, TimeUnit.SECONDS);
+
+        assertTrue(response.granted());
+        assertTrue(leaseTable.isHomedIn(lockId, "us-west-2"));
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.quorum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RegionEventStream queueing against an unreachable region.
+ */
+class RegionEventStreamTest {
+
+    private CrossRegionClient client;
+    private ScheduledExecutorService scheduler;
+    private RegionEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        client = new CrossRegionClient("localhost", 1, "us-west-2", 3);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        stream = new RegionEventStream(client, "us-east-1", scheduler, 2, 5, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+        scheduler.shutdownNow();
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep events queued until acknowledged")
+    void shouldKeepEventsUntilAcknowledged() {
+        stream.publishAcquired(acquired("lock-1", 1));
+        stream.publishReleased(new QuorumManager.LockReleasedNotification("lock-1", 1, "us-east-1"));
+
+        assertEquals(2, stream.getPendingCount());
+        assertEquals(0, stream.getAckedSequence());
+    }
+
+    @Test
+    @DisplayName("Should drop oldest events when the queue is full")
+    void shouldDropOldestEventsWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            stream.publishAcquired(acquired("lock-" + i, i));
+        }
+
+        assertEquals(4, stream.getPendingCount());
+        assertEquals(6, stream.getDroppedEvents());
+    }
+
+    @Test
+    @DisplayName("Should ignore events after close")
+    void shouldIgnoreEventsAfterClose() {
+        stream.close();
+        stream.publishAcquired(acquired("lock-1", 1));
+
+        assertEquals(0, stream.getPendingCount());
+    }
+
+    private QuorumManager.LockAcquiredNotification acquired(String lockId, long token) {
+        return new QuorumManager.LockAcquiredNotification(
+                lockId, "us-east-1", "client-1", token, System.currentTimeMillis() + 30000, "us-east-1");
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.model.LockError;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.service.TimerWheel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the leader's bounded pending proposal table.
+ */
+class PendingProposalsTest {
+
+    private static final TimerWheel TIMER_WHEEL = new TimerWheel(new LockConfig());
+
+    @Test
+    @DisplayName("Should refuse proposals once the table is full")
+    void shouldRefuseWhenFull() {
+        var pending = new PendingProposals(2, 10, 60000, TIMER_WHEEL);
+        pending.add(1, "client-1");
+        pending.add(2, "client-2");
+
+        var refusal = pending.checkAdmission("client-3");
+
+        assertTrue(refusal.isPresent());
+        assertEquals(LockStatus.RESOURCE_EXHAUSTED, refusal.get().status());
+    }
+
+    @Test
+    @DisplayName("Should refuse a client at its share while admitting others")
+    void shouldLimitEachClient() {
+        var pending = new PendingProposals(100, 2, 60000, TIMER_WHEEL);
+        pending.add(1, "busy");
+        pending.add(2, "busy");
+
+        assertTrue(pending.checkAdmission("busy").isPresent());
+        assertTrue(pending.checkAdmission("quiet").isEmpty());
+        assertTrue(pending.checkAdmission(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should free the slot when a proposal is applied")
+    void shouldFreeSlotOnComplete() throws Exception {
+        var pending = new PendingProposals(1, 1, 60000, TIMER_WHEEL);
+        var future = pending.add(7, "client-1");
+
+        pending.complete(7, LockResult.success("applied"));
+
+        assertTrue(future.get(1, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, pending.size());
+        assertEquals(0, pending.pendingFor("client-1"));
+        assertTrue(pending.checkAdmission("client-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should time out a proposal at its deadline")
+    @Timeout(5)
+    void shouldTimeOutAtDeadline() throws Exception {
+        var pending = new PendingProposals(10, 10, 50, TIMER_WHEEL);
+        var future = pending.add(1, "client-1");
+
+        var result = future.get(2, TimeUnit.SECONDS);
+
+        assertEquals(LockStatus.TIMEOUT, result.getError().status());
+        assertEquals(0, pending.size());
+
+        // A late apply is ignored
+        pending.complete(1, LockResult.success("late"));
+        assertFalse(future.get().isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should fail everything pending with NOT_LEADER")
+    void shouldFailAllOnStepDown() throws Exception {
+        var pending = new PendingProposals(10, 10, 60000, TIMER_WHEEL);
+        var first = pending.add(1, "client-1");
+        var second = pending.add(2, null);
+
+        assertEquals(2, pending.failAll(LockError.notLeader("unknown")));
+
+        assertEquals(LockStatus.NOT_LEADER, first.get().getError().status());
+        assertEquals(LockStatus.NOT_LEADER, second.get().getError().status());
+        assertEquals(0, pending.size());
+        assertEquals(0, pending.pendingFor("client-1"));
+    }
+}
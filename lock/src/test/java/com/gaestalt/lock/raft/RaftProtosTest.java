@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for conversions between Raft records and protobuf messages.
+ */
+class RaftProtosTest {
+
+    @Test
+    @DisplayName("Should share entry data with the message rather than copy it")
+    void shouldShareEntryData() {
+        var entry = LogEntry.acquireLock(7, 2, LockCommand.acquire("lock-1", "client-1", "us-east-1", 3, 30000));
+
+        var proto = RaftProtos.toProto(entry);
+        var received = RaftProtos.fromProto(proto);
+
+        assertSame(entry.data(), proto.getData());
+        assertSame(proto.getData(), received.data());
+        assertEquals(entry, received);
+        assertEquals("lock-1", received.getCommand().lockId());
+    }
+
+    @Test
+    @DisplayName("Should round-trip an AppendEntries request with its entries")
+    void shouldRoundTripAppendEntries() {
+        var entries = List.of(LogEntry.noop(5, 2),
+                LogEntry.releaseLock(6, 2, LockCommand.release("lock-1", "client-1", 3)));
+        var request = new RaftNode.AppendEntriesRequest(2, "node-1", 4, 1, entries, 5);
+
+        var received = RaftProtos.fromProto(RaftProtos.toProto(request));
+
+        assertEquals(request, received);
+        assertTrue(received.entries().get(0).data().isEmpty());
+        assertEquals(3, received.entries().get(1).getCommand().fencingToken());
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for parallel replay and snapshot restore in the Raft state machine.
+ */
+class RaftStateMachineTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should reach the same state applying in parallel lanes as applying in order")
+    void shouldMatchSequentialApply() {
+        var entries = workload();
+        var sequentialStore = new LockStore(new FencingTokenGenerator());
+        var sequential = new RaftStateMachine(sequentialStore, new RegionLeaseTable());
+        var sequentialResults = new ArrayList<Boolean>();
+        entries.forEach(entry -> sequential.apply(entry, result -> sequentialResults.add(result.isSuccess())));
+
+        var parallelStore = new LockStore(new FencingTokenGenerator());
+        var parallel = new RaftStateMachine(parallelStore, new RegionLeaseTable());
+        var parallelResults = new ConcurrentHashMap<Long, LockResult<?>>();
+        parallel.applyAll(entries, parallelResults::put, executor, 4);
+
+        assertEquals(entries.size(), parallelResults.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(sequentialResults.get(i), parallelResults.get(entries.get(i).index()).isSuccess(),
+                    "entry " + entries.get(i).index());
+        }
+        assertEquals(entries.size(), parallel.getLastAppliedIndex());
+        assertEquals(sorted(sequentialStore), sorted(parallelStore));
+    }
+
+    @Test
+    @DisplayName("Should keep restored state once confirmed and skip the entries it covers")
+    void shouldConfirmRestore() {
+        var source = new RaftStateMachine(new LockStore(new FencingTokenGenerator()), new RegionLeaseTable());
+        var entries = workload();
+        entries.forEach(entry -> source.apply(entry, null));
+        var snapshot = source.snapshot(2, Map.of(), 0);
+
+        var store = new LockStore(new FencingTokenGenerator());
+        var restored = new RaftStateMachine(store, new RegionLeaseTable());
+        restored.restore(snapshot);
+        assertTrue(restored.isRestorePending());
+        assertEquals(0, restored.getLastAppliedIndex());
+        assertEquals(snapshot.store().locks().size(), store.exportState().locks().size());
+
+        restored.confirmRestore();
+        assertFalse(restored.isRestorePending());
+        assertEquals(entries.size(), restored.getLastAppliedIndex());
+        assertEquals(1, restored.getLastAppliedTerm());
+
+        // Entries the snapshot already holds are not applied again
+        var applied = new ArrayList<LockResult<?>>();
+        restored.apply(entries.get(0), applied::add);
+        assertTrue(applied.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop restored state the leader's log does not confirm")
+    void shouldDiscardRestore() {
+        var source = new RaftStateMachine(new LockStore(new FencingTokenGenerator()), new RegionLeaseTable());
+        workload().forEach(entry -> source.apply(entry, null));
+        var snapshot = source.snapshot(2, Map.of(), 0);
+
+        var store = new LockStore(new FencingTokenGenerator());
+        var restored = new RaftStateMachine(store, new RegionLeaseTable());
+        restored.restore(snapshot);
+        restored.discardRestore();
+
+        assertFalse(restored.isRestorePending());
+        assertEquals(0, restored.getLastAppliedIndex());
+        assertTrue(store.exportState().locks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply an expiry batch the same way on every node, whatever its clock")
+    void shouldApplyExpiryBatch() {
+        var expiresAt = Instant.now().plusSeconds(30);
+        var acquire = new LogEntry(1, 1, LogEntryType.ACQUIRE_LOCK,
+                new LockCommand("lock-1", "client-1", "us-east-1", 4, 30000, expiresAt, null, 0).serialize());
+
+        // The leader's clock has passed the lock's expiry
+        var leaderStore = new LockStore(new FencingTokenGenerator());
+        leaderStore.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(31)));
+        var leader = new RaftStateMachine(leaderStore, new RegionLeaseTable());
+        leader.apply(acquire, null);
+        var batch = new ExpiryBatch(leaderStore.findExpiredLocks(10).stream().map(LockStore.ExpiredLock::of).toList());
+        var expire = new LogEntry(2, 1, LogEntryType.EXPIRE_LOCKS, batch.serialize());
+
+        // A follower whose clock has not got there yet holds the lock until the batch applies
+        var followerTokens = new FencingTokenGenerator();
+        var followerStore = new LockStore(followerTokens);
+        var follower = new RaftStateMachine(followerStore, new RegionLeaseTable());
+        follower.apply(acquire, null);
+        assertTrue(followerStore.isLocked("lock-1"));
+        assertTrue(followerStore.findExpiredLocks(10).isEmpty());
+
+        var results = new ArrayList<LockResult<?>>();
+        leader.apply(expire, results::add);
+        follower.apply(expire, results::add);
+
+        assertEquals(List.of(1, 1), results.stream().map(result -> ((List<?>) result.getValue()).size()).toList());
+        assertTrue(leaderStore.exportState().locks().isEmpty());
+        assertTrue(followerStore.exportState().locks().isEmpty());
+        assertEquals(4, followerTokens.getFloor());
+        assertEquals(2, follower.getLastAppliedIndex());
+    }
+
+    @Test
+    @DisplayName("Should apply acquires, extends and session locks the same way on nodes with skewed clocks")
+    void shouldApplySameEntriesWhateverTheClock() {
+        var ahead = new LockStore(new FencingTokenGenerator());
+        ahead.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(31)));
+        var behind = new LockStore(new FencingTokenGenerator());
+        var stores = List.of(ahead, behind);
+        var stateMachines = stores.stream()
+                .map(store -> new RaftStateMachine(store, new RegionLeaseTable()))
+                .toList();
+
+        var entries = new ArrayList<LogEntry>();
+        entries.add(entry(entries, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire("lock-1", "client-1", "us-east-1", 4, 30000)));
+        entries.add(entry(entries, LogEntryType.OPEN_SESSION, LockCommand.openSession("session-1", "client-3", 10000)));
+        var results = new ArrayList<List<Boolean>>();
+        for (var stateMachine : stateMachines) {
+            var applied = new ArrayList<Boolean>();
+            entries.forEach(entry -> stateMachine.apply(entry, result -> applied.add(result.isSuccess())));
+            results.add(applied);
+        }
+
+        // The leader's clock is the one ahead: it sees lock-1 and session-1 expired
+        // and proposes taking over lock-1, while the follower still sees them held
+        assertEquals(4, ahead.expiredToken("lock-1"));
+        assertEquals(0, behind.expiredToken("lock-1"));
+        var more = new ArrayList<LogEntry>(entries);
+        more.add(entry(more, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire("lock-1", "client-2", "us-east-1", 5, 30000)
+                .withPreviousToken(ahead.expiredToken("lock-1"))));
+        more.add(entry(more, LogEntryType.EXTEND_LOCK, LockCommand.extend("lock-1", "client-2", 5, Instant.now().plusSeconds(60))));
+        more.add(entry(more, LogEntryType.ACQUIRE_LOCK, LockCommand.acquire("lock-2", "client-3", "us-east-1", 6, 30000, "session-1")));
+        more.add(entry(more, LogEntryType.KEEPALIVE_SESSION, LockCommand.keepAliveSession("session-1", "client-3", Instant.now().plusSeconds(20))));
+        // An expiry batch for the lock that was taken over removes nothing
+        var expiry = new ExpiryBatch(List.of(new LockStore.ExpiredLock("lock-1", 4, Instant.now().plusSeconds(30))));
+        more.add(new LogEntry(more.size() + 1, 1, LogEntryType.EXPIRE_LOCKS, expiry.serialize()));
+
+        for (int i = 0; i < stateMachines.size(); i++) {
+            var stateMachine = stateMachines.get(i);
+            var applied = results.get(i);
+            more.subList(entries.size(), more.size())
+                    .forEach(entry -> stateMachine.apply(entry, result -> applied.add(result.isSuccess())));
+        }
+
+        assertEquals(List.of(true, true, true, true, true, true, true), results.get(0));
+        assertEquals(results.get(0), results.get(1));
+        assertEquals(sorted(ahead), sorted(behind));
+        assertEquals(List.of("lock-1/client-2/5", "lock-2/client-3/6"), sorted(behind));
+    }
+
+    @Test
+    @DisplayName("Should decide a lease takeover from the grant time in the entry, not epochs or the local clock")
+    void shouldDecideLeaseTakeoverFromEntry() {
+        var now = Instant.now();
+        var entries = new ArrayList<LogEntry>();
+        // Homed in eu-west-1 until a second ago
+        entries.add(entry(entries, LogEntryType.GRANT_LEASE,
+                LockCommand.grantLease("lock-1", "eu-west-1", 5, now.minusSeconds(11), now.minusSeconds(1))));
+        // Granted to us-west-2 while that lease was still in force, under a far larger epoch
+        entries.add(entry(entries, LogEntryType.GRANT_LEASE,
+                LockCommand.grantLease("lock-1", "us-west-2", Long.MAX_VALUE, now.minusSeconds(2), now.plusSeconds(8))));
+        // Granted to ap-south-1 after it lapsed
+        entries.add(entry(entries, LogEntryType.GRANT_LEASE,
+                LockCommand.grantLease("lock-1", "ap-south-1", 1, now, now.plusSeconds(10))));
+
+        var leases = new RegionLeaseTable();
+        var results = new ArrayList<Boolean>();
+        var stateMachine = new RaftStateMachine(new LockStore(new FencingTokenGenerator()), leases);
+        entries.forEach(entry -> stateMachine.apply(entry, result -> results.add(result.isSuccess())));
+
+        assertEquals(List.of(true, false, true), results);
+        assertTrue(leases.isHomedIn("lock-1", "ap-south-1"));
+    }
+
+    /**
+     * Acquires, extends and releases across a few locks, with a session opened
+     * and closed partway through so the lanes have to drain around it.
+     */
+    private static List<LogEntry> workload() {
+        var entries = new ArrayList<LogEntry>();
+        long token = 0;
+        for (int round = 0; round < 20; round++) {
+            if (round == 10) {
+                entries.add(entry(entries, LogEntryType.OPEN_SESSION, LockCommand.openSession("session-1", "client-0", 10000)));
+            }
+            for (int lock = 0; lock < 8; lock++) {
+                var lockId = "lock-" + lock;
+                var client = "client-" + (round % 3);
+                token++;
+                entries.add(entry(entries, LogEntryType.ACQUIRE_LOCK,
+                        LockCommand.acquire(lockId, client, "us-east-1", token, 30000, round >= 10 && lock == 0 ? "session-1" : null)));
+                entries.add(entry(entries, LogEntryType.EXTEND_LOCK,
+                        LockCommand.extend(lockId, client, token, Instant.now().plusSeconds(60))));
+                if (round % 2 == 0) {
+                    entries.add(entry(entries, LogEntryType.RELEASE_LOCK, LockCommand.release(lockId, client, token)));
+                }
+            }
+            if (round == 15) {
+                entries.add(entry(entries, LogEntryType.CLOSE_SESSION, LockCommand.closeSession("session-1", "client-0")));
+            }
+        }
+        return entries;
+    }
+
+    private static LogEntry entry(List<LogEntry> entries, LogEntryType type, LockCommand command) {
+        return new LogEntry(entries.size() + 1, 1, type, command.serialize());
+    }
+
+    private static List<String> sorted(LockStore store) {
+        return store.exportState().locks().stream()
+                .map(lock -> lock.lockId() + "/" + lock.holderId() + "/" + lock.fencingToken())
+                .sorted()
+                .toList();
+    }
+}
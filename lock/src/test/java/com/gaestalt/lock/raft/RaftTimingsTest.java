@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.config.RaftConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for heartbeat and election timing derived from measured latencies.
+ */
+class RaftTimingsTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should use the fixed settings when adaptive timing is disabled")
+    void shouldUseFixedSettingsWhenDisabled() {
+        var config = config();
+        config.setAdaptiveTimingEnabled(false);
+        var timings = new RaftTimings(config);
+
+        timings.recordRoundTrip("node-2", 100 * MS);
+        recordHeartbeats(timings, 400);
+
+        assertEquals(50, timings.baseHeartbeatIntervalMs());
+        assertEquals(50, timings.nextHeartbeatIntervalMs(true));
+        assertEquals(150, timings.electionTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Should heartbeat at a multiple of the slowest peer's round trip within bounds")
+    void shouldFollowSlowestPeer() {
+        var timings = new RaftTimings(config());
+
+        timings.recordRoundTrip("node-2", 2 * MS);
+        assertEquals(50, timings.baseHeartbeatIntervalMs());
+
+        timings.recordRoundTrip("node-3", 30 * MS);
+        assertEquals(120, timings.baseHeartbeatIntervalMs());
+
+        timings.recordRoundTrip("node-3", 500 * MS);
+        assertEquals(250, timings.baseHeartbeatIntervalMs());
+    }
+
+    @Test
+    @DisplayName("Should stretch heartbeats gradually while idle and reset on activity")
+    void shouldStretchWhileIdle() {
+        var timings = new RaftTimings(config());
+
+        assertEquals(75, timings.nextHeartbeatIntervalMs(true));
+        assertEquals(113, timings.nextHeartbeatIntervalMs(true));
+        assertTrue(timings.isStretched());
+        for (int i = 0; i < 20; i++) {
+            timings.nextHeartbeatIntervalMs(true);
+        }
+        assertEquals(500, timings.currentHeartbeatIntervalMs());
+
+        assertEquals(50, timings.nextHeartbeatIntervalMs(false));
+        assertFalse(timings.isStretched());
+    }
+
+    @Test
+    @DisplayName("Should not stretch heartbeats past what followers' longest timeout covers")
+    void shouldCapIdleIntervalByElectionTimeout() {
+        var config = config();
+        config.setMaxElectionTimeoutMs(600);
+        var timings = new RaftTimings(config);
+
+        for (int i = 0; i < 20; i++) {
+            timings.nextHeartbeatIntervalMs(true);
+        }
+
+        assertEquals(200, timings.currentHeartbeatIntervalMs());
+    }
+
+    @Test
+    @DisplayName("Should time out at a multiple of the heartbeat gap within bounds")
+    void shouldFollowHeartbeatGaps() {
+        var timings = new RaftTimings(config());
+
+        recordHeartbeats(timings, 20);
+        assertEquals(150, timings.electionTimeoutMs());
+
+        recordHeartbeats(timings, 200);
+        assertEquals(600, timings.electionTimeoutMs());
+
+        recordHeartbeats(timings, 5000);
+        assertEquals(3000, timings.electionTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Should not count the time between leaders as a heartbeat gap")
+    void shouldIgnoreGapAcrossLeaderChange() {
+        var timings = new RaftTimings(config());
+        timings.recordHeartbeat(1_000 * MS);
+
+        timings.leaderChanged();
+        timings.recordHeartbeat(3_000 * MS);
+        timings.recordHeartbeat(3_050 * MS);
+
+        assertEquals(150, timings.electionTimeoutMs());
+    }
+
+    @Test
+    @DisplayName("Should not time out between an idle leader's heartbeats before measuring any gap")
+    void shouldWaitOutIdleLeaderWhenJoining() {
+        var leader = new RaftTimings(config());
+        for (int i = 0; i < 20; i++) {
+            leader.nextHeartbeatIntervalMs(true);
+        }
+        long idleInterval = leader.currentHeartbeatIntervalMs();
+
+        // A restarted follower has heard nothing yet, then one heartbeat with no gap to measure
+        var joining = new RaftTimings(config());
+        assertEquals(1500, joining.electionTimeoutMs());
+        assertTrue(joining.electionTimeoutMs() > idleInterval);
+        joining.recordHeartbeat(1_000 * MS);
+        assertTrue(joining.electionTimeoutMs() > idleInterval);
+
+        // Once it has measured the leader's gaps it follows them as usual
+        joining.recordHeartbeat((1_000 + idleInterval) * MS);
+        assertEquals(3 * idleInterval, joining.electionTimeoutMs());
+    }
+
+    private static RaftConfig config() {
+        var config = new RaftConfig();
+        config.setElectionTimeoutMs(150);
+        config.setHeartbeatIntervalMs(50);
+        return config;
+    }
+
+    private static void recordHeartbeats(RaftTimings timings, long gapMs) {
+        timings.leaderChanged();
+        for (int i = 0; i <= RaftTimings.WINDOW; i++) {
+            timings.recordHeartbeat((i + 1) * gapMs * MS);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.raft;
+
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.Session;
+import com.gaestalt.lock.quorum.RegionLease;
+import com.gaestalt.lock.service.LockStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the local snapshot file format.
+ */
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should read back the snapshot it wrote")
+    void shouldRoundTrip() throws IOException {
+        var now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        var session = new Session("session-1", "client-1", 10000, now.plusSeconds(10));
+        var bound = new Lock("lock-1", "client-1", "us-east-1", 7, now, now.plusSeconds(30));
+        var unbound = new Lock("lock-2", "client-2", "us-east-1", 3, now, now.plusSeconds(60));
+        var lease = new RegionLease("lock-3", "eu-west-1", 2, now.plusSeconds(10));
+        var snapshot = new StateSnapshot(4, 120, 3, 2, 9, new GlobalVote(6, "eu-west-1"),
+                new LockStore.StoreState(List.of(bound, unbound), List.of(session), Map.of("lock-1", "session-1")),
+                Map.of("lock-1", 7L, "lock-2", 3L, "lock-3", 5L), 11, List.of(lease));
+        var path = dir.resolve("snapshot.bin");
+
+        SnapshotFile.write(snapshot, path);
+        var read = SnapshotFile.read(path);
+
+        assertEquals(4, read.currentTerm());
+        assertEquals(120, read.lastAppliedIndex());
+        assertEquals(3, read.lastAppliedTerm());
+        assertEquals(2, read.lastGlobalEpoch());
+        assertEquals(9, read.lastGlobalIndex());
+        assertEquals(new GlobalVote(6, "eu-west-1"), read.globalVote());
+        assertEquals(List.of(bound, unbound), read.store().locks());
+        assertEquals(List.of(session), read.store().sessions());
+        assertEquals(Map.of("lock-1", "session-1"), read.store().lockSessions());
+        assertEquals(snapshot.tokens(), read.tokens());
+        assertEquals(11, read.tokenFloor());
+        assertEquals(List.of(lease), read.leases());
+        assertFalse(Files.exists(dir.resolve("snapshot.bin.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should reject a damaged snapshot")
+    void shouldRejectCorruptFile() throws IOException {
+        var now = Instant.now();
+        var snapshot = new StateSnapshot(1, 10, 1, 0, 0, GlobalVote.NONE,
+                new LockStore.StoreState(List.of(new Lock("lock-1", "client-1", "us-east-1", 1, now, now.plusSeconds(30))),
+                        List.of(), Map.of()),
+                Map.of("lock-1", 1L), 0, List.of());
+        var path = dir.resolve("snapshot.bin");
+        SnapshotFile.write(snapshot, path);
+
+        var bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+
+        Files.write(path, new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> SnapshotFile.read(path));
+    }
+}
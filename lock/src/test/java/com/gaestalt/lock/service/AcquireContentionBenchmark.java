@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures quorum rounds wasted on acquires that were bound to lose.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AcquireContentionBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int LOCKS = 4;
+    private static final int ACQUIRES_PER_CLIENT = 50;
+    private static final long QUORUM_DELAY_MS = 5;
+
+    @Test
+    @DisplayName("Benchmark wasted quorum rounds under contention")
+    void benchmarkWastedQuorumRounds() throws Exception {
+        var withoutTable = run(false);
+        var withTable = run(true);
+
+        System.out.printf("%-24s %10s %10s %10s %8s %10s%n",
+                "mode", "rounds", "acquired", "wasted", "wasted%", "elapsedMs");
+        print("without in-flight table", withoutTable);
+        print("with in-flight table", withTable);
+
+        assertTrue(withTable.wasted() < withoutTable.wasted());
+    }
+
+    private Result run(boolean inFlightTableEnabled) throws Exception {
+        var service = new ContendedLockService(QUORUM_DELAY_MS);
+        service.lockConfig.setInFlightTableEnabled(inFlightTableEnabled);
+
+        var lockIds = new ArrayList<String>();
+        for (int i = 0; i < LOCKS; i++) {
+            lockIds.add(UUID.randomUUID().toString());
+        }
+
+        var acquired = new AtomicLong();
+        long start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                final String clientId = "client-" + c;
+                final String lockId = lockIds.get(c % LOCKS);
+                executor.submit(() -> {
+                    for (int i = 0; i < ACQUIRES_PER_CLIENT; i++) {
+                        var result = service.lockService.acquireLock(lockId, clientId, 30000)
+                                .get(10, TimeUnit.SECONDS);
+                        if (result.isSuccess()) {
+                            acquired.incrementAndGet();
+                            service.lockService.releaseLock(lockId, clientId, result.getValue().fencingToken())
+                                    .get(10, TimeUnit.SECONDS);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        return new Result(service.quorumRounds.get(), acquired.get(), elapsedMs);
+    }
+
+    private void print(String mode, Result result) {
+        System.out.printf("%-24s %10d %10d %10d %7.1f%% %10d%n",
+                mode, result.rounds(), result.acquired(), result.wasted(),
+                100.0 * result.wasted() / Math.max(1, result.rounds()), result.elapsedMs());
+    }
+
+    private record Result(long rounds, long acquired, long elapsedMs) {
+        long wasted() {
+            return rounds - acquired;
+        }
+    }
+}
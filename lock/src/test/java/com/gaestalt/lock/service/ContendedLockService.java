@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.quorum.GlobalRaftGroup;
+import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
+import com.gaestalt.lock.raft.LockCommand;
+import com.gaestalt.lock.raft.LogEntry;
+import com.gaestalt.lock.raft.LogEntryType;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single-node LockService whose quorum rounds take a fixed time, so that
+ * concurrent acquires of one lock overlap. Counts the quorum rounds started.
+ */
+class ContendedLockService {
+
+    final LockStore lockStore;
+    final LockConfig lockConfig = new LockConfig();
+    final LockService lockService;
+    final AtomicLong quorumRounds = new AtomicLong();
+
+    ContendedLockService(long quorumDelayMs) {
+        var tokenGenerator = new FencingTokenGenerator();
+        lockStore = new LockStore(tokenGenerator);
+
+        var raftConfig = new RaftConfig();
+        raftConfig.setNodeId("test-node-1");
+
+        var regionConfig = new RegionConfig();
+        regionConfig.setRegionId("test-region");
+        regionConfig.setQuorumTimeoutMs(5000);
+        regionConfig.setPeersString("");
+
+        var lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+        var leaseTable = new RegionLeaseTable();
+        var stateMachine = new RaftStateMachine(lockStore, leaseTable);
+        var raftNode = new TestRaftNode(raftConfig, stateMachine, tokenGenerator);
+        var timerWheel = new TimerWheel(lockConfig);
+        var contentionTracker = new ContentionTracker(lockConfig, lockMetrics, timerWheel);
+        var channelFactory = new GrpcChannelFactory(new ChannelConfig());
+        var quorumManager = new QuorumManager(regionConfig, lockStore, raftNode, leaseTable, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, contentionTracker, channelFactory) {
+            @Override
+            public CompletableFuture<LockResult<QuorumManager.QuorumResult>> requestLockQuorum(
+                    String lockId, String clientId, long fencingToken, long timeoutMs) {
+                quorumRounds.incrementAndGet();
+                return CompletableFuture.runAsync(() -> {},
+                                CompletableFuture.delayedExecutor(quorumDelayMs, TimeUnit.MILLISECONDS))
+                        .thenCompose(v -> super.requestLockQuorum(lockId, clientId, fencingToken, timeoutMs));
+            }
+        };
+        quorumManager.init();
+
+        var globalRaftGroup = new GlobalRaftGroup(regionConfig, raftNode, stateMachine, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, channelFactory);
+
+        lockService = new LockService(raftNode, quorumManager, lockStore,
+                tokenGenerator, lockConfig, regionConfig, lockMetrics, timerWheel, contentionTracker,
+                globalRaftGroup);
+    }
+
+    /**
+     * RaftNode that is always leader and applies commands straight to the state machine.
+     */
+    private static class TestRaftNode extends RaftNode {
+        private final RaftStateMachine testStateMachine;
+        private final AtomicLong nextIndex = new AtomicLong(0);
+
+        TestRaftNode(RaftConfig config, RaftStateMachine stateMachine,
+                     FencingTokenGenerator tokenGenerator) {
+            super(config, null, stateMachine, tokenGenerator, new LockMetrics(new SimpleMeterRegistry()),
+                    OpenTelemetry.noop().getTracer("test"), new TimerWheel(new LockConfig()));
+            this.testStateMachine = stateMachine;
+        }
+
+        @Override
+        public boolean isLeader() {
+            return true;
+        }
+
+        @Override
+        public Optional<String> getLeaderId() {
+            return Optional.of("test-node-1");
+        }
+
+        @Override
+        public CompletableFuture<LockResult<?>> submit(LogEntryType type, LockCommand command) {
+            var future = new CompletableFuture<LockResult<?>>();
+            var entry = new LogEntry(nextIndex.incrementAndGet(), 1, type, command.serialize());
+            testStateMachine.apply(entry, future::complete);
+            return future;
+        }
+
+        @Override
+        public void init() {
+            // No-op for testing
+        }
+
+        @Override
+        public void startElectionProcess() {
+            // No-op for testing
+        }
+
+        @Override
+        public void stop() {
+            // No-op for testing
+        }
+    }
+}
@@ -179,6 +179,25 @@ class FencingTokenGeneratorTest {
         assertEquals(8, stats.totalTokensIssued()); // 5 + 3
     }
 
+    @Test
+    @DisplayName("Should keep tokens increasing after a lock's sequence is retired")
+    void shouldKeepTokensIncreasingAfterRetire() {
+        generator.updateToken("lock-1", 7);
+        generator.nextToken("lock-2");
+
+        generator.retire("lock-1");
+
+        assertEquals(7, generator.getFloor());
+        assertEquals(1, generator.getStats().trackedLocks());
+        assertEquals(8, generator.nextToken("lock-1"));
+        assertEquals(2, generator.nextToken("lock-2"));
+        assertEquals(8, generator.nextToken("lock-3"));
+
+        generator.retire("lock-1");
+        generator.updateToken("lock-1", 3);
+        assertEquals(8, generator.currentToken("lock-1"));
+    }
+
     @Test
     @DisplayName("Should clear all state")
     void shouldClearAllState() {
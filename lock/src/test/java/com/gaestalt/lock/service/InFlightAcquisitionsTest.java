@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.model.Lock;
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for short-circuiting acquires of a lock that already has an acquisition in flight.
+ */
+class InFlightAcquisitionsTest {
+
+    @Test
+    @DisplayName("Should fail competing acquires fast without a quorum round")
+    @Timeout(10)
+    void shouldFailCompetingAcquiresFast() throws Exception {
+        var service = new ContendedLockService(200);
+        var lockId = UUID.randomUUID().toString();
+
+        var first = service.lockService.acquireLock(lockId, "client-1", 30000);
+        var second = service.lockService.acquireLock(lockId, "client-2", 30000)
+                .get(100, TimeUnit.MILLISECONDS);
+
+        assertFalse(second.isSuccess());
+        assertEquals(LockStatus.ALREADY_LOCKED, second.getError().status());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, service.quorumRounds.get());
+        assertEquals(1, service.lockService.getInFlightAcquisitions().getRejectedCount());
+        assertEquals(0, service.lockService.getInFlightAcquisitions().getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should share the in-flight outcome with retries from the same client")
+    @Timeout(10)
+    void shouldShareOutcomeWithSameClient() throws Exception {
+        var service = new ContendedLockService(100);
+        var lockId = UUID.randomUUID().toString();
+
+        var first = service.lockService.acquireLock(lockId, "client-1", 30000);
+        var retry = service.lockService.acquireLock(lockId, "client-1", 30000);
+
+        var lock = first.get(5, TimeUnit.SECONDS).getValue();
+        assertEquals(lock.fencingToken(), retry.get(5, TimeUnit.SECONDS).getValue().fencingToken());
+        assertEquals(1, service.quorumRounds.get());
+    }
+
+    @Test
+    @DisplayName("Should not share the in-flight outcome with the same client asking differently")
+    @Timeout(10)
+    void shouldNotShareOutcomeWithDifferentRequest() throws Exception {
+        var service = new ContendedLockService(200);
+        var lockId = UUID.randomUUID().toString();
+
+        var first = service.lockService.acquireLock(lockId, "client-1", 30000);
+        var longer = service.lockService.acquireLock(lockId, "client-1", 60000)
+                .get(100, TimeUnit.MILLISECONDS);
+
+        assertFalse(longer.isSuccess());
+        assertEquals(LockStatus.ALREADY_LOCKED, longer.getError().status());
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, service.lockService.getInFlightAcquisitions().getJoinedCount());
+    }
+
+    @Test
+    @DisplayName("Should free the lock's slot when the in-flight attempt completes")
+    void shouldFreeSlotOnCompletion() {
+        var table = new InFlightAcquisitions();
+        var attempt = new InFlightAcquisitions.Attempt("client-1");
+
+        assertNull(table.register("lock-1", attempt));
+        assertSame(attempt, table.register("lock-1", new InFlightAcquisitions.Attempt("client-2")));
+
+        table.complete("lock-1", attempt, LockResult.failure(LockStatus.QUORUM_FAILED, "no quorum"));
+
+        assertTrue(attempt.result().isDone());
+        assertNull(table.register("lock-1", new InFlightAcquisitions.Attempt("client-2")));
+    }
+
+    @Test
+    @DisplayName("Should report the winner to acquires waiting on the in-flight attempt")
+    @Timeout(10)
+    void shouldReportWinnerToWaiters() throws Exception {
+        var service = new ContendedLockService(100);
+        service.lockConfig.setWaitForInFlightAcquire(true);
+        var lockId = UUID.randomUUID().toString();
+
+        var first = service.lockService.acquireLock(lockId, "client-1", 30000);
+        var waiters = new ArrayList<CompletableFuture<LockResult<Lock>>>();
+        for (int i = 2; i <= 5; i++) {
+            waiters.add(service.lockService.acquireLock(lockId, "client-" + i, 30000));
+        }
+
+        var lock = first.get(5, TimeUnit.SECONDS).getValue();
+        for (var waiter : waiters) {
+            var result = waiter.get(5, TimeUnit.SECONDS);
+            assertEquals(LockStatus.ALREADY_LOCKED, result.getError().status());
+            assertEquals("client-1", result.getError().currentHolderId().orElseThrow());
+        }
+        assertEquals(lock.fencingToken(), service.lockStore.get(lockId).orElseThrow().fencingToken());
+        assertEquals(1, service.quorumRounds.get());
+        assertEquals(4, service.lockService.getInFlightAcquisitions().getWaitedCount());
+    }
+}
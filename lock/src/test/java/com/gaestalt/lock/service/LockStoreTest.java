@@ -8,17 +8,26 @@
 
 package com.gaestalt.lock.service;
 
+import com.gaestalt.lock.model.Lock;
 import com.gaestalt.lock.model.LockStatus;
+import com.gaestalt.lock.model.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -214,4 +223,236 @@ class LockStoreTest {
         var activeLocks = lockStore.getAllActiveLocks();
         assertEquals(5, activeLocks.size());
     }
+
+    @Test
+    @DisplayName("Should extend lock with matching token and holder")
+    void shouldExtendLockWithMatchingToken() {
+        var lockId = UUID.randomUUID().toString();
+        var lock = lockStore.tryAcquire(lockId, "client-1", "us-east-1", 1000).getValue();
+        var newExpiry = Instant.now().plusSeconds(60);
+
+        var wrongToken = lockStore.extend(lockId, "client-1", lock.fencingToken() + 1, newExpiry);
+        assertFalse(wrongToken.isSuccess());
+        assertEquals(LockStatus.INVALID_TOKEN, wrongToken.getError().status());
+
+        var wrongClient = lockStore.extend(lockId, "client-2", lock.fencingToken(), newExpiry);
+        assertFalse(wrongClient.isSuccess());
+
+        var result = lockStore.extend(lockId, "client-1", lock.fencingToken(), newExpiry);
+        assertTrue(result.isSuccess());
+        assertEquals(newExpiry, lockStore.get(lockId).orElseThrow().expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should fail to extend unknown lock")
+    void shouldFailToExtendUnknownLock() {
+        var result = lockStore.extend("missing", "client-1", 1, Instant.now().plusSeconds(60));
+
+        assertFalse(result.isSuccess());
+        assertEquals(LockStatus.NOT_FOUND, result.getError().status());
+    }
+
+    @Test
+    @DisplayName("Should track held locks in the region digest")
+    void shouldTrackLocksInDigest() {
+        var empty = lockStore.getDigest("us-east-1");
+        var lockId = UUID.randomUUID().toString();
+
+        var lock = lockStore.tryAcquire(lockId, "client-1", "us-east-1", 30000).getValue();
+        var held = lockStore.getDigest("us-east-1");
+        int bucket = LockDigest.bucketOf(lockId);
+
+        assertNotEquals(empty[bucket], held[bucket]);
+        assertEquals(List.of(bucket), LockDigest.differingBuckets(empty, toList(held)));
+        assertEquals(1, lockStore.getActiveLocksInBuckets("us-east-1", Set.of(bucket)).size());
+        assertTrue(lockStore.getActiveLocksInBuckets("us-west-2", Set.of(bucket)).isEmpty());
+
+        lockStore.release(lockId, "client-1", lock.fencingToken());
+        assertArrayEquals(empty, lockStore.getDigest("us-east-1"));
+    }
+
+    @Test
+    @DisplayName("Should produce identical digests for the same locks in any order")
+    void shouldProduceOrderIndependentDigest() {
+        var other = new LockStore(new FencingTokenGenerator());
+        var expiresAt = Instant.now().plusSeconds(30);
+
+        for (int i = 0; i < 10; i++) {
+            lockStore.acquireWithToken("lock-" + i, "client", "eu-west-1", i + 1, expiresAt);
+        }
+        for (int i = 9; i >= 0; i--) {
+            other.acquireWithToken("lock-" + i, "client", "eu-west-1", i + 1, expiresAt);
+        }
+
+        assertTrue(LockDigest.differingBuckets(lockStore.getDigest("eu-west-1"),
+                toList(other.getDigest("eu-west-1"))).isEmpty());
+
+        other.releaseByToken("lock-3", 4);
+        assertEquals(List.of(LockDigest.bucketOf("lock-3")),
+                LockDigest.differingBuckets(lockStore.getDigest("eu-west-1"), toList(other.getDigest("eu-west-1"))));
+    }
+
+    @Test
+    @DisplayName("Should extend every lock in a session with one keepalive")
+    void shouldKeepAliveAllSessionLocks() {
+        var session = new Session("session-1", "client-1", 10000, Instant.now().plusSeconds(10));
+        lockStore.openSession(session);
+        for (int i = 0; i < 3; i++) {
+            var result = lockStore.acquireWithToken("lock-" + i, "client-1", "us-east-1", i + 1,
+                    Instant.now().plusSeconds(300), "session-1");
+            assertTrue(result.isSuccess());
+            assertEquals(session.expiresAt(), result.getValue().expiresAt());
+        }
+
+        var expiresAt = Instant.now().plusSeconds(20);
+        var result = lockStore.keepAliveSession("session-1", "client-1", expiresAt);
+
+        assertTrue(result.isSuccess());
+        assertEquals(expiresAt, result.getValue().expiresAt());
+        assertEquals(Set.of("lock-0", "lock-1", "lock-2"), lockStore.getSessionLocks("session-1"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expiresAt, lockStore.get("lock-" + i).orElseThrow().expiresAt());
+        }
+        assertFalse(lockStore.extend("lock-0", "client-1", 1, Instant.now().plusSeconds(60)).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should release every lock in a session when it closes")
+    void shouldReleaseSessionLocksOnClose() {
+        var empty = lockStore.getDigest("us-east-1");
+        lockStore.openSession(new Session("session-1", "client-1", 10000, Instant.now().plusSeconds(10)));
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 1, Instant.now().plusSeconds(10), "session-1");
+        lockStore.acquireWithToken("lock-2", "client-1", "us-east-1", 2, Instant.now().plusSeconds(10), "session-1");
+        lockStore.releaseByToken("lock-2", 2);
+
+        assertFalse(lockStore.closeSession("session-1", "client-2").isSuccess());
+        var result = lockStore.closeSession("session-1", "client-1");
+
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("lock-1"), result.getValue().stream().map(Lock::lockId).toList());
+        assertFalse(lockStore.isLocked("lock-1"));
+        assertTrue(lockStore.getSession("session-1").isEmpty());
+        assertArrayEquals(empty, lockStore.getDigest("us-east-1"));
+    }
+
+    @Test
+    @DisplayName("Should bind locks to a session until it is closed, whatever this node's clock says")
+    void shouldBindToSessionUntilClosed() {
+        lockStore.openSession(new Session("session-1", "client-1", 100, Instant.now().plusMillis(100)));
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 1, Instant.now().plusSeconds(10), "session-1");
+        lockStore.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(1)));
+
+        // Expired by this clock, but only the leader decides that, and closes it through the log
+        assertEquals(List.of("session-1"), lockStore.getExpiredSessions().stream().map(Session::sessionId).toList());
+        assertTrue(lockStore.acquireWithToken("lock-2", "client-1", "us-east-1", 2,
+                Instant.now().plusSeconds(10), "session-1").isSuccess());
+        assertTrue(lockStore.keepAliveSession("session-1", "client-1", Instant.now().plusSeconds(10)).isSuccess());
+
+        assertEquals(2, lockStore.closeSession("session-1", null).getValue().size());
+        var result = lockStore.acquireWithToken("lock-3", "client-1", "us-east-1", 3,
+                Instant.now().plusSeconds(10), "session-1");
+        assertFalse(result.isSuccess());
+        assertEquals(LockStatus.EXPIRED, result.getError().status());
+        assertFalse(lockStore.keepAliveSession("session-1", "client-1", Instant.now().plusSeconds(10)).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should page through locks by holder and by region")
+    void shouldListLocksByHolderAndRegion() {
+        var expiresAt = Instant.now().plusSeconds(30);
+        for (int i = 0; i < 5; i++) {
+            lockStore.acquireWithToken("lock-" + i, "client-1", i < 3 ? "us-east-1" : "eu-west-1", i + 1, expiresAt);
+        }
+        lockStore.acquireWithToken("lock-9", "client-2", "us-east-1", 10, expiresAt);
+        lockStore.releaseByToken("lock-1", 2);
+
+        var first = lockStore.listLocks("client-1", null, null, 2);
+        assertEquals(List.of("lock-0", "lock-2"), first.locks().stream().map(Lock::lockId).toList());
+        assertEquals("lock-2", first.nextPageToken());
+
+        var second = lockStore.listLocks("client-1", null, first.nextPageToken(), 2);
+        assertEquals(List.of("lock-3", "lock-4"), second.locks().stream().map(Lock::lockId).toList());
+        assertNull(second.nextPageToken());
+
+        assertEquals(List.of("lock-0", "lock-2", "lock-9"), lockStore.listLocks(null, "us-east-1", null, 10)
+                .locks().stream().map(Lock::lockId).toList());
+        assertEquals(List.of("lock-3", "lock-4"), lockStore.listLocks("client-1", "eu-west-1", null, 10)
+                .locks().stream().map(Lock::lockId).toList());
+        assertEquals(5, lockStore.listLocks(null, null, null, 10).locks().size());
+
+        var all = lockStore.listLocks(null, null, "lock-3", 10);
+        assertEquals(List.of("lock-4", "lock-9"), all.locks().stream().map(Lock::lockId).toList());
+        assertNull(all.nextPageToken());
+    }
+
+    @Test
+    @DisplayName("Should release every lock of a holder and drop it from the indexes")
+    void shouldReleaseAllByHolder() {
+        var expiresAt = Instant.now().plusSeconds(30);
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 1, expiresAt);
+        lockStore.acquireWithToken("lock-2", "client-1", "eu-west-1", 2, expiresAt);
+        lockStore.acquireWithToken("lock-3", "client-2", "us-east-1", 3, expiresAt);
+
+        var result = lockStore.releaseAllByHolder("client-1");
+
+        assertTrue(result.isSuccess());
+        assertEquals(Set.of("lock-1", "lock-2"),
+                result.getValue().stream().map(Lock::lockId).collect(Collectors.toSet()));
+        assertTrue(lockStore.getLocksByHolder("client-1").isEmpty());
+        assertEquals(List.of("lock-3"), lockStore.getLocksByRegion("us-east-1").stream()
+                .map(Lock::lockId).toList());
+        assertTrue(lockStore.getLocksByRegion("eu-west-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should judge expiry by the store's clock")
+    void shouldJudgeExpiryByClock() {
+        var expiresAt = Instant.now().plusSeconds(30);
+        lockStore.acquireWithToken("lock-1", "client-1", "us-east-1", 1, expiresAt);
+
+        lockStore.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(31)));
+
+        assertFalse(lockStore.isLocked("lock-1"));
+        assertTrue(lockStore.acquireWithToken("lock-1", "client-2", "us-east-1", 2, expiresAt.plusSeconds(60))
+                .isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should expire a batch's locks only while token and expiry still match")
+    void shouldExpireBatch() {
+        var expiresAt = Instant.now().plusSeconds(30);
+        for (var lockId : List.of("lock-1", "lock-2", "lock-3", "lock-4")) {
+            lockStore.acquireWithToken(lockId, "client-1", "us-east-1", 5, expiresAt);
+        }
+        lockStore.openSession(new Session("session-1", "client-1", 10000, Instant.now().plusSeconds(10)));
+        lockStore.acquireWithToken("lock-5", "client-1", "us-east-1", 5, expiresAt, "session-1");
+
+        // The leader looks once its clock has passed the locks' expiry
+        lockStore.setClock(Clock.offset(Clock.systemUTC(), Duration.ofSeconds(31)));
+        var found = lockStore.findExpiredLocks(10).stream().map(LockStore.ExpiredLock::of).toList();
+        assertEquals(Set.of("lock-1", "lock-2", "lock-3", "lock-4"),
+                found.stream().map(LockStore.ExpiredLock::lockId).collect(Collectors.toSet()));
+        assertEquals(2, lockStore.findExpiredLocks(2).size());
+
+        // Re-acquired and extended after the leader looked
+        lockStore.acquireWithToken("lock-2", "client-2", "us-east-1", 6, Instant.now().plusSeconds(120));
+        lockStore.setClock(Clock.systemUTC());
+        lockStore.extend("lock-3", null, 5, Instant.now().plusSeconds(60));
+
+        var result = lockStore.expireLocks(found);
+
+        assertTrue(result.isSuccess());
+        assertEquals(Set.of("lock-1", "lock-4"),
+                result.getValue().stream().map(Lock::lockId).collect(Collectors.toSet()));
+        assertTrue(lockStore.isLocked("lock-2"));
+        assertTrue(lockStore.isLocked("lock-3"));
+        assertTrue(lockStore.getSessionLocks("session-1").contains("lock-5"));
+        assertEquals(5, tokenGenerator.getFloor());
+        assertEquals(6, tokenGenerator.nextToken("lock-1"));
+        assertEquals(7, tokenGenerator.nextToken("lock-2"));
+    }
+
+    private static List<Long> toList(long[] digest) {
+        return Arrays.stream(digest).boxed().toList();
+    }
 }
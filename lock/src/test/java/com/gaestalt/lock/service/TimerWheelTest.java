@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.service;
+
+import com.gaestalt.lock.config.LockConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared timer wheel.
+ */
+class TimerWheelTest {
+
+    private TimerWheel timerWheel;
+
+    @BeforeEach
+    void setUp() {
+        var config = new LockConfig();
+        config.setTimerTickMs(5);
+        config.setTimerWheelSize(8);
+        timerWheel = new TimerWheel(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timerWheel.stop();
+    }
+
+    @Test
+    @DisplayName("Should run a task after its delay")
+    @Timeout(5)
+    void shouldRunAfterDelay() throws Exception {
+        var fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        timerWheel.schedule(fired::countDown, 50);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertEquals(0, timerWheel.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should run a timeout longer than one rotation of the wheel")
+    @Timeout(5)
+    void shouldRunAfterSeveralRotations() throws Exception {
+        var fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // 8 buckets of 5 ms: 200 ms is five rotations
+        timerWheel.schedule(fired::countDown, 200);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+    }
+
+    @Test
+    @DisplayName("Should not run a cancelled task")
+    void shouldNotRunCancelledTask() throws Exception {
+        var runs = new AtomicInteger();
+
+        var timeout = timerWheel.schedule(runs::incrementAndGet, 20);
+        assertTrue(timeout.cancel());
+        Thread.sleep(100);
+
+        assertEquals(0, runs.get());
+        assertEquals(0, timerWheel.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should repeat a periodic task until cancelled")
+    @Timeout(5)
+    void shouldRepeatUntilCancelled() throws Exception {
+        var runs = new AtomicInteger();
+        var threeRuns = new CountDownLatch(3);
+
+        var timeout = timerWheel.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            threeRuns.countDown();
+        }, 0, 10);
+
+        assertTrue(threeRuns.await(2, TimeUnit.SECONDS));
+        timeout.cancel();
+        Thread.sleep(50);
+        int afterCancel = runs.get();
+        Thread.sleep(100);
+
+        assertEquals(afterCancel, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should fail a future that misses its deadline and release the timer of one that does not")
+    @Timeout(5)
+    void shouldTimeOutFutures() throws Exception {
+        var late = timerWheel.orTimeout(new CompletableFuture<String>(), 20);
+        var onTime = timerWheel.orTimeout(new CompletableFuture<String>(), 60000);
+
+        onTime.complete("done");
+
+        var error = assertThrows(ExecutionException.class, () -> late.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals("done", onTime.get());
+        assertEquals(0, timerWheel.getPendingCount());
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput and tail latency of a three-region cluster, three nodes per region,
+ * running in one JVM over a simulated network, under steady load and under
+ * faults. Each scenario prints a latency table and writes HdrHistogram
+ * percentile files and an acquire timeline to target/sim. Scenarios with faults
+ * also print, per fault, the acquires scheduled during it and the longest time
+ * no acquire succeeded. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ClusterSimulationBenchmark {
+
+    private static final long SEED = 42;
+    private static final List<String> REGIONS = List.of("us-east", "us-west", "eu-west");
+    private static final int NODES_PER_REGION = 3;
+    private static final double RATE_PER_SECOND = 200;
+    private static final int LOCKS = 1000;
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+    private static final Duration FAULT_AT = Duration.ofSeconds(3);
+    private static final Duration FAULT_LENGTH = Duration.ofSeconds(3);
+    private static final Path RESULTS = Path.of("target", "sim");
+
+    private static final Logger LOCK_LOGGER = (Logger) LoggerFactory.getLogger("com.gaestalt.lock");
+    private static Level savedLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Per-request debug logging would dominate the latencies being measured
+        savedLevel = LOCK_LOGGER.getLevel();
+        LOCK_LOGGER.setLevel(Level.ERROR);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        LOCK_LOGGER.setLevel(savedLevel);
+    }
+
+    @Test
+    @DisplayName("Benchmark steady-state latency across regions")
+    @Timeout(60)
+    void benchmarkSteadyState() throws Exception {
+        try (var cluster = startCluster(new SimNetwork(SEED))) {
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS).run(RUN_TIME);
+            publish("steady-state", report);
+
+            assertEquals(List.of(), report.violations());
+            assertTrue(report.count(LoadGenerator.Operation.ACQUIRE, "OK") > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through a leader crash")
+    @Timeout(60)
+    void benchmarkLeaderCrash() throws Exception {
+        try (var cluster = startCluster(new SimNetwork(SEED))) {
+            var region = REGIONS.getFirst();
+            var crashed = cluster.leaderOf(region).orElseThrow();
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .at(FAULT_AT, "Crashing leader " + crashed.getNodeId(), () -> cluster.crash(crashed))
+                    .run(RUN_TIME);
+            publish("leader-crash", report);
+
+            var leader = cluster.leaderOf(region).orElseThrow();
+            assertNotEquals(crashed.getNodeId(), leader.getNodeId());
+            assertAcquires(cluster, region);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through the loss of a region")
+    @Timeout(60)
+    void benchmarkRegionLoss() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var lost = REGIONS.getLast();
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .at(FAULT_AT, "Cutting off region " + lost, () -> network.isolateRegion(lost))
+                    .run(RUN_TIME);
+            publish("region-loss", report);
+
+            // The remaining two regions are still a majority
+            assertAcquires(cluster, REGIONS.getFirst());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency over lossy links")
+    @Timeout(60)
+    void benchmarkLossyLinks() throws Exception {
+        var network = new SimNetwork(SEED);
+        network.setIntraRegion(SimNetwork.LinkProfile.of(0.5, 0.2).withLoss(0.005));
+        network.setInterRegion(SimNetwork.LinkProfile.of(30, 5).withLoss(0.01));
+        try (var cluster = startCluster(network)) {
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS).run(RUN_TIME);
+            publish("lossy-links", report);
+
+            assertTrue(report.count(LoadGenerator.Operation.ACQUIRE, "OK") > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through a paused follower")
+    @Timeout(60)
+    void benchmarkFollowerPause() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var region = REGIONS.getFirst();
+            var follower = cluster.followerOf(region).orElseThrow();
+            var pause = new AtomicReference<SimNetwork.Interceptor>();
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .during(FAULT_AT, FAULT_LENGTH, "Pausing follower " + follower.getNodeId(),
+                            () -> pause.set(add(network, SimFaults.pause(follower.getNodeId(), FAULT_LENGTH))),
+                            () -> network.removeInterceptor(pause.get()))
+                    .run(RUN_TIME);
+            publish("follower-pause", report);
+
+            assertEquals(List.of(), report.violations());
+            assertAcquires(cluster, region);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through a leader paused past its election timeout")
+    @Timeout(60)
+    void benchmarkLeaderPause() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var region = REGIONS.getFirst();
+            var leader = cluster.leaderOf(region).orElseThrow();
+            var pause = new AtomicReference<SimNetwork.Interceptor>();
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .during(FAULT_AT, FAULT_LENGTH, "Pausing leader " + leader.getNodeId(),
+                            () -> pause.set(add(network, SimFaults.pause(leader.getNodeId(), FAULT_LENGTH))),
+                            () -> network.removeInterceptor(pause.get()))
+                    .run(RUN_TIME);
+            publish("leader-pause", report);
+
+            assertEquals(List.of(), report.violations());
+            assertAcquires(cluster, region);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through a region partition that heals")
+    @Timeout(60)
+    void benchmarkRegionPartition() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var cut = REGIONS.getLast();
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .during(FAULT_AT, FAULT_LENGTH, "Partitioning region " + cut,
+                            () -> network.isolateRegion(cut), network::heal)
+                    .run(RUN_TIME);
+            publish("region-partition", report);
+
+            assertAcquires(cluster, cut);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through slow, then failing, cross-region calls")
+    @Timeout(60)
+    void benchmarkDegradedRegionLinks() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var slow = SimFaults.delay("RegionService/", Duration.ofMillis(100));
+            var failing = SimFaults.fail("RegionService/", 0.3, SEED);
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .during(Duration.ofSeconds(2), Duration.ofSeconds(2), "Adding 100 ms to region calls",
+                            () -> network.addInterceptor(slow), () -> network.removeInterceptor(slow))
+                    .during(Duration.ofSeconds(5), Duration.ofSeconds(2), "Failing 30% of region calls",
+                            () -> network.addInterceptor(failing), () -> network.removeInterceptor(failing))
+                    .run(RUN_TIME);
+            publish("degraded-region-links", report);
+
+            assertEquals(List.of(), report.violations());
+            assertAcquires(cluster, REGIONS.getFirst());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency with one region leader's expiry clock running ahead")
+    @Timeout(60)
+    void benchmarkClockSkew() throws Exception {
+        try (var cluster = startCluster(new SimNetwork(SEED))) {
+            var region = REGIONS.getFirst();
+            var leader = cluster.leaderOf(region).orElseThrow();
+            // Nearly the lock TTL: locks taken early in the run look expired on this node
+            var skew = Duration.ofSeconds(58);
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .during(FAULT_AT, FAULT_LENGTH, "Skewing " + leader.getNodeId() + " clock by +" + skew,
+                            () -> leader.skewClock(skew), () -> leader.skewClock(Duration.ZERO))
+                    .run(RUN_TIME);
+            publish("clock-skew", report);
+
+            // Safety here rests on the other regions' votes; violations are reported, not asserted
+            assertAcquires(cluster, region);
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark latency through a schedule of faults")
+    @Timeout(90)
+    void benchmarkFaultSchedule() throws Exception {
+        var network = new SimNetwork(SEED);
+        try (var cluster = startCluster(network)) {
+            var region = REGIONS.getFirst();
+            var leader = cluster.leaderOf(region).orElseThrow();
+            var follower = cluster.followerOf(REGIONS.get(1)).orElseThrow();
+            var pause = new AtomicReference<SimNetwork.Interceptor>();
+            var slow = SimFaults.delay("RegionService/", Duration.ofMillis(100));
+            var report = new LoadGenerator(cluster, SEED, RATE_PER_SECOND, LOCKS)
+                    .at(Duration.ofSeconds(2), "Crashing leader " + leader.getNodeId(), () -> cluster.crash(leader))
+                    .during(Duration.ofSeconds(5), Duration.ofSeconds(1), "Pausing follower " + follower.getNodeId(),
+                            () -> pause.set(add(network, SimFaults.pause(follower.getNodeId(), Duration.ofSeconds(1)))),
+                            () -> network.removeInterceptor(pause.get()))
+                    .during(Duration.ofSeconds(7), Duration.ofSeconds(2), "Partitioning region " + REGIONS.getLast(),
+                            () -> network.isolateRegion(REGIONS.getLast()), network::heal)
+                    .during(Duration.ofSeconds(10), Duration.ofSeconds(2), "Adding 100 ms to region calls",
+                            () -> network.addInterceptor(slow), () -> network.removeInterceptor(slow))
+                    .run(Duration.ofSeconds(14));
+            publish("fault-schedule", report);
+
+            assertEquals(List.of(), report.violations());
+            assertAcquires(cluster, region);
+        }
+    }
+
+    private static SimNetwork.Interceptor add(SimNetwork network, SimNetwork.Interceptor interceptor) {
+        network.addInterceptor(interceptor);
+        return interceptor;
+    }
+
+    private static SimCluster startCluster(SimNetwork network) throws InterruptedException {
+        var cluster = new SimCluster(network, REGIONS, NODES_PER_REGION);
+        cluster.start();
+        cluster.awaitLeaders(Duration.ofSeconds(10));
+        System.out.println("Leaders: " + cluster.leaders());
+        return cluster;
+    }
+
+    private static void publish(String scenario, LoadGenerator.Report report) throws Exception {
+        report.print(scenario, System.out);
+        report.write(RESULTS, scenario);
+    }
+
+    private static void assertAcquires(SimCluster cluster, String region) throws Exception {
+        var leader = cluster.leaderOf(region).orElseThrow();
+        var result = leader.getLockService()
+                .acquireLock(UUID.randomUUID().toString(), "probe-client", 10000)
+                .get(10, TimeUnit.SECONDS);
+        assertTrue(result.isSuccess(), () -> "Acquire in " + region + " failed: " + result.getError());
+    }
+}
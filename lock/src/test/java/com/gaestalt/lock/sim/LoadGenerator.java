@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import com.gaestalt.lock.model.LockResult;
+import com.gaestalt.lock.model.LockStatus;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-loop load against a simulated cluster.
+ *
+ * Operations start on a Poisson schedule at the target rate whether or not
+ * earlier ones have finished, and each latency is measured from the scheduled
+ * start, so a stalled cluster shows up as queueing delay rather than as fewer
+ * samples. Clients are spread over the regions and retry against the region's
+ * new leader during an election, up to the operation timeout.
+ *
+ * The generator also checks that no two clients are told they hold the same
+ * lock at once. Locks whose release failed are left out of the check, since the
+ * client cannot know whether the release took effect.
+ *
+ * Acquires are also recorded on a timeline, in buckets by scheduled start, and
+ * for each fault the report gives the longest stretch in which no acquire
+ * succeeded anywhere. That gap is only resolved to the mean time between
+ * successful acquires, a few tens of milliseconds at the default rates.
+ */
+class LoadGenerator {
+
+    enum Operation { ACQUIRE, RELEASE, CHECK }
+
+    private static final long LOCK_TTL_MS = 60000;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final long RETRY_DELAY_MS = 10;
+    private static final long TIMELINE_BUCKET_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final SimCluster cluster;
+    private final Random random;
+    private final double ratePerSecond;
+    private final double checkShare;
+    private final Duration operationTimeout;
+    private final String[] lockIds;
+    private final List<TimedEvent> events = new ArrayList<>();
+    private final List<FaultWindow> faults = new ArrayList<>();
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    private final Queue<HeldLock> held = new ConcurrentLinkedQueue<>();
+    private final Map<String, Long> holders = new ConcurrentHashMap<>();
+    private final Set<String> uncertain = ConcurrentHashMap.newKeySet();
+    private final Queue<Violation> violations = new ConcurrentLinkedQueue<>();
+    private final Map<Long, TimelineBucket> timeline = new ConcurrentHashMap<>();
+    // Completion times of successful acquires, in nanoseconds since the run started
+    private final NavigableSet<Long> acquiredAt = new ConcurrentSkipListSet<>();
+    private volatile long runStart;
+
+    LoadGenerator(SimCluster cluster, long seed, double ratePerSecond, int lockCount) {
+        this.cluster = cluster;
+        this.random = new Random(seed);
+        this.ratePerSecond = ratePerSecond;
+        this.checkShare = 0.2;
+        this.operationTimeout = Duration.ofSeconds(5);
+        this.lockIds = new String[lockCount];
+        for (int i = 0; i < lockCount; i++) {
+            lockIds[i] = new UUID(seed, i).toString();
+        }
+        for (var operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Runs a fault, such as a crash, at the given offset into the run. The fault
+     * is reported as lasting until the end of the run.
+     */
+    LoadGenerator at(Duration offset, String description, Runnable action) {
+        events.add(new TimedEvent(offset, description, action));
+        faults.add(new FaultWindow(description, offset, null));
+        return this;
+    }
+
+    /**
+     * Injects a fault at the given offset into the run and heals it after the
+     * given time.
+     */
+    LoadGenerator during(Duration offset, Duration length, String description, Runnable inject, Runnable heal) {
+        events.add(new TimedEvent(offset, description, inject));
+        events.add(new TimedEvent(offset.plus(length), "Healing: " + description, heal));
+        faults.add(new FaultWindow(description, offset, length));
+        return this;
+    }
+
+    /**
+     * Runs the load for the given time and waits for the operations in flight.
+     */
+    Report run(Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        runStart = start;
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long scheduled = 0;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var event : events) {
+                executor.execute(() -> {
+                    parkUntil(start + event.offset().toNanos());
+                    System.out.printf("[%6.2fs] %s%n", (System.nanoTime() - start) / 1e9, event.description());
+                    event.action().run();
+                });
+            }
+
+            long intended = start;
+            while (intended < end) {
+                parkUntil(intended);
+                var operation = nextOperation();
+                var region = cluster.getRegionIds().get(random.nextInt(cluster.getRegionIds().size()));
+                var lockId = lockIds[random.nextInt(lockIds.length)];
+                long intendedStart = intended;
+                executor.execute(() -> execute(operation, region, lockId, intendedStart));
+                scheduled++;
+
+                intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        return new Report(latencies, snapshot(outcomes), List.copyOf(violations),
+                scheduled * 1e9 / elapsed, timeline(), faultReports(elapsed));
+    }
+
+    private Operation nextOperation() {
+        double roll = random.nextDouble();
+        if (roll < checkShare) {
+            return Operation.CHECK;
+        }
+        return roll < checkShare + (1 - checkShare) / 2 ? Operation.ACQUIRE : Operation.RELEASE;
+    }
+
+    private void execute(Operation scheduled, String region, String lockId, long intendedStart) {
+        // With nothing held to release, acquire instead
+        var lock = scheduled == Operation.RELEASE ? held.poll() : null;
+        var operation = scheduled == Operation.RELEASE && lock == null ? Operation.ACQUIRE : scheduled;
+
+        String outcome;
+        try {
+            outcome = switch (operation) {
+                case ACQUIRE -> acquire(region, lockId);
+                case RELEASE -> release(lock);
+                case CHECK -> check(region, lockId);
+            };
+        } catch (TimeoutException e) {
+            outcome = "CLIENT_TIMEOUT";
+        } catch (ExecutionException | RuntimeException e) {
+            outcome = "EXCEPTION";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long completed = System.nanoTime();
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(completed - intendedStart), MAX_LATENCY_MICROS);
+        latencies.get(operation).recordValue(micros);
+        outcomes.get(operation).computeIfAbsent(outcome, key -> new LongAdder()).increment();
+
+        if (operation == Operation.ACQUIRE) {
+            boolean ok = outcome.equals("OK");
+            timeline.computeIfAbsent((intendedStart - runStart) / TIMELINE_BUCKET_NANOS, key -> new TimelineBucket())
+                    .record(micros, ok);
+            if (ok) {
+                acquiredAt.add(completed - runStart);
+            }
+        }
+    }
+
+    private List<TimelinePoint> timeline() {
+        var points = new ArrayList<TimelinePoint>();
+        new TreeMap<>(timeline).forEach((bucket, counts) -> points.add(new TimelinePoint(
+                Duration.ofNanos(bucket * TIMELINE_BUCKET_NANOS), counts.ok.sum(), counts.failed.sum(),
+                counts.latencies)));
+        return points;
+    }
+
+    /**
+     * Summarizes the acquires scheduled while each fault was in place, and the
+     * longest run without a successful acquire from its start until the first
+     * success after it healed.
+     */
+    private List<FaultReport> faultReports(long elapsedNanos) {
+        var reports = new ArrayList<FaultReport>();
+        for (var fault : faults) {
+            long from = fault.offset().toNanos();
+            long to = fault.length() != null ? from + fault.length().toNanos() : elapsedNanos;
+
+            long ok = 0;
+            long failed = 0;
+            var window = new Histogram(MAX_LATENCY_MICROS, 3);
+            for (var entry : timeline.entrySet()) {
+                long bucketStart = entry.getKey() * TIMELINE_BUCKET_NANOS;
+                if (bucketStart >= from && bucketStart < to) {
+                    ok += entry.getValue().ok.sum();
+                    failed += entry.getValue().failed.sum();
+                    window.add(entry.getValue().latencies);
+                }
+            }
+
+            long longestGap = 0;
+            long previous = from;
+            boolean recovered = false;
+            for (long success : acquiredAt.tailSet(from, true)) {
+                longestGap = Math.max(longestGap, success - previous);
+                previous = success;
+                if (success >= to) {
+                    recovered = true;
+                    break;
+                }
+            }
+            if (!recovered) {
+                longestGap = Math.max(longestGap, elapsedNanos - previous);
+            }
+
+            reports.add(new FaultReport(fault, ok, failed, window, Duration.ofNanos(longestGap), recovered));
+        }
+        return reports;
+    }
+
+    private String acquire(String region, String lockId)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var clientId = "client-" + region + "-" + Thread.currentThread().threadId();
+        var result = onLeader(region, "LockService/AcquireLock",
+                node -> node.getLockService().acquireLock(lockId, clientId, LOCK_TTL_MS));
+        if (result.isSuccess()) {
+            var lock = result.getValue();
+            var previous = holders.put(lockId, lock.fencingToken());
+            if (previous != null && !uncertain.contains(lockId)) {
+                violations.add(new Violation(Duration.ofNanos(System.nanoTime() - runStart), lockId, clientId,
+                        previous, lock.fencingToken()));
+            }
+            held.add(new HeldLock(lockId, clientId, lock.fencingToken(), region));
+        }
+        return outcome(result);
+    }
+
+    private String release(HeldLock lock) throws InterruptedException, ExecutionException, TimeoutException {
+        // Forget the holder first; once the release commits another client may acquire
+        holders.remove(lock.lockId(), lock.fencingToken());
+        var result = onLeader(lock.region(), "LockService/ReleaseLock",
+                node -> node.getLockService().releaseLock(lock.lockId(), lock.clientId(), lock.fencingToken()));
+        if (!result.isSuccess()) {
+            uncertain.add(lock.lockId());
+        }
+        return outcome(result);
+    }
+
+    private String check(String region, String lockId) {
+        var node = cluster.leaderOf(region);
+        if (node.isEmpty()) {
+            return "NO_LEADER";
+        }
+        var result = cluster.getNetwork().call("client-" + region, node.get().getNodeId(), "LockService/CheckLock",
+                () -> node.get().getLockService().checkLock(lockId));
+        return result.isSuccess() ? "OK" : result.getError().status().name();
+    }
+
+    /**
+     * Sends the request to the region's leader, retrying while the region has no
+     * leader or the node has just lost leadership.
+     */
+    private <T> LockResult<T> onLeader(String region, String method,
+                                       Function<SimNode, CompletableFuture<LockResult<T>>> request)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + operationTimeout.toNanos();
+        while (true) {
+            var leader = cluster.leaderOf(region);
+            if (leader.isPresent()) {
+                var network = cluster.getNetwork();
+                network.deliver(new SimNetwork.Message("client-" + region, leader.get().getNodeId(), method, false));
+                long remaining = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                var result = request.apply(leader.get()).get(remaining, TimeUnit.MILLISECONDS);
+                network.deliver(new SimNetwork.Message(leader.get().getNodeId(), "client-" + region, method, true));
+                if (result.isSuccess() || result.getError().status() != LockStatus.NOT_LEADER) {
+                    return result;
+                }
+            }
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RETRY_DELAY_MS) > deadline) {
+                throw new TimeoutException("No leader in " + region);
+            }
+            Thread.sleep(RETRY_DELAY_MS);
+        }
+    }
+
+    private static String outcome(LockResult<?> result) {
+        return result.isSuccess() ? "OK" : result.getError().status().name();
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static Map<Operation, Map<String, Long>> snapshot(Map<Operation, Map<String, LongAdder>> outcomes) {
+        var snapshot = new EnumMap<Operation, Map<String, Long>>(Operation.class);
+        outcomes.forEach((operation, counts) -> {
+            var sorted = new TreeMap<String, Long>();
+            counts.forEach((outcome, count) -> sorted.put(outcome, count.sum()));
+            snapshot.put(operation, sorted);
+        });
+        return snapshot;
+    }
+
+    private record TimedEvent(Duration offset, String description, Runnable action) {}
+
+    /**
+     * A fault injected at an offset into the run, healed after the length, or
+     * never if the length is null.
+     */
+    record FaultWindow(String description, Duration offset, Duration length) {}
+
+    private static final class TimelineBucket {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void record(long micros, boolean succeeded) {
+            latencies.recordValue(micros);
+            (succeeded ? ok : failed).increment();
+        }
+    }
+
+    /**
+     * Acquires scheduled to start in one bucket of the timeline.
+     */
+    record TimelinePoint(Duration offset, long ok, long failed, Histogram latencies) {}
+
+    /**
+     * Acquires scheduled while a fault was in place, and the longest time no
+     * acquire succeeded from the fault's start until the first success after it
+     * healed. An unrecovered fault's gap runs to the end of the run.
+     */
+    record FaultReport(FaultWindow fault, long ok, long failed, Histogram latencies,
+                       Duration longestGap, boolean recovered) {}
+
+    private record HeldLock(String lockId, String clientId, long fencingToken, String region) {}
+
+    /**
+     * A lock granted to a client while another client still held it.
+     *
+     * @param offset        When the second grant was seen, from the start of the run
+     * @param lockId        The lock
+     * @param clientId      The client granted it
+     * @param heldToken     The fencing token of the holder it should have waited for
+     * @param grantedToken  The fencing token granted
+     */
+    record Violation(Duration offset, String lockId, String clientId, long heldToken, long grantedToken) {}
+
+    /**
+     * Latencies in microseconds and outcome counts per operation, and every
+     * double grant seen.
+     */
+    record Report(Map<Operation, Histogram> latencies, Map<Operation, Map<String, Long>> outcomes,
+                  List<Violation> violations, double achievedRate, List<TimelinePoint> timeline,
+                  List<FaultReport> faults) {
+
+        long count(Operation operation, String outcome) {
+            return outcomes.get(operation).getOrDefault(outcome, 0L);
+        }
+
+        void print(String scenario, PrintStream out) {
+            out.printf("%n%s: %.0f ops/s offered, %d safety violations%n", scenario, achievedRate,
+                    violations.size());
+            for (var violation : violations) {
+                out.printf("  [%6.2fs] lock %s granted to %s with token %d while held with token %d%n",
+                        violation.offset().toMillis() / 1000.0, violation.lockId(), violation.clientId(),
+                        violation.grantedToken(), violation.heldToken());
+            }
+            out.printf("%-8s %8s %9s %9s %9s %9s %9s  %s%n",
+                    "op", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+            latencies.forEach((operation, histogram) -> out.printf("%-8s %8d %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    operation, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    outcomes.get(operation)));
+
+            if (!faults.isEmpty()) {
+                out.printf("%n%-44s %8s %8s %8s %9s %9s %12s%n", "fault (acquires scheduled during it)",
+                        "at s", "for s", "ok", "failed", "p99 ms", "longest gap");
+                for (var report : faults) {
+                    var fault = report.fault();
+                    out.printf("%-44.44s %8.2f %8s %8d %9d %9.2f %9d ms%s%n",
+                            fault.description(), fault.offset().toMillis() / 1000.0,
+                            fault.length() != null ? String.format("%.2f", fault.length().toMillis() / 1000.0) : "-",
+                            report.ok(), report.failed(),
+                            report.latencies().getValueAtPercentile(99) / 1000.0,
+                            report.longestGap().toMillis(), report.recovered() ? "" : " (not recovered)");
+                }
+            }
+        }
+
+        /**
+         * Writes each operation's full percentile distribution, in milliseconds,
+         * as {@code <scenario>-<op>.hgrm} for plotting or comparing runs, and the
+         * acquire timeline as {@code <scenario>-timeline.csv}.
+         */
+        void write(Path directory, String scenario) throws IOException {
+            Files.createDirectories(directory);
+            for (var entry : latencies.entrySet()) {
+                var file = directory.resolve(scenario + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+                try (var out = new PrintStream(Files.newOutputStream(file))) {
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+
+            try (var out = new PrintStream(Files.newOutputStream(directory.resolve(scenario + "-timeline.csv")))) {
+                out.println("offset_s,ok,failed,p50_ms,p99_ms,max_ms");
+                for (var point : timeline) {
+                    out.printf("%.3f,%d,%d,%.3f,%.3f,%.3f%n", point.offset().toMillis() / 1000.0,
+                            point.ok(), point.failed(),
+                            point.latencies().getValueAtPercentile(50) / 1000.0,
+                            point.latencies().getValueAtPercentile(99) / 1000.0,
+                            point.latencies().getMaxValue() / 1000.0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.raft.RaftNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Several regions of Raft clusters running in one JVM over a simulated network.
+ *
+ * Nodes are named {@code <region>-n<i>}. Raft peers call each other through
+ * {@link SimNetwork}, and each region's quorum manager reaches the other regions'
+ * current leaders through it too, so latency, loss, crashes and partitions apply
+ * to both Raft and cross-region traffic.
+ */
+class SimCluster implements AutoCloseable {
+
+    private final SimNetwork network;
+    private final Map<String, List<SimNode>> regions = new LinkedHashMap<>();
+
+    SimCluster(SimNetwork network, List<String> regionIds, int nodesPerRegion) {
+        this.network = network;
+
+        for (var regionId : regionIds) {
+            var regionConfig = new RegionConfig();
+            regionConfig.setRegionId(regionId);
+            regionConfig.setQuorumTimeoutMs(2000);
+            regionConfig.setReplicationStreamEnabled(false);
+            regionConfig.setAntiEntropyIntervalMs(0);
+            regionConfig.setPeersString(regionIds.stream()
+                    .filter(peer -> !peer.equals(regionId))
+                    .map(peer -> peer + ":sim:0")
+                    .collect(Collectors.joining(",")));
+
+            var nodes = new ArrayList<SimNode>();
+            for (int i = 1; i <= nodesPerRegion; i++) {
+                var raftConfig = new RaftConfig();
+                raftConfig.setNodeId(regionId + "-n" + i);
+                raftConfig.setElectionTimeoutMs(300);
+                raftConfig.setHeartbeatIntervalMs(50);
+                nodes.add(new SimNode(this, raftConfig.getNodeId(), regionConfig, raftConfig, new LockConfig()));
+                network.register(raftConfig.getNodeId(), regionId);
+            }
+            regions.put(regionId, nodes);
+
+            // Load generator clients in the region
+            network.register("client-" + regionId, regionId);
+        }
+    }
+
+    /**
+     * Starts every node and connects each to its region's Raft peers.
+     */
+    void start() {
+        for (var nodes : regions.values()) {
+            nodes.forEach(SimNode::start);
+            for (var node : nodes) {
+                for (var peer : nodes) {
+                    if (peer != node) {
+                        node.getRaftNode().addPeer(new SimRaftPeer(network, node.getNodeId(), peer));
+                    }
+                }
+            }
+            nodes.forEach(node -> node.getRaftNode().startElectionProcess());
+        }
+    }
+
+    /**
+     * Waits until every region that is not cut off has a live leader.
+     */
+    void awaitLeaders(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (regions.keySet().stream().anyMatch(region -> leaderOf(region).isEmpty())) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("No leader elected in time: " + leaders());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Returns the region's live leader, if it has exactly one.
+     */
+    Optional<SimNode> leaderOf(String regionId) {
+        var leaders = regions.get(regionId).stream()
+                .filter(node -> !network.isCrashed(node.getNodeId()))
+                .filter(node -> node.getRaftNode().isLeader())
+                .toList();
+        return leaders.size() == 1 ? Optional.of(leaders.getFirst()) : Optional.empty();
+    }
+
+    /**
+     * Returns a live node of the region that is not its leader.
+     */
+    Optional<SimNode> followerOf(String regionId) {
+        return regions.get(regionId).stream()
+                .filter(node -> !network.isCrashed(node.getNodeId()))
+                .filter(node -> !node.getRaftNode().isLeader())
+                .findFirst();
+    }
+
+    /**
+     * Crashes a node: the network stops delivering to it and its timers stop.
+     */
+    void crash(SimNode node) {
+        network.crash(node.getNodeId());
+        node.stop();
+    }
+
+    List<String> getRegionIds() {
+        return List.copyOf(regions.keySet());
+    }
+
+    SimNetwork getNetwork() {
+        return network;
+    }
+
+    Map<String, String> leaders() {
+        var leaders = new LinkedHashMap<String, String>();
+        regions.keySet().forEach(region ->
+                leaders.put(region, leaderOf(region).map(SimNode::getNodeId).orElse("none")));
+        return leaders;
+    }
+
+    @Override
+    public void close() {
+        for (var nodes : regions.values()) {
+            for (var node : nodes) {
+                if (!network.isCrashed(node.getNodeId())) {
+                    network.crash(node.getNodeId());
+                    node.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Raft peer reached over the simulated network.
+     */
+    private record SimRaftPeer(SimNetwork network, String localNodeId, SimNode target)
+            implements RaftNode.RaftPeer {
+
+        @Override
+        public String nodeId() {
+            return target.getNodeId();
+        }
+
+        @Override
+        public RaftNode.VoteResponse requestVote(RaftNode.VoteRequest request) {
+            return network.call(localNodeId, target.getNodeId(), "RaftService/RequestVote",
+                    () -> target.getRaftNode().handleVoteRequest(request));
+        }
+
+        @Override
+        public RaftNode.AppendEntriesResponse appendEntries(RaftNode.AppendEntriesRequest request) {
+            return network.call(localNodeId, target.getNodeId(), "RaftService/AppendEntries",
+                    () -> target.getRaftNode().handleAppendEntries(request));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+
+package com.gaestalt.lock.sim;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Faults for the simulated network and nodes.
+ *
+ * The interceptors match calls by method prefix, so {@code "RaftService/"} targets
+ * Raft replication and elections and {@code "RegionService/"} targets the calls
+ * {@link com.gaestalt.lock.quorum.CrossRegionClient} makes. Each is added to the
+ * network when the fault starts and removed when it heals.
+ */
+final class SimFaults {
+
+    private SimFaults() {
+    }
+
+    /**
+     * Holds every message to or from the node until the pause ends, as a long
+     * garbage collection or a frozen VM would look to its peers. Messages then
+     * arrive all at once. The node's own timers keep running, so it may start an
+     * election the moment it resumes, as a real node often does.
+     */
+    static SimNetwork.Interceptor pause(String nodeId, Duration duration) {
+        long resumeAt = System.nanoTime() + duration.toNanos();
+        return message -> {
+            if (message.from().equals(nodeId) || message.to().equals(nodeId)) {
+                long remaining = resumeAt - System.nanoTime();
+                if (remaining > 0) {
+                    SimNetwork.sleep(remaining / 1e6);
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds a fixed delay to each crossing of the matching calls.
+     */
+    static SimNetwork.Interceptor delay(String methodPrefix, Duration delay) {
+        double delayMs = delay.toNanos() / 1e6;
+        return message -> {
+            if (message.method().startsWith(methodPrefix)) {
+                SimNetwork.sleep(delayMs);
+            }
+        };
+    }
+
+    /**
+     * Fails the given share of matching calls on their request leg, straight away
+     * rather than after the call timeout, as a refused connection or an
+     * UNAVAILABLE status would.
+     */
+    static SimNetwork.Interceptor fail(String methodPrefix, double failureRate, long seed) {
+        var random = new Random(seed);
+        return message -> {
+            if (message.response() || !message.method().startsWith(methodPrefix)) {
+                return;
+            }
+            boolean failed;
+            synchronized (random) {
+                failed = random.nextDouble() < failureRate;
+            }
+            if (failed) {
+                throw new SimNetwork.SimulatedFailure(message.method() + " to " + message.to() + " unavailable");
+            }
+        };
+    }
+
+    /**
+     * A clock that runs at the system rate, offset by an adjustable skew. Given to
+     * a node's LockStore, it moves when that node sees locks and sessions expire.
+     * A copy in another zone shares the skew, so adjusting either moves both.
+     */
+    static final class SkewedClock extends Clock {
+
+        private final AtomicLong skewNanos;
+        private final ZoneId zone;
+
+        SkewedClock() {
+            this(new AtomicLong(), ZoneId.of("UTC"));
+        }
+
+        private SkewedClock(AtomicLong skewNanos, ZoneId zone) {
+            this.skewNanos = skewNanos;
+            this.zone = zone;
+        }
+
+        void setSkew(Duration skew) {
+            skewNanos.set(skew.toNanos());
+        }
+
+        Duration getSkew() {
+            return Duration.ofNanos(skewNanos.get());
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.now().plusNanos(skewNanos.get());
+        }
+
+        @Override
+        public long millis() {
+            return System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(skewNanos.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return zone.equals(this.zone) ? this : new SkewedClock(skewNanos, zone);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Simulated network between the nodes of an in-process cluster.
+ *
+ * Every call crosses the network twice, request and response, and each crossing
+ * takes the link's latency plus up to its jitter, and may be lost. A lost call,
+ * or a call to a crashed or partitioned node, fails after the call timeout, as a
+ * gRPC deadline would. Links within a region and between regions have separate
+ * profiles.
+ *
+ * Each crossing is named after the gRPC method it stands for, and passes through
+ * any {@link Interceptor}s added for the run, which can delay or drop it as a
+ * gRPC client interceptor would. {@link SimFaults} has the common ones.
+ *
+ * Latencies and losses are drawn from one seeded random source, so a scenario
+ * sees the same fault sequence on every run. Thread scheduling is still real, so
+ * the interleaving of concurrent calls is not reproduced exactly.
+ */
+public class SimNetwork {
+
+    /**
+     * Latency, jitter and loss of one kind of link. Loss is per crossing.
+     */
+    public record LinkProfile(double latencyMs, double jitterMs, double lossRate) {
+
+        public static LinkProfile of(double latencyMs, double jitterMs) {
+            return new LinkProfile(latencyMs, jitterMs, 0);
+        }
+
+        public LinkProfile withLoss(double lossRate) {
+            return new LinkProfile(latencyMs, jitterMs, lossRate);
+        }
+    }
+
+    /**
+     * One crossing of the network: the request or the response of a call.
+     *
+     * @param from     Node sending this crossing
+     * @param to       Node receiving it
+     * @param method   gRPC method the call stands for, e.g. {@code RaftService/AppendEntries}
+     * @param response Whether this is the response leg
+     */
+    public record Message(String from, String to, String method, boolean response) {}
+
+    /**
+     * Sees each crossing before it takes the link's latency. May sleep to delay
+     * it, or throw {@link SimulatedFailure} to drop it.
+     */
+    @FunctionalInterface
+    public interface Interceptor {
+        void intercept(Message message);
+    }
+
+    /**
+     * Thrown when a simulated call does not get through.
+     */
+    public static class SimulatedFailure extends RuntimeException {
+        SimulatedFailure(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final Random random;
+    private final Map<String, String> regionOf = new ConcurrentHashMap<>();
+    private final Set<String> crashed = ConcurrentHashMap.newKeySet();
+    private final Set<String> isolatedRegions = ConcurrentHashMap.newKeySet();
+    private final List<Interceptor> interceptors = new CopyOnWriteArrayList<>();
+
+    private volatile LinkProfile intraRegion = LinkProfile.of(0.5, 0.2);
+    private volatile LinkProfile interRegion = LinkProfile.of(30, 5);
+    private volatile long callTimeoutMs = 500;
+
+    public SimNetwork(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public void register(String nodeId, String regionId) {
+        regionOf.put(nodeId, regionId);
+    }
+
+    public void setIntraRegion(LinkProfile profile) {
+        this.intraRegion = profile;
+    }
+
+    public void setInterRegion(LinkProfile profile) {
+        this.interRegion = profile;
+    }
+
+    public void setCallTimeoutMs(long callTimeoutMs) {
+        this.callTimeoutMs = callTimeoutMs;
+    }
+
+    /**
+     * Stops a node answering; calls to and from it fail.
+     */
+    public void crash(String nodeId) {
+        crashed.add(nodeId);
+    }
+
+    public boolean isCrashed(String nodeId) {
+        return crashed.contains(nodeId);
+    }
+
+    /**
+     * Cuts every link between the region and the other regions. Links inside the
+     * region keep working.
+     */
+    public void isolateRegion(String regionId) {
+        isolatedRegions.add(regionId);
+    }
+
+    public void addInterceptor(Interceptor interceptor) {
+        interceptors.add(interceptor);
+    }
+
+    public void removeInterceptor(Interceptor interceptor) {
+        interceptors.remove(interceptor);
+    }
+
+    /**
+     * Restores every region link. Crashed nodes stay crashed.
+     */
+    public void heal() {
+        isolatedRegions.clear();
+    }
+
+    /**
+     * Makes a call from one node to another across the network.
+     */
+    public <T> T call(String from, String to, String method, Supplier<T> handler) {
+        deliver(new Message(from, to, method, false));
+        T response = handler.get();
+        deliver(new Message(to, from, method, true));
+        return response;
+    }
+
+    /**
+     * Makes a one-way call from one node to another.
+     */
+    public void send(String from, String to, String method, Runnable handler) {
+        call(from, to, method, () -> {
+            handler.run();
+            return null;
+        });
+    }
+
+    /**
+     * Carries one message from one node to another, failing if it is lost.
+     * Used directly for asynchronous calls, around the wait for their result.
+     */
+    public void deliver(Message message) {
+        for (var interceptor : interceptors) {
+            interceptor.intercept(message);
+        }
+
+        var from = message.from();
+        var to = message.to();
+        var profile = profile(from, to);
+        double delayMs;
+        boolean lost;
+        synchronized (random) {
+            delayMs = profile.latencyMs() + profile.jitterMs() * random.nextDouble();
+            lost = profile.lossRate() > 0 && random.nextDouble() < profile.lossRate();
+        }
+
+        if (lost || !reachable(from, to)) {
+            sleep(callTimeoutMs);
+            throw new SimulatedFailure("No response from " + to);
+        }
+        sleep(delayMs);
+    }
+
+    private boolean reachable(String from, String to) {
+        if (crashed.contains(from) || crashed.contains(to)) {
+            return false;
+        }
+        var fromRegion = regionOf.get(from);
+        var toRegion = regionOf.get(to);
+        return fromRegion.equals(toRegion)
+                || (!isolatedRegions.contains(fromRegion) && !isolatedRegions.contains(toRegion));
+    }
+
+    private LinkProfile profile(String from, String to) {
+        return regionOf.get(from).equals(regionOf.get(to)) ? intraRegion : interRegion;
+    }
+
+    static void sleep(double ms) {
+        try {
+            Thread.sleep(Duration.ofNanos((long) (ms * 1_000_000)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimulatedFailure("Interrupted");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import com.gaestalt.lock.config.ChannelConfig;
+import com.gaestalt.lock.config.LockConfig;
+import com.gaestalt.lock.config.RaftConfig;
+import com.gaestalt.lock.config.RegionConfig;
+import com.gaestalt.lock.grpc.GrpcChannelFactory;
+import com.gaestalt.lock.metrics.ContentionTracker;
+import com.gaestalt.lock.metrics.LockMetrics;
+import com.gaestalt.lock.quorum.CrossRegionClient;
+import com.gaestalt.lock.quorum.GlobalRaftGroup;
+import com.gaestalt.lock.quorum.QuorumManager;
+import com.gaestalt.lock.quorum.RegionLeaseTable;
+import com.gaestalt.lock.raft.RaftLog;
+import com.gaestalt.lock.raft.RaftNode;
+import com.gaestalt.lock.raft.RaftStateMachine;
+import com.gaestalt.lock.service.FencingTokenGenerator;
+import com.gaestalt.lock.service.LockExpiryService;
+import com.gaestalt.lock.service.LockService;
+import com.gaestalt.lock.service.LockStore;
+import com.gaestalt.lock.service.TimerWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+
+import java.time.Duration;
+
+/**
+ * One lock manager node of a simulated cluster, wired the way Spring wires a
+ * real node but with peers and peer regions reached over the simulated network.
+ */
+class SimNode {
+
+    private final String nodeId;
+    private final String regionId;
+    private final LockStore lockStore;
+    private final SimFaults.SkewedClock clock = new SimFaults.SkewedClock();
+    private final TimerWheel timerWheel;
+    private final RaftNode raftNode;
+    private final QuorumManager quorumManager;
+    private final LockService lockService;
+    private final LockExpiryService lockExpiryService;
+
+    SimNode(SimCluster cluster, String nodeId, RegionConfig regionConfig, RaftConfig raftConfig,
+            LockConfig lockConfig) {
+        this.nodeId = nodeId;
+        this.regionId = regionConfig.getRegionId();
+
+        var tokenGenerator = new FencingTokenGenerator();
+        lockStore = new LockStore(tokenGenerator);
+        lockStore.setClock(clock);
+        var leaseTable = new RegionLeaseTable();
+        var lockMetrics = new LockMetrics(new SimpleMeterRegistry());
+        timerWheel = new TimerWheel(lockConfig);
+        var contentionTracker = new ContentionTracker(lockConfig, lockMetrics, timerWheel);
+
+        var stateMachine = new RaftStateMachine(lockStore, leaseTable);
+        raftNode = new RaftNode(raftConfig, new RaftLog(), stateMachine,
+                tokenGenerator, lockMetrics, OpenTelemetry.noop().getTracer("sim"), timerWheel);
+        var channelFactory = new GrpcChannelFactory(new ChannelConfig());
+        quorumManager = new QuorumManager(regionConfig, lockStore, raftNode, leaseTable, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, contentionTracker, channelFactory) {
+            @Override
+            protected CrossRegionClient createRegionClient(RegionConfig.PeerRegion peer) {
+                return new SimRegionClient(cluster, nodeId, peer.getRegionId(),
+                        regionConfig.getSuspectAfterFailures());
+            }
+        };
+        var globalRaftGroup = new GlobalRaftGroup(regionConfig, raftNode, stateMachine, lockMetrics,
+                OpenTelemetry.noop(), timerWheel, channelFactory);
+        lockService = new LockService(raftNode, quorumManager, lockStore, tokenGenerator, lockConfig,
+                regionConfig, lockMetrics, timerWheel, contentionTracker, globalRaftGroup);
+        lockExpiryService = new LockExpiryService(raftNode, lockStore, lockConfig, regionConfig,
+                lockMetrics, timerWheel);
+    }
+
+    void start() {
+        raftNode.init();
+        quorumManager.init();
+        lockExpiryService.start();
+    }
+
+    /**
+     * Stops the node's timers and background work. The network should already
+     * treat the node as crashed, so calls in flight fail.
+     */
+    void stop() {
+        lockExpiryService.stop();
+        raftNode.stop();
+        quorumManager.shutdown();
+        timerWheel.stop();
+    }
+
+    /**
+     * Moves the clock this node's LockStore judges expiry by; positive skews make
+     * locks and sessions expire early on this node.
+     */
+    void skewClock(Duration skew) {
+        clock.setSkew(skew);
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    String getRegionId() {
+        return regionId;
+    }
+
+    LockStore getLockStore() {
+        return lockStore;
+    }
+
+    RaftNode getRaftNode() {
+        return raftNode;
+    }
+
+    QuorumManager getQuorumManager() {
+        return quorumManager;
+    }
+
+    LockService getLockService() {
+        return lockService;
+    }
+}
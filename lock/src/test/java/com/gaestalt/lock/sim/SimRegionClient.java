@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Bob Hablutzel. All rights reserved.
+ *
+ * Licensed under a dual-license model: freely available for non-commercial use;
+ * commercial use requires a separate license. See LICENSE file for details.
+ * Contact license@gaestalt.com for commercial licensing.
+ */
+
+package com.gaestalt.lock.sim;
+
+import com.gaestalt.lock.quorum.CrossRegionClient;
+import com.gaestalt.lock.quorum.QuorumManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cross-region client that reaches the peer region's current leader over the
+ * simulated network instead of gRPC. Region health tracking is inherited, so
+ * lost calls mark the region suspect as they would in production.
+ */
+class SimRegionClient extends CrossRegionClient {
+
+    private final SimCluster cluster;
+    private final String localNodeId;
+
+    SimRegionClient(SimCluster cluster, String localNodeId, String regionId, int suspectAfterFailures) {
+        super("sim-" + regionId, 1, regionId, suspectAfterFailures);
+        this.cluster = cluster;
+        this.localNodeId = localNodeId;
+    }
+
+    @Override
+    public QuorumManager.LockVoteResponse requestLockVote(QuorumManager.LockVoteRequest request) {
+        return call("RegionService/RequestLockVote",
+                node -> node.getQuorumManager().handleLockVoteRequest(request));
+    }
+
+    @Override
+    public void notifyLockAcquired(QuorumManager.LockAcquiredNotification notification) {
+        call("RegionService/NotifyLockAcquired", node -> node.getQuorumManager()
+                .handleLockAcquiredNotification(notification)
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+    }
+
+    @Override
+    public void notifyLockReleased(QuorumManager.LockReleasedNotification notification) {
+        call("RegionService/NotifyLockReleased", node -> node.getQuorumManager()
+                .handleLockReleasedNotification(notification)
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+    }
+
+    @Override
+    public QuorumManager.LeaseResponse requestLease(QuorumManager.LeaseRequest request) {
+        return call("RegionService/RequestLease", node -> node.getQuorumManager().handleLeaseRequest(request)
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join());
+    }
+
+    @Override
+    public void notifyLeaseReleased(QuorumManager.LeaseReleasedNotification notification) {
+        call("RegionService/NotifyLeaseReleased", node -> {
+            node.getQuorumManager().handleLeaseReleasedNotification(notification);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean ping(String localRegionId, long timeoutMs) {
+        try {
+            call("RegionService/Ping", node -> null);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private <T> T call(String method, Function<SimNode, T> handler) {
+        try {
+            var leader = cluster.leaderOf(getRegionId())
+                    .orElseThrow(() -> new SimNetwork.SimulatedFailure("No leader in " + getRegionId()));
+            T response = cluster.getNetwork().call(localNodeId, leader.getNodeId(), method,
+                    () -> handler.apply(leader));
+            recordSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            recordFailure();
+            throw new RuntimeException("Failed to reach region " + getRegionId(), e);
+        }
+    }
+}